@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.concurrent.ExecutionException;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+
+/**
+ * Language Server instance with its default Camel catalog loaded, shared by the benchmarks of a trial.
+ */
+@State(Scope.Benchmark)
+public class CamelCatalogState {
+
+	CamelLanguageServer languageServer;
+	CamelCatalog catalog;
+
+	@Setup(Level.Trial)
+	public void setUp() throws InterruptedException, ExecutionException {
+		languageServer = new CamelLanguageServer();
+		catalog = getTextDocumentService().getCamelCatalog().get();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		languageServer.stopServer();
+	}
+
+	CamelTextDocumentService getTextDocumentService() {
+		return languageServer.getTextDocumentService();
+	}
+}
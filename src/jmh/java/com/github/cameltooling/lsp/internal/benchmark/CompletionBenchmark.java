@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
+import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
+/**
+ * Completion of the component schemes, which goes through all the components of the catalog,
+ * and full completion pipeline of the endpoint options in the middle of a route file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionBenchmark {
+
+	@Benchmark
+	public List<CompletionItem> componentSchemes(CamelCatalogState catalogState) {
+		CamelURIInstance emptyUri = new CamelURIInstance("", (Node) null, null);
+		emptyUri.setStartPositionInDocument(new Position(0, 0));
+		emptyUri.setEndPositionInDocument(new Position(0, 0));
+		return new CamelComponentSchemesCompletionsFuture(emptyUri, "", null).apply(catalogState.catalog);
+	}
+
+	@Benchmark
+	public List<CompletionItem> endpointOptions(CamelCatalogState catalogState, RouteDocumentState documentState) throws InterruptedException, ExecutionException {
+		CamelTextDocumentService textDocumentService = catalogState.getTextDocumentService();
+		return new CamelEndpointCompletionProcessor(documentState.document, CompletableFuture.completedFuture(catalogState.catalog), textDocumentService.getKameletsCatalogManager())
+				.getCompletions(documentState.position, textDocumentService.getSettingsManager())
+				.get();
+	}
+}
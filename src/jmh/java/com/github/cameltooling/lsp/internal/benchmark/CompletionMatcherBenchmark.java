@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
+import com.github.cameltooling.lsp.internal.completion.CompletionMatcher;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
+/**
+ * Ranked matching of the completion items against prefixes, word initials, subsequences and text matching nothing.
+ *
+ * The component schemes are matched with the keys precomputed for the catalog, the endpoint options of the component having the most options
+ * with keys computed for each call, as for the items which are not derived from the catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionMatcherBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class FilterState {
+
+		@Param({ "aws2", "beh", "ws3", "bridge-e", "xyz" })
+		String filter;
+
+		List<String> largestOptions = new ArrayList<>();
+
+		@Setup
+		public void setUp(CamelCatalogState catalogState) {
+			for (String componentName : catalogState.catalog.findComponentNames()) {
+				ComponentModel componentModel = ModelHelper.getComponentModel(catalogState.catalog, componentName);
+				if (componentModel.getEndpointOptions().size() > largestOptions.size()) {
+					largestOptions.clear();
+					componentModel.getEndpointOptions().forEach(option -> largestOptions.add(option.getName()));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public List<CompletionItem> componentSchemes(CamelCatalogState catalogState, FilterState filterState) {
+		CamelURIInstance uri = new CamelURIInstance(filterState.filter, (Node) null, null);
+		uri.setStartPositionInDocument(new Position(0, 0));
+		uri.setEndPositionInDocument(new Position(0, filterState.filter.length()));
+		return new CamelComponentSchemesCompletionsFuture(uri, filterState.filter, null).apply(catalogState.catalog);
+	}
+
+	@Benchmark
+	public List<CompletionItem> endpointOptions(FilterState filterState) {
+		List<CompletionItem> items = new ArrayList<>(filterState.largestOptions.size());
+		for (String option : filterState.largestOptions) {
+			items.add(new CompletionItem(option));
+		}
+		return items.stream().collect(CompletionMatcher.matching(filterState.filter));
+	}
+}
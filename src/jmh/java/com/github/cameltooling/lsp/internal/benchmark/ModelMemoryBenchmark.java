@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+
+/**
+ * Heap retained by the models of all the components of a fully loaded catalog, with and without the shared model values of
+ * <code>ModelStringPool</code>. The pool is read once per JVM, so each case runs in its own fork.
+ *
+ * The retained size is the used heap after garbage collection once all the models are loaded, minus the used heap after garbage
+ * collection before loading them. It is reported in the <code>retainedKiB</code> secondary result; the time of the single shot only
+ * gives the order of magnitude of loading the catalog.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class ModelMemoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class CatalogState {
+
+		CamelCatalog catalog;
+		List<String> componentNames;
+		List<ComponentModel> models;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+			catalog = new DefaultCamelCatalog(true);
+			componentNames = catalog.findComponentNames();
+			// the caching catalog keeps the schemas, they are read before measuring so that only the models are counted
+			componentNames.forEach(catalog::componentJSonSchema);
+		}
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedSize {
+
+		public long retainedKiB;
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dcamel.lsp.model.pool.disabled=true")
+	public List<ComponentModel> withoutPool(CatalogState state, RetainedSize retainedSize) throws InterruptedException {
+		return loadAllModels(state, retainedSize);
+	}
+
+	@Benchmark
+	@Fork(1)
+	public List<ComponentModel> withPool(CatalogState state, RetainedSize retainedSize) throws InterruptedException {
+		return loadAllModels(state, retainedSize);
+	}
+
+	private static List<ComponentModel> loadAllModels(CatalogState state, RetainedSize retainedSize) throws InterruptedException {
+		long before = usedHeapAfterGc();
+		List<ComponentModel> models = new ArrayList<>(state.componentNames.size());
+		for (String componentName : state.componentNames) {
+			models.add(ModelHelper.getComponentModel(state.catalog, componentName));
+		}
+		state.models = models;
+		retainedSize.retainedKiB = (usedHeapAfterGc() - before) / 1024;
+		return models;
+	}
+
+	private static long usedHeapAfterGc() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
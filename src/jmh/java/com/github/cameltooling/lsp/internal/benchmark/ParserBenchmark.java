@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
+
+/**
+ * Lookup of the parser of a document and parsing of the Camel URI under the cursor, as done by the completion and the hover,
+ * with {@link com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper}, {@link com.github.cameltooling.lsp.internal.parser.CamelYamlDSLParser}
+ * and {@link com.github.cameltooling.lsp.internal.parser.ParserJavaFileHelper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Benchmark
+	public ParserFileHelper parserLookup(RouteDocumentState state) {
+		return new ParserFileHelperFactory().getCorrespondingParserFileHelper(state.document, state.position.getLine());
+	}
+
+	@Benchmark
+	public CamelURIInstance uriAtPosition(RouteDocumentState state) {
+		TextDocumentItem document = state.document;
+		Position position = state.position;
+		ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(document, position.getLine());
+		String camelComponentUri = parserFileHelper.getCamelComponentUri(document, position);
+		CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(document, position, camelComponentUri);
+		camelURIInstance.getSpecificElement(parserFileHelper.getPositionInCamelURI(document, position));
+		return camelURIInstance;
+	}
+}
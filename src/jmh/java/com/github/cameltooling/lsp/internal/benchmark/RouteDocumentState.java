@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Synthetic route document of each DSL and size, with the position of an endpoint option in its middle.
+ */
+@State(Scope.Benchmark)
+public class RouteDocumentState {
+
+	@Param({ SyntheticRoutes.XML, SyntheticRoutes.YAML, SyntheticRoutes.JAVA })
+	String dsl;
+
+	@Param({ "100", "1000", "10000" })
+	int lineCount;
+
+	TextDocumentItem document;
+	Position position;
+
+	@Setup
+	public void setUp() {
+		document = SyntheticRoutes.create(dsl, lineCount);
+		position = SyntheticRoutes.findOptionPositionOfMiddleRoute(document);
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+/**
+ * Generates route files of a given number of lines in the XML, YAML and Java DSLs.
+ *
+ * Each route has a timer consumer, a valid log producer, a log producer with an unknown option and a direct producer,
+ * so that the completion, the parsers and the diagnostics have some work on every route.
+ */
+final class SyntheticRoutes {
+
+	static final String XML = "xml";
+	static final String YAML = "yaml";
+	static final String JAVA = "java";
+
+	private static final String LOG_URI_PREFIX = "log:route-";
+
+	private SyntheticRoutes() {
+	}
+
+	/**
+	 * @param dsl one of {@link #XML}, {@link #YAML} or {@link #JAVA}
+	 * @param lineCount minimal number of lines of the document
+	 */
+	static TextDocumentItem create(String dsl, int lineCount) {
+		StringBuilder text = new StringBuilder();
+		int lines;
+		switch (dsl) {
+		case XML:
+			lines = appendLines(text, "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">");
+			for (int i = 0; lines < lineCount - 1; i++) {
+				lines += appendLines(text,
+						"  <route id=\"route-" + i + "\">",
+						"    <from uri=\"timer:timer-" + i + "?period=1000&amp;delay=500\"/>",
+						"    <setBody><simple>Hello ${header.index}</simple></setBody>",
+						"    <to uri=\"" + LOG_URI_PREFIX + i + "?showAll=true&amp;multiline=true\"/>",
+						"    <to uri=\"" + LOG_URI_PREFIX + i + "-unknown?showAll=true&amp;unknownOption=true\"/>",
+						"    <to uri=\"direct:next-" + i + "\"/>",
+						"  </route>");
+			}
+			appendLines(text, "</camelContext>");
+			return new TextDocumentItem("file:///synthetic-" + lineCount + ".xml", CamelLanguageServer.LANGUAGE_ID, 0, text.toString());
+		case YAML:
+			lines = 0;
+			for (int i = 0; lines < lineCount; i++) {
+				lines += appendLines(text,
+						"- route:",
+						"    id: route-" + i,
+						"    from:",
+						"      uri: \"timer:timer-" + i + "?period=1000&delay=500\"",
+						"      steps:",
+						"        - setBody:",
+						"            simple: Hello",
+						"        - to:",
+						"            uri: \"" + LOG_URI_PREFIX + i + "?showAll=true&multiline=true\"",
+						"        - to: \"" + LOG_URI_PREFIX + i + "-unknown?showAll=true&unknownOption=true\"",
+						"        - to: \"direct:next-" + i + "\"");
+			}
+			return new TextDocumentItem("file:///synthetic-" + lineCount + ".camel.yaml", CamelLanguageServer.LANGUAGE_ID, 0, text.toString());
+		case JAVA:
+			lines = appendLines(text,
+					"import org.apache.camel.builder.RouteBuilder;",
+					"",
+					"public class SyntheticRoute extends RouteBuilder {",
+					"",
+					"  @Override",
+					"  public void configure() throws Exception {");
+			for (int i = 0; lines < lineCount - 2; i++) {
+				lines += appendLines(text,
+						"    from(\"timer:timer-" + i + "?period=1000&delay=500\")",
+						"      .routeId(\"route-" + i + "\")",
+						"      .setBody(simple(\"Hello ${header.index}\"))",
+						"      .to(\"" + LOG_URI_PREFIX + i + "?showAll=true&multiline=true\")",
+						"      .to(\"" + LOG_URI_PREFIX + i + "-unknown?showAll=true&unknownOption=true\")",
+						"      .to(\"direct:next-" + i + "\");");
+			}
+			appendLines(text, "  }", "}");
+			return new TextDocumentItem("file:///SyntheticRoute" + lineCount + ".java", CamelLanguageServer.LANGUAGE_ID, 0, text.toString());
+		default:
+			throw new IllegalArgumentException("Unknown DSL " + dsl);
+		}
+	}
+
+	/**
+	 * @return the position just after the question mark of the valid log endpoint of the route in the middle of the document
+	 */
+	static Position findOptionPositionOfMiddleRoute(TextDocumentItem document) {
+		String[] lines = document.getText().split("\n");
+		int middleLine = lines.length / 2;
+		for (int i = 0; i < lines.length; i++) {
+			int line = (middleLine + i) % lines.length;
+			String lineText = lines[line];
+			int uriStart = lineText.indexOf(LOG_URI_PREFIX);
+			if (uriStart != -1 && !lineText.contains("unknownOption")) {
+				return new Position(line, lineText.indexOf('?', uriStart) + 1);
+			}
+		}
+		throw new IllegalStateException("No log endpoint in " + document.getUri());
+	}
+
+	private static int appendLines(StringBuilder text, String... lines) {
+		for (String line : lines) {
+			text.append(line).append('\n');
+		}
+		return lines.length;
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+
+/**
+ * Construction of the Camel URI model, deserialization of the component models from the catalog JSON schemas and lookup of the
+ * component models shared per catalog. Run with <code>-prof gc</code> to compare the allocations of both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UriModelBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class UriState {
+
+		@Param({
+			"timer:tick",
+			"timer:tick?period=1000&delay=500&fixedRate=true&repeatCount=10",
+			"kafka:orders?brokers={{kafka.brokers}}&groupId=orders&autoOffsetReset=earliest&maxPollRecords=500&sslKeystoreLocation=/etc/keystore.jks&sslKeystorePassword=secret"
+		})
+		String uri;
+	}
+
+	@State(Scope.Benchmark)
+	public static class ComponentSchemaState {
+
+		@Param({ "timer", "kafka", "aws2-s3" })
+		String componentName;
+
+		@Param({ "true", "false" })
+		boolean includeOptions;
+
+		String json;
+
+		@Setup
+		public void setUp() {
+			CamelCatalog catalog = new DefaultCamelCatalog(true);
+			json = catalog.componentJSonSchema(componentName);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class CatalogComponentState {
+
+		@Param({ "timer", "kafka", "aws2-s3" })
+		String componentName;
+
+		CamelCatalog catalog;
+
+		@Setup
+		public void setUp() {
+			catalog = new DefaultCamelCatalog(true);
+			ModelHelper.getComponentModel(catalog, componentName);
+		}
+	}
+
+	@Benchmark
+	public CamelURIInstance camelURIInstance(UriState state) {
+		return new CamelURIInstance(state.uri, (Node) null, null);
+	}
+
+	@Benchmark
+	public ComponentModel generateComponentModel(ComponentSchemaState state) {
+		return ModelHelper.generateComponentModel(state.json, state.includeOptions);
+	}
+
+	@Benchmark
+	public ComponentModel getComponentModel(CatalogComponentState state) {
+		return ModelHelper.getComponentModel(state.catalog, state.componentName);
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonObject;
+
+/**
+ * JSON-RPC connection of a replayed client to a Language Server.
+ * The messages received from the server are provided to the listener given at creation, on a thread of the connection.
+ */
+interface LspConnection extends AutoCloseable {
+
+	void send(JsonObject message) throws IOException;
+
+	/**
+	 * @return whether the <code>exit</code> notification can be sent, it would stop a Language Server shared by several connections
+	 */
+	boolean isExitAllowed();
+
+	@Override
+	void close();
+
+	@FunctionalInterface
+	interface Factory {
+		LspConnection connect(Consumer<JsonObject> listener) throws IOException;
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.cameltooling.lsp.internal.metrics.LatencyHistogram;
+import com.google.gson.JsonObject;
+
+/**
+ * Latencies observed by the replayed clients, aggregated over all the sessions.
+ */
+class ReplayReport {
+
+	private static final double MICROS_PER_MILLI = 1000d;
+
+	private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+	private final LatencyHistogram timeToDiagnostics = new LatencyHistogram();
+	private final LongAdder completedSessions = new LongAdder();
+	private final LongAdder failedSessions = new LongAdder();
+	private final LongAdder errorResponses = new LongAdder();
+	private final LongAdder unansweredRequests = new LongAdder();
+
+	void recordLatency(String method, long nanos) {
+		latencies.computeIfAbsent(method, key -> new LatencyHistogram()).recordNanos(nanos);
+	}
+
+	/**
+	 * @param nanos time from a change of a document to the publication of diagnostics including it
+	 */
+	void recordTimeToDiagnostics(long nanos) {
+		timeToDiagnostics.recordNanos(nanos);
+	}
+
+	void errorResponse() {
+		errorResponses.increment();
+	}
+
+	void unansweredRequests(int count) {
+		unansweredRequests.add(count);
+	}
+
+	void sessionCompleted() {
+		completedSessions.increment();
+	}
+
+	void sessionFailed() {
+		failedSessions.increment();
+	}
+
+	JsonObject toJson(long durationNanos) {
+		JsonObject report = new JsonObject();
+		report.addProperty("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos));
+		report.addProperty("completedSessions", completedSessions.sum());
+		report.addProperty("failedSessions", failedSessions.sum());
+		report.addProperty("errorResponses", errorResponses.sum());
+		report.addProperty("unansweredRequests", unansweredRequests.sum());
+		JsonObject requests = new JsonObject();
+		new TreeMap<>(latencies).forEach((method, histogram) -> requests.add(method, toJson(histogram)));
+		report.add("latencies", requests);
+		report.add("timeToDiagnostics", toJson(timeToDiagnostics));
+		return report;
+	}
+
+	private static JsonObject toJson(LatencyHistogram histogram) {
+		JsonObject json = new JsonObject();
+		json.addProperty("count", histogram.getCount());
+		json.addProperty("p50", histogram.getPercentileMicros(50) / MICROS_PER_MILLI);
+		json.addProperty("p95", histogram.getPercentileMicros(95) / MICROS_PER_MILLI);
+		json.addProperty("p99", histogram.getPercentileMicros(99) / MICROS_PER_MILLI);
+		json.addProperty("max", histogram.getMaxMicros() / MICROS_PER_MILLI);
+		return json;
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Message sent by the client at a given time of the session, as recorded by the
+ * {@link com.github.cameltooling.lsp.internal.metrics.SessionRecorder} or generated by {@link SyntheticSession}.
+ */
+class ReplayedMessage {
+
+	private final long time;
+	private final JsonObject message;
+
+	ReplayedMessage(long time, JsonObject message) {
+		this.time = time;
+		this.message = message;
+	}
+
+	/**
+	 * @param sessionFile JSON Lines file with a <code>time</code> in milliseconds and a JSON-RPC <code>message</code> per line
+	 */
+	static List<ReplayedMessage> read(Path sessionFile) throws IOException {
+		List<ReplayedMessage> messages = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(sessionFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isBlank()) {
+					JsonObject recordedMessage = JsonParser.parseString(line).getAsJsonObject();
+					messages.add(new ReplayedMessage(recordedMessage.get("time").getAsLong(), recordedMessage.getAsJsonObject("message")));
+				}
+			}
+		}
+		return messages;
+	}
+
+	/**
+	 * @return the time of the message in milliseconds since the beginning of the session
+	 */
+	long getTime() {
+		return time;
+	}
+
+	JsonObject getMessage() {
+		return message;
+	}
+
+	String getMethod() {
+		return message.has("method") ? message.get("method").getAsString() : null;
+	}
+
+	boolean isRequest() {
+		return message.has("id");
+	}
+}
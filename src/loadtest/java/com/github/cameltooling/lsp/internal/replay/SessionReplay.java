@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.github.cameltooling.lsp.internal.Runner;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Load generator replaying a recorded or synthetic LSP session against the Camel Language Server, with several concurrent clients,
+ * and reporting the latency percentiles per LSP method and the time until the diagnostics are published.
+ */
+public class SessionReplay {
+
+	private static final String SESSION_PARAMETER = "--session=";
+	private static final String SYNTHETIC_PARAMETER = "--synthetic=";
+	private static final String KEYSTROKE_DELAY_PARAMETER = "--keystrokeDelay=";
+	private static final String TRANSPORT_PARAMETER = "--transport=";
+	private static final String URL_PARAMETER = "--url=";
+	private static final String COMMAND_PARAMETER = "--command=";
+	private static final String SPEED_PARAMETER = "--speed=";
+	private static final String CONCURRENCY_PARAMETER = "--concurrency=";
+	private static final String ITERATIONS_PARAMETER = "--iterations=";
+	private static final String RESPONSE_TIMEOUT_PARAMETER = "--responseTimeout=";
+	private static final String REPORT_PARAMETER = "--report=";
+	private static final String HELP_PARAMETER = "--help";
+	private static final String WEBSOCKET_TRANSPORT = "websocket";
+
+	static final String HELP_MESSAGE =
+			"`--session=<file>` JSON Lines session recorded with `-Dcamel.lsp.session.recording=<directory>`\n"
+			+ "`--synthetic=<xml|yaml|java>` typing session generated when no recorded session is provided, default value `xml`\n"
+			+ "`--keystrokeDelay=<milliseconds>` time between two keystrokes of the synthetic session, default value `100`\n"
+			+ "`--transport=<stdio|websocket>` default value `stdio`, a Language Server process is started for each client\n"
+			+ "`--url=<url>` of the websocket Language Server, default value `ws://localhost:8025/camel-language-server`\n"
+			+ "`--command=<command>` starting a stdio Language Server, default value is the Runner of the current classpath\n"
+			+ "`--speed=<factor>` applied to the pace of the session, `0` to send the messages as fast as possible, default value `1`\n"
+			+ "`--concurrency=<clients>` number of concurrent clients, default value `1`\n"
+			+ "`--iterations=<sessions>` number of sessions replayed by each client, default value `1`\n"
+			+ "`--responseTimeout=<milliseconds>` time to wait for the responses at the end of a session, default value `30000`\n"
+			+ "`--report=<file>` where the JSON report is written in addition to the standard output";
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		List<String> arguments = Arrays.asList(args);
+		if (arguments.contains(HELP_PARAMETER)) {
+			System.out.println(HELP_MESSAGE);
+			return;
+		}
+		List<ReplayedMessage> session = loadSession(arguments);
+		LspConnection.Factory connectionFactory = createConnectionFactory(arguments);
+		double speed = Double.parseDouble(extractParameterValue(arguments, SPEED_PARAMETER, "1"));
+		int concurrency = Integer.parseInt(extractParameterValue(arguments, CONCURRENCY_PARAMETER, "1"));
+		int iterations = Integer.parseInt(extractParameterValue(arguments, ITERATIONS_PARAMETER, "1"));
+		long responseTimeout = Long.parseLong(extractParameterValue(arguments, RESPONSE_TIMEOUT_PARAMETER, "30000"));
+
+		ReplayReport report = new ReplayReport();
+		long start = System.nanoTime();
+		ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+		for (int client = 0; client < concurrency; client++) {
+			clients.execute(() -> {
+				for (int iteration = 0; iteration < iterations && !Thread.currentThread().isInterrupted(); iteration++) {
+					replay(session, connectionFactory, speed, responseTimeout, report);
+				}
+			});
+		}
+		clients.shutdown();
+		clients.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+
+		String jsonReport = new GsonBuilder().setPrettyPrinting().create().toJson(report.toJson(System.nanoTime() - start));
+		System.out.println(jsonReport);
+		String reportFile = extractParameterValue(arguments, REPORT_PARAMETER, null);
+		if (reportFile != null) {
+			Files.writeString(Paths.get(reportFile), jsonReport, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static void replay(List<ReplayedMessage> session, LspConnection.Factory connectionFactory, double speed, long responseTimeout, ReplayReport report) {
+		try {
+			new SessionReplayer(session, speed, responseTimeout, report).replay(connectionFactory);
+			report.sessionCompleted();
+		} catch (IOException e) {
+			report.sessionFailed();
+			System.err.println("Session failed: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			report.sessionFailed();
+		}
+	}
+
+	private static List<ReplayedMessage> loadSession(List<String> arguments) throws IOException {
+		String sessionFile = extractParameterValue(arguments, SESSION_PARAMETER, null);
+		if (sessionFile != null) {
+			return ReplayedMessage.read(Path.of(sessionFile));
+		}
+		String dsl = extractParameterValue(arguments, SYNTHETIC_PARAMETER, SyntheticSession.XML);
+		long keystrokeDelay = Long.parseLong(extractParameterValue(arguments, KEYSTROKE_DELAY_PARAMETER, "100"));
+		return SyntheticSession.typing(dsl, keystrokeDelay);
+	}
+
+	private static LspConnection.Factory createConnectionFactory(List<String> arguments) {
+		if (WEBSOCKET_TRANSPORT.equals(extractParameterValue(arguments, TRANSPORT_PARAMETER, "stdio"))) {
+			URI url = URI.create(extractParameterValue(arguments, URL_PARAMETER, "ws://localhost:8025/camel-language-server"));
+			return listener -> new WebSocketConnection(url, listener);
+		}
+		String command = extractParameterValue(arguments, COMMAND_PARAMETER, null);
+		List<String> serverCommand;
+		if (command != null) {
+			serverCommand = Arrays.asList(command.trim().split("\\s+"));
+		} else {
+			serverCommand = new ArrayList<>();
+			serverCommand.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+			serverCommand.add("-cp");
+			serverCommand.add(System.getProperty("java.class.path"));
+			serverCommand.add(Runner.class.getName());
+		}
+		return listener -> new StdioConnection(serverCommand, listener);
+	}
+
+	private static String extractParameterValue(List<String> arguments, String parameterToExtract, String defaultValue) {
+		for (String argument : arguments) {
+			if (argument.startsWith(parameterToExtract)) {
+				return argument.substring(parameterToExtract.length());
+			}
+		}
+		return defaultValue;
+	}
+}
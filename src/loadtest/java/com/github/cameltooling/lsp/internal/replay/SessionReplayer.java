@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+/**
+ * Replays a session on a new connection, as a client would send it, and records the latencies of the responses and of the diagnostics in the report.
+ *
+ * The messages are sent at their time in the session divided by the speed, without waiting for the responses, except for the <code>initialize</code> request.
+ * The requests of the server, for instance the creation of a progress, are answered with a null result.
+ * The time to diagnostics is measured for each change of a document, until the publication of the diagnostics of its version or of a later one.
+ */
+class SessionReplayer {
+
+	private static final String INITIALIZE = "initialize";
+	private static final String EXIT = "exit";
+	private static final String PUBLISH_DIAGNOSTICS = "textDocument/publishDiagnostics";
+	private static final long INITIALIZE_TIMEOUT_SECONDS = 60;
+	private static final long PENDING_REQUESTS_POLLING_MILLIS = 10;
+
+	private final List<ReplayedMessage> session;
+	private final double speed;
+	private final long responseTimeoutMillis;
+	private final ReplayReport report;
+	private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+	private final Map<String, List<PendingChange>> pendingDiagnostics = new ConcurrentHashMap<>();
+	private final CompletableFuture<Void> initialized = new CompletableFuture<>();
+	private LspConnection connection;
+
+	/**
+	 * @param speed factor applied to the pace of the session, 0 to send the messages as fast as possible
+	 * @param responseTimeoutMillis time to wait for the responses at the end of the session
+	 */
+	SessionReplayer(List<ReplayedMessage> session, double speed, long responseTimeoutMillis, ReplayReport report) {
+		this.session = session;
+		this.speed = speed;
+		this.responseTimeoutMillis = responseTimeoutMillis;
+		this.report = report;
+	}
+
+	void replay(LspConnection.Factory connectionFactory) throws IOException, InterruptedException {
+		try (LspConnection openedConnection = connectionFactory.connect(this::onMessage)) {
+			connection = openedConnection;
+			boolean exitSent = false;
+			long sessionStart = System.nanoTime();
+			for (ReplayedMessage replayedMessage : session) {
+				waitUntil(sessionStart + getScaledNanos(replayedMessage.getTime()));
+				String method = replayedMessage.getMethod();
+				if (EXIT.equals(method)) {
+					if (!connection.isExitAllowed()) {
+						continue;
+					}
+					waitForPendingRequests();
+					exitSent = true;
+				}
+				send(replayedMessage.getMessage());
+				if (INITIALIZE.equals(method)) {
+					waitForInitialization();
+					sessionStart = System.nanoTime() - getScaledNanos(replayedMessage.getTime());
+				}
+			}
+			waitForPendingRequests();
+			if (!exitSent && connection.isExitAllowed()) {
+				JsonObject exit = new JsonObject();
+				exit.addProperty("jsonrpc", "2.0");
+				exit.addProperty("method", EXIT);
+				send(exit);
+			}
+		}
+	}
+
+	private void send(JsonObject message) throws IOException {
+		long now = System.nanoTime();
+		if (message.has("id")) {
+			pendingRequests.put(message.get("id").toString(), new PendingRequest(message.get("method").getAsString(), now));
+		} else if (message.has("params") && message.getAsJsonObject("params").has("textDocument")) {
+			String method = message.get("method").getAsString();
+			if ("textDocument/didOpen".equals(method) || "textDocument/didChange".equals(method)) {
+				JsonObject textDocument = message.getAsJsonObject("params").getAsJsonObject("textDocument");
+				List<PendingChange> pendingChanges = pendingDiagnostics.computeIfAbsent(textDocument.get("uri").getAsString(), uri -> new ArrayList<>());
+				synchronized (pendingChanges) {
+					pendingChanges.add(new PendingChange(textDocument.get("version").getAsInt(), now));
+				}
+			}
+		}
+		connection.send(message);
+	}
+
+	private void onMessage(JsonObject message) {
+		long now = System.nanoTime();
+		if (message.has("method")) {
+			if (message.has("id")) {
+				answerServerRequest(message.get("id"));
+			} else if (PUBLISH_DIAGNOSTICS.equals(message.get("method").getAsString())) {
+				onDiagnostics(message.getAsJsonObject("params"), now);
+			}
+		} else if (message.has("id")) {
+			PendingRequest request = pendingRequests.remove(message.get("id").toString());
+			if (request != null) {
+				report.recordLatency(request.method, now - request.start);
+				if (message.has("error")) {
+					report.errorResponse();
+				}
+				if (INITIALIZE.equals(request.method)) {
+					initialized.complete(null);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Without version in the notification, the diagnostics are considered as covering all the changes of the document.
+	 */
+	private void onDiagnostics(JsonObject params, long now) {
+		List<PendingChange> pendingChanges = pendingDiagnostics.get(params.get("uri").getAsString());
+		if (pendingChanges == null) {
+			return;
+		}
+		Integer publishedVersion = params.has("version") && !params.get("version").isJsonNull() ? params.get("version").getAsInt() : null;
+		synchronized (pendingChanges) {
+			Iterator<PendingChange> iterator = pendingChanges.iterator();
+			while (iterator.hasNext()) {
+				PendingChange change = iterator.next();
+				if (publishedVersion == null || change.version <= publishedVersion) {
+					report.recordTimeToDiagnostics(now - change.start);
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	private void answerServerRequest(JsonElement id) {
+		JsonObject response = new JsonObject();
+		response.addProperty("jsonrpc", "2.0");
+		response.add("id", id);
+		response.add("result", JsonNull.INSTANCE);
+		try {
+			connection.send(response);
+		} catch (IOException e) {
+			report.errorResponse();
+		}
+	}
+
+	private void waitForInitialization() throws IOException, InterruptedException {
+		try {
+			initialized.get(INITIALIZE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IOException("The Language Server did not answer the initialize request", e);
+		}
+	}
+
+	private void waitForPendingRequests() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(responseTimeoutMillis);
+		while (!pendingRequests.isEmpty() && System.nanoTime() < deadline) {
+			Thread.sleep(PENDING_REQUESTS_POLLING_MILLIS);
+		}
+		report.unansweredRequests(pendingRequests.size());
+		pendingRequests.clear();
+	}
+
+	private long getScaledNanos(long millis) {
+		return speed > 0 ? (long) (TimeUnit.MILLISECONDS.toNanos(millis) / speed) : 0;
+	}
+
+	private static void waitUntil(long nanoTime) throws InterruptedException {
+		long remainingNanos = nanoTime - System.nanoTime();
+		if (remainingNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(remainingNanos);
+		}
+	}
+
+	private static class PendingRequest {
+		private final String method;
+		private final long start;
+
+		PendingRequest(String method, long start) {
+			this.method = method;
+			this.start = start;
+		}
+	}
+
+	private static class PendingChange {
+		private final int version;
+		private final long start;
+
+		PendingChange(int version, long start) {
+			this.version = version;
+			this.start = start;
+		}
+	}
+}
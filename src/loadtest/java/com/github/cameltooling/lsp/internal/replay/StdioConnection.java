@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Connection to a Language Server process started for this client, through its standard input and output with the LSP base protocol framing.
+ */
+class StdioConnection implements LspConnection {
+
+	private static final String CONTENT_LENGTH_HEADER = "Content-Length:";
+
+	private final Process process;
+	private final OutputStream output;
+
+	StdioConnection(List<String> command, Consumer<JsonObject> listener) throws IOException {
+		process = new ProcessBuilder(command).redirectError(Redirect.DISCARD).start();
+		output = process.getOutputStream();
+		Thread reader = new Thread(() -> readMessages(process.getInputStream(), listener), "Replay stdio reader " + process.pid());
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void readMessages(InputStream processOutput, Consumer<JsonObject> listener) {
+		try (InputStream input = new BufferedInputStream(processOutput)) {
+			int contentLength;
+			while ((contentLength = readContentLength(input)) != -1) {
+				byte[] content = input.readNBytes(contentLength);
+				if (content.length < contentLength) {
+					return;
+				}
+				listener.accept(JsonParser.parseString(new String(content, StandardCharsets.UTF_8)).getAsJsonObject());
+			}
+		} catch (IOException e) {
+			// the process is stopped
+		}
+	}
+
+	/**
+	 * @return the content length of the next message, -1 at the end of the stream
+	 */
+	private static int readContentLength(InputStream input) throws IOException {
+		int contentLength = -1;
+		String header;
+		while ((header = readHeaderLine(input)) != null) {
+			if (header.isEmpty()) {
+				if (contentLength != -1) {
+					return contentLength;
+				}
+			} else if (header.regionMatches(true, 0, CONTENT_LENGTH_HEADER, 0, CONTENT_LENGTH_HEADER.length())) {
+				contentLength = Integer.parseInt(header.substring(CONTENT_LENGTH_HEADER.length()).trim());
+			}
+		}
+		return -1;
+	}
+
+	private static String readHeaderLine(InputStream input) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int character;
+		while ((character = input.read()) != -1) {
+			if (character == '\n') {
+				return line.toString(StandardCharsets.US_ASCII).trim();
+			}
+			line.write(character);
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized void send(JsonObject message) throws IOException {
+		byte[] content = message.toString().getBytes(StandardCharsets.UTF_8);
+		output.write((CONTENT_LENGTH_HEADER + " " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		output.write(content);
+		output.flush();
+	}
+
+	@Override
+	public boolean isExitAllowed() {
+		return true;
+	}
+
+	@Override
+	public void close() {
+		try {
+			if (!process.waitFor(5, TimeUnit.SECONDS)) {
+				process.destroy();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			process.destroy();
+		}
+	}
+}
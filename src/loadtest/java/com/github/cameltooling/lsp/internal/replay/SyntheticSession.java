@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+/**
+ * Generates the session of a user opening a route file and typing a Camel URI in it, one character at a time.
+ *
+ * After each keystroke, the whole text is sent, as the Language Server uses the full document synchronization, and the completion is requested.
+ * Once the URI is typed, the hover and the document symbols are requested, then the session is shut down.
+ */
+class SyntheticSession {
+
+	static final String XML = "xml";
+	static final String YAML = "yaml";
+	static final String JAVA = "java";
+
+	private static final String URI_PLACEHOLDER = "$URI$";
+	private static final String TYPED_URI = "timer:tick?period=1000&delay=500&repeatCount=10";
+
+	private final List<ReplayedMessage> messages = new ArrayList<>();
+	private int nextId = 1;
+	private long time;
+
+	private SyntheticSession() {
+	}
+
+	/**
+	 * @param dsl one of {@link #XML}, {@link #YAML} or {@link #JAVA}
+	 * @param keystrokeDelay time between two keystrokes in milliseconds
+	 */
+	static List<ReplayedMessage> typing(String dsl, long keystrokeDelay) {
+		return new SyntheticSession().generateTyping(dsl, keystrokeDelay);
+	}
+
+	private List<ReplayedMessage> generateTyping(String dsl, long keystrokeDelay) {
+		String template = getTemplate(dsl);
+		String typedUri = XML.equals(dsl) ? TYPED_URI.replace("&", "&amp;") : TYPED_URI;
+		String documentUri = "file:///synthetic-route." + (YAML.equals(dsl) ? "camel.yaml" : dsl);
+		int uriLine = getLineOf(template, URI_PLACEHOLDER);
+		int uriStart = template.split("\n")[uriLine].indexOf(URI_PLACEHOLDER);
+
+		JsonObject initializeParams = new JsonObject();
+		initializeParams.add("processId", JsonNull.INSTANCE);
+		initializeParams.add("rootUri", JsonNull.INSTANCE);
+		initializeParams.add("capabilities", new JsonObject());
+		request("initialize", initializeParams);
+		notification("initialized", new JsonObject());
+
+		JsonObject textDocument = new JsonObject();
+		textDocument.addProperty("uri", documentUri);
+		textDocument.addProperty("languageId", "LANGUAGE_ID_APACHE_CAMEL");
+		textDocument.addProperty("version", 1);
+		textDocument.addProperty("text", template.replace(URI_PLACEHOLDER, ""));
+		JsonObject didOpenParams = new JsonObject();
+		didOpenParams.add("textDocument", textDocument);
+		notification("textDocument/didOpen", didOpenParams);
+
+		for (int typedCharacters = 1; typedCharacters <= typedUri.length(); typedCharacters++) {
+			time += keystrokeDelay;
+			JsonObject versionedTextDocument = new JsonObject();
+			versionedTextDocument.addProperty("uri", documentUri);
+			versionedTextDocument.addProperty("version", typedCharacters + 1);
+			JsonObject contentChange = new JsonObject();
+			contentChange.addProperty("text", template.replace(URI_PLACEHOLDER, typedUri.substring(0, typedCharacters)));
+			JsonArray contentChanges = new JsonArray();
+			contentChanges.add(contentChange);
+			JsonObject didChangeParams = new JsonObject();
+			didChangeParams.add("textDocument", versionedTextDocument);
+			didChangeParams.add("contentChanges", contentChanges);
+			notification("textDocument/didChange", didChangeParams);
+			request("textDocument/completion", createPositionParams(documentUri, uriLine, uriStart + typedCharacters));
+		}
+
+		time += keystrokeDelay;
+		request("textDocument/hover", createPositionParams(documentUri, uriLine, uriStart + 1));
+		JsonObject documentSymbolParams = new JsonObject();
+		documentSymbolParams.add("textDocument", createTextDocumentIdentifier(documentUri));
+		request("textDocument/documentSymbol", documentSymbolParams);
+		time += keystrokeDelay;
+		request("shutdown", null);
+		return messages;
+	}
+
+	private static String getTemplate(String dsl) {
+		switch (dsl) {
+		case XML:
+			return "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+				+ "  <route id=\"typed\">\n"
+				+ "    <from uri=\"" + URI_PLACEHOLDER + "\"/>\n"
+				+ "    <to uri=\"log:typed\"/>\n"
+				+ "  </route>\n"
+				+ "</camelContext>\n";
+		case YAML:
+			return "- route:\n"
+				+ "    id: typed\n"
+				+ "    from:\n"
+				+ "      uri: \"" + URI_PLACEHOLDER + "\"\n"
+				+ "      steps:\n"
+				+ "        - to: \"log:typed\"\n";
+		case JAVA:
+			return "import org.apache.camel.builder.RouteBuilder;\n"
+				+ "\n"
+				+ "public class TypedRoute extends RouteBuilder {\n"
+				+ "\n"
+				+ "  @Override\n"
+				+ "  public void configure() throws Exception {\n"
+				+ "    from(\"" + URI_PLACEHOLDER + "\")\n"
+				+ "      .to(\"log:typed\");\n"
+				+ "  }\n"
+				+ "}\n";
+		default:
+			throw new IllegalArgumentException("Unknown DSL " + dsl);
+		}
+	}
+
+	private static int getLineOf(String text, String searched) {
+		String[] lines = text.split("\n");
+		for (int i = 0; i < lines.length; i++) {
+			if (lines[i].contains(searched)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(searched + " not found");
+	}
+
+	private static JsonObject createPositionParams(String documentUri, int line, int character) {
+		JsonObject position = new JsonObject();
+		position.addProperty("line", line);
+		position.addProperty("character", character);
+		JsonObject params = new JsonObject();
+		params.add("textDocument", createTextDocumentIdentifier(documentUri));
+		params.add("position", position);
+		return params;
+	}
+
+	private static JsonObject createTextDocumentIdentifier(String documentUri) {
+		JsonObject textDocumentIdentifier = new JsonObject();
+		textDocumentIdentifier.addProperty("uri", documentUri);
+		return textDocumentIdentifier;
+	}
+
+	private void request(String method, JsonObject params) {
+		JsonObject message = createMessage(method, params);
+		message.addProperty("id", nextId++);
+		messages.add(new ReplayedMessage(time, message));
+	}
+
+	private void notification(String method, JsonObject params) {
+		messages.add(new ReplayedMessage(time, createMessage(method, params)));
+	}
+
+	private static JsonObject createMessage(String method, JsonObject params) {
+		JsonObject message = new JsonObject();
+		message.addProperty("jsonrpc", "2.0");
+		message.addProperty("method", method);
+		if (params != null) {
+			message.add("params", params);
+		}
+		return message;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.replay;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Connection to a Language Server started with the <code>--websocket</code> parameter, one JSON-RPC message per text frame.
+ * The server is shared with the other connections, each one has its own Language Server instance on the server side.
+ */
+class WebSocketConnection implements LspConnection {
+
+	private final WebSocket webSocket;
+
+	WebSocketConnection(URI uri, Consumer<JsonObject> listener) throws IOException {
+		try {
+			webSocket = HttpClient.newHttpClient().newWebSocketBuilder().buildAsync(uri, new MessageListener(listener)).join();
+		} catch (CompletionException e) {
+			throw new IOException("Cannot connect to " + uri, e.getCause());
+		}
+	}
+
+	@Override
+	public synchronized void send(JsonObject message) throws IOException {
+		try {
+			webSocket.sendText(message.toString(), true).join();
+		} catch (CompletionException e) {
+			throw new IOException("Cannot send the message", e.getCause());
+		}
+	}
+
+	@Override
+	public boolean isExitAllowed() {
+		return false;
+	}
+
+	@Override
+	public void close() {
+		webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").exceptionally(e -> null).join();
+	}
+
+	private static class MessageListener implements WebSocket.Listener {
+
+		private final Consumer<JsonObject> listener;
+		private final StringBuilder partialMessage = new StringBuilder();
+
+		MessageListener(Consumer<JsonObject> listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+			partialMessage.append(data);
+			if (last) {
+				listener.accept(JsonParser.parseString(partialMessage.toString()).getAsJsonObject());
+				partialMessage.setLength(0);
+			}
+			webSocket.request(1);
+			return null;
+		}
+	}
+}
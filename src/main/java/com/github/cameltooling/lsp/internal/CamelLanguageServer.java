@@ -17,20 +17,30 @@
 package com.github.cameltooling.lsp.internal;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 
+import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.CodeActionKind;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
 import org.eclipse.lsp4j.DocumentSymbolOptions;
+import org.eclipse.lsp4j.FileSystemWatcher;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
 import org.eclipse.lsp4j.InitializedParams;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.Registration;
+import org.eclipse.lsp4j.RegistrationParams;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.LanguageClientAware;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -39,8 +49,13 @@ import org.eclipse.lsp4j.services.WorkspaceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.kubernetes.KnativeConfigManager;
+import com.github.cameltooling.lsp.internal.kubernetes.KubernetesConfigManager;
+import com.github.cameltooling.lsp.internal.metrics.MetricsReport;
+import com.github.cameltooling.lsp.internal.semantictokens.SemanticTokensProcessor;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 import com.github.cameltooling.lsp.internal.telemetry.TelemetryManager;
+import com.github.cameltooling.lsp.internal.warmup.CatalogWarmUp;
 
 /**
  * this is the actual server implementation
@@ -51,16 +66,21 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 	
 	public static final String LANGUAGE_ID = "LANGUAGE_ID_APACHE_CAMEL";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelLanguageServer.class);
+	private static final String FILE_WATCHER_REGISTRATION_ID = "camel-workspace-files";
+	private static final String INDEXED_FILES_GLOB_PATTERN = "**/*.{xml,java,yaml,yml}";
 	
 	private LanguageClient client;
 	private SettingsManager settingsManager;
 	private TelemetryManager telemetryManager;
+	private CatalogWarmUp catalogWarmUp;
+	private boolean workDoneProgressSupported;
+	private boolean fileWatcherRegistrationSupported;
 	
 	public CamelLanguageServer() {
 		CamelTextDocumentService textDocumentService = new CamelTextDocumentService(this);
 		setTextDocumentService(textDocumentService);
 		settingsManager = new SettingsManager(textDocumentService);
-		setWorkspaceService(new CamelWorkspaceService(getSettingsManager()));
+		setWorkspaceService(new CamelWorkspaceService(this, getSettingsManager()));
 	}
 
 	@Override
@@ -71,7 +91,7 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 	
 	@Override
 	public void exit() {
-		super.stopServer();
+		stopServer();
 		System.exit(0);
 	}
 	
@@ -86,6 +106,14 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 		}
 		
 		getSettingsManager().apply(params);
+		ClientCapabilities clientCapabilities = params.getCapabilities();
+		workDoneProgressSupported = clientCapabilities != null
+				&& clientCapabilities.getWindow() != null
+				&& Boolean.TRUE.equals(clientCapabilities.getWindow().getWorkDoneProgress());
+		fileWatcherRegistrationSupported = clientCapabilities != null
+				&& clientCapabilities.getWorkspace() != null
+				&& clientCapabilities.getWorkspace().getDidChangeWatchedFiles() != null
+				&& Boolean.TRUE.equals(clientCapabilities.getWorkspace().getDidChangeWatchedFiles().getDynamicRegistration());
 		
 		ServerCapabilities capabilities = createServerCapabilities();
 		InitializeResult result = new InitializeResult(capabilities);
@@ -98,6 +126,21 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 		if(telemetryManager != null) {
 			telemetryManager.onInitialized();
 		}
+		startCatalogWarmUp();
+		getTextDocumentService().getDocumentIndex().indexInBackground();
+		registerFileWatcher();
+		getTextDocumentService().getMetrics().registerMBeanIfEnabled();
+	}
+
+	/**
+	 * Asks the client to notify the changes of the files indexed by the workspace index, which is not walked again afterwards.
+	 */
+	private void registerFileWatcher() {
+		if (fileWatcherRegistrationSupported && client != null) {
+			FileSystemWatcher watcher = new FileSystemWatcher(Either.forLeft(INDEXED_FILES_GLOB_PATTERN));
+			Registration registration = new Registration(FILE_WATCHER_REGISTRATION_ID, "workspace/didChangeWatchedFiles", new DidChangeWatchedFilesRegistrationOptions(Collections.singletonList(watcher)));
+			client.registerCapability(new RegistrationParams(Collections.singletonList(registration)));
+		}
 	}
 
 	private ServerCapabilities createServerCapabilities() {
@@ -107,7 +150,11 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 		capabilities.setHoverProvider(Boolean.TRUE);
 		capabilities.setDocumentSymbolProvider(new DocumentSymbolOptions("Camel"));
 		capabilities.setReferencesProvider(Boolean.TRUE);
+		capabilities.setDocumentHighlightProvider(Boolean.TRUE);
 		capabilities.setDefinitionProvider(Boolean.TRUE);
+		capabilities.setWorkspaceSymbolProvider(Boolean.TRUE);
+		capabilities.setCallHierarchyProvider(Boolean.TRUE);
+		capabilities.setSemanticTokensProvider(new SemanticTokensWithRegistrationOptions(SemanticTokensProcessor.getLegend(), new SemanticTokensServerFull(Boolean.TRUE), Boolean.FALSE));
 		capabilities.setCodeActionProvider(new CodeActionOptions(Arrays.asList(CodeActionKind.QuickFix)));
 		capabilities.setFoldingRangeProvider(Boolean.TRUE);
 		return capabilities;
@@ -115,10 +162,49 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 
 	@Override
 	public CompletableFuture<Object> shutdown() {
+		cancelCatalogWarmUp();
 		super.shutdownServer();
 		return CompletableFuture.completedFuture(new Object());
 	}
 	
+	@Override
+	public void stopServer() {
+		cancelCatalogWarmUp();
+		getTextDocumentService().getDocumentIndex().shutdown();
+		getTextDocumentService().closeCatalog();
+		getTextDocumentService().getMetrics().unregisterMBean();
+		getTextDocumentService().getMetrics().closeSessionRecorders();
+		KubernetesConfigManager.getInstance().stop();
+		KnativeConfigManager.getInstance().stop();
+		super.stopServer();
+	}
+
+	private synchronized void startCatalogWarmUp() {
+		catalogWarmUp = new CatalogWarmUp(this, workDoneProgressSupported);
+		catalogWarmUp.start();
+	}
+
+	/**
+	 * Warms up the catalog which replaced the previous one. The warm-up in progress is cancelled and the new one starts once it is stopped,
+	 * so that their progress notifications do not overlap. Before the server is initialized, there is nothing to do: the catalog is warmed up once initialized.
+	 */
+	public synchronized void restartCatalogWarmUp() {
+		CatalogWarmUp previousWarmUp = catalogWarmUp;
+		if (previousWarmUp == null) {
+			return;
+		}
+		previousWarmUp.cancel();
+		CatalogWarmUp nextWarmUp = new CatalogWarmUp(this, workDoneProgressSupported);
+		catalogWarmUp = nextWarmUp;
+		previousWarmUp.getReadiness().thenRun(nextWarmUp::start);
+	}
+
+	private synchronized void cancelCatalogWarmUp() {
+		if (catalogWarmUp != null) {
+			catalogWarmUp.cancel();
+		}
+	}
+	
 	@Override
 	public WorkspaceService getWorkspaceService() {
 		return super.getWorkspaceService();
@@ -148,6 +234,21 @@ public class CamelLanguageServer extends AbstractLanguageServer implements Langu
 	public TelemetryManager getTelemetryManager() {
 		return telemetryManager;
 	}
+
+	/**
+	 * @return the background warm-up of the current Camel catalog, null before the server is initialized
+	 */
+	public synchronized CatalogWarmUp getCatalogWarmUp() {
+		return catalogWarmUp;
+	}
+
+	/**
+	 * Custom request providing the latency histograms of the requests and the hit ratio of the caches since the start of the server.
+	 */
+	@JsonRequest("camel/metrics")
+	public CompletableFuture<MetricsReport> metrics() {
+		return CompletableFuture.completedFuture(getTextDocumentService().getMetrics().getReport());
+	}
 	
 	@Override
 	public NotebookDocumentService getNotebookDocumentService() {
@@ -18,17 +18,23 @@ package com.github.cameltooling.lsp.internal;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineInsertionProcessor;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineInsertionParser;
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.catalog.DefaultCamelCatalog;
 import org.apache.camel.catalog.RuntimeProvider;
-import org.apache.camel.catalog.maven.MavenVersionManager;
+import org.eclipse.lsp4j.CallHierarchyIncomingCall;
+import org.eclipse.lsp4j.CallHierarchyIncomingCallsParams;
+import org.eclipse.lsp4j.CallHierarchyItem;
+import org.eclipse.lsp4j.CallHierarchyOutgoingCall;
+import org.eclipse.lsp4j.CallHierarchyOutgoingCallsParams;
+import org.eclipse.lsp4j.CallHierarchyPrepareParams;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionParams;
 import org.eclipse.lsp4j.CodeLens;
@@ -57,6 +63,10 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameParams;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SignatureHelpParams;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -70,26 +80,41 @@ import org.eclipse.lsp4j.services.TextDocumentService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.github.cameltooling.lsp.internal.callhierarchy.CallHierarchyProcessor;
 import com.github.cameltooling.lsp.internal.catalog.runtimeprovider.CamelRuntimeProvider;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogVersionResolver;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.ResolvedCatalogVersionManager;
 import com.github.cameltooling.lsp.internal.codeactions.CodeActionProcessor;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.CamelPropertiesCompletionProcessor;
+import com.github.cameltooling.lsp.internal.completion.CompletionItemResolver;
+import com.github.cameltooling.lsp.internal.completion.CompletionSessions;
+import com.github.cameltooling.lsp.internal.completion.IncompleteCompletionItems;
 import com.github.cameltooling.lsp.internal.completion.PomCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.VSCodeTasksCompletionProcessor;
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineCompletionprocessor;
+import com.github.cameltooling.lsp.internal.completion.usage.UsageStatistics;
 import com.github.cameltooling.lsp.internal.definition.DefinitionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticRunner;
+import com.github.cameltooling.lsp.internal.documenthighlight.DocumentHighlightProcessor;
 import com.github.cameltooling.lsp.internal.documentsymbol.DocumentSymbolProcessor;
 import com.github.cameltooling.lsp.internal.folding.FoldingRangeProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelKModelineHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelPropertiesFileHoverProcessor;
 import com.github.cameltooling.lsp.internal.hover.CamelURIHoverProcessor;
+import com.github.cameltooling.lsp.internal.metrics.LanguageServerMetrics;
 import com.github.cameltooling.lsp.internal.parser.CamelKModelineParser;
+import com.github.cameltooling.lsp.internal.parser.ParsedDocumentCache;
 import com.github.cameltooling.lsp.internal.references.ReferencesProcessor;
+import com.github.cameltooling.lsp.internal.semantictokens.SemanticTokensCache;
+import com.github.cameltooling.lsp.internal.semantictokens.SemanticTokensProcessor;
 import com.github.cameltooling.lsp.internal.settings.JSONUtility;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 import com.github.cameltooling.lsp.internal.telemetry.TelemetryLanguage;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceDocumentIndex;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceSymbolIndex;
 import com.google.gson.Gson;
 
 /**
@@ -98,24 +123,68 @@ import com.google.gson.Gson;
 public class CamelTextDocumentService implements TextDocumentService {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelTextDocumentService.class);
-	protected Map<String, TextDocumentItem> openedDocuments = new HashMap<>();
+	protected Map<String, TextDocumentItem> openedDocuments = new ConcurrentHashMap<>();
 	private CompletableFuture<CamelCatalog> camelCatalog;
 	private CamelLanguageServer camelLanguageServer;
 	private KameletsCatalogManager kameletsCatalogManager = new KameletsCatalogManager();
+	private LanguageServerMetrics metrics = new LanguageServerMetrics();
+	private CompletionSessions completionSessions = new CompletionSessions(metrics.getCacheCounter("completionSessions"));
+	private WorkspaceDocumentIndex documentIndex = new WorkspaceDocumentIndex();
+	private UsageStatistics usageStatistics = new UsageStatistics(documentIndex);
+	private WorkspaceEndpointIndex endpointIndex = new WorkspaceEndpointIndex(documentIndex);
+	private WorkspaceSymbolIndex symbolIndex = new WorkspaceSymbolIndex(documentIndex);
+	private SemanticTokensCache semanticTokensCache = new SemanticTokensCache(metrics.getCacheCounter("semanticTokens"));
+	private ParsedDocumentCache parsedDocumentCache = new ParsedDocumentCache(metrics.getCacheCounter("parsedDocuments"));
 
 	public CamelTextDocumentService(CamelLanguageServer camelLanguageServer) {
 		this.camelLanguageServer = camelLanguageServer;
 		camelCatalog = CompletableFuture.supplyAsync(() -> new DefaultCamelCatalog(true));
+		endpointIndex.addRouteGraphListener(this::routeCallersChanged);
+	}
+
+	/**
+	 * The dangling producers and the cycles of a document depend on the routes of the other documents:
+	 * the diagnostics of the opened documents calling a route which changed are computed again.
+	 */
+	private void routeCallersChanged(Set<String> documentKeys) {
+		SettingsManager settingsManager = getSettingsManager();
+		if (settingsManager == null || !settingsManager.isRouteGraphDiagnostics()) {
+			return;
+		}
+		for (TextDocumentItem openedDocument : openedDocuments.values()) {
+			if (documentKeys.contains(WorkspaceDocumentIndex.toKey(openedDocument.getUri()))) {
+				new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).computeDiagnostics(openedDocument.getText(), openedDocument);
+			}
+		}
 	}
 	
-	public void updateCatalog(String camelVersion, String camelCatalogRuntimeProvider, List<Map<?,?>> extraComponents) {
+	public void updateCatalog(String camelVersion, String camelCatalogRuntimeProvider, List<Map<?,?>> extraComponents, CamelCatalogVersionResolver versionResolver) {
+		completionSessions.invalidateAll();
+		CompletableFuture<CamelCatalog> previousCatalog = camelCatalog;
 		camelCatalog = CompletableFuture.supplyAsync(() -> {
 			DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
-			updateCatalogVersion(camelVersion, catalog);
+			updateCatalogVersion(camelVersion, catalog, versionResolver);
 			updateCatalogRuntimeProvider(camelCatalogRuntimeProvider, catalog);
 			updateCatalogExtraComponents(extraComponents, catalog);
 			return catalog;
 		});
+		closeCatalog(previousCatalog);
+		camelLanguageServer.restartCatalogWarmUp();
+	}
+
+	/**
+	 * Releases the catalog jar opened for the current catalog, once the Language Server stops.
+	 */
+	public void closeCatalog() {
+		closeCatalog(camelCatalog);
+	}
+
+	private static void closeCatalog(CompletableFuture<CamelCatalog> catalog) {
+		catalog.thenAccept(discardedCatalog -> {
+			if (discardedCatalog.getVersionManager() instanceof ResolvedCatalogVersionManager) {
+				((ResolvedCatalogVersionManager) discardedCatalog.getVersionManager()).close();
+			}
+		});
 	}
 
 	private void updateCatalogExtraComponents(List<Map<?, ?>> extraComponents, DefaultCamelCatalog catalog) {
@@ -140,14 +209,9 @@ public class CamelTextDocumentService implements TextDocumentService {
 		}
 	}
 
-	private void updateCatalogVersion(String camelVersion, DefaultCamelCatalog catalog) {
+	private void updateCatalogVersion(String camelVersion, DefaultCamelCatalog catalog, CamelCatalogVersionResolver versionResolver) {
 		if (camelVersion != null && !camelVersion.isEmpty()) {
-			MavenVersionManager versionManager = new MavenVersionManager();
-			if (camelVersion.contains("redhat")) {
-				versionManager.addMavenRepository("central", "https://repo1.maven.org/maven2/");
-				versionManager.addMavenRepository("maven.redhat.ga", "https://maven.repository.redhat.com/ga/");
-			}
-			catalog.setVersionManager(versionManager);
+			catalog.setVersionManager(new ResolvedCatalogVersionManager(catalog, versionResolver));
 			if (!catalog.loadVersion(camelVersion)) {
 				LOGGER.warn("Cannot load Camel catalog with version {}", camelVersion);
 			}
@@ -162,7 +226,9 @@ public class CamelTextDocumentService implements TextDocumentService {
 
 		if (textDocumentItem != null) {
 			if (uri.endsWith(".properties")){
-				return new CamelPropertiesCompletionProcessor(textDocumentItem, getCamelCatalog()).getCompletions(completionParams.getPosition(), getSettingsManager(), getKameletsCatalogManager()).thenApply(Either::forLeft);
+				return new CamelPropertiesCompletionProcessor(textDocumentItem, getCamelCatalog()).getCompletions(completionParams.getPosition(), getSettingsManager(), getKameletsCatalogManager())
+						.thenApply(getCompletionItemResolver()::slim)
+						.thenApply(Either::forLeft);
 			} else if (new CamelKModelineInsertionParser(textDocumentItem).canPutCamelKModeline(completionParams.getPosition())){
 				return new CamelKModelineInsertionProcessor(textDocumentItem).getCompletions().thenApply(Either::forLeft);
 			} else if (new CamelKModelineParser().isOnCamelKModeline(completionParams.getPosition().getLine(), textDocumentItem)){
@@ -172,7 +238,9 @@ public class CamelTextDocumentService implements TextDocumentService {
 			} else if(uri.endsWith("tasks.json")) {
 				return new VSCodeTasksCompletionProcessor(textDocumentItem).getCompletions(completionParams.getPosition()).thenApply(Either::forLeft);
 			} else {
-				return new CamelEndpointCompletionProcessor(textDocumentItem, getCamelCatalog(), getKameletsCatalogManager()).getCompletions(completionParams.getPosition(), getSettingsManager()).thenApply(Either::forLeft);
+				return new CamelEndpointCompletionProcessor(textDocumentItem, getCamelCatalog(), getKameletsCatalogManager(), completionSessions, metrics).getCompletions(completionParams.getPosition(), getSettingsManager())
+						.thenApply(getCompletionItemResolver()::slim)
+						.thenApply(IncompleteCompletionItems::toCompletionResult);
 			}
 		} else {
 			LOGGER.warn("The document with uri {} has not been found in opened documents. Cannot provide completion.", uri);
@@ -183,7 +251,11 @@ public class CamelTextDocumentService implements TextDocumentService {
 	@Override
 	public CompletableFuture<CompletionItem> resolveCompletionItem(CompletionItem unresolved) {
 		LOGGER.info("resolveCompletionItem: {}", unresolved.getLabel());
-		return CompletableFuture.completedFuture(unresolved);
+		return getCompletionItemResolver().resolve(unresolved);
+	}
+
+	private CompletionItemResolver getCompletionItemResolver() {
+		return new CompletionItemResolver(getCamelCatalog(), getSettingsManager());
 	}
 
 	@Override
@@ -211,7 +283,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 		TextDocumentIdentifier textDocument = params.getTextDocument();
 		LOGGER.info("definition: {}", textDocument);
 		TextDocumentItem textDocumentItem = openedDocuments.get(textDocument.getUri());
-		return new DefinitionProcessor(textDocumentItem).getDefinitions(params.getPosition());
+		return new DefinitionProcessor(this, textDocumentItem).getDefinitions(params.getPosition());
 	}
 
 	@Override
@@ -220,10 +292,40 @@ public class CamelTextDocumentService implements TextDocumentService {
 		return new ReferencesProcessor(this, openedDocuments.get(params.getTextDocument().getUri())).getReferences(params.getPosition());
 	}
 
+	@Override
+	public CompletableFuture<List<CallHierarchyItem>> prepareCallHierarchy(CallHierarchyPrepareParams params) {
+		LOGGER.info("prepareCallHierarchy: {}", params.getTextDocument());
+		return new CallHierarchyProcessor(this).prepareCallHierarchy(params.getTextDocument().getUri(), params.getPosition());
+	}
+
+	@Override
+	public CompletableFuture<List<CallHierarchyIncomingCall>> callHierarchyIncomingCalls(CallHierarchyIncomingCallsParams params) {
+		LOGGER.info("callHierarchyIncomingCalls: {}", params.getItem().getName());
+		return new CallHierarchyProcessor(this).getIncomingCalls(params.getItem());
+	}
+
+	@Override
+	public CompletableFuture<List<CallHierarchyOutgoingCall>> callHierarchyOutgoingCalls(CallHierarchyOutgoingCallsParams params) {
+		LOGGER.info("callHierarchyOutgoingCalls: {}", params.getItem().getName());
+		return new CallHierarchyProcessor(this).getOutgoingCalls(params.getItem());
+	}
+
+	@Override
+	public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
+		LOGGER.info("semanticTokensFull: {}", params.getTextDocument());
+		return new SemanticTokensProcessor(this).getSemanticTokens(params.getTextDocument().getUri());
+	}
+
+	@Override
+	public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(SemanticTokensDeltaParams params) {
+		LOGGER.info("semanticTokensFullDelta: {}", params.getTextDocument());
+		return new SemanticTokensProcessor(this).getSemanticTokensDelta(params.getTextDocument().getUri(), params.getPreviousResultId());
+	}
+
 	@Override
 	public CompletableFuture<List<? extends DocumentHighlight>> documentHighlight(DocumentHighlightParams position) {
 		LOGGER.info("documentHighlight: {}", position.getTextDocument());
-		return CompletableFuture.completedFuture(Collections.emptyList());
+		return new DocumentHighlightProcessor(this).getDocumentHighlights(position.getTextDocument().getUri(), position.getPosition());
 	}
 
 	@Override
@@ -282,7 +384,7 @@ public class CamelTextDocumentService implements TextDocumentService {
 		TextDocumentItem textDocumentItem = openedDocuments.get(uri);
 		if (textDocumentItem != null) {
 			// We support providing folding rages only when the document are opened. It doesn't make sense anyway when it is closed
-			return new FoldingRangeProcessor().computeFoldingRanges(textDocumentItem);
+			return new FoldingRangeProcessor(parsedDocumentCache).computeFoldingRanges(textDocumentItem);
 		} else {
 			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
@@ -291,8 +393,9 @@ public class CamelTextDocumentService implements TextDocumentService {
 	@Override
 	public void didOpen(DidOpenTextDocumentParams params) {
 		TextDocumentItem textDocument = params.getTextDocument();
-		LOGGER.info("didOpen: {}", textDocument);
+		LOGGER.info("didOpen: {}", textDocument.getUri());
 		openedDocuments.put(textDocument.getUri(), textDocument);
+		documentIndex.documentChanged(textDocument.getUri(), textDocument.getText());
 		new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
 		new TelemetryLanguage(camelLanguageServer.getTelemetryManager()).compute(textDocument);
 	}
@@ -304,6 +407,8 @@ public class CamelTextDocumentService implements TextDocumentService {
 		TextDocumentItem textDocumentItem = openedDocuments.get(params.getTextDocument().getUri());
 		if (!contentChanges.isEmpty()) {
 			textDocumentItem.setText(contentChanges.get(0).getText());
+			textDocumentItem.setVersion(params.getTextDocument().getVersion());
+			documentIndex.documentChanged(textDocumentItem.getUri(), textDocumentItem.getText());
 			new DiagnosticRunner(getCamelCatalog(), camelLanguageServer).compute(params);
 		}
 	}
@@ -313,6 +418,10 @@ public class CamelTextDocumentService implements TextDocumentService {
 		LOGGER.info("didClose: {}", params.getTextDocument());
 		String uri = params.getTextDocument().getUri();
 		openedDocuments.remove(uri);
+		documentIndex.documentClosed(uri);
+		semanticTokensCache.invalidate(uri);
+		parsedDocumentCache.invalidate(uri);
+		completionSessions.invalidate(uri);
 		/* The rule observed by VS Code servers as explained in LSP specification is to clear the Diagnostic when it is related to a single file.
 		 * https://microsoft.github.io/language-server-protocol/specification#textDocument_publishDiagnostics
 		 * */
@@ -348,4 +457,36 @@ public class CamelTextDocumentService implements TextDocumentService {
 	public KameletsCatalogManager getKameletsCatalogManager() {
 		return kameletsCatalogManager;
 	}
+
+	public CompletionSessions getCompletionSessions() {
+		return completionSessions;
+	}
+
+	public UsageStatistics getUsageStatistics() {
+		return usageStatistics;
+	}
+
+	public WorkspaceDocumentIndex getDocumentIndex() {
+		return documentIndex;
+	}
+
+	public WorkspaceEndpointIndex getEndpointIndex() {
+		return endpointIndex;
+	}
+
+	public WorkspaceSymbolIndex getSymbolIndex() {
+		return symbolIndex;
+	}
+
+	public SemanticTokensCache getSemanticTokensCache() {
+		return semanticTokensCache;
+	}
+
+	public ParsedDocumentCache getParsedDocumentCache() {
+		return parsedDocumentCache;
+	}
+
+	public LanguageServerMetrics getMetrics() {
+		return metrics;
+	}
 }
@@ -23,15 +23,18 @@ import java.util.concurrent.CompletableFuture;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.WorkspaceSymbol;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceFileIndex;
 
 /**
  * @author lhein
@@ -39,16 +42,34 @@ import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 public class CamelWorkspaceService implements WorkspaceService {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelWorkspaceService.class);
+	static final int MAX_SYMBOLS = 500;
+	static final int SYMBOLS_PAGE_SIZE = 100;
+	private CamelLanguageServer camelLanguageServer;
 	private SettingsManager settingsManager;
 
-	public CamelWorkspaceService(SettingsManager settingsManager) {
+	public CamelWorkspaceService(CamelLanguageServer camelLanguageServer, SettingsManager settingsManager) {
+		this.camelLanguageServer = camelLanguageServer;
 		this.settingsManager = settingsManager;
 	}
 
+	/**
+	 * When the client provided a partial result token, the symbols are streamed in pages with progress notifications and the response itself is empty.
+	 */
 	@Override
 	public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(WorkspaceSymbolParams params) {
 		LOGGER.info("SERVER: symbolQuery: {}", params.getQuery());
-		return CompletableFuture.completedFuture(Either.forRight(Collections.emptyList()));
+		return CompletableFuture.supplyAsync(() -> {
+			List<WorkspaceSymbol> symbols = camelLanguageServer.getTextDocumentService().getSymbolIndex().search(params.getQuery(), MAX_SYMBOLS);
+			LanguageClient client = camelLanguageServer.getClient();
+			if (params.getPartialResultToken() == null || client == null) {
+				return Either.forRight(symbols);
+			}
+			for (int pageStart = 0; pageStart < symbols.size(); pageStart += SYMBOLS_PAGE_SIZE) {
+				List<WorkspaceSymbol> page = symbols.subList(pageStart, Math.min(pageStart + SYMBOLS_PAGE_SIZE, symbols.size()));
+				client.notifyProgress(new ProgressParams(params.getPartialResultToken(), Either.forRight(page)));
+			}
+			return Either.forRight(Collections.emptyList());
+		});
 	}
 
 	@Override
@@ -62,5 +83,7 @@ public class CamelWorkspaceService implements WorkspaceService {
 	public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
 		List<FileEvent> settings = params.getChanges();
 		LOGGER.info("SERVER: changeWatchedFiles: size -> {}", settings.size());
+		WorkspaceFileIndex.getInstance().filesChanged(settings);
+		camelLanguageServer.getTextDocumentService().getDocumentIndex().filesChanged(settings);
 	}
 }
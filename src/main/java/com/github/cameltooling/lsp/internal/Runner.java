@@ -63,7 +63,13 @@ public class Runner {
 			webSocketRunner.runWebSocketServer(hostname, port, contextPath);
 		} else {
 			server = new CamelLanguageServer();
-			Launcher<LanguageClient> launcher = LSPLauncher.createServerLauncher(server, System.in, System.out);
+			Launcher<LanguageClient> launcher = new LSPLauncher.Builder<LanguageClient>()
+					.setLocalService(server)
+					.setRemoteInterface(LanguageClient.class)
+					.setInput(System.in)
+					.setOutput(System.out)
+					.wrapMessages(server.getTextDocumentService().getMetrics().createMessageWrapper())
+					.create();
 			server.connect(launcher.getRemoteProxy());
 			launcher.startListening();
 		}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.CallHierarchyIncomingCall;
+import org.eclipse.lsp4j.CallHierarchyItem;
+import org.eclipse.lsp4j.CallHierarchyOutgoingCall;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.RouteGraph.Route;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
+
+/**
+ * Call hierarchy of the routes, a route calling the routes consuming the <code>direct</code>, <code>direct-vm</code>, <code>seda</code> and <code>vm</code> keys of its producers.
+ * A route is identified by the URI and the selection range of its <code>from</code> endpoint, so that the items sent back by the client are resolved without additional data.
+ */
+public class CallHierarchyProcessor {
+
+	private WorkspaceEndpointIndex endpointIndex;
+
+	public CallHierarchyProcessor(CamelTextDocumentService textDocumentService) {
+		this.endpointIndex = textDocumentService.getEndpointIndex();
+	}
+
+	public CompletableFuture<List<CallHierarchyItem>> prepareCallHierarchy(String documentUri, Position position) {
+		Route route = endpointIndex.findRoute(documentUri, position);
+		return CompletableFuture.completedFuture(route != null ? Collections.singletonList(toItem(route)) : Collections.emptyList());
+	}
+
+	public CompletableFuture<List<CallHierarchyIncomingCall>> getIncomingCalls(CallHierarchyItem item) {
+		Route route = findRoute(item);
+		if (route == null) {
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		List<CallHierarchyIncomingCall> incomingCalls = new ArrayList<>();
+		for (Map.Entry<Route, List<EndpointOccurrence>> caller : endpointIndex.getRouteGraph().getCallers(route).entrySet()) {
+			incomingCalls.add(new CallHierarchyIncomingCall(toItem(caller.getKey()), toRanges(caller.getValue())));
+		}
+		return CompletableFuture.completedFuture(incomingCalls);
+	}
+
+	public CompletableFuture<List<CallHierarchyOutgoingCall>> getOutgoingCalls(CallHierarchyItem item) {
+		Route route = findRoute(item);
+		if (route == null) {
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		List<CallHierarchyOutgoingCall> outgoingCalls = new ArrayList<>();
+		for (Map.Entry<Route, List<EndpointOccurrence>> callee : endpointIndex.getRouteGraph().getCallees(route).entrySet()) {
+			outgoingCalls.add(new CallHierarchyOutgoingCall(toItem(callee.getKey()), toRanges(callee.getValue())));
+		}
+		return CompletableFuture.completedFuture(outgoingCalls);
+	}
+
+	private Route findRoute(CallHierarchyItem item) {
+		if (item == null || item.getUri() == null || item.getSelectionRange() == null) {
+			return null;
+		}
+		return endpointIndex.findRoute(item.getUri(), item.getSelectionRange().getStart());
+	}
+
+	private static CallHierarchyItem toItem(Route route) {
+		EndpointOccurrence from = route.getFrom();
+		CallHierarchyItem item = new CallHierarchyItem(from.getUri(), SymbolKind.Function, from.getDocumentUri(), route.getRange(), from.getRange());
+		item.setDetail(from.getDocumentUri().substring(from.getDocumentUri().lastIndexOf('/') + 1));
+		return item;
+	}
+
+	private static List<Range> toRanges(List<EndpointOccurrence> producers) {
+		return producers.stream().map(EndpointOccurrence::getRange).collect(Collectors.toList());
+	}
+}
@@ -18,18 +18,38 @@ package com.github.cameltooling.lsp.internal.catalog.model;
 
 import java.util.List;
 
+/**
+ * The boolean attributes are packed in a single bit set, the string attributes are expected to be shared instances
+ * (see {@link com.github.cameltooling.lsp.internal.catalog.util.ModelStringPool}) as there are thousands of options per catalog.
+ */
 public class BaseOptionModel {
+
+	protected static final int REQUIRED = 1;
+	protected static final int DEPRECATED = 1 << 1;
+	protected static final int SECRET = 1 << 2;
+	protected static final int MULTI_VALUE = 1 << 3;
+
 	private String name;
 	private String kind;
 	private String group;
-	private boolean required;
 	private String type;
 	private String javaType;
-	private boolean deprecated;
-	private boolean secret;
 	private String description;
 	private Object defaultValue;
 	private List<String> enums;
+	private byte flags;
+
+	protected boolean getFlag(int flag) {
+		return (flags & flag) != 0;
+	}
+
+	protected void setFlag(int flag, boolean value) {
+		if (value) {
+			flags = (byte) (flags | flag);
+		} else {
+			flags = (byte) (flags & ~flag);
+		}
+	}
 
 	public Object getDefaultValue() {
 		return defaultValue;
@@ -72,11 +92,11 @@ public class BaseOptionModel {
 	}
 
 	public boolean isRequired() {
-		return required;
+		return getFlag(REQUIRED);
 	}
 
 	public void setRequired(boolean required) {
-		this.required = required;
+		setFlag(REQUIRED, required);
 	}
 
 	public String getType() {
@@ -96,19 +116,19 @@ public class BaseOptionModel {
 	}
 
 	public boolean isDeprecated() {
-		return deprecated;
+		return getFlag(DEPRECATED);
 	}
 
 	public void setDeprecated(boolean deprecated) {
-		this.deprecated = deprecated;
+		setFlag(DEPRECATED, deprecated);
 	}
 
 	public boolean isSecret() {
-		return secret;
+		return getFlag(SECRET);
 	}
 
 	public void setSecret(boolean secret) {
-		this.secret = secret;
+		setFlag(SECRET, secret);
 	}
 
 	public String getDescription() {
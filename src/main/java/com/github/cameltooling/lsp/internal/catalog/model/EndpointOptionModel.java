@@ -19,7 +19,6 @@ package com.github.cameltooling.lsp.internal.catalog.model;
 public class EndpointOptionModel extends BaseOptionModel {
 
 	private String prefix;
-	private boolean multiValue;
 	private String enumValues;
 
 	public String getPrefix() {
@@ -31,11 +30,11 @@ public class EndpointOptionModel extends BaseOptionModel {
 	}
 
 	public boolean getMultiValue() {
-		return multiValue;
+		return getFlag(MULTI_VALUE);
 	}
 
 	public void setMultiValue(boolean multiValue) {
-		this.multiValue = multiValue;
+		setFlag(MULTI_VALUE, multiValue);
 	}
 
 	public String getEnumValues() {
@@ -0,0 +1,377 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+
+/**
+ * Resolves the camel-catalog artifact of a given version on the file system.
+ *
+ * The lookup order is the local Maven repository, then the on-disk cache of the Language Server and finally the configured repositories.
+ * Repositories are probed in parallel and the artifact is downloaded from the first one providing it only, the other probes being cancelled.
+ * The download is verified against the <code>.sha1</code> checksum provided by the repository before being stored in the cache.
+ * Maven Central, and the Red Hat repository for productized versions, are always queried in addition to the configured repositories.
+ * In offline mode, only repositories located on the file system are used.
+ */
+public class CamelCatalogVersionResolver {
+
+	public static final String CENTRAL_REPOSITORY = "https://repo1.maven.org/maven2/";
+	public static final String REDHAT_GA_REPOSITORY = "https://maven.repository.redhat.com/ga/";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelCatalogVersionResolver.class);
+	private static final String CAMEL_CATALOG_GROUP_PATH = "org/apache/camel";
+	private static final String CAMEL_CATALOG_ARTIFACT_ID = "camel-catalog";
+	private static final Duration DOWNLOAD_TIMEOUT = Duration.ofMinutes(2);
+	private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(30);
+	private static final String CHECKSUM_EXTENSION = ".sha1";
+	static final int MAX_CONCURRENT_PROBES = 4;
+
+	private final Path localRepository;
+	private final Path cacheDirectory;
+	private final List<String> repositories;
+	private final boolean offline;
+	private final Map<String, Path> resolvedVersions = new ConcurrentHashMap<>();
+	private HttpClient httpClient;
+	private ThreadPoolExecutor executor;
+
+	/**
+	 * @param localRepository the local Maven repository, usually <code>~/.m2/repository</code>
+	 * @param cacheDirectory the folder where downloaded catalogs are stored
+	 * @param repositories the repositories to use in addition to Maven Central (and the Red Hat repository for productized versions), can be http(s) urls, file urls or plain file-system paths
+	 * @param offline whether remote repositories must be ignored
+	 */
+	public CamelCatalogVersionResolver(Path localRepository, Path cacheDirectory, List<String> repositories, boolean offline) {
+		this.localRepository = localRepository;
+		this.cacheDirectory = cacheDirectory;
+		this.repositories = repositories != null ? new ArrayList<>(repositories) : Collections.emptyList();
+		this.offline = offline;
+	}
+
+	/**
+	 * @return whether this resolver was created with the same parameters, so that it can be reused with its resolved versions
+	 */
+	public boolean hasConfiguration(Path localRepository, Path cacheDirectory, List<String> repositories, boolean offline) {
+		return Objects.equals(this.localRepository, localRepository)
+				&& Objects.equals(this.cacheDirectory, cacheDirectory)
+				&& this.repositories.equals(repositories != null ? repositories : Collections.emptyList())
+				&& this.offline == offline;
+	}
+
+	public static CamelCatalogVersionResolver createDefault() {
+		return new CamelCatalogVersionResolver(getDefaultLocalRepository(), getDefaultCacheDirectory(), Collections.emptyList(), false);
+	}
+
+	public static Path getDefaultLocalRepository() {
+		String mavenRepoLocal = System.getProperty("maven.repo.local");
+		if (mavenRepoLocal != null && !mavenRepoLocal.isEmpty()) {
+			return Paths.get(mavenRepoLocal);
+		}
+		return Paths.get(System.getProperty("user.home"), ".m2", "repository");
+	}
+
+	public static Path getDefaultCacheDirectory() {
+		return Paths.get(System.getProperty("user.home"), ".camel-lsp", "catalogs");
+	}
+
+	/**
+	 * @param version the Camel catalog version
+	 * @return the path to the camel-catalog jar for this version, empty if it cannot be found
+	 */
+	public Optional<Path> resolve(String version) {
+		Path alreadyResolved = resolvedVersions.get(version);
+		if (alreadyResolved != null && Files.isRegularFile(alreadyResolved)) {
+			return Optional.of(alreadyResolved);
+		}
+		String artifactPath = getArtifactPath(version);
+		Path resolved = findExisting(localRepository, artifactPath);
+		if (resolved == null) {
+			resolved = findExisting(cacheDirectory, artifactPath);
+		}
+		if (resolved == null) {
+			resolved = download(artifactPath, getRepositories(version));
+		}
+		if (resolved != null) {
+			resolvedVersions.put(version, resolved);
+		} else {
+			LOGGER.warn("Cannot resolve Camel catalog with version {} (offline mode: {})", version, offline);
+		}
+		return Optional.ofNullable(resolved);
+	}
+
+	/**
+	 * @param version the Camel catalog version
+	 * @return the repositories effectively queried for this version, the configured ones first then the default ones, remote ones are excluded in offline mode
+	 */
+	List<String> getRepositories(String version) {
+		List<String> candidates = new ArrayList<>(repositories);
+		addIfAbsent(candidates, CENTRAL_REPOSITORY);
+		if (version.contains("redhat")) {
+			addIfAbsent(candidates, REDHAT_GA_REPOSITORY);
+		}
+		if (offline) {
+			candidates.removeIf(repository -> !"file".equals(toRepositoryUri(repository).getScheme()));
+		}
+		return candidates;
+	}
+
+	private static void addIfAbsent(List<String> candidates, String repository) {
+		URI repositoryUri = toRepositoryUri(repository);
+		if (candidates.stream().noneMatch(candidate -> toRepositoryUri(candidate).equals(repositoryUri))) {
+			candidates.add(repository);
+		}
+	}
+
+	static String getArtifactPath(String version) {
+		return CAMEL_CATALOG_GROUP_PATH + "/" + CAMEL_CATALOG_ARTIFACT_ID + "/" + version + "/" + CAMEL_CATALOG_ARTIFACT_ID + "-" + version + ".jar";
+	}
+
+	private Path findExisting(Path repository, String artifactPath) {
+		if (repository != null) {
+			Path candidate = repository.resolve(artifactPath);
+			if (Files.isRegularFile(candidate)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	private Path download(String artifactPath, List<String> repositoriesToQuery) {
+		if (repositoriesToQuery.isEmpty() || cacheDirectory == null) {
+			return null;
+		}
+		Path target = cacheDirectory.resolve(artifactPath);
+		List<String> candidates = new ArrayList<>(repositoriesToQuery);
+		while (!candidates.isEmpty()) {
+			String repository = findAvailableRepository(artifactPath, candidates);
+			if (repository == null) {
+				return null;
+			}
+			candidates.remove(repository);
+			try {
+				return fetch(repository, artifactPath, target);
+			} catch (IOException e) {
+				LOGGER.warn("Cannot download {} from {}", artifactPath, repository, e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the first of the repositories answering that it provides the artifact, the probes of the other ones being cancelled, or null if none provides it
+	 */
+	private String findAvailableRepository(String artifactPath, List<String> candidates) {
+		CompletionService<String> probes = new ExecutorCompletionService<>(getExecutor());
+		List<Future<String>> futures = new ArrayList<>(candidates.size());
+		for (String repository : candidates) {
+			futures.add(probes.submit(() -> isAvailable(repository, artifactPath) ? repository : null));
+		}
+		long deadline = System.nanoTime() + PROBE_TIMEOUT.toNanos();
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				Future<String> probe = probes.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (probe == null) {
+					LOGGER.warn("No repository answered in time for {}", artifactPath);
+					return null;
+				}
+				String repository = probe.get();
+				if (repository != null) {
+					return repository;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOGGER.warn("Cannot probe the repositories for {}", artifactPath, e);
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		return null;
+	}
+
+	private boolean isAvailable(String repository, String artifactPath) {
+		try {
+			URI artifactUri = toRepositoryUri(repository).resolve(artifactPath);
+			String scheme = artifactUri.getScheme();
+			if ("file".equals(scheme)) {
+				return Files.isRegularFile(Paths.get(artifactUri));
+			} else if ("http".equals(scheme) || "https".equals(scheme)) {
+				HttpRequest request = HttpRequest.newBuilder(artifactUri).timeout(PROBE_TIMEOUT).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+				return getHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+			}
+			LOGGER.debug("Unsupported repository {}", repository);
+		} catch (IOException | RuntimeException e) {
+			LOGGER.debug("Cannot probe {} for {}", repository, artifactPath, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	private Path fetch(String repository, String artifactPath, Path target) throws IOException, InterruptedException {
+		URI artifactUri = toRepositoryUri(repository).resolve(artifactPath);
+		Files.createDirectories(target.getParent());
+		Path partFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+		try {
+			String scheme = artifactUri.getScheme();
+			if ("file".equals(scheme)) {
+				Files.copy(Paths.get(artifactUri), partFile, StandardCopyOption.REPLACE_EXISTING);
+			} else if ("http".equals(scheme) || "https".equals(scheme)) {
+				HttpRequest request = HttpRequest.newBuilder(artifactUri).timeout(DOWNLOAD_TIMEOUT).GET().build();
+				HttpResponse<Path> response = getHttpClient().send(request, HttpResponse.BodyHandlers.ofFile(partFile));
+				if (response.statusCode() != 200) {
+					throw new IOException("Unexpected status code " + response.statusCode() + " for " + artifactUri);
+				}
+			} else {
+				throw new IOException("Unsupported repository " + repository);
+			}
+			verifyChecksum(artifactUri, partFile);
+			moveInCache(partFile, target);
+			return target;
+		} finally {
+			Files.deleteIfExists(partFile);
+		}
+	}
+
+	/**
+	 * Compares the SHA-1 digest of the downloaded file with the checksum published next to the artifact. Repositories which do not publish it,
+	 * typically the folders on the file system, are trusted.
+	 */
+	private void verifyChecksum(URI artifactUri, Path downloadedFile) throws IOException, InterruptedException {
+		String expectedChecksum = readChecksum(URI.create(artifactUri + CHECKSUM_EXTENSION));
+		if (expectedChecksum == null) {
+			LOGGER.debug("No checksum published for {}", artifactUri);
+			return;
+		}
+		String checksum = computeSha1(downloadedFile);
+		if (!checksum.equalsIgnoreCase(expectedChecksum)) {
+			throw new IOException("Checksum mismatch for " + artifactUri + ": expected " + expectedChecksum + " but was " + checksum);
+		}
+	}
+
+	private String readChecksum(URI checksumUri) throws IOException, InterruptedException {
+		String content = null;
+		if ("file".equals(checksumUri.getScheme())) {
+			Path checksumFile = Paths.get(checksumUri);
+			if (Files.isRegularFile(checksumFile)) {
+				content = Files.readString(checksumFile, StandardCharsets.US_ASCII);
+			}
+		} else {
+			HttpRequest request = HttpRequest.newBuilder(checksumUri).timeout(PROBE_TIMEOUT).GET().build();
+			HttpResponse<String> response = getHttpClient().send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.US_ASCII));
+			if (response.statusCode() == 200) {
+				content = response.body();
+			} else if (response.statusCode() != 404) {
+				throw new IOException("Unexpected status code " + response.statusCode() + " for " + checksumUri);
+			}
+		}
+		// the checksum can be followed by the name of the file
+		return content != null && !content.isBlank() ? content.trim().split("\\s+")[0] : null;
+	}
+
+	static String computeSha1(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException("SHA-1 is not supported", e);
+		}
+		try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+			input.transferTo(OutputStream.nullOutputStream());
+		}
+		return String.format("%040x", new BigInteger(1, digest.digest()));
+	}
+
+	private void moveInCache(Path partFile, Path target) throws IOException {
+		try {
+			Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	static URI toRepositoryUri(String repository) {
+		String uri;
+		if (repository.startsWith("http://") || repository.startsWith("https://") || repository.startsWith("file:")) {
+			uri = repository;
+		} else {
+			uri = Paths.get(repository).toUri().toString();
+		}
+		return URI.create(uri.endsWith("/") ? uri : uri + "/");
+	}
+
+	private synchronized HttpClient getHttpClient() {
+		if (httpClient == null) {
+			httpClient = HttpClient.newBuilder()
+					.followRedirects(HttpClient.Redirect.NORMAL)
+					.connectTimeout(Duration.ofSeconds(30))
+					.build();
+		}
+		return httpClient;
+	}
+
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(MAX_CONCURRENT_PROBES, MAX_CONCURRENT_PROBES, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					new BackgroundThreadFactory("camel-catalog-download"));
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	public boolean isOffline() {
+		return offline;
+	}
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.camel.catalog.CamelCatalog;
+
+/**
+ * A value derived from a catalog, computed on first access for each catalog instance.
+ *
+ * The catalogs are weakly referenced, so that the values of a catalog replaced after a settings change are released with it.
+ *
+ * @param <V> the type of the value
+ */
+public final class CatalogCache<V> {
+
+	private final Map<CamelCatalog, V> values = Collections.synchronizedMap(new WeakHashMap<>());
+	private final Function<CamelCatalog, V> factory;
+
+	/**
+	 * @param factory computes the value of a catalog, called once per catalog instance
+	 */
+	public CatalogCache(Function<CamelCatalog, V> factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * @return a cache of a concurrent map per catalog, for the values computed per component or per key
+	 */
+	public static <K, V> CatalogCache<Map<K, V>> ofMaps() {
+		return new CatalogCache<>(catalog -> new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * @param catalog the Camel catalog
+	 * @return the value of this catalog, computed on first call
+	 */
+	public V get(CamelCatalog catalog) {
+		return values.computeIfAbsent(catalog, factory);
+	}
+}
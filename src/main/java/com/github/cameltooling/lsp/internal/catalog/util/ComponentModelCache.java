@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.Map;
+
+import org.apache.camel.catalog.CamelCatalog;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+/**
+ * Component models of a catalog instance.
+ *
+ * Completion, diagnostics, hover and the Camel K modeline all need the models of the same components, so each model is generated once
+ * per catalog instance and shared. The returned models must not be modified. A model is generated again when the catalog provides
+ * another schema for the component, for instance after an extra component has been added.
+ */
+final class ComponentModelCache {
+
+	private static final CatalogCache<Map<String, CachedComponentModel>> MODELS = CatalogCache.ofMaps();
+
+	private ComponentModelCache() {
+		// utility class
+	}
+
+	static ComponentModel get(CamelCatalog catalog, String componentName) {
+		String schema = componentName != null ? catalog.componentJSonSchema(componentName) : null;
+		if (schema == null) {
+			return new ComponentModel();
+		}
+		Map<String, CachedComponentModel> models = MODELS.get(catalog);
+		CachedComponentModel cached = models.get(componentName);
+		if (cached == null || !cached.isGeneratedFrom(schema)) {
+			cached = new CachedComponentModel(schema, ModelHelper.generateComponentModel(schema, true));
+			models.put(componentName, cached);
+		}
+		return cached.model;
+	}
+
+	private static class CachedComponentModel {
+
+		private final String schema;
+		private final ComponentModel model;
+
+		CachedComponentModel(String schema, ComponentModel model) {
+			this.schema = schema;
+			this.model = model;
+		}
+
+		boolean isGeneratedFrom(String otherSchema) {
+			// the caching catalog returns the same instance for each call
+			return schema == otherSchema || schema.equals(otherSchema);
+		}
+	}
+}
@@ -16,18 +16,68 @@
  */
 package com.github.cameltooling.lsp.internal.catalog.util;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.camel.kamelets.catalog.KameletsCatalog;
+import org.apache.camel.v1.Kamelet;
 
 public class KameletsCatalogManager {
 	
-	private KameletsCatalog kameletsCatalog;
+	private volatile List<Path> userKameletDirectories = Collections.emptyList();
+	private volatile KameletsIndex userIndex;
 
-	public KameletsCatalogManager() {
-		kameletsCatalog = new KameletsCatalog();
+	/**
+	 * The Kamelets catalog and its index are immutable, they are shared by all Language Server instances.
+	 */
+	private static class CatalogHolder {
+		private static final KameletsCatalog CATALOG = new KameletsCatalog();
+		private static final KameletsIndex INDEX = KameletsIndex.of(CATALOG);
 	}
 
 	public KameletsCatalog getCatalog() {
-		return kameletsCatalog;
+		return CatalogHolder.CATALOG;
+	}
+
+	/**
+	 * @return the index of the Kamelets of the catalog, completed by the ones of the user directories
+	 */
+	public KameletsIndex getIndex() {
+		if (userKameletDirectories.isEmpty()) {
+			return CatalogHolder.INDEX;
+		}
+		KameletsIndex index = userIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = userIndex;
+				if (index == null) {
+					List<Kamelet> userKamelets = new ArrayList<>();
+					for (Path directory : userKameletDirectories) {
+						userKamelets.addAll(KameletsIndex.loadKamelets(directory));
+					}
+					index = CatalogHolder.INDEX.with(userKamelets);
+					userIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param directories directories containing additional <code>*.kamelet.yaml</code> files, they are read the next time the index is requested
+	 */
+	public synchronized void setUserKameletDirectories(List<Path> directories) {
+		List<Path> newDirectories = directories != null ? Collections.unmodifiableList(new ArrayList<>(directories)) : Collections.emptyList();
+		if (!newDirectories.equals(userKameletDirectories)) {
+			userIndex = null;
+			userKameletDirectories = newDirectories;
+		}
+	}
+
+	public List<Path> getUserKameletDirectories() {
+		return userKameletDirectories;
 	}
 
 }
@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.camel.kamelets.catalog.KameletsCatalog;
+import org.apache.camel.v1.Kamelet;
+import org.apache.camel.v1.kameletspec.Definition;
+import org.apache.camel.v1.kameletspec.definition.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Immutable index of Kamelets.
+ *
+ * Everything needed by completion and hover is computed when the index is built: the names sorted per type, the property tables
+ * with their insert texts and the descriptions. Lookups are then simple map accesses.
+ */
+public class KameletsIndex {
+
+	public static final String KAMELET_TYPE_LABEL = "camel.apache.org/kamelet.type";
+	static final String KAMELET_FILE_SUFFIX = ".kamelet.yaml";
+	private static final Logger LOGGER = LoggerFactory.getLogger(KameletsIndex.class);
+
+	private final Map<String, KameletEntry> kameletsByName;
+	private final Map<String, List<KameletEntry>> kameletsByType;
+
+	private KameletsIndex(Map<String, KameletEntry> kameletsByName) {
+		this.kameletsByName = Collections.unmodifiableMap(kameletsByName);
+		Map<String, List<KameletEntry>> byType = new HashMap<>();
+		for (KameletEntry kamelet : kameletsByName.values()) {
+			if (kamelet.getType() != null) {
+				byType.computeIfAbsent(kamelet.getType(), type -> new ArrayList<>()).add(kamelet);
+			}
+		}
+		Map<String, List<KameletEntry>> sortedByType = new HashMap<>();
+		byType.forEach((type, kamelets) -> {
+			kamelets.sort(Comparator.comparing(KameletEntry::getName));
+			sortedByType.put(type, Collections.unmodifiableList(kamelets));
+		});
+		this.kameletsByType = sortedByType;
+	}
+
+	/**
+	 * @param kameletsCatalog the Kamelets catalog
+	 * @return an index of all the Kamelets of the catalog
+	 */
+	public static KameletsIndex of(KameletsCatalog kameletsCatalog) {
+		return of(kameletsCatalog.getKamelets().values());
+	}
+
+	public static KameletsIndex of(Collection<Kamelet> kamelets) {
+		return new KameletsIndex(toEntries(kamelets));
+	}
+
+	/**
+	 * @param additionalKamelets Kamelets to add to the ones of this index, for instance the ones provided by the user
+	 * @return a new index, a Kamelet with the same name than an indexed one replaces it
+	 */
+	public KameletsIndex with(Collection<Kamelet> additionalKamelets) {
+		if (additionalKamelets.isEmpty()) {
+			return this;
+		}
+		Map<String, KameletEntry> merged = new TreeMap<>(kameletsByName);
+		merged.putAll(toEntries(additionalKamelets));
+		return new KameletsIndex(merged);
+	}
+
+	private static Map<String, KameletEntry> toEntries(Collection<Kamelet> kamelets) {
+		Map<String, KameletEntry> entries = new TreeMap<>();
+		for (Kamelet kamelet : kamelets) {
+			if (kamelet.getMetadata() != null && kamelet.getMetadata().getName() != null) {
+				entries.put(kamelet.getMetadata().getName(), new KameletEntry(kamelet));
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * @param directory a directory containing <code>*.kamelet.yaml</code> files
+	 * @return the Kamelets which can be read, invalid files are skipped
+	 */
+	public static List<Kamelet> loadKamelets(Path directory) {
+		List<Kamelet> kamelets = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return kamelets;
+		}
+		ObjectMapper mapper = new ObjectMapper(new YAMLFactory()).configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		try (DirectoryStream<Path> kameletFiles = Files.newDirectoryStream(directory, path -> path.getFileName().toString().endsWith(KAMELET_FILE_SUFFIX))) {
+			for (Path kameletFile : kameletFiles) {
+				try {
+					kamelets.add(mapper.readValue(kameletFile.toFile(), Kamelet.class));
+				} catch (IOException e) {
+					LOGGER.warn("Cannot read Kamelet {}", kameletFile, e);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Cannot list Kamelets of {}", directory, e);
+		}
+		return kamelets;
+	}
+
+	/**
+	 * @param name name of the Kamelet, for instance <code>aws-s3-source</code>
+	 * @return the Kamelet, null if unknown
+	 */
+	public KameletEntry getKamelet(String name) {
+		return name != null ? kameletsByName.get(name) : null;
+	}
+
+	/**
+	 * @param type type of the Kamelet, for instance <code>sink</code>
+	 * @return the Kamelets of this type sorted by name
+	 */
+	public List<KameletEntry> getKameletsByType(String type) {
+		return kameletsByType.getOrDefault(type, Collections.emptyList());
+	}
+
+	public Collection<KameletEntry> getKamelets() {
+		return kameletsByName.values();
+	}
+
+	public static class KameletEntry {
+
+		private final String name;
+		private final String type;
+		private final String description;
+		private final List<KameletPropertyEntry> properties;
+		private final Map<String, KameletPropertyEntry> propertiesByName;
+
+		KameletEntry(Kamelet kamelet) {
+			this.name = kamelet.getMetadata().getName();
+			Map<String, String> labels = kamelet.getMetadata().getLabels();
+			this.type = labels != null ? labels.get(KAMELET_TYPE_LABEL) : null;
+			Definition definition = kamelet.getSpec() != null ? kamelet.getSpec().getDefinition() : null;
+			this.description = definition != null ? definition.getDescription() : null;
+			Map<String, KameletPropertyEntry> kameletProperties = new LinkedHashMap<>();
+			if (definition != null && definition.getProperties() != null) {
+				definition.getProperties().forEach((propertyName, schema) -> kameletProperties.put(propertyName, new KameletPropertyEntry(propertyName, schema)));
+			}
+			this.propertiesByName = Collections.unmodifiableMap(kameletProperties);
+			this.properties = Collections.unmodifiableList(new ArrayList<>(kameletProperties.values()));
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public List<KameletPropertyEntry> getProperties() {
+			return properties;
+		}
+
+		public KameletPropertyEntry getProperty(String propertyName) {
+			return propertyName != null ? propertiesByName.get(propertyName) : null;
+		}
+	}
+
+	public static class KameletPropertyEntry {
+
+		private final String name;
+		private final String description;
+		private final String type;
+		private final String insertText;
+
+		KameletPropertyEntry(String name, Properties schema) {
+			this.name = name;
+			this.description = schema.getDescription();
+			this.type = schema.getType();
+			String text = name + "=";
+			if (schema.get_default() != null && schema.get_default().getValue() != null) {
+				text += schema.get_default().getValue().toString();
+			}
+			this.insertText = text;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDescription() {
+			return description;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		/**
+		 * @return the name followed by <code>=</code> and the default value when there is one
+		 */
+		public String getInsertText() {
+			return insertText;
+		}
+	}
+}
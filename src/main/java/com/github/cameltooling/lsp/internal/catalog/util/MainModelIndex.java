@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.apache.camel.tooling.model.MainModel;
+import org.apache.camel.tooling.model.MainModel.MainGroupModel;
+import org.apache.camel.tooling.model.MainModel.MainOptionModel;
+import org.apache.camel.util.StringHelper;
+
+import com.google.gson.Gson;
+
+/**
+ * Index of the Camel Main configuration model (the <code>camel.xxx</code> keys of application.properties files).
+ *
+ * The main JSON schema is large and never changes for a given catalog, so it is deserialized only once per catalog instance.
+ */
+public class MainModelIndex {
+
+	private static final String CAMEL_KEY_PREFIX = "camel.";
+	private static final CatalogCache<MainModelIndex> INDEXES = new CatalogCache<>(MainModelIndex::create);
+
+	private final List<MainGroupModel> groups;
+	private final List<MainOptionModel> options;
+	private final Map<String, List<GroupOption>> optionsByGroupName = new HashMap<>();
+	private final Map<String, MainOptionModel> optionsByFullName = new HashMap<>();
+
+	MainModelIndex(MainModel mainModel) {
+		this.groups = mainModel.getGroups() != null ? Collections.unmodifiableList(new ArrayList<>(mainModel.getGroups())) : Collections.emptyList();
+		this.options = mainModel.getOptions() != null ? Collections.unmodifiableList(new ArrayList<>(mainModel.getOptions())) : Collections.emptyList();
+		Map<String, List<GroupOption>> orderedOptionsByGroupName = new LinkedHashMap<>();
+		for (MainOptionModel option : options) {
+			String name = option.getName();
+			optionsByFullName.putIfAbsent(name, option);
+			if (name.startsWith(CAMEL_KEY_PREFIX)) {
+				int endOfGroupName = name.indexOf('.', CAMEL_KEY_PREFIX.length());
+				if (endOfGroupName != -1) {
+					String groupName = name.substring(CAMEL_KEY_PREFIX.length(), endOfGroupName);
+					orderedOptionsByGroupName.computeIfAbsent(groupName, key -> new ArrayList<>()).add(new GroupOption(option, name.substring(endOfGroupName + 1)));
+				}
+			}
+		}
+		orderedOptionsByGroupName.forEach((groupName, groupOptions) -> optionsByGroupName.put(groupName, Collections.unmodifiableList(groupOptions)));
+	}
+
+	/**
+	 * @param catalog the Camel catalog
+	 * @return the index of the main model for this catalog, computed on first call
+	 */
+	public static MainModelIndex of(CamelCatalog catalog) {
+		return INDEXES.get(catalog);
+	}
+
+	private static MainModelIndex create(CamelCatalog catalog) {
+		MainModel mainModel;
+		if (catalog instanceof DefaultCamelCatalog) {
+			mainModel = ((DefaultCamelCatalog) catalog).mainModel();
+		} else {
+			mainModel = new Gson().fromJson(catalog.mainJsonSchema(), MainModel.class);
+		}
+		return new MainModelIndex(mainModel != null ? mainModel : new MainModel());
+	}
+
+	public List<MainGroupModel> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * @param groupName name of the group without the <code>camel.</code> prefix, for instance <code>main</code>
+	 * @return the options of this group in catalog order
+	 */
+	public List<GroupOption> getOptionsOfGroup(String groupName) {
+		return optionsByGroupName.getOrDefault(groupName, Collections.emptyList());
+	}
+
+	/**
+	 * @param fullNamePrefix full name of the option, or the beginning of it, for instance <code>camel.main.autoStartup</code>
+	 * @return the option with this exact name if it exists, otherwise the first option starting with the provided prefix
+	 */
+	public Optional<MainOptionModel> findFirstOption(String fullNamePrefix) {
+		MainOptionModel exactMatch = optionsByFullName.get(fullNamePrefix);
+		if (exactMatch != null) {
+			return Optional.of(exactMatch);
+		}
+		int endOfGroupName = fullNamePrefix.indexOf('.', CAMEL_KEY_PREFIX.length());
+		if (fullNamePrefix.startsWith(CAMEL_KEY_PREFIX) && endOfGroupName != -1) {
+			return getOptionsOfGroup(fullNamePrefix.substring(CAMEL_KEY_PREFIX.length(), endOfGroupName)).stream()
+					.map(GroupOption::getOption)
+					.filter(option -> option.getName().startsWith(fullNamePrefix))
+					.findFirst();
+		}
+		return options.stream()
+				.filter(option -> option.getName().startsWith(fullNamePrefix))
+				.findFirst();
+	}
+
+	/**
+	 * An option of a group, with its name relative to the group precomputed in camel case and dashed notations.
+	 */
+	public static class GroupOption {
+
+		private final MainOptionModel option;
+		private final String relativeName;
+		private final String relativeDashedName;
+
+		GroupOption(MainOptionModel option, String relativeName) {
+			this.option = option;
+			this.relativeName = relativeName;
+			this.relativeDashedName = StringHelper.camelCaseToDash(relativeName);
+		}
+
+		public MainOptionModel getOption() {
+			return option;
+		}
+
+		public String getRelativeName(boolean dashed) {
+			return dashed ? relativeDashedName : relativeName;
+		}
+	}
+}
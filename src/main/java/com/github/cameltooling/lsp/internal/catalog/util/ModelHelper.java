@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.util.json.DeserializationException;
 import org.apache.camel.util.json.JsonObject;
 import org.apache.camel.util.json.Jsoner;
@@ -45,6 +46,15 @@ public final class ModelHelper {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ModelHelper.class);
 
+	/**
+	 * @param catalog the Camel catalog
+	 * @param componentName the name of the component
+	 * @return the shared model of the component, with its options, or an empty model when the component is unknown. It must not be modified.
+	 */
+	public static ComponentModel getComponentModel(CamelCatalog catalog, String componentName) {
+		return ComponentModelCache.get(catalog, componentName);
+	}
+
 	public static ComponentModel generateComponentModel(String json, boolean includeOptions) {
 		JsonObject obj;
 		if (json != null) {
@@ -69,7 +79,7 @@ public final class ModelHelper {
 		component.setAlternativeSyntax((String) modelComponent.getOrDefault("alternativeSyntax", ""));
 		component.setAlternativeSchemes((String) modelComponent.getOrDefault("alternativeSchemes", ""));
 		component.setTitle((String) modelComponent.getOrDefault("title", ""));
-		component.setDescription((String) modelComponent.getOrDefault("description", ""));
+		component.setDescription(ModelStringPool.intern((String) modelComponent.getOrDefault("description", "")));
 		component.setLabel((String) modelComponent.getOrDefault("label", ""));
 		component.setDeprecated(getSafeBoolean("deprecated", modelComponent));
 		component.setConsumerOnly(getSafeBoolean("consumerOnly", modelComponent));
@@ -169,7 +179,7 @@ public final class ModelHelper {
 		for (Map.Entry<String, Map<String, Object>> method : methods.entrySet()) {
 			String methodName = method.getKey();
 			ApiOptionMethodDescriptorModel methodDescriptor = new ApiOptionMethodDescriptorModel();
-			methodDescriptor.setDescription((String)method.getValue().getOrDefault("description", ""));
+			methodDescriptor.setDescription(ModelStringPool.intern((String) method.getValue().getOrDefault("description", "")));
 			methodDescriptor.setSignatures((List<String>)method.getValue().getOrDefault("signatures", Collections.emptyList()));
 			if("creator".equals(methodName)) {
 				apiOptionsMethodsModel.setCreator(methodDescriptor);
@@ -191,7 +201,7 @@ public final class ModelHelper {
 		EndpointOptionModel option = new EndpointOptionModel();
 		fillBaseOptions(modelProperty, option);
 		Map<String, Object> options = modelProperty.getValue();
-		option.setPrefix((String) options.getOrDefault("prefix", ""));
+		option.setPrefix(ModelStringPool.intern((String) options.getOrDefault("prefix", "")));
 		option.setMultiValue(getSafeBoolean("multiValue", options));
 		return option;
 	}
@@ -204,17 +214,17 @@ public final class ModelHelper {
 
 	private static void fillBaseOptions(Map.Entry<String, Map<String, Object>> modelComponentProperty, BaseOptionModel option) {
 		Map<String, Object> options = modelComponentProperty.getValue();
-		option.setName(modelComponentProperty.getKey());
-		option.setKind((String) options.getOrDefault("kind", ""));
-		option.setGroup((String) options.getOrDefault("group", ""));
+		option.setName(ModelStringPool.intern(modelComponentProperty.getKey()));
+		option.setKind(ModelStringPool.intern((String) options.getOrDefault("kind", "")));
+		option.setGroup(ModelStringPool.intern((String) options.getOrDefault("group", "")));
 		option.setRequired(getSafeBoolean("required", options));
-		option.setType((String) options.getOrDefault("type", ""));
-		option.setJavaType((String) options.getOrDefault("javaType", ""));
+		option.setType(ModelStringPool.intern((String) options.getOrDefault("type", "")));
+		option.setJavaType(ModelStringPool.intern((String) options.getOrDefault("javaType", "")));
 		option.setDeprecated(getSafeBoolean("deprecated", options));
 		option.setSecret(getSafeBoolean("secret", options));
-		option.setDescription((String) options.getOrDefault("description", ""));
-		option.setEnums((List<String>) options.getOrDefault("enum", Collections.emptyList()));
-		option.setDefaultValue(options.getOrDefault("defaultValue", ""));
+		option.setDescription(ModelStringPool.intern((String) options.getOrDefault("description", "")));
+		option.setEnums(ModelStringPool.intern((List<String>) options.getOrDefault("enum", Collections.emptyList())));
+		option.setDefaultValue(ModelStringPool.internValue(options.getOrDefault("defaultValue", "")));
 	}
 
 	/**
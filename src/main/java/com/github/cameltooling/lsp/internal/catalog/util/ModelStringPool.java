@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Canonicalizes the values read from the catalog JSON schemas.
+ *
+ * Values such as <code>parameter</code>, <code>consumer</code> or <code>java.lang.String</code> are repeated across thousands of options,
+ * the descriptions of the common options such as <code>bridgeErrorHandler</code> or <code>lazyStartProducer</code> are repeated in every
+ * component, and descriptions and enumerations are mostly identical between two catalog versions. Sharing a single instance for equal
+ * values keeps the component models small, see <code>ModelMemoryBenchmark</code> for the retained size with and without the pool. Models are generated once per catalog (see {@link ComponentModelCache}), so values are interned only when a component
+ * is first used. Values are weakly referenced so that they are released with the last catalog using them.
+ */
+public final class ModelStringPool {
+
+	private static final Map<String, WeakReference<String>> STRINGS = new WeakHashMap<>();
+	private static final Map<List<String>, WeakReference<List<String>>> LISTS = new WeakHashMap<>();
+	private static final boolean ENABLED = !Boolean.getBoolean("camel.lsp.model.pool.disabled");
+
+	private ModelStringPool() {
+		// utility class
+	}
+
+	/**
+	 * @return the canonical instance equal to the provided value
+	 */
+	public static String intern(String value) {
+		if (!ENABLED || value == null || value.isEmpty()) {
+			return value;
+		}
+		synchronized (STRINGS) {
+			WeakReference<String> reference = STRINGS.get(value);
+			String canonical = reference != null ? reference.get() : null;
+			if (canonical == null) {
+				canonical = value;
+				STRINGS.put(canonical, new WeakReference<>(canonical));
+			}
+			return canonical;
+		}
+	}
+
+	/**
+	 * @return the canonical unmodifiable list equal to the provided one, with interned elements
+	 */
+	public static List<String> intern(List<String> values) {
+		if (!ENABLED || values == null) {
+			return values;
+		}
+		if (values.isEmpty()) {
+			return Collections.emptyList();
+		}
+		synchronized (LISTS) {
+			WeakReference<List<String>> reference = LISTS.get(values);
+			List<String> canonical = reference != null ? reference.get() : null;
+			if (canonical == null) {
+				canonical = Collections.unmodifiableList(values.stream().map(ModelStringPool::intern).collect(Collectors.toList()));
+				LISTS.put(canonical, new WeakReference<>(canonical));
+			}
+			return canonical;
+		}
+	}
+
+	/**
+	 * @return the canonical instance when the value is a String, the value itself otherwise
+	 */
+	public static Object internValue(Object value) {
+		return value instanceof String ? intern((String) value) : value;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultVersionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Version manager loading the catalog resources from the camel-catalog jar provided by the {@link CamelCatalogVersionResolver}.
+ * Resources which are not part of this jar, for instance the ones of the runtime providers, are searched in the default classpath.
+ * The jar stays open until another version is loaded or the manager is closed, once its catalog is discarded.
+ */
+public class ResolvedCatalogVersionManager extends DefaultVersionManager implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ResolvedCatalogVersionManager.class);
+
+	private final CamelCatalogVersionResolver resolver;
+	private String loadedVersion;
+	private volatile URLClassLoader versionClassLoader;
+
+	public ResolvedCatalogVersionManager(CamelCatalog camelCatalog, CamelCatalogVersionResolver resolver) {
+		super(camelCatalog);
+		this.resolver = resolver;
+	}
+
+	@Override
+	public String getLoadedVersion() {
+		if (loadedVersion != null) {
+			return loadedVersion;
+		}
+		return super.getLoadedVersion();
+	}
+
+	@Override
+	public boolean loadVersion(String version) {
+		Optional<Path> catalogJar = resolver.resolve(version);
+		if (catalogJar.isPresent()) {
+			try {
+				URLClassLoader previousClassLoader = versionClassLoader;
+				versionClassLoader = new URLClassLoader(new URL[] { catalogJar.get().toUri().toURL() }, null);
+				loadedVersion = version;
+				close(previousClassLoader);
+				return true;
+			} catch (MalformedURLException e) {
+				LOGGER.warn("Cannot load Camel catalog from {}", catalogJar.get(), e);
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void close() {
+		URLClassLoader classLoader = versionClassLoader;
+		versionClassLoader = null;
+		close(classLoader);
+	}
+
+	private static void close(URLClassLoader classLoader) {
+		if (classLoader != null) {
+			try {
+				classLoader.close();
+			} catch (IOException e) {
+				LOGGER.debug("Cannot close the class loader of the Camel catalog", e);
+			}
+		}
+	}
+
+	@Override
+	public InputStream getResourceAsStream(String name) {
+		URLClassLoader classLoader = versionClassLoader;
+		if (classLoader != null) {
+			InputStream resource = classLoader.getResourceAsStream(name);
+			if (resource != null) {
+				return resource;
+			}
+		}
+		return super.getResourceAsStream(name);
+	}
+}
@@ -60,12 +60,8 @@ public abstract class AbstractQuickfix {
 			if(diagnostic.getCode()!= null && getDiagnosticId().equals(diagnostic.getCode().getLeft())) {
 				CharSequence currentValueInError = retrieveCurrentErrorValue(openedDocument, diagnostic);
 				if(currentValueInError != null) {
-					List<String> possibleProperties = retrievePossibleValues(openedDocument, camelTextDocumentService.getCamelCatalog(), diagnostic.getRange().getStart(), camelTextDocumentService.getSettingsManager(), camelTextDocumentService.getKameletsCatalogManager());
 					int distanceThreshold = Math.round(currentValueInError.length() * 0.4f);
-					LevenshteinDistance levenshteinDistance = new LevenshteinDistance(distanceThreshold);
-					List<String> mostProbableProperties = possibleProperties.stream()
-							.filter(possibleProperty -> levenshteinDistance.apply(possibleProperty, currentValueInError) != -1)
-							.collect(Collectors.toList());
+					List<String> mostProbableProperties = retrieveMostProbableValues(openedDocument, diagnostic.getRange().getStart(), currentValueInError, distanceThreshold);
 					for (String mostProbableProperty : mostProbableProperties) {
 						res.add(Either.forRight(createCodeAction(params, diagnostic, mostProbableProperty)));
 					}
@@ -75,6 +71,34 @@ public abstract class AbstractQuickfix {
 		return res;
 	}
 
+	/**
+	 * Compares the value in error to each possible value, stopping each comparison at the distance threshold.
+	 * Subclasses can search an {@link ApproximateMatchIndex} instead when one is cached for the possible values.
+	 *
+	 * @param openedDocument the document containing the diagnostic
+	 * @param position the start of the diagnostic
+	 * @param currentValueInError the value reported by the diagnostic
+	 * @param distanceThreshold the maximum Levenshtein distance of the suggestions
+	 * @return the possible values close to the one in error, the closest first
+	 */
+	protected List<String> retrieveMostProbableValues(TextDocumentItem openedDocument, Position position, CharSequence currentValueInError, int distanceThreshold) {
+		List<String> possibleValues = retrievePossibleValues(openedDocument, camelTextDocumentService.getCamelCatalog(), position, camelTextDocumentService.getSettingsManager(), camelTextDocumentService.getKameletsCatalogManager());
+		LevenshteinDistance levenshteinDistance = new LevenshteinDistance(distanceThreshold);
+		Map<String, Integer> distances = new HashMap<>();
+		for (String possibleValue : possibleValues) {
+			if (possibleValue != null && !distances.containsKey(possibleValue)) {
+				int distance = levenshteinDistance.apply(possibleValue, currentValueInError);
+				if (distance != -1) {
+					distances.put(possibleValue, distance);
+				}
+			}
+		}
+		return distances.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toList());
+	}
+
 	protected String retrieveCurrentErrorValue(TextDocumentItem openedDocument, Diagnostic diagnostic) {
 		Range diagnosticRange = diagnostic.getRange();
 		String line = new ParserFileHelperUtil().getLine(openedDocument, diagnosticRange.getStart().getLine());
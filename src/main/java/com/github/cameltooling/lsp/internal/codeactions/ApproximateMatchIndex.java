@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.codeactions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+/**
+ * BK-tree over the Levenshtein distance, used to find the values close to a misspelled one without computing the distance to every candidate.
+ *
+ * The tree is immutable once built, so a single instance can be shared between concurrent code action requests.
+ */
+public class ApproximateMatchIndex {
+
+	private static final LevenshteinDistance LEVENSHTEIN_DISTANCE = LevenshteinDistance.getDefaultInstance();
+
+	private final Node root;
+	private final int size;
+
+	private ApproximateMatchIndex(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * @param values the candidate values, duplicates and null values are ignored
+	 * @return the index of the provided values
+	 */
+	public static ApproximateMatchIndex of(Collection<String> values) {
+		Node root = null;
+		int size = 0;
+		for (String value : values) {
+			if (value != null) {
+				if (root == null) {
+					root = new Node(value);
+					size++;
+				} else if (root.add(value)) {
+					size++;
+				}
+			}
+		}
+		return new ApproximateMatchIndex(root, size);
+	}
+
+	/**
+	 * The distance to a node is computed only up to the farthest of its children reachable within maxDistance, beyond which neither the node nor its children can match.
+	 *
+	 * @param query the value to search the neighbours of
+	 * @param maxDistance the maximum Levenshtein distance, inclusive
+	 * @return the indexed values at most at maxDistance from the query, the closest first and then in alphabetical order
+	 */
+	public List<String> search(CharSequence query, int maxDistance) {
+		List<Match> matches = new ArrayList<>();
+		if (root != null) {
+			Deque<Node> toVisit = new ArrayDeque<>();
+			toVisit.push(root);
+			while (!toVisit.isEmpty()) {
+				Node node = toVisit.pop();
+				int distance = new LevenshteinDistance(maxDistance + node.maxChildDistance).apply(node.value, query);
+				if (distance == -1) {
+					continue;
+				}
+				if (distance <= maxDistance) {
+					matches.add(new Match(node.value, distance));
+				}
+				if (node.children != null) {
+					for (int childDistance = Math.max(1, distance - maxDistance); childDistance <= distance + maxDistance; childDistance++) {
+						Node child = node.children.get(childDistance);
+						if (child != null) {
+							toVisit.push(child);
+						}
+					}
+				}
+			}
+		}
+		return matches.stream()
+				.sorted(Comparator.comparingInt((Match match) -> match.distance).thenComparing(match -> match.value))
+				.map(match -> match.value)
+				.collect(Collectors.toList());
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static class Node {
+
+		private final String value;
+		private Map<Integer, Node> children;
+		private int maxChildDistance;
+
+		Node(String value) {
+			this.value = value;
+		}
+
+		boolean add(String newValue) {
+			Node current = this;
+			while (true) {
+				int distance = LEVENSHTEIN_DISTANCE.apply(current.value, newValue);
+				if (distance == 0) {
+					return false;
+				}
+				if (current.children == null) {
+					current.children = new HashMap<>();
+				}
+				Node child = current.children.get(distance);
+				if (child == null) {
+					current.children.put(distance, new Node(newValue));
+					current.maxChildDistance = Math.max(current.maxChildDistance, distance);
+					return true;
+				}
+				current = child;
+			}
+		}
+	}
+
+	private static class Match {
+
+		private final String value;
+		private final int distance;
+
+		Match(String value, int distance) {
+			this.value = value;
+			this.distance = distance;
+		}
+	}
+}
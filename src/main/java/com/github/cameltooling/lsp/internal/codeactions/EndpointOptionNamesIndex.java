@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.codeactions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.apache.camel.catalog.CamelCatalog;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogCache;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
+
+/**
+ * Approximate match indexes of the endpoint option names, one per component and producer/consumer side.
+ */
+public class EndpointOptionNamesIndex {
+
+	private static final CatalogCache<Map<String, Optional<ApproximateMatchIndex>>> INDEXES = CatalogCache.ofMaps();
+
+	private EndpointOptionNamesIndex() {
+		// util class
+	}
+
+	/**
+	 * @param catalog the Camel catalog
+	 * @param componentName the scheme of the component
+	 * @param isProducer whether the option names are for a producer or a consumer endpoint
+	 * @return the index of the option names, computed on first call, or empty when the component is unknown or has API based options which depend on the rest of the URI
+	 */
+	public static Optional<ApproximateMatchIndex> get(CamelCatalog catalog, String componentName, boolean isProducer) {
+		return INDEXES.get(catalog)
+				.computeIfAbsent(componentName + (isProducer ? "|producer" : "|consumer"), key -> create(catalog, componentName, isProducer));
+	}
+
+	private static Optional<ApproximateMatchIndex> create(CamelCatalog catalog, String componentName, boolean isProducer) {
+		String componentJSonSchema = catalog.componentJSonSchema(componentName);
+		if (componentJSonSchema == null) {
+			return Optional.empty();
+		}
+		ComponentModel componentModel = ModelHelper.getComponentModel(catalog, componentName);
+		if (!componentModel.getApiProperties().isEmpty()) {
+			return Optional.empty();
+		}
+		List<String> optionNames = componentModel.getEndpointOptions().stream()
+				.filter(option -> "parameter".equals(option.getKind()))
+				.filter(FilterPredicateUtils.matchesProducerConsumerGroups(isProducer))
+				.map(EndpointOptionModel::getName)
+				.collect(Collectors.toList());
+		return Optional.of(ApproximateMatchIndex.of(optionNames));
+	}
+}
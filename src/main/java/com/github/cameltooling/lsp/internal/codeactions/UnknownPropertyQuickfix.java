@@ -18,6 +18,8 @@ package com.github.cameltooling.lsp.internal.codeactions;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -33,6 +35,12 @@ import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.ComponentNameConstants;
+import com.github.cameltooling.lsp.internal.instancemodel.OptionParamKeyURIInstance;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
 public class UnknownPropertyQuickfix extends AbstractQuickfix {
@@ -47,6 +55,57 @@ public class UnknownPropertyQuickfix extends AbstractQuickfix {
 		return DiagnosticService.ERROR_CODE_UNKNOWN_PROPERTIES;
 	}
 	
+	/**
+	 * Searches the option names of the component in an index shared for the catalog, instead of computing all the completions of the URI for each diagnostic.
+	 * Kamelets and API based components, whose options depend on the rest of the URI, are still searched in the completions.
+	 */
+	@Override
+	protected List<String> retrieveMostProbableValues(TextDocumentItem openedDocument, Position position, CharSequence currentValueInError, int distanceThreshold) {
+		Optional<OptionParamKeyURIInstance> optionKey = findOptionKey(openedDocument, position);
+		if (optionKey.isPresent() && optionKey.get().getComponentName() != null && !ComponentNameConstants.COMPONENT_NAME_KAMELET.equals(optionKey.get().getComponentName())) {
+			OptionParamKeyURIInstance key = optionKey.get();
+			try {
+				Optional<ApproximateMatchIndex> index = EndpointOptionNamesIndex.get(camelTextDocumentService.getCamelCatalog().get(), key.getComponentName(), key.getOptionParamURIInstance().isProducer());
+				if (index.isPresent()) {
+					Set<String> otherDefinedOptions = key.getCamelUriInstance().getOptionParams().stream()
+							.filter(optionParam -> optionParam != key.getOptionParamURIInstance())
+							.map(optionParam -> optionParam.getKey().getKeyName().toLowerCase())
+							.collect(Collectors.toSet());
+					return index.get().search(currentValueInError, distanceThreshold).stream()
+							.filter(optionName -> !otherDefinedOptions.contains(optionName.toLowerCase()))
+							.collect(Collectors.toList());
+				}
+			} catch (InterruptedException e) {
+				LOGGER.error("Interruption while computing possible properties for quickfix", e);
+				Thread.currentThread().interrupt();
+				return Collections.emptyList();
+			} catch (ExecutionException e) {
+				LOGGER.error("Exception while computing possible properties for quickfix", e);
+				return Collections.emptyList();
+			}
+		}
+		return super.retrieveMostProbableValues(openedDocument, position, currentValueInError, distanceThreshold);
+	}
+
+	private Optional<OptionParamKeyURIInstance> findOptionKey(TextDocumentItem textDocumentItem, Position position) {
+		try {
+			ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
+			if (parserFileHelper != null) {
+				String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
+				if (camelComponentUri != null) {
+					CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
+					CamelUriElementInstance element = camelURIInstance.getSpecificElement(parserFileHelper.getPositionInCamelURI(textDocumentItem, position));
+					if (element instanceof OptionParamKeyURIInstance) {
+						return Optional.of((OptionParamKeyURIInstance) element);
+					}
+				}
+			}
+		} catch (Exception e) {
+			LOGGER.error(CamelEndpointCompletionProcessor.ERROR_SEARCHING_FOR_CORRESPONDING_NODE_ELEMENTS, e);
+		}
+		return Optional.empty();
+	}
+
 	@Override
 	protected List<String> retrievePossibleValues(TextDocumentItem textDocumentItem,
 		CompletableFuture<CamelCatalog> camelCatalog,
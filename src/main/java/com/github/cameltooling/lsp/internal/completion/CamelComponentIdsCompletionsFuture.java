@@ -39,7 +39,7 @@ public class CamelComponentIdsCompletionsFuture implements Function<CamelCatalog
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
 		return catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+			.map(componentName -> ModelHelper.getComponentModel(catalog, componentName))
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getScheme());
 				completionItem.setDocumentation(componentModel.getDescription());
@@ -18,7 +18,6 @@ package com.github.cameltooling.lsp.internal.completion;
 
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.camel.catalog.CamelCatalog;
@@ -46,7 +45,7 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		Stream<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentId), true).getComponentOptions().stream();
+		Stream<ComponentOptionModel> endpointOptions = ModelHelper.getComponentModel(catalog, componentId).getComponentOptions().stream();
 		return endpointOptions
 				.map(parameter -> {
 					String parameterDisplayName = computeDisplayName(parameter, camelComponentParameterPropertyInstance.shouldUseDashedCase());
@@ -62,8 +61,7 @@ public class CamelComponentOptionNamesCompletionFuture implements Function<Camel
 					CompletionResolverUtils.applyTextEditToCompletionItem(camelComponentParameterPropertyInstance, completionItem);
 					return completionItem;
 				})
-				.filter(FilterPredicateUtils.matchesCompletionFilter(startFilter))
-				.collect(Collectors.toList());
+				.collect(CompletionMatcher.matching(startFilter, CompletionMatchKeys.ofOptions(catalog, componentId)));
 	}
 
 	private String computeDisplayName(ComponentOptionModel parameter, boolean useDashedCase) {
@@ -81,7 +81,7 @@ public class CamelComponentOptionValuesCompletionsFuture implements Function<Cam
 			String componentId = camelComponentPropertyFilekey.getComponentId();
 			String keyName = camelComponentPropertyFilekey.getComponentProperty();
 			if (keyName != null) {
-			List<ComponentOptionModel> endpointOptions = ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentId), true).getComponentOptions();
+			List<ComponentOptionModel> endpointOptions = ModelHelper.getComponentModel(camelCatalog, componentId).getComponentOptions();
 				return endpointOptions.stream()
 						.filter(endpoint -> keyName.equals(endpoint.getName()))
 						.findAny();
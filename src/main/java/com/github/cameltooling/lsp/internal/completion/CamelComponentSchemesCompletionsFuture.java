@@ -19,7 +19,6 @@ package com.github.cameltooling.lsp.internal.completion;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
@@ -28,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.usage.UsageStatistics;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
 import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
@@ -39,17 +39,25 @@ public final class CamelComponentSchemesCompletionsFuture implements Function<Ca
 	private CamelUriElementInstance uriElement;
 	private String filterString;
 	private TextDocumentItem docItem;
+	private UsageStatistics usageStatistics;
 	
 	public CamelComponentSchemesCompletionsFuture(CamelUriElementInstance uriElement, String filterText, TextDocumentItem docItem) {
+		this(uriElement, filterText, docItem, null);
+	}
+
+	public CamelComponentSchemesCompletionsFuture(CamelUriElementInstance uriElement, String filterText, TextDocumentItem docItem, UsageStatistics usageStatistics) {
 		this.uriElement = uriElement;
 		this.filterString = filterText;
 		this.docItem = docItem;
+		this.usageStatistics = usageStatistics;
 	}
 	
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
 		List<CompletionItem> result = getCompletionForComponents(catalog);
 		if (ReferenceUtils.isReferenceComponentKind(uriElement)) {
+			// the existing endpoints are not candidates of the matcher, so the result is not refined by the completion sessions
+			result = new ArrayList<>(result);
 			result.addAll(addExistingEndpointsOfSameSchemeCompletionItems());
 		}
 		return result;
@@ -57,17 +65,20 @@ public final class CamelComponentSchemesCompletionsFuture implements Function<Ca
 
 	private List<CompletionItem> getCompletionForComponents(CamelCatalog catalog) {
 		return catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+			.map(componentName -> ModelHelper.getComponentModel(catalog, componentName))
 			.filter(componentModel -> componentModel.getSyntax() != null)
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getSyntax());
 				completionItem.setDocumentation(componentModel.getDescription());
 				CompletionResolverUtils.applyDeprecation(completionItem, componentModel.getDeprecated());
 				CompletionResolverUtils.applyTextEditToCompletionItem(uriElement, completionItem);
+				completionItem.setData(CompletionItemData.forComponent(componentModel.getScheme()));
+				if (usageStatistics != null && docItem != null) {
+					usageStatistics.rankScheme(completionItem, componentModel.getScheme(), docItem.getUri());
+				}
 				return completionItem;
 			})
-			.filter(FilterPredicateUtils.matchesCompletionFilter(filterString))
-			.collect(Collectors.toList());
+			.collect(CompletionMatcher.matching(filterString, CompletionMatchKeys.ofComponentSyntaxes(catalog)));
 	}
 	
 	private List<CompletionItem> addExistingEndpointsOfSameSchemeCompletionItems() {
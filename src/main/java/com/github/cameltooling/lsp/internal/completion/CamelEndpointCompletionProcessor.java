@@ -18,7 +18,9 @@ package com.github.cameltooling.lsp.internal.completion;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
@@ -30,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.metrics.LanguageServerMetrics;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelper;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
@@ -38,26 +41,44 @@ public class CamelEndpointCompletionProcessor {
 
 	public static final String ERROR_SEARCHING_FOR_CORRESPONDING_NODE_ELEMENTS = "Error searching for corresponding node elements";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelEndpointCompletionProcessor.class);
+	private static final String COMPLETION_METHOD = "textDocument/completion";
 	private TextDocumentItem textDocumentItem;
 	private CompletableFuture<CamelCatalog> camelCatalog;
 	private KameletsCatalogManager kameletsCatalogManager;
+	private CompletionSessions completionSessions;
+	private LanguageServerMetrics metrics;
 
 	public CamelEndpointCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletsCatalogManager) {
+		this(textDocumentItem, camelCatalog, kameletsCatalogManager, null);
+	}
+
+	public CamelEndpointCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletsCatalogManager, CompletionSessions completionSessions) {
+		this(textDocumentItem, camelCatalog, kameletsCatalogManager, completionSessions, null);
+	}
+
+	/**
+	 * @param metrics records the time spent parsing the URI, waiting for the catalog and building the items, can be null
+	 */
+	public CamelEndpointCompletionProcessor(TextDocumentItem textDocumentItem, CompletableFuture<CamelCatalog> camelCatalog, KameletsCatalogManager kameletsCatalogManager, CompletionSessions completionSessions, LanguageServerMetrics metrics) {
 		this.textDocumentItem = textDocumentItem;
 		this.camelCatalog = camelCatalog;
 		this.kameletsCatalogManager = kameletsCatalogManager;
+		this.completionSessions = completionSessions;
+		this.metrics = metrics;
 	}
 
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, SettingsManager settingsManager) {
 		if (textDocumentItem != null) {
 			try {
+				long parseStart = System.nanoTime();
 				ParserFileHelper parserFileHelper = new ParserFileHelperFactory().getCorrespondingParserFileHelper(textDocumentItem, position.getLine());
 				if (parserFileHelper != null) {
 					String camelComponentUri = parserFileHelper.getCamelComponentUri(textDocumentItem, position);
 					if (camelComponentUri != null) {
 						CamelURIInstance camelURIInstance = parserFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
 						int positionInCamelUri = parserFileHelper.getPositionInCamelURI(textDocumentItem, position);
-						return getCompletions(camelURIInstance, positionInCamelUri, settingsManager);
+						recordPhase(LanguageServerMetrics.PHASE_PARSE, System.nanoTime() - parseStart);
+						return getCompletions(camelURIInstance, positionInCamelUri, position, settingsManager);
 					}
 				}
 			} catch (Exception e) {
@@ -67,9 +88,44 @@ public class CamelEndpointCompletionProcessor {
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private CompletableFuture<List<CompletionItem>> getCompletions(CamelURIInstance camelURIInstance, int positionInCamelUri, SettingsManager settingsManager) {
+	private CompletableFuture<List<CompletionItem>> getCompletions(CamelURIInstance camelURIInstance, int positionInCamelUri, Position position, SettingsManager settingsManager) {
 		CamelUriElementInstance camelUriElementInstance = camelURIInstance.getSpecificElement(positionInCamelUri);
-		return camelUriElementInstance.getCompletions(camelCatalog, positionInCamelUri, textDocumentItem, settingsManager, kameletsCatalogManager);
+		if (completionSessions != null) {
+			Optional<List<CompletionItem>> refinedCompletions = completionSessions.refine(textDocumentItem, position, camelUriElementInstance);
+			if (refinedCompletions.isPresent()) {
+				return CompletableFuture.completedFuture(refinedCompletions.get());
+			}
+		}
+		CompletableFuture<List<CompletionItem>> completions;
+		if (metrics != null) {
+			long catalogLookupStart = System.nanoTime();
+			AtomicLong catalogReady = new AtomicLong(catalogLookupStart);
+			CompletableFuture<CamelCatalog> timedCatalog = camelCatalog.thenApply(catalog -> {
+				catalogReady.set(System.nanoTime());
+				recordPhase(LanguageServerMetrics.PHASE_CATALOG, catalogReady.get() - catalogLookupStart);
+				return catalog;
+			});
+			completions = camelUriElementInstance.getCompletions(timedCatalog, positionInCamelUri, textDocumentItem, settingsManager, kameletsCatalogManager)
+					.thenApply(completionItems -> {
+						recordPhase(LanguageServerMetrics.PHASE_ITEMS, System.nanoTime() - catalogReady.get());
+						return completionItems;
+					});
+		} else {
+			completions = camelUriElementInstance.getCompletions(camelCatalog, positionInCamelUri, textDocumentItem, settingsManager, kameletsCatalogManager);
+		}
+		if (completionSessions != null) {
+			return completions.thenApply(completionItems -> {
+				completionSessions.start(textDocumentItem, position, camelUriElementInstance, completionItems);
+				return completionItems;
+			});
+		}
+		return completions;
+	}
+
+	private void recordPhase(String phase, long nanos) {
+		if (metrics != null) {
+			metrics.recordPhase(COMPLETION_METHOD, phase, nanos);
+		}
 	}
 
 }
@@ -17,7 +17,6 @@
 package com.github.cameltooling.lsp.internal.completion;
 
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -25,27 +24,27 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.v1.kameletspec.Definition;
-import org.apache.camel.v1.kameletspec.definition.Properties;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.InsertTextFormat;
 import org.eclipse.lsp4j.MarkupContent;
 import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.TextDocumentItem;
 
 import com.github.cameltooling.lsp.internal.catalog.model.BaseOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletEntry;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletPropertyEntry;
 import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.usage.UsageStatistics;
 import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ComponentNameConstants;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamKeyURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
 
-import io.fabric8.kubernetes.api.model.AnyType;
-
 
 public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog, List<CompletionItem>>  {
 
@@ -57,8 +56,13 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 	private int positionInCamelURI;
 	private Set<OptionParamURIInstance> alreadyDefinedOptions;
 	private KameletsCatalogManager kameletsCatalogManager;
+	private UsageStatistics usageStatistics;
 
 	public CamelOptionNamesCompletionsFuture(CamelUriElementInstance uriElement, String camelComponentName, boolean isProducer, String filterText, int positionInCamelURI, Set<OptionParamURIInstance> alreadyDefinedOptions, KameletsCatalogManager kameletsCatalogManager, boolean markdown) {
+		this(uriElement, camelComponentName, isProducer, filterText, positionInCamelURI, alreadyDefinedOptions, kameletsCatalogManager, markdown, null);
+	}
+
+	public CamelOptionNamesCompletionsFuture(CamelUriElementInstance uriElement, String camelComponentName, boolean isProducer, String filterText, int positionInCamelURI, Set<OptionParamURIInstance> alreadyDefinedOptions, KameletsCatalogManager kameletsCatalogManager, boolean markdown, UsageStatistics usageStatistics) {
 		this.uriElement = uriElement;
 		this.camelComponentName = camelComponentName;
 		this.isProducer = isProducer;
@@ -67,11 +71,12 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		this.alreadyDefinedOptions = alreadyDefinedOptions;
 		this.kameletsCatalogManager = kameletsCatalogManager;
 		this.markdown = markdown;
+		this.usageStatistics = usageStatistics;
 	}
 
 	@Override
 	public List<CompletionItem> apply(CamelCatalog catalog) {
-		ComponentModel componentModel = ModelHelper.generateComponentModel(catalog.componentJSonSchema(camelComponentName), true);
+		ComponentModel componentModel = ModelHelper.getComponentModel(catalog, camelComponentName);
 		List<EndpointOptionModel> endpointOptions = componentModel.getEndpointOptions();
 		Stream<CompletionItem> endpointOptionsFiltered = initialFilter(endpointOptions).map(createCompletionItem(CompletionItemKind.Property));
 		
@@ -85,8 +90,7 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		return Stream.concat( Stream.concat(Stream.concat(endpointOptionsFiltered, availableApiPropertiesFiltered), kameletProperties), twitterGeographySearchProperties)
 				// filter duplicated uri options
 				.filter(FilterPredicateUtils.removeDuplicatedOptions(alreadyDefinedOptions, positionInCamelURI))
-				.filter(FilterPredicateUtils.matchesCompletionFilter(filterString))
-				.collect(Collectors.toList());
+				.collect(CompletionMatcher.matching(filterString, CompletionMatchKeys.ofOptions(catalog, camelComponentName)));
 	}
 	
 	private Stream<CompletionItem> retrieveTwitterGeographySearchProperties() {
@@ -127,23 +131,20 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 					.map(PathParamURIInstance::getValue)
 					.findAny();
 			if(kameletTemplateId.isPresent()) {
-				Definition kameletDefinition = kameletsCatalogManager.getCatalog().getKameletDefinition(kameletTemplateId.get());
-				if(kameletDefinition != null) {
-					kameletProperties = kameletDefinition.getProperties().entrySet().stream().map(this::createCompletionItem);
+				KameletEntry kamelet = kameletsCatalogManager.getIndex().getKamelet(kameletTemplateId.get());
+				if(kamelet != null) {
+					kameletProperties = kamelet.getProperties().stream().map(this::createCompletionItem);
 				}
 			}
 		}
 		return kameletProperties;
 	}
 
-	private CompletionItem createCompletionItem(Entry<String, Properties> property) {
-		String propertyName = property.getKey();
-		CompletionItem completionItem = new CompletionItem(propertyName);
-		Properties schema = property.getValue();
-		String insertText = computeInsertText(propertyName, schema);
-		completionItem.setInsertText(insertText);
-		completionItem.setDocumentation(schema.getDescription());
-		String type = schema.getType();
+	private CompletionItem createCompletionItem(KameletPropertyEntry property) {
+		CompletionItem completionItem = new CompletionItem(property.getName());
+		completionItem.setInsertText(property.getInsertText());
+		completionItem.setDocumentation(property.getDescription());
+		String type = property.getType();
 		if (type != null) {
 			completionItem.setDetail(type);
 		}
@@ -151,15 +152,6 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		return completionItem;
 	}
 
-	private String computeInsertText(String propertyName, Properties schema) {
-		AnyType defaultValue = schema.get_default();
-		String insertText = propertyName + "=";
-		if(defaultValue != null && defaultValue.getValue() != null) {
-			insertText += defaultValue.getValue().toString();
-		}
-		return insertText;
-	}
-
 	private Stream<EndpointOptionModel> initialFilter(List<EndpointOptionModel> endpointOptions) {
 		return endpointOptions.stream()
 				.filter(endpoint -> "parameter".equals(endpoint.getKind()))
@@ -190,13 +182,24 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 			completionItem.setDetail(parameter.getJavaType());
 			completionItem.setKind(kind);
 			configureSortTextToHaveApiBasedOptionsBefore(kind, completionItem, insertText);
+			if (usageStatistics != null) {
+				usageStatistics.rankOption(completionItem, camelComponentName, parameter.getName(), getDocumentUri());
+			}
 			CompletionResolverUtils.applyDeprecation(completionItem, parameter.isDeprecated());
 			CompletionResolverUtils.applyTextEditToCompletionItem(uriElement, completionItem);
+			if (CompletionItemKind.Property.equals(kind)) {
+				completionItem.setData(CompletionItemData.forOption(camelComponentName, parameter.getName()));
+			}
 			return completionItem;
 		};
 	}
 	
-	private MarkupContent getMarkupDocumentation(BaseOptionModel parameter) {
+	private String getDocumentUri() {
+		TextDocumentItem document = uriElement.getCamelUriInstance().getDocument();
+		return document != null ? document.getUri() : null;
+	}
+
+	static MarkupContent getMarkupDocumentation(BaseOptionModel parameter) {
 		StringBuilder doc = new StringBuilder();
 		addMarkdownIfNotEmpty(doc,"**Group:** ", parameter.getGroup());
 		addMarkdownIfNotEmpty(doc,"**Required:** ", String.valueOf(parameter.isRequired()));
@@ -215,7 +218,7 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		return new MarkupContent(MarkupKind.MARKDOWN, doc.toString());
 	}
 
-	private String getDocumentation(BaseOptionModel parameter) {
+	static String getDocumentation(BaseOptionModel parameter) {
 		StringBuilder doc = new StringBuilder();
 		addIfNotEmpty(doc,"Group: ", parameter.getGroup());
 		addIfNotEmpty(doc,"Required: ", String.valueOf(parameter.isRequired()));
@@ -230,7 +233,7 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		return doc.toString();
 	}
 
-	private void addIfNotEmpty(StringBuilder description, String key, String value){
+	private static void addIfNotEmpty(StringBuilder description, String key, String value){
 		if (value != null && !value.isEmpty() && !"null".equals(value)) {
 			description.append(key);
 			description.append(value);
@@ -238,7 +241,7 @@ public class CamelOptionNamesCompletionsFuture implements Function<CamelCatalog,
 		}
 	}
 	
-	private void addMarkdownIfNotEmpty(StringBuilder description, String key, String value){
+	private static void addMarkdownIfNotEmpty(StringBuilder description, String key, String value){
 		if (value != null && !value.isEmpty() && !"null".equals(value)) {
 			description.append(key);
 			description.append(value);
@@ -25,7 +25,6 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import io.fabric8.kubernetes.client.NamespacedKubernetesClient;
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.lsp4j.CompletionItem;
@@ -37,13 +36,12 @@ import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
 import com.github.cameltooling.lsp.internal.instancemodel.OptionParamValueURIInstance;
 import com.github.cameltooling.lsp.internal.kubernetes.KubernetesConfigManager;
 
-import io.fabric8.kubernetes.client.KubernetesClient;
-
 public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog, List<CompletionItem>> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelOptionValuesCompletionsFuture.class);
 
 	private static final String BOOLEAN_TYPE = "boolean";
+	static final int MAX_KUBERNETES_PLACEHOLDERS = 200;
 	private OptionParamValueURIInstance optionParamValueURIInstance;
 	private String filterString;
 
@@ -69,12 +67,14 @@ public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog
 				return values.filter(FilterPredicateUtils.matchesCompletionFilter(filterString)).collect(Collectors.toList());
 			} else if (optionParamValueURIInstance.getComponentName().startsWith("kubernetes-")
 					&& "namespace".equals(optionParamValueURIInstance.getOptionParamURIInstance().getKey().getKeyName())) {
-				try (KubernetesClient client = KubernetesConfigManager.getInstance().getClient()) {
-					return client.namespaces().list().getItems().stream().map(namespace -> {
+				try {
+					KubernetesConfigManager kubernetesConfigManager = KubernetesConfigManager.getInstance();
+					List<CompletionItem> namespaces = kubernetesConfigManager.getNamespaces().stream().map(namespace -> {
 						var completionItem = new CompletionItem(namespace.getMetadata().getName());
 						CompletionResolverUtils.applyTextEditToCompletionItem(optionParamValueURIInstance, completionItem);
 						return completionItem;
 					}).collect(Collectors.toList());
+					return kubernetesConfigManager.areNamespacesSynchronized() ? namespaces : new IncompleteCompletionItems(namespaces);
 				} catch (Exception e) {
 					LOGGER.error("Error while trying to provide completion for Kubernetes connected mode", e);
 				}
@@ -131,26 +131,25 @@ public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog
 			}
 
 			final var post = lastPart;
-			try (KubernetesClient client = KubernetesConfigManager.getInstance().getClient()) {
-				if (client instanceof NamespacedKubernetesClient nsClient) {
-					kubernetesPlaceholders.addAll(nsClient.inAnyNamespace().secrets().list().getItems().stream().flatMap(element ->
-							element.getData().keySet().stream().map(k -> {
-								CompletionItem item = new CompletionItem(
-										"{{secret:" + element.getMetadata().getName() + "/" + k + "}}");
-								item.setInsertText(pre + item.getLabel() + post);
-								item.setFilterText(pre + item.getLabel());
-								CompletionResolverUtils.applyTextEditToCompletionItem(optionParamValueURIInstance, item);
-								return item;
-							})).collect(Collectors.toList()));
-					kubernetesPlaceholders.addAll(nsClient.inAnyNamespace().configMaps().list().getItems().stream().flatMap(element ->
-							element.getData().keySet().stream().map(k -> {
-								CompletionItem item = new CompletionItem(
-										"{{configmap:" + element.getMetadata().getName() + "/" + k + "}}");
-								item.setInsertText(pre + item.getLabel() + post);
-								item.setFilterText(pre + item.getLabel());
-								CompletionResolverUtils.applyTextEditToCompletionItem(optionParamValueURIInstance, item);
-								return item;
-							})).collect(Collectors.toList()));
+			final var filterStart = filterString.lastIndexOf("{{");
+			final var typedPlaceholder = filterStart != -1 ? filterString.substring(filterStart + 2) : "";
+			try {
+				KubernetesConfigManager kubernetesConfigManager = KubernetesConfigManager.getInstance();
+				// each kind keeps at least half of the limit, the part left unused by one kind goes to the other one
+				List<String> secretPlaceholders = kubernetesConfigManager.getSecretPlaceholders(typedPlaceholder, MAX_KUBERNETES_PLACEHOLDERS);
+				List<String> configMapPlaceholders = kubernetesConfigManager.getConfigMapPlaceholders(typedPlaceholder,
+						MAX_KUBERNETES_PLACEHOLDERS - Math.min(secretPlaceholders.size(), MAX_KUBERNETES_PLACEHOLDERS / 2));
+				List<String> placeholders = new ArrayList<>(secretPlaceholders.subList(0, Math.min(secretPlaceholders.size(), MAX_KUBERNETES_PLACEHOLDERS - configMapPlaceholders.size())));
+				placeholders.addAll(configMapPlaceholders);
+				for (String placeholder : placeholders) {
+					CompletionItem item = new CompletionItem("{{" + placeholder + "}}");
+					item.setInsertText(pre + item.getLabel() + post);
+					item.setFilterText(pre + item.getLabel());
+					CompletionResolverUtils.applyTextEditToCompletionItem(optionParamValueURIInstance, item);
+					kubernetesPlaceholders.add(item);
+				}
+				if (!kubernetesConfigManager.arePlaceholdersSynchronized()) {
+					return new IncompleteCompletionItems(kubernetesPlaceholders);
 				}
 			} catch (Exception e) {
 				LOGGER.error("Error while trying to provide completion for Kubernetes connected mode", e);
@@ -173,7 +172,7 @@ public class CamelOptionValuesCompletionsFuture implements Function<CamelCatalog
 	private Optional<EndpointOptionModel> retrieveEndpointOptionModel(CamelCatalog camelCatalog) {
 		String componentName = optionParamValueURIInstance.getOptionParamURIInstance().getComponentName();
 		String keyName = optionParamValueURIInstance.getOptionParamURIInstance().getKey().getKeyName();
-		List<EndpointOptionModel> endpointOptions = ModelHelper.generateComponentModel(camelCatalog.componentJSonSchema(componentName), true).getEndpointOptions();
+		List<EndpointOptionModel> endpointOptions = ModelHelper.getComponentModel(camelCatalog, componentName).getEndpointOptions();
 		return endpointOptions.stream()
 				.filter(endpoint -> keyName.equals(endpoint.getName()))
 				.findAny();
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+/**
+ * Compact handle stored in the <code>data</code> field of a completion item, it allows to retrieve the full information
+ * of the item from the catalog when the client sends a <code>completionItem/resolve</code> request.
+ */
+public class CompletionItemData {
+
+	public static final String COMPONENT = "component";
+	public static final String OPTION = "option";
+	private static final Gson GSON = new Gson();
+
+	private String type;
+	private String scheme;
+	private String option;
+
+	public CompletionItemData() {
+		// for deserialization
+	}
+
+	private CompletionItemData(String type, String scheme, String option) {
+		this.type = type;
+		this.scheme = scheme;
+		this.option = option;
+	}
+
+	public static CompletionItemData forComponent(String scheme) {
+		return new CompletionItemData(COMPONENT, scheme, null);
+	}
+
+	public static CompletionItemData forOption(String scheme, String option) {
+		return new CompletionItemData(OPTION, scheme, option);
+	}
+
+	/**
+	 * @param data the data of a completion item, as provided or as deserialized from the client request
+	 * @return the handle, null if the data is not a handle created by the Camel Language Server
+	 */
+	public static CompletionItemData from(Object data) {
+		if (data instanceof CompletionItemData) {
+			return (CompletionItemData) data;
+		} else if (data instanceof JsonElement && ((JsonElement) data).isJsonObject()) {
+			CompletionItemData itemData = GSON.fromJson((JsonElement) data, CompletionItemData.class);
+			return itemData.type != null && itemData.scheme != null ? itemData : null;
+		}
+		return null;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getScheme() {
+		return scheme;
+	}
+
+	public String getOption() {
+		return option;
+	}
+}
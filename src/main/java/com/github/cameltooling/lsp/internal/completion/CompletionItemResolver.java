@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.MarkupContent;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.settings.SettingsManager;
+
+/**
+ * When the client supports it, the completion items for components and options are sent without their documentation and detail,
+ * only with a {@link CompletionItemData} handle. The missing information is computed from the catalog on <code>completionItem/resolve</code>.
+ */
+public class CompletionItemResolver {
+
+	private final CompletableFuture<CamelCatalog> camelCatalog;
+	private final SettingsManager settingsManager;
+
+	public CompletionItemResolver(CompletableFuture<CamelCatalog> camelCatalog, SettingsManager settingsManager) {
+		this.camelCatalog = camelCatalog;
+		this.settingsManager = settingsManager;
+	}
+
+	/**
+	 * @param completionItems the completion items with their full information
+	 * @return the same items, slimmed if the client can resolve them lazily, without handle otherwise
+	 */
+	public List<CompletionItem> slim(List<CompletionItem> completionItems) {
+		boolean lazyDocumentation = settingsManager.isLazyCompletionResolveSupported(SettingsManager.RESOLVE_DOCUMENTATION);
+		boolean lazyDetail = settingsManager.isLazyCompletionResolveSupported(SettingsManager.RESOLVE_DETAIL);
+		for (CompletionItem completionItem : completionItems) {
+			if (completionItem.getData() instanceof CompletionItemData) {
+				if (lazyDocumentation) {
+					completionItem.setDocumentation((Either<String, MarkupContent>) null);
+					if (lazyDetail) {
+						completionItem.setDetail(null);
+					}
+				} else {
+					completionItem.setData(null);
+				}
+			}
+		}
+		return completionItems;
+	}
+
+	public CompletableFuture<CompletionItem> resolve(CompletionItem unresolved) {
+		CompletionItemData data = CompletionItemData.from(unresolved.getData());
+		if (data == null || unresolved.getDocumentation() != null) {
+			return CompletableFuture.completedFuture(unresolved);
+		}
+		return camelCatalog.thenApply(catalog -> {
+			if (CompletionItemData.COMPONENT.equals(data.getType())) {
+				ComponentModel componentModel = ModelHelper.getComponentModel(catalog, data.getScheme());
+				unresolved.setDocumentation(componentModel.getDescription());
+			} else if (CompletionItemData.OPTION.equals(data.getType())) {
+				ComponentModel componentModel = ModelHelper.getComponentModel(catalog, data.getScheme());
+				EndpointOptionModel option = componentModel.getEndpointOption(data.getOption());
+				if (option != null) {
+					if (settingsManager.isMardownSupport()) {
+						unresolved.setDocumentation(CamelOptionNamesCompletionsFuture.getMarkupDocumentation(option));
+					} else {
+						unresolved.setDocumentation(CamelOptionNamesCompletionsFuture.getDocumentation(option));
+					}
+					unresolved.setDetail(option.getJavaType());
+				}
+			}
+			return unresolved;
+		});
+	}
+}
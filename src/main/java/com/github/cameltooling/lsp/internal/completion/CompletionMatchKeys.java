@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.util.StringHelper;
+
+import com.github.cameltooling.lsp.internal.catalog.model.BaseOptionModel;
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.util.CatalogCache;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.CompletionMatcher.MatchKey;
+
+/**
+ * Match keys of the completion labels derived from a catalog:
+ * the syntaxes of all the components and, per component, the option names in camel case and dashed case.
+ */
+final class CompletionMatchKeys {
+
+	private static final String COMPONENT_SYNTAXES = "";
+	private static final CatalogCache<Map<String, Map<String, MatchKey>>> KEYS = CatalogCache.ofMaps();
+
+	private CompletionMatchKeys() {
+		// util class
+	}
+
+	/**
+	 * @return the match keys of the component syntaxes, by syntax
+	 */
+	static Map<String, MatchKey> ofComponentSyntaxes(CamelCatalog catalog) {
+		return KEYS.get(catalog).computeIfAbsent(COMPONENT_SYNTAXES, key -> {
+			Map<String, MatchKey> keys = new HashMap<>();
+			for (String componentName : catalog.findComponentNames()) {
+				String syntax = ModelHelper.getComponentModel(catalog, componentName).getSyntax();
+				if (syntax != null) {
+					keys.put(syntax, new MatchKey(syntax));
+				}
+			}
+			return keys;
+		});
+	}
+
+	/**
+	 * @return the match keys of the endpoint and component option names of the component, by name
+	 */
+	static Map<String, MatchKey> ofOptions(CamelCatalog catalog, String componentName) {
+		if (componentName == null || COMPONENT_SYNTAXES.equals(componentName)) {
+			return Collections.emptyMap();
+		}
+		return KEYS.get(catalog).computeIfAbsent(componentName, key -> {
+			ComponentModel componentModel = ModelHelper.getComponentModel(catalog, componentName);
+			Map<String, MatchKey> keys = new HashMap<>();
+			componentModel.getEndpointOptions().forEach(option -> put(keys, option));
+			componentModel.getComponentOptions().forEach(option -> put(keys, option));
+			return keys;
+		});
+	}
+
+	private static void put(Map<String, MatchKey> keys, BaseOptionModel option) {
+		String name = option.getName();
+		keys.computeIfAbsent(name, MatchKey::new);
+		keys.computeIfAbsent(StringHelper.camelCaseToDash(name), MatchKey::new);
+	}
+}
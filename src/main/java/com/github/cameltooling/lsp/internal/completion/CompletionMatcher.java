@@ -0,0 +1,314 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.CompletionItem;
+
+/**
+ * Ranked matching of completion items against the text already typed by the user.
+ *
+ * The items starting with the typed text are kept, an item equal to the typed text first and the others in their previous order.
+ * When no item starts with it, the items are matched on the words of their name instead, so that <code>beh</code> or <code>bridge-e</code>
+ * finds <code>bridgeErrorHandler</code>, then on any subsequence of characters.
+ * Every match is scored and the score is prepended to its <code>sortText</code>, so that the previous sort text only orders the items with the same score.
+ *
+ * The lower case form and the word boundaries of the labels derived from the catalog are computed once per catalog (see {@link CompletionMatchKeys}),
+ * so matching the full catalog only compares characters.
+ *
+ * The returned lists keep the candidates they were selected from, so that a {@link CompletionSessions completion session} can match them again
+ * against a longer filter with the same result as a new completion request.
+ */
+public final class CompletionMatcher {
+
+	static final int NO_MATCH = -1;
+	private static final int EXACT_MATCH = 4000;
+	private static final int PREFIX_MATCH = 3000;
+	private static final int WORDS_MATCH = 2000;
+	private static final int SUBSEQUENCE_MATCH = 1000;
+	private static final int MAX_SCORE = 9999;
+
+	private CompletionMatcher() {
+		// util class
+	}
+
+	/**
+	 * @param filterString the text typed by the user, can be null
+	 * @return a collector keeping the items matching the filter, sorted by relevance
+	 */
+	public static Collector<CompletionItem, ?, List<CompletionItem>> matching(String filterString) {
+		return matching(filterString, Collections.emptyMap());
+	}
+
+	/**
+	 * @param filterString the text typed by the user, can be null
+	 * @param matchKeys the precomputed match keys, by label, the keys of the other labels are computed for this call only
+	 * @return a collector keeping the items matching the filter, sorted by relevance
+	 */
+	static Collector<CompletionItem, ?, List<CompletionItem>> matching(String filterString, Map<String, MatchKey> matchKeys) {
+		return Collectors.collectingAndThen(Collectors.toList(), items -> filter(items, filterString, matchKeys));
+	}
+
+	static List<CompletionItem> filter(List<CompletionItem> items, String filterString) {
+		return filter(items, filterString, Collections.emptyMap());
+	}
+
+	private static MatchedItems filter(List<CompletionItem> items, String filterString, Map<String, MatchKey> matchKeys) {
+		MatchedItems result = new MatchedItems(items, matchKeys);
+		if (filterString == null || filterString.trim().isEmpty()) {
+			result.addAll(items);
+			return result;
+		}
+		List<ScoredItem> matches = new ArrayList<>();
+		Predicate<CompletionItem> prefixMatch = FilterPredicateUtils.matchesCompletionFilter(filterString);
+		for (CompletionItem item : items) {
+			if (prefixMatch.test(item)) {
+				matches.add(new ScoredItem(item, filterString.equals(item.getLabel()) ? EXACT_MATCH : PREFIX_MATCH));
+			}
+		}
+		if (matches.isEmpty()) {
+			String normalizedFilter = normalize(filterString);
+			for (CompletionItem item : items) {
+				int score = score(normalizedFilter, getMatchKey(item.getLabel(), matchKeys));
+				if (score != NO_MATCH) {
+					matches.add(new ScoredItem(item, score));
+				}
+			}
+		}
+		matches.sort(Comparator.comparingInt(ScoredItem::getScore).reversed());
+		for (ScoredItem scoredItem : matches) {
+			CompletionItem item = scoredItem.item;
+			String sortText = item.getSortText() != null ? item.getSortText() : item.getLabel();
+			item.setSortText(String.format("%04d-%s", MAX_SCORE - scoredItem.score, sortText));
+			result.add(item);
+		}
+		return result;
+	}
+
+	/**
+	 * @param filterString the text typed by the user
+	 * @param label the label of the completion item
+	 * @return the score of the fuzzy match, higher is better, or {@link #NO_MATCH}
+	 */
+	static int score(String filterString, String label) {
+		return score(normalize(filterString), new MatchKey(label));
+	}
+
+	private static int score(String normalizedFilter, MatchKey key) {
+		if (normalizedFilter.isEmpty()) {
+			return NO_MATCH;
+		}
+		int wordsScore = scoreWords(normalizedFilter, key);
+		if (wordsScore != NO_MATCH) {
+			return Math.min(MAX_SCORE, WORDS_MATCH + wordsScore);
+		}
+		int subsequenceScore = scoreSubsequence(normalizedFilter, key);
+		if (subsequenceScore != NO_MATCH) {
+			return SUBSEQUENCE_MATCH + subsequenceScore;
+		}
+		return NO_MATCH;
+	}
+
+	/**
+	 * Each character of the filter either continues the current word of the label or starts one of the next words.
+	 */
+	private static int scoreWords(String filter, MatchKey key) {
+		char[] chars = key.chars;
+		if (chars.length == 0 || chars[0] != filter.charAt(0)) {
+			return NO_MATCH;
+		}
+		int position = 0;
+		int skippedWords = 0;
+		for (int i = 1; i < filter.length(); i++) {
+			char c = filter.charAt(i);
+			if (position + 1 < chars.length && chars[position + 1] == c && !key.isWordStart(position + 1)) {
+				position++;
+			} else {
+				int next = key.nextWordStart(position + 1, c);
+				if (next == NO_MATCH) {
+					return NO_MATCH;
+				}
+				skippedWords += key.countWordStarts(position + 1, next);
+				position = next;
+			}
+		}
+		return 500 - 20 * skippedWords - (chars.length - filter.length());
+	}
+
+	private static int scoreSubsequence(String filter, MatchKey key) {
+		char[] chars = key.chars;
+		int position = -1;
+		int gaps = 0;
+		for (int i = 0; i < filter.length(); i++) {
+			char c = filter.charAt(i);
+			int next = position + 1;
+			while (next < chars.length && chars[next] != c) {
+				next++;
+			}
+			if (next == chars.length) {
+				return NO_MATCH;
+			}
+			if (next != position + 1) {
+				gaps++;
+			}
+			position = next;
+		}
+		return Math.max(0, 500 - 20 * gaps - (chars.length - filter.length()));
+	}
+
+	private static String normalize(String filterString) {
+		StringBuilder normalized = new StringBuilder(filterString.length());
+		for (int i = 0; i < filterString.length(); i++) {
+			char c = filterString.charAt(i);
+			if (!MatchKey.isSeparator(c)) {
+				normalized.append(Character.toLowerCase(c));
+			}
+		}
+		return normalized.toString();
+	}
+
+	private static MatchKey getMatchKey(String label, Map<String, MatchKey> matchKeys) {
+		MatchKey key = matchKeys.get(label);
+		return key != null ? key : new MatchKey(label);
+	}
+
+	/**
+	 * Lower case characters of the name part of a label, without the separators, and the positions where a word starts.
+	 * The name part stops at the first <code>:</code> so that the component syntax, for instance <code>file:directoryName</code>, is matched on the scheme only.
+	 */
+	static class MatchKey {
+
+		private final char[] chars;
+		private final boolean[] wordStarts;
+
+		MatchKey(String label) {
+			int end = label.indexOf(':');
+			if (end == -1) {
+				end = label.length();
+			}
+			StringBuilder lowerCase = new StringBuilder(end);
+			List<Boolean> starts = new ArrayList<>(end);
+			boolean afterSeparator = true;
+			char previous = 0;
+			for (int i = 0; i < end; i++) {
+				char c = label.charAt(i);
+				if (isSeparator(c)) {
+					afterSeparator = true;
+				} else {
+					boolean camelCaseStart = Character.isUpperCase(c) && !Character.isUpperCase(previous);
+					boolean digitStart = Character.isDigit(c) && !Character.isDigit(previous);
+					starts.add(afterSeparator || camelCaseStart || digitStart);
+					lowerCase.append(Character.toLowerCase(c));
+					afterSeparator = false;
+				}
+				previous = c;
+			}
+			this.chars = lowerCase.toString().toCharArray();
+			this.wordStarts = new boolean[starts.size()];
+			for (int i = 0; i < wordStarts.length; i++) {
+				wordStarts[i] = starts.get(i);
+			}
+		}
+
+		static boolean isSeparator(char c) {
+			return c == '-' || c == '_' || c == '.' || c == ' ';
+		}
+
+		boolean isWordStart(int position) {
+			return wordStarts[position];
+		}
+
+		int nextWordStart(int from, char c) {
+			for (int i = from; i < chars.length; i++) {
+				if (wordStarts[i] && chars[i] == c) {
+					return i;
+				}
+			}
+			return NO_MATCH;
+		}
+
+		int countWordStarts(int from, int to) {
+			int count = 0;
+			for (int i = from; i < to; i++) {
+				if (wordStarts[i]) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Items matching a filter, with the candidates they were selected from and the sort texts of these candidates before scoring.
+	 */
+	static final class MatchedItems extends ArrayList<CompletionItem> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<CompletionItem> candidates;
+		private final List<String> candidateSortTexts;
+		private final Map<String, MatchKey> matchKeys;
+
+		private MatchedItems(List<CompletionItem> candidates, Map<String, MatchKey> matchKeys) {
+			this.candidates = candidates;
+			this.candidateSortTexts = new ArrayList<>(candidates.size());
+			for (CompletionItem candidate : candidates) {
+				candidateSortTexts.add(candidate.getSortText());
+			}
+			this.matchKeys = matchKeys;
+		}
+
+		/**
+		 * @param filterString the text typed by the user, can be null
+		 * @param copy creates the item returned for a candidate, the candidates themselves are not modified
+		 * @return the copies of the candidates matching the filter, sorted by relevance
+		 */
+		MatchedItems match(String filterString, UnaryOperator<CompletionItem> copy) {
+			List<CompletionItem> copies = new ArrayList<>(candidates.size());
+			for (int i = 0; i < candidates.size(); i++) {
+				CompletionItem item = copy.apply(candidates.get(i));
+				item.setSortText(candidateSortTexts.get(i));
+				copies.add(item);
+			}
+			return filter(copies, filterString, matchKeys);
+		}
+	}
+
+	private static class ScoredItem {
+
+		private final CompletionItem item;
+		private final int score;
+
+		ScoredItem(CompletionItem item, int score) {
+			this.item = item;
+			this.score = score;
+		}
+
+		int getScore() {
+			return score;
+		}
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.InsertReplaceEdit;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.github.cameltooling.lsp.internal.completion.CompletionMatcher.MatchedItems;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelComponentURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.OptionParamKeyURIInstance;
+import com.github.cameltooling.lsp.internal.metrics.CacheCounter;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
+
+/**
+ * Keeps the candidates of the last completion of each document, keyed by the line, the start of the Camel URI and the kind of the completed element.
+ *
+ * When the next completion request is on an element with the same key and the user only typed more characters of the same word at the cursor,
+ * the cached candidates are matched again by the {@link CompletionMatcher} with the longer filter instead of recomputing them from the catalog,
+ * so the result, scores included, is the same as the one of a new completion request.
+ */
+public class CompletionSessions {
+
+	private final Map<String, CompletionSession> sessions = new ConcurrentHashMap<>();
+	private final CacheCounter cacheCounter;
+
+	public CompletionSessions() {
+		this(new CacheCounter());
+	}
+
+	/**
+	 * @param cacheCounter counts the requests answered by a refinement as hits and the other ones as misses
+	 */
+	public CompletionSessions(CacheCounter cacheCounter) {
+		this.cacheCounter = cacheCounter;
+	}
+
+	/**
+	 * @param element the element of the Camel URI at the position
+	 * @return the refined completion items if the request continues the current session of the document
+	 */
+	public Optional<List<CompletionItem>> refine(TextDocumentItem textDocumentItem, Position position, CamelUriElementInstance element) {
+		Optional<List<CompletionItem>> refinedItems = refineSession(textDocumentItem, position, element);
+		if (refinedItems.isPresent()) {
+			cacheCounter.hit();
+		} else {
+			cacheCounter.miss();
+		}
+		return refinedItems;
+	}
+
+	private Optional<List<CompletionItem>> refineSession(TextDocumentItem textDocumentItem, Position position, CamelUriElementInstance element) {
+		CompletionSession session = sessions.get(textDocumentItem.getUri());
+		if (session == null) {
+			return Optional.empty();
+		}
+		String line = new ParserFileHelperUtil().getLine(textDocumentItem, position);
+		if (!session.key.equals(keyOf(element, position))
+				|| session.elementStart != element.getStartPositionInLine()
+				|| !session.isContinuedBy(line, position)) {
+			sessions.remove(textDocumentItem.getUri(), session);
+			return Optional.empty();
+		}
+		int delta = position.getCharacter() - session.cursor;
+		String filter = line.substring(session.elementStart, position.getCharacter());
+		MatchedItems refinedItems = session.candidates.match(filter, item -> shiftEditEnd(item, session, delta));
+		if (refinedItems.isEmpty()) {
+			sessions.remove(textDocumentItem.getUri(), session);
+			return Optional.empty();
+		}
+		sessions.put(textDocumentItem.getUri(), new CompletionSession(session.key, line, session.elementStart, position, refinedItems));
+		return Optional.of(refinedItems);
+	}
+
+	/**
+	 * Starts a new session for the document if the completed element is a component scheme or an option name
+	 * and the items were selected by the {@link CompletionMatcher}.
+	 */
+	public void start(TextDocumentItem textDocumentItem, Position position, CamelUriElementInstance element, List<CompletionItem> items) {
+		String uri = textDocumentItem.getUri();
+		String line = new ParserFileHelperUtil().getLine(textDocumentItem, position);
+		int elementStart = element.getStartPositionInLine();
+		if (isSessionElement(element)
+				&& items instanceof MatchedItems
+				&& line != null
+				&& element.getLine() == position.getLine()
+				&& elementStart <= position.getCharacter()
+				&& position.getCharacter() <= line.length()
+				&& isWordPart(line, elementStart, position.getCharacter())) {
+			sessions.put(uri, new CompletionSession(keyOf(element, position), line, elementStart, position, (MatchedItems) items));
+		} else {
+			sessions.remove(uri);
+		}
+	}
+
+	public void invalidate(String uri) {
+		sessions.remove(uri);
+	}
+
+	public void invalidateAll() {
+		sessions.clear();
+	}
+
+	String getSessionKey(String uri) {
+		CompletionSession session = sessions.get(uri);
+		return session != null ? session.key : null;
+	}
+
+	private static String keyOf(CamelUriElementInstance element, Position position) {
+		return position.getLine() + ":" + element.getCamelUriInstance().getStartPositionInDocument().getCharacter() + ":" + element.getClass().getSimpleName();
+	}
+
+	private static boolean isSessionElement(CamelUriElementInstance element) {
+		return element instanceof CamelURIInstance
+				|| element instanceof CamelComponentURIInstance
+				|| element instanceof OptionParamKeyURIInstance;
+	}
+
+	/**
+	 * Characters which cannot change the kind of the completed element, unlike separators such as <code>:</code>, <code>?</code>, <code>&amp;</code> or <code>=</code>.
+	 */
+	static boolean isWordPart(String text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static CompletionItem shiftEditEnd(CompletionItem item, CompletionSession session, int delta) {
+		CompletionItem copy = new CompletionItem(item.getLabel());
+		copy.setLabelDetails(item.getLabelDetails());
+		copy.setKind(item.getKind());
+		copy.setTags(item.getTags());
+		copy.setDetail(item.getDetail());
+		copy.setDocumentation(item.getDocumentation());
+		copy.setDeprecated(item.getDeprecated());
+		copy.setPreselect(item.getPreselect());
+		copy.setSortText(item.getSortText());
+		copy.setFilterText(item.getFilterText());
+		copy.setInsertText(item.getInsertText());
+		copy.setInsertTextFormat(item.getInsertTextFormat());
+		copy.setInsertTextMode(item.getInsertTextMode());
+		copy.setAdditionalTextEdits(item.getAdditionalTextEdits());
+		copy.setCommitCharacters(item.getCommitCharacters());
+		copy.setCommand(item.getCommand());
+		copy.setData(item.getData());
+		Either<TextEdit, InsertReplaceEdit> textEdit = item.getTextEdit();
+		if (textEdit != null && textEdit.isLeft()) {
+			copy.setTextEdit(Either.forLeft(new TextEdit(shift(textEdit.getLeft().getRange(), session, delta), textEdit.getLeft().getNewText())));
+		} else if (textEdit != null) {
+			InsertReplaceEdit edit = textEdit.getRight();
+			copy.setTextEdit(Either.forRight(new InsertReplaceEdit(edit.getNewText(), shift(edit.getInsert(), session, delta), shift(edit.getReplace(), session, delta))));
+		}
+		return copy;
+	}
+
+	private static Range shift(Range range, CompletionSession session, int delta) {
+		Position end = range.getEnd();
+		if (end.getLine() == session.line && end.getCharacter() >= session.cursor) {
+			return new Range(range.getStart(), new Position(end.getLine(), end.getCharacter() + delta));
+		}
+		return range;
+	}
+
+	private static class CompletionSession {
+
+		private final String key;
+		private final int line;
+		private final int elementStart;
+		private final int cursor;
+		private final String textBeforeCursor;
+		private final String textAfterCursor;
+		private final MatchedItems candidates;
+
+		CompletionSession(String key, String lineText, int elementStart, Position position, MatchedItems candidates) {
+			this.key = key;
+			this.line = position.getLine();
+			this.elementStart = elementStart;
+			this.cursor = position.getCharacter();
+			this.textBeforeCursor = lineText.substring(0, cursor);
+			this.textAfterCursor = lineText.substring(cursor);
+			this.candidates = candidates;
+		}
+
+		/**
+		 * @return true if the only change on the line is a sequence of word characters typed at the cursor
+		 */
+		boolean isContinuedBy(String lineText, Position position) {
+			int newCursor = position.getCharacter();
+			return lineText != null
+					&& position.getLine() == line
+					&& newCursor >= cursor
+					&& newCursor <= lineText.length()
+					&& lineText.startsWith(textBeforeCursor)
+					&& lineText.substring(newCursor).equals(textAfterCursor)
+					&& isWordPart(lineText, cursor, newCursor);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Completion items computed from resources which are still loading, for instance from a cluster.
+ *
+ * They are sent as an incomplete {@link CompletionList} so that the client asks again for the completions
+ * while the user types, instead of filtering on its side a list which misses the resources not loaded yet.
+ */
+public class IncompleteCompletionItems extends ArrayList<CompletionItem> {
+
+	private static final long serialVersionUID = 1L;
+
+	public IncompleteCompletionItems(Collection<CompletionItem> completionItems) {
+		super(completionItems);
+	}
+
+	/**
+	 * @param completionItems the computed completion items
+	 * @return an incomplete completion list for {@link IncompleteCompletionItems}, the items themselves otherwise
+	 */
+	public static Either<List<CompletionItem>, CompletionList> toCompletionResult(List<CompletionItem> completionItems) {
+		if (completionItems instanceof IncompleteCompletionItems) {
+			return Either.forRight(new CompletionList(true, completionItems));
+		}
+		return Either.forLeft(completionItems);
+	}
+}
@@ -16,21 +16,17 @@
  */
 package com.github.cameltooling.lsp.internal.completion;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import org.apache.camel.kamelets.catalog.KameletsCatalog;
 import org.apache.camel.kamelets.catalog.model.KameletTypeEnum;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletEntry;
 import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
 
-import org.apache.camel.v1.Kamelet;
-
 public class KameletTemplateIdCompletionProvider {
 	
 	private KameletsCatalogManager kameletsCatalogManager;
@@ -40,30 +36,25 @@ public class KameletTemplateIdCompletionProvider {
 	}
 
 	public CompletableFuture<List<CompletionItem>> get(PathParamURIInstance pathParamURIInstance) {
-		Collection<Kamelet> kamelets = retrievePotentialKamelets(pathParamURIInstance);
+		List<KameletEntry> kamelets = retrievePotentialKamelets(pathParamURIInstance);
 			
 		List<CompletionItem> completionItems = kamelets
 			.stream()
 				.map(kamelet -> {
-					CompletionItem completionItem = new CompletionItem(kamelet.getMetadata().getName());
+					CompletionItem completionItem = new CompletionItem(kamelet.getName());
 					CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-					completionItem.setDocumentation(kamelet.getSpec().getDefinition().getDescription());
+					completionItem.setDocumentation(kamelet.getDescription());
 					return completionItem;
 				})
 				.collect(Collectors.toList());
 		return CompletableFuture.completedFuture(completionItems);
 	}
 
-	private List<Kamelet> retrievePotentialKamelets(PathParamURIInstance pathParamURIInstance) {
-		KameletsCatalog kameletsCatalog = kameletsCatalogManager.getCatalog();
-		if(kameletsCatalog != null) {
-			if (pathParamURIInstance.getCamelUriInstance().isProducer()) {
-				return kameletsCatalog.getKameletsByType(KameletTypeEnum.SINK.type());
-			} else {
-				return kameletsCatalog.getKameletsByType(KameletTypeEnum.SOURCE.type());
-			}
+	private List<KameletEntry> retrievePotentialKamelets(PathParamURIInstance pathParamURIInstance) {
+		if (pathParamURIInstance.getCamelUriInstance().isProducer()) {
+			return kameletsCatalogManager.getIndex().getKameletsByType(KameletTypeEnum.SINK.type());
 		} else {
-			return Collections.emptyList();
+			return kameletsCatalogManager.getIndex().getKameletsByType(KameletTypeEnum.SOURCE.type());
 		}
 	}
 
@@ -66,7 +66,7 @@ public class PomCompletionProcessor {
 		List<CompletionItem> completions = new ArrayList<>();
 		List<String> componentNames = camelCatalog.get().findComponentNames();
 		for (String componentName : componentNames) {
-			ComponentModel componentModel = ModelHelper.generateComponentModel(camelCatalog.get().componentJSonSchema(componentName), false);
+			ComponentModel componentModel = ModelHelper.getComponentModel(camelCatalog.get(), componentName);
 			CompletionItem completionItem = new CompletionItem("Camel dependency for component " + componentModel.getTitle());
 			completionItem.setInsertText(
 					"<dependency>\n" +
@@ -18,9 +18,6 @@ package com.github.cameltooling.lsp.internal.completion;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.lsp4j.CompletionItem;
@@ -32,12 +29,12 @@ import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.github.cameltooling.lsp.internal.completion.traits.CamelKTraitIndex;
 import com.github.cameltooling.lsp.internal.completion.traits.CamelKTraitManager;
+import com.github.cameltooling.lsp.internal.completion.traits.TraitDefinition;
+import com.github.cameltooling.lsp.internal.completion.traits.TraitProperty;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
-import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
-
 public class VSCodeTasksCompletionProcessor {
 
 	private TextDocumentItem textDocumentItem;
@@ -51,58 +48,42 @@ public class VSCodeTasksCompletionProcessor {
 		// Very lazy check because I have not found an easy way to have a JSon Parser with line number
 		if (textDocumentItem.getText().contains("traits")) {
 			String line = new ParserFileHelperUtil().getLine(textDocumentItem, position);
-			Map<String, JSONSchemaProps> traits = CamelKTraitManager.getTraits();
+			CamelKTraitIndex traitIndex = CamelKTraitManager.getTraitIndex();
 			if('.' == line.charAt(position.getCharacter() - 1)) {
 				int startOfTrait = line.substring(0, position.getCharacter() - 1).lastIndexOf("\"");
 				if (startOfTrait != -1) {
 					String traitName = line.substring(startOfTrait + 1, position.getCharacter() - 1);
-					JSONSchemaProps trait = traits.get(traitName);
-					Map<String,JSONSchemaProps> properties = trait.getProperties();
-					for (Entry<String, JSONSchemaProps> property : properties.entrySet()) {
-						CompletionItem completion = createCompletionItemForProperty(position, property);
-						completions.add(completion);
+					TraitDefinition trait = traitIndex.getTrait(traitName);
+					if (trait != null) {
+						for (TraitProperty property : trait.getProperties()) {
+							completions.add(createCompletionItemForProperty(position, property));
+						}
 					}
 				}
 			} else {
-				for (Entry<String, JSONSchemaProps> traitEntry : traits.entrySet()) {
-					CompletionItem completion = createCompletionitemForTrait(position, traitEntry);
-					completions.add(completion);
+				for (TraitDefinition trait : traitIndex.getTraits()) {
+					completions.add(createCompletionitemForTrait(position, trait));
 				}
 			}
 		}
 		return CompletableFuture.completedFuture(completions);
 	}
 
-	private CompletionItem createCompletionitemForTrait(Position position, Entry<String, JSONSchemaProps> traitEntry) {
-		CompletionItem completion = new CompletionItem(traitEntry.getKey());
+	private CompletionItem createCompletionitemForTrait(Position position, TraitDefinition trait) {
+		CompletionItem completion = new CompletionItem(trait.getName());
 		completion.setKind(CompletionItemKind.Snippet);
-		Set<String> properties = traitEntry.getValue().getProperties().keySet();
-		String propertiesChoice;
-		if (!properties.isEmpty()) {
-			propertiesChoice = "${1|" + String.join(",", properties) + "|}";
-		} else {
-			propertiesChoice = "";
-		}
-		String insertText = "\"" + traitEntry.getKey() + "." + propertiesChoice + "=\"";
 		completion.setInsertTextFormat(InsertTextFormat.Snippet);
-		applyTextEdit(position, completion, insertText);
-		completion.setDocumentation(traitEntry.getValue().getDescription());
+		applyTextEdit(position, completion, trait.getTasksSnippet());
+		completion.setDocumentation(trait.getDescription());
 		return completion;
 	}
 
-	private CompletionItem createCompletionItemForProperty(Position position, Entry<String, JSONSchemaProps> property) {
-		String label = property.getKey();
+	private CompletionItem createCompletionItemForProperty(Position position, TraitProperty property) {
+		String label = property.getName();
 		CompletionItem completion = new CompletionItem(label);
-		JsonNode defaultPropertyValue = property.getValue().getDefault();
-		String insertText;
-		if (defaultPropertyValue != null) {
-			insertText = label + "=" + defaultPropertyValue;
-		} else {
-			insertText = label;
-		}
-		applyTextEdit(position, completion, insertText);
+		applyTextEdit(position, completion, property.getTasksInsertText());
 		completion.setSortText("${1" + label);
-		completion.setDocumentation(property.getValue().getDescription());
+		completion.setDocumentation(property.getDescription());
 		return completion;
 	}
 
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.traits;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import io.fabric8.kubernetes.api.model.apiextensions.v1.CustomResourceDefinition;
+import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
+
+/**
+ * Immutable index of the Camel K traits defined in an Integration CRD.
+ *
+ * The CRD is parsed only once per version; the indexes are published through a {@link ConcurrentHashMap} so that concurrent first requests share the same instance.
+ * Several CRD versions can be loaded side by side.
+ */
+public class CamelKTraitIndex {
+
+	public static final String DEFAULT_CRD_VERSION = "2.0.1";
+	private static final String CRD_RESOURCE_PATTERN = "/camel.apache.org_integrations-%s.yaml";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelKTraitIndex.class);
+	private static final Map<String, CamelKTraitIndex> INDEXES_BY_VERSION = new ConcurrentHashMap<>();
+	private static final CamelKTraitIndex EMPTY = new CamelKTraitIndex(Collections.emptyMap());
+
+	private final Map<String, TraitDefinition> traits;
+
+	private CamelKTraitIndex(Map<String, TraitDefinition> traits) {
+		this.traits = traits;
+	}
+
+	/**
+	 * @return the index for the CRD bundled with the Camel Language Server
+	 */
+	public static CamelKTraitIndex getDefault() {
+		return forVersion(DEFAULT_CRD_VERSION);
+	}
+
+	/**
+	 * @param crdVersion version of the Camel K Integration CRD bundled with the Camel Language Server
+	 * @return the index for this CRD version, empty if this version is not bundled
+	 */
+	public static CamelKTraitIndex forVersion(String crdVersion) {
+		return INDEXES_BY_VERSION.computeIfAbsent(crdVersion, CamelKTraitIndex::loadBundled);
+	}
+
+	private static CamelKTraitIndex loadBundled(String crdVersion) {
+		String resourceName = String.format(CRD_RESOURCE_PATTERN, crdVersion);
+		try (InputStream inputStreamCRD = CamelKTraitIndex.class.getResourceAsStream(resourceName)) {
+			if (inputStreamCRD == null) {
+				LOGGER.warn("No Camel K Integration CRD bundled for version {}", crdVersion);
+				return EMPTY;
+			}
+			return load(inputStreamCRD);
+		} catch (IOException e) {
+			LOGGER.error("Cannot load Camel K Integration CRD {}", resourceName, e);
+			return EMPTY;
+		}
+	}
+
+	/**
+	 * @param inputStreamCRD a Camel K Integration CRD in YAML
+	 * @return a new index for the traits of this CRD
+	 * @throws IOException if the CRD cannot be read
+	 */
+	public static CamelKTraitIndex load(InputStream inputStreamCRD) throws IOException {
+		CustomResourceDefinition crd = new ObjectMapper(new YAMLFactory()).readValue(inputStreamCRD, CustomResourceDefinition.class);
+		Map<String, JSONSchemaProps> traitsSchema = retrieveTraitsDefinitionFromCamelKCRD(crd).getProperties();
+		Map<String, TraitDefinition> traits = new LinkedHashMap<>();
+		if (traitsSchema != null) {
+			for (Map.Entry<String, JSONSchemaProps> trait : traitsSchema.entrySet()) {
+				traits.put(trait.getKey(), new TraitDefinition(trait.getKey(), trait.getValue()));
+			}
+		}
+		return new CamelKTraitIndex(Collections.unmodifiableMap(traits));
+	}
+
+	private static JSONSchemaProps retrieveTraitsDefinitionFromCamelKCRD(CustomResourceDefinition crd) {
+		return crd.getSpec().getVersions().get(0).getSchema().getOpenAPIV3Schema().getProperties().get("spec").getProperties().get("traits");
+	}
+
+	/**
+	 * @return the trait definitions in CRD order
+	 */
+	public Collection<TraitDefinition> getTraits() {
+		return traits.values();
+	}
+
+	/**
+	 * @param traitName name of the trait, for instance <code>quarkus</code>
+	 * @return the trait definition, null if unknown
+	 */
+	public TraitDefinition getTrait(String traitName) {
+		return traitName != null ? traits.get(traitName) : null;
+	}
+}
@@ -16,7 +16,11 @@
  */
 package com.github.cameltooling.lsp.internal.completion.traits;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.lsp4j.CompletionItem;
 
@@ -24,30 +28,62 @@ import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitDefinition;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitOption;
 
+import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
+
 public class TraitDefinition {
 	
-	private String name;
-	private String description;
-	private boolean platform;
-	private List<String> profiles;
-	private List<TraitProperty> properties;
+	private final String name;
+	private final String description;
+	private final List<TraitProperty> properties;
+	private final Map<String, TraitProperty> propertiesByName;
+	private final String tasksSnippet;
+	
+	TraitDefinition(String name, JSONSchemaProps traitSchema) {
+		this.name = name;
+		this.description = traitSchema.getDescription();
+		Map<String, TraitProperty> traitProperties = new LinkedHashMap<>();
+		if (traitSchema.getProperties() != null) {
+			for (Map.Entry<String, JSONSchemaProps> property : traitSchema.getProperties().entrySet()) {
+				traitProperties.put(property.getKey(), new TraitProperty(property.getKey(), property.getValue()));
+			}
+		}
+		this.propertiesByName = Collections.unmodifiableMap(traitProperties);
+		this.properties = Collections.unmodifiableList(new ArrayList<>(traitProperties.values()));
+		String propertiesChoice = traitProperties.isEmpty() ? "" : "${1|" + String.join(",", traitProperties.keySet()) + "|}";
+		this.tasksSnippet = "\"" + name + "." + propertiesChoice + "=\"";
+	}
 	
 	public CompletionItem createCompletionItem(CamelKModelineTraitDefinition traitDefinition) {
 		CompletionItem completionItem = new CompletionItem(name);
 		completionItem.setDocumentation(description);
-		if(hasAPropertySpecified(traitDefinition.getTraitOption())) {
-			completionItem.setInsertText(name);
-		} else {
-			completionItem.setInsertText(name + ".");
-		}
+		completionItem.setInsertText(getModelineInsertText(traitDefinition.getTraitOption()));
 		CompletionResolverUtils.applyTextEditToCompletionItem(traitDefinition, completionItem);
 		return completionItem;
 	}
 
+	/**
+	 * Same behavior than {@link com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils#matchesCompletionFilter(String)}
+	 * but evaluated before creating the completion item.
+	 */
+	public boolean matches(String filter, CamelKModelineTraitOption traitOption) {
+		return filter == null
+				|| filter.trim().isEmpty()
+				|| name.startsWith(filter)
+				|| getModelineInsertText(traitOption).startsWith(filter);
+	}
+
+	private String getModelineInsertText(CamelKModelineTraitOption traitOption) {
+		return hasAPropertySpecified(traitOption) ? name : name + ".";
+	}
+
 	public List<TraitProperty> getProperties() {
 		return properties;
 	}
 
+	public TraitProperty getProperty(String propertyName) {
+		return propertyName != null ? propertiesByName.get(propertyName) : null;
+	}
+
 	public String getDescription() {
 		return description;
 	}
@@ -56,12 +92,11 @@ public class TraitDefinition {
 		return name;
 	}
 
-	public boolean isPlatform() {
-		return platform;
-	}
-
-	public List<String> getProfiles() {
-		return profiles;
+	/**
+	 * @return the snippet inserted in VS Code tasks.json, with a choice between the property names
+	 */
+	public String getTasksSnippet() {
+		return tasksSnippet;
 	}
 	
 	private boolean hasAPropertySpecified(CamelKModelineTraitOption traitOption) {
@@ -18,39 +18,53 @@ package com.github.cameltooling.lsp.internal.completion.traits;
 
 import org.eclipse.lsp4j.CompletionItem;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitDefinitionProperty;
 import com.github.cameltooling.lsp.internal.modelinemodel.CamelKModelineTraitOption;
 
+import io.fabric8.kubernetes.api.model.apiextensions.v1.JSONSchemaProps;
+
 public class TraitProperty {
 
-	private String name;
-	private String description;
-	private String type;
-	private Object defaultValue;
+	private final String name;
+	private final String description;
+	private final String type;
+	private final String defaultValue;
+	private final String tasksInsertText;
+	
+	TraitProperty(String name, JSONSchemaProps propertySchema) {
+		this.name = name;
+		this.description = propertySchema.getDescription();
+		this.type = propertySchema.getType();
+		JsonNode defaultNode = propertySchema.getDefault();
+		this.defaultValue = defaultNode != null ? defaultNode.toString() : null;
+		this.tasksInsertText = defaultValue != null ? name + "=" + defaultValue : name;
+	}
 	
 	public CompletionItem createCompletionItem(CamelKModelineTraitDefinitionProperty camelKModelineTraitDefinitionProperty) {
 		CompletionItem completionItem = new CompletionItem(name);
 		completionItem.setDocumentation(description);
-		CamelKModelineTraitOption traitOption = camelKModelineTraitDefinitionProperty.getTraitOption();
-		if (hasAValueSpecified(traitOption)) {
-			completionItem.setInsertText(name);
-		} else {
-			String prefix = name + "=";
-			if (defaultValue != null) {
-				if ("int".equals(type) && defaultValue instanceof Double) {
-					completionItem.setInsertText(prefix + ((Double) defaultValue).intValue());
-				} else {
-					completionItem.setInsertText(prefix + defaultValue);
-				}
-			} else {
-				completionItem.setInsertText(prefix);
-			}
-		}
+		completionItem.setInsertText(getModelineInsertText(camelKModelineTraitDefinitionProperty.getTraitOption()));
 		CompletionResolverUtils.applyTextEditToCompletionItem(camelKModelineTraitDefinitionProperty, completionItem);
 		return completionItem;
 	}
 
+	/**
+	 * Same behavior than {@link com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils#matchesCompletionFilter(String)}
+	 * but evaluated before creating the completion item.
+	 */
+	public boolean matches(String filter, CamelKModelineTraitOption traitOption) {
+		return filter == null
+				|| filter.trim().isEmpty()
+				|| name.startsWith(filter)
+				|| getModelineInsertText(traitOption).startsWith(filter);
+	}
+
+	private String getModelineInsertText(CamelKModelineTraitOption traitOption) {
+		return hasAValueSpecified(traitOption) ? name : name + "=";
+	}
+
 	private boolean hasAValueSpecified(CamelKModelineTraitOption traitOption) {
 		return traitOption.getValueAsString().contains("=");
 	}
@@ -62,5 +76,23 @@ public class TraitProperty {
 	public String getName() {
 		return name;
 	}
+
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return the JSON representation of the default value, null if there is none
+	 */
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+
+	/**
+	 * @return the text inserted in VS Code tasks.json, including the default value when there is one
+	 */
+	public String getTasksInsertText() {
+		return tasksInsertText;
+	}
 	
 }
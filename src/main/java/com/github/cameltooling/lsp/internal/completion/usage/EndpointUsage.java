@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.usage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+
+/**
+ * Number of occurrences of each component scheme and of each endpoint option in one document.
+ *
+ * Option counts are keyed by <code>scheme?option</code>.
+ */
+public class EndpointUsage {
+
+	static final EndpointUsage EMPTY = new EndpointUsage(Collections.emptyMap(), Collections.emptyMap());
+
+	private final Map<String, Integer> schemes;
+	private final Map<String, Integer> options;
+
+	EndpointUsage(Map<String, Integer> schemes, Map<String, Integer> options) {
+		this.schemes = schemes;
+		this.options = options;
+	}
+
+	/**
+	 * @param endpoints the endpoints declared in the document
+	 * @return the usage of the endpoints of the document
+	 */
+	public static EndpointUsage of(List<EndpointOccurrence> endpoints) {
+		Map<String, Integer> schemes = new HashMap<>();
+		Map<String, Integer> options = new HashMap<>();
+		for (EndpointOccurrence endpoint : endpoints) {
+			if (endpoint.getReferenceKey() != null) {
+				count(endpoint.getComponentName(), endpoint.getOptionNames(), schemes, options);
+			}
+		}
+		return new EndpointUsage(schemes, options);
+	}
+
+	private static void count(String scheme, List<String> optionNames, Map<String, Integer> schemes, Map<String, Integer> options) {
+		schemes.merge(scheme, 1, Integer::sum);
+		for (String optionName : optionNames) {
+			options.merge(optionKey(scheme, optionName), 1, Integer::sum);
+		}
+	}
+
+	static String optionKey(String scheme, String option) {
+		return scheme + "?" + option;
+	}
+
+	public Map<String, Integer> getSchemes() {
+		return schemes;
+	}
+
+	public Map<String, Integer> getOptions() {
+		return options;
+	}
+
+	int getSchemeCount(String scheme) {
+		return schemes.getOrDefault(scheme, 0);
+	}
+
+	int getOptionCount(String scheme, String option) {
+		return options.getOrDefault(optionKey(scheme, option), 0);
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.usage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.lsp4j.CompletionItem;
+
+import com.github.cameltooling.lsp.internal.workspace.DocumentContent;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceDocumentIndex;
+
+/**
+ * Counts how often each component scheme and each endpoint option are used in the workspace and in the opened documents,
+ * so that the most used ones are proposed first by the completion.
+ *
+ * The counts are derived from the endpoints of the {@link WorkspaceDocumentIndex}: the workspace is not read again and the counts of the
+ * workspace files are persisted with the index. The counts of a document replace its previous counts when it is indexed again, and are removed
+ * with the document, so the completion only reads the aggregated counts and never waits for the parsing.
+ *
+ * The ranking is disabled by default, see the <code>Completion usage ranking</code> setting.
+ */
+public class UsageStatistics implements WorkspaceDocumentIndex.ContentListener {
+
+	private static final int MAX_COUNT = 999999;
+
+	private final Map<String, EndpointUsage> usageByDocument = new ConcurrentHashMap<>();
+	private final Map<String, Integer> schemeCounts = new ConcurrentHashMap<>();
+	private final Map<String, Integer> optionCounts = new ConcurrentHashMap<>();
+	private volatile boolean enabled;
+
+	/**
+	 * @param documentIndex the index of the documents of the workspace, from which the endpoints are counted
+	 */
+	public UsageStatistics(WorkspaceDocumentIndex documentIndex) {
+		documentIndex.addListener(this);
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void contentChanged(String documentKey, DocumentContent previousContent, DocumentContent content) {
+		replace(documentKey, content != null ? EndpointUsage.of(content.getEndpoints()) : null);
+	}
+
+	/**
+	 * @param documentUri the document in which the completion is requested, its own endpoints are not counted
+	 * @return the number of endpoints using this scheme
+	 */
+	public int getSchemeCount(String scheme, String documentUri) {
+		if (!enabled) {
+			return 0;
+		}
+		return schemeCounts.getOrDefault(scheme, 0) - getUsage(documentUri).getSchemeCount(scheme);
+	}
+
+	/**
+	 * @param documentUri the document in which the completion is requested, its own endpoints are not counted
+	 * @return the number of endpoints of this scheme using this option
+	 */
+	public int getOptionCount(String scheme, String option, String documentUri) {
+		if (!enabled) {
+			return 0;
+		}
+		return optionCounts.getOrDefault(EndpointUsage.optionKey(scheme, option), 0) - getUsage(documentUri).getOptionCount(scheme, option);
+	}
+
+	public void rankScheme(CompletionItem completionItem, String scheme, String documentUri) {
+		rank(completionItem, getSchemeCount(scheme, documentUri));
+	}
+
+	public void rankOption(CompletionItem completionItem, String scheme, String option, String documentUri) {
+		rank(completionItem, getOptionCount(scheme, option, documentUri));
+	}
+
+	/**
+	 * The used items are sorted before the others, the most used first. The previous sort text, or the label, is kept to sort the items with the same count.
+	 */
+	private static void rank(CompletionItem completionItem, int count) {
+		if (count > 0) {
+			String sortText = completionItem.getSortText() != null ? completionItem.getSortText() : completionItem.getLabel();
+			completionItem.setSortText(String.format("0-%06d-%s", MAX_COUNT - Math.min(count, MAX_COUNT), sortText));
+		}
+	}
+
+	private EndpointUsage getUsage(String documentUri) {
+		EndpointUsage usage = documentUri != null ? usageByDocument.get(WorkspaceDocumentIndex.toKey(documentUri)) : null;
+		return usage != null ? usage : EndpointUsage.EMPTY;
+	}
+
+	private synchronized void replace(String documentKey, EndpointUsage usage) {
+		EndpointUsage previousUsage = usage != null ? usageByDocument.put(documentKey, usage) : usageByDocument.remove(documentKey);
+		if (previousUsage != null) {
+			previousUsage.getSchemes().forEach((scheme, count) -> decrement(schemeCounts, scheme, count));
+			previousUsage.getOptions().forEach((option, count) -> decrement(optionCounts, option, count));
+		}
+		if (usage != null) {
+			usage.getSchemes().forEach((scheme, count) -> schemeCounts.merge(scheme, count, Integer::sum));
+			usage.getOptions().forEach((option, count) -> optionCounts.merge(option, count, Integer::sum));
+		}
+	}
+
+	private static void decrement(Map<String, Integer> counts, String key, int count) {
+		counts.computeIfPresent(key, (k, previousCount) -> previousCount - count > 0 ? previousCount - count : null);
+	}
+}
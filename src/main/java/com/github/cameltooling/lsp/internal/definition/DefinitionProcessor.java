@@ -16,68 +16,60 @@
  */
 package com.github.cameltooling.lsp.internal.definition;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.LocationLink;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
-import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
-import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
-import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
 
 public class DefinitionProcessor {
 	
-	private static final Logger LOGGER = LoggerFactory.getLogger(DefinitionProcessor.class);
-	
-	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
 	private TextDocumentItem textDocumentItem;
+	private WorkspaceEndpointIndex endpointIndex;
 
-	public DefinitionProcessor(TextDocumentItem textDocumentItem) {
+	public DefinitionProcessor(CamelTextDocumentService textDocumentService, TextDocumentItem textDocumentItem) {
+		this.endpointIndex = textDocumentService.getEndpointIndex();
 		this.textDocumentItem = textDocumentItem;
 	}
 	
 	@SuppressWarnings("squid:S1452")
 	public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> getDefinitions(Position position) {
-		if (textDocumentItem.getUri().endsWith(".xml")) {
-			String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
-			if (camelComponentUri != null) {
-				CamelURIInstance camelURIInstance = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-				if (camelURIInstance != null && "ref".equals(camelURIInstance.getComponentName())) {
-					Set<PathParamURIInstance> pathParams = camelURIInstance.getComponentAndPathUriElementInstance().getPathParams();
-					if(!pathParams.isEmpty()) {
-						String refId = pathParams.iterator().next().getValue();
-						return searchEndpointsWithId(refId);
-					}
+		if (textDocumentItem != null) {
+			Optional<EndpointOccurrence> endpoint = endpointIndex.findOccurrence(textDocumentItem.getUri(), position);
+			if (endpoint.isPresent() && "ref".equals(endpoint.get().getComponentName())) {
+				String refId = endpoint.get().getReferenceKey();
+				if (refId != null && !refId.isEmpty()) {
+					return CompletableFuture.completedFuture(Either.forLeft(searchEndpointsWithId(refId)));
 				}
 			}
 		}
 		return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
 	}
 
-	private CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> searchEndpointsWithId(String refId) {
-		try {
-			List<Node> allEndpoints = parserXMLFileHelper.getAllEndpoints(textDocumentItem);
-			for (Node endpoint : allEndpoints) {
-				String id = CamelXmlHelper.getSafeAttribute(endpoint, "id");
-				if (refId.equals(id)) {
-					return CompletableFuture.completedFuture(Either.forLeft(Arrays.asList(parserXMLFileHelper.retrieveLocation(endpoint, textDocumentItem))));
-				}
-			}
-		} catch (Exception e) {
-			LOGGER.error("Cannot compute defintions for "+ textDocumentItem.getUri(), e);
+	/**
+	 * The endpoints of the current document are preferred, the ones of the other documents of the workspace are returned otherwise.
+	 */
+	private List<Location> searchEndpointsWithId(String refId) {
+		List<EndpointOccurrence> endpoints = endpointIndex.findById(refId);
+		List<Location> endpointsInDocument = endpoints.stream()
+				.filter(endpoint -> textDocumentItem.getUri().equals(endpoint.getDocumentUri()))
+				.limit(1)
+				.map(EndpointOccurrence::toLocation)
+				.collect(Collectors.toList());
+		if (!endpointsInDocument.isEmpty()) {
+			return endpointsInDocument;
 		}
-		return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
+		return endpoints.stream().map(EndpointOccurrence::toLocation).collect(Collectors.toList());
 	}
 
 }
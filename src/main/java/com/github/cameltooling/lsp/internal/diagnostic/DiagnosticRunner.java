@@ -39,6 +39,7 @@ public class DiagnosticRunner {
 	private ConfigurationPropertiesDiagnosticService configurationPropertiesDiagnosticService;
 	private CamelKModelineDiagnosticService camelKModelineDiagnosticService;
 	private ConnectedModeDiagnosticService connectedModeDiagnosticService;
+	private RouteGraphDiagnosticService routeGraphDiagnosticService;
 	private Map<String, CompletableFuture<Void>> lastTriggeredDiagnostic = new HashMap<String, CompletableFuture<Void>>();
 
 	public DiagnosticRunner(CompletableFuture<CamelCatalog> camelCatalog, CamelLanguageServer camelLanguageServer) {
@@ -47,6 +48,7 @@ public class DiagnosticRunner {
 		configurationPropertiesDiagnosticService = new ConfigurationPropertiesDiagnosticService(camelCatalog);
 		camelKModelineDiagnosticService = new CamelKModelineDiagnosticService();
 		connectedModeDiagnosticService = new ConnectedModeDiagnosticService();
+		routeGraphDiagnosticService = new RouteGraphDiagnosticService(camelLanguageServer.getTextDocumentService().getEndpointIndex());
 	}
 
 	public void compute(DidSaveTextDocumentParams params) {
@@ -67,6 +69,7 @@ public class DiagnosticRunner {
 
 	public void computeDiagnostics(String camelText, TextDocumentItem documentItem) {
 		String uri = documentItem.getUri();
+		int version = documentItem.getVersion();
 		CompletableFuture<Void> previousComputation = lastTriggeredDiagnostic.get(uri);
 		if (previousComputation != null) {
 			previousComputation.cancel(true);
@@ -79,7 +82,10 @@ public class DiagnosticRunner {
 			diagnostics.addAll(configurationPropertiesDiagnosticService.converToLSPDiagnostics(configurationPropertiesErrors));
 			diagnostics.addAll(camelKModelineDiagnosticService.compute(camelText, documentItem));
 			diagnostics.addAll(connectedModeDiagnosticService.compute(camelText, documentItem));
-			camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics));
+			if (camelLanguageServer.getTextDocumentService().getSettingsManager().isRouteGraphDiagnostics()) {
+				diagnostics.addAll(routeGraphDiagnosticService.compute(documentItem));
+			}
+			camelLanguageServer.getClient().publishDiagnostics(new PublishDiagnosticsParams(uri, diagnostics, version));
 			lastTriggeredDiagnostic.remove(uri);
 		});
 		lastTriggeredDiagnostic.put(uri, lastTriggeredComputation);
@@ -17,11 +17,8 @@
 package com.github.cameltooling.lsp.internal.diagnostic;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,19 +26,15 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.parser.RouteBuilderParser;
-import org.apache.camel.parser.XmlRouteParser;
 import org.apache.camel.parser.model.CamelEndpointDetails;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentItem;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.JavaType;
-import org.jboss.forge.roaster.model.source.JavaClassSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.catalog.diagnostic.CamelDiagnosticMessage;
+import com.github.cameltooling.lsp.internal.parser.CamelEndpointDetailsParser;
 import com.github.cameltooling.lsp.internal.parser.ParserFileHelperUtil;
 
 public abstract class DiagnosticService {
@@ -82,25 +75,7 @@ public abstract class DiagnosticService {
 	}
 
 	protected List<CamelEndpointDetails> retrieveEndpoints(String fileUri, String camelText) {
-		List<CamelEndpointDetails> endpoints = new ArrayList<>();
-		if (fileUri.endsWith(".xml")) {
-			try {
-				XmlRouteParser.parseXmlRouteEndpoints(new ByteArrayInputStream(camelText.getBytes(StandardCharsets.UTF_8)), "", "/"+fileUri, endpoints);
-			} catch (Exception e) {
-				logExceptionValidatingDocument(fileUri, e);
-			}
-		} else if(fileUri.endsWith(".java")) {
-			try {
-				JavaType<?> parsedJavaFile = Roaster.parse(camelText);
-				if (parsedJavaFile instanceof JavaClassSource) {
-					JavaClassSource clazz = (JavaClassSource) parsedJavaFile;
-					RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", "/"+fileUri, endpoints);
-				}
-			} catch(Exception e) {
-				logExceptionValidatingDocument(fileUri, e);
-			}
-		}
-		return endpoints;
+		return CamelEndpointDetailsParser.retrieveEndpoints(fileUri, camelText);
 	}
 
 	protected Range computeRange(String fullCamelText, TextDocumentItem textDocumentItem, CamelEndpointDetails camelEndpointDetails) {
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.RouteGraph.Route;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceDocumentIndex;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
+
+/**
+ * Warns about the producers calling a route which does not exist in the workspace, and about the routes calling each other in a loop.
+ * These diagnostics are opt-in, as the called route may be provided by a project outside of the workspace.
+ */
+public class RouteGraphDiagnosticService extends DiagnosticService {
+
+	public static final String ERROR_CODE_DANGLING_PRODUCER = "camel.diagnostic.dangling.producer";
+	public static final String ERROR_CODE_ROUTE_CYCLE = "camel.diagnostic.route.cycle";
+
+	private final WorkspaceEndpointIndex endpointIndex;
+
+	public RouteGraphDiagnosticService(WorkspaceEndpointIndex endpointIndex) {
+		super(null);
+		this.endpointIndex = endpointIndex;
+	}
+
+	public List<Diagnostic> compute(TextDocumentItem documentItem) {
+		List<Diagnostic> diagnostics = new ArrayList<>();
+		for (EndpointOccurrence producer : endpointIndex.findDanglingProducers(documentItem.getUri())) {
+			diagnostics.add(new Diagnostic(
+					producer.getRange(),
+					"No route of the workspace consumes " + producer.getComponentName() + ":" + producer.getReferenceKey() + ".",
+					DiagnosticSeverity.Warning,
+					APACHE_CAMEL_VALIDATION,
+					ERROR_CODE_DANGLING_PRODUCER));
+		}
+		String documentKey = WorkspaceDocumentIndex.toKey(documentItem.getUri());
+		for (List<Route> cycle : endpointIndex.findCycles(documentItem.getUri())) {
+			String links = cycle.stream().map(Route::getLink).collect(Collectors.joining(", "));
+			for (Route route : cycle) {
+				if (route.getDocumentKey().equals(documentKey)) {
+					diagnostics.add(new Diagnostic(
+							route.getFrom().getRange(),
+							"This route is part of a loop of routes calling each other: " + links + ".",
+							DiagnosticSeverity.Warning,
+							APACHE_CAMEL_VALIDATION,
+							ERROR_CODE_ROUTE_CYCLE));
+				}
+			}
+		}
+		return diagnostics;
+	}
+}
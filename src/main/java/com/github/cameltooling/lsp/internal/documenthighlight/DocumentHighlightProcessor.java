@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.documenthighlight;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightKind;
+import org.eclipse.lsp4j.Position;
+
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
+
+/**
+ * Highlights the endpoints of the document with the same scheme and first path parameter as the endpoint under the cursor,
+ * the producers as write accesses and the consumers as read accesses.
+ *
+ * It is requested on each move of the cursor, so it relies only on the endpoints of the {@link WorkspaceEndpointIndex}, which scans a document once per version.
+ */
+public class DocumentHighlightProcessor {
+
+	private final WorkspaceEndpointIndex endpointIndex;
+
+	public DocumentHighlightProcessor(CamelTextDocumentService textDocumentService) {
+		this.endpointIndex = textDocumentService.getEndpointIndex();
+	}
+
+	@SuppressWarnings("squid:S1452")
+	public CompletableFuture<List<? extends DocumentHighlight>> getDocumentHighlights(String documentUri, Position position) {
+		List<EndpointOccurrence> occurrences = endpointIndex.findOccurrences(documentUri);
+		Optional<EndpointOccurrence> highlightedEndpoint = occurrences.stream().filter(occurrence -> occurrence.contains(position)).findFirst();
+		if (highlightedEndpoint.isEmpty()) {
+			return CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		String componentName = highlightedEndpoint.get().getComponentName();
+		String referenceKey = highlightedEndpoint.get().getReferenceKey();
+		if (referenceKey == null || referenceKey.isEmpty()) {
+			return CompletableFuture.completedFuture(Collections.singletonList(toHighlight(highlightedEndpoint.get())));
+		}
+		return CompletableFuture.completedFuture(occurrences.stream()
+				.filter(occurrence -> componentName.equals(occurrence.getComponentName()) && Objects.equals(referenceKey, occurrence.getReferenceKey()))
+				.map(DocumentHighlightProcessor::toHighlight)
+				.collect(Collectors.toList()));
+	}
+
+	private static DocumentHighlight toHighlight(EndpointOccurrence occurrence) {
+		return new DocumentHighlight(occurrence.getRange(), occurrence.isProducer() ? DocumentHighlightKind.Write : DocumentHighlightKind.Read);
+	}
+}
@@ -16,57 +16,87 @@
  */
 package com.github.cameltooling.lsp.internal.folding;
 
-import java.io.File;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.helper.XmlLineNumberParser;
 import org.apache.camel.parser.model.CamelNodeDetails;
 import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentItem;
-import org.jboss.forge.roaster.Roaster;
-import org.jboss.forge.roaster.model.JavaType;
-import org.jboss.forge.roaster.model.source.JavaClassSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
 
 import com.github.cameltooling.lsp.internal.catalog.util.CamelNodeDetailsUtils;
+import com.github.cameltooling.lsp.internal.parser.ParsedDocumentCache;
+import com.github.cameltooling.lsp.internal.parser.ParsedDocumentCache.Key;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
 
+/**
+ * Folding ranges of the routes and of the choice and doTry blocks, computed from the parse trees of the {@link ParsedDocumentCache}.
+ * The ranges are cached with the parse trees, so that the requests on an unchanged version of a document are answered without computation.
+ */
 public class FoldingRangeProcessor {
 	
 	private static final String CHOICE_EIP_NAME = "choice";
 	private static final Logger LOGGER = LoggerFactory.getLogger(FoldingRangeProcessor.class);
+	private static final Key<List<FoldingRange>> FOLDING_RANGES = new Key<>("foldingRanges");
+	private static final Set<String> FOLDABLE_BLOCKS = Set.of("route", "from", CHOICE_EIP_NAME, "when", "otherwise", "doTry", "doCatch", "doFinally");
+
+	private final ParsedDocumentCache parsedDocumentCache;
+	private final CamelNodeDetailsUtils camelNodeDetailsUtils = new CamelNodeDetailsUtils();
+
+	public FoldingRangeProcessor(ParsedDocumentCache parsedDocumentCache) {
+		this.parsedDocumentCache = parsedDocumentCache;
+	}
 
 	public CompletableFuture<List<FoldingRange>> computeFoldingRanges(TextDocumentItem textDocumentItem) {
+		return CompletableFuture.completedFuture(parsedDocumentCache.get(textDocumentItem, FOLDING_RANGES, this::computeFoldingRangesOfVersion));
+	}
+
+	private List<FoldingRange> computeFoldingRangesOfVersion(TextDocumentItem textDocumentItem) {
 		String uri = textDocumentItem.getUri();
-		if (uri.endsWith(".java")) {
-			try {
-				JavaType<?> parsedJavaFile = Roaster.parse(textDocumentItem.getText());
-				if (parsedJavaFile instanceof JavaClassSource) {
-					JavaClassSource clazz = (JavaClassSource) parsedJavaFile;
-					String absolutePathOfCamelFile = new File(URI.create(textDocumentItem.getUri())).getAbsolutePath();
-					List<CamelNodeDetails> camelNodes = RouteBuilderParser.parseRouteBuilderTree(clazz, absolutePathOfCamelFile, true);
-					List<FoldingRange> foldingRanges = computeRouteFoldingRanges(textDocumentItem, camelNodes);
-					foldingRanges.addAll(computeChoiceFoldingRanges(textDocumentItem, camelNodes));
-					return CompletableFuture.completedFuture(foldingRanges);
+		try {
+			if (uri.endsWith(".java")) {
+				List<CamelNodeDetails> camelNodes = parsedDocumentCache.getJavaRouteTree(textDocumentItem);
+				List<FoldingRange> foldingRanges = computeRouteFoldingRanges(textDocumentItem, camelNodes);
+				foldingRanges.addAll(computeChoiceFoldingRanges(textDocumentItem, camelNodes));
+				return foldingRanges;
+			} else if (uri.endsWith(".xml")) {
+				if (new ParserFileHelperFactory().isPotentiallyCamelXMLDSL(textDocumentItem, uri)) {
+					return computeXmlFoldingRanges(parsedDocumentCache.getXmlDocument(textDocumentItem));
 				}
-			} catch (Exception ex) {
-				LOGGER.warn("Error while computing Folding ranges for " + textDocumentItem.getUri(), ex);
+			} else if (new ParserFileHelperFactory().isCamelYamlDSL(textDocumentItem, uri)) {
+				List<FoldingRange> foldingRanges = new ArrayList<>();
+				for (Node yamlNode : parsedDocumentCache.getYamlNodes(textDocumentItem)) {
+					collectYamlFoldingRanges(yamlNode, foldingRanges);
+				}
+				return foldingRanges;
 			}
+		} catch (Exception ex) {
+			LOGGER.warn("Error while computing Folding ranges for " + uri, ex);
 		}
-		return CompletableFuture.completedFuture(Collections.emptyList());
+		return Collections.emptyList();
 	}
 
 	private Collection<FoldingRange> computeChoiceFoldingRanges(TextDocumentItem textDocumentItem, List<CamelNodeDetails> camelNodes) {
 		List<CamelNodeDetails> allNodes = new ArrayList<>();
 		for (CamelNodeDetails camelNodeDetails : camelNodes) {
-			allNodes.addAll(new CamelNodeDetailsUtils().retrieveAllChildrenOutputs(camelNodeDetails).collect(Collectors.toList()));
+			allNodes.addAll(camelNodeDetailsUtils.retrieveAllChildrenOutputs(camelNodeDetails).collect(Collectors.toList()));
 		}
 		return allNodes.stream()
 				.filter(camelNodeDetail -> CHOICE_EIP_NAME.equals(camelNodeDetail.getName()))
@@ -81,8 +111,71 @@ public class FoldingRangeProcessor {
 	}
 
 	private FoldingRange createFoldingRange(TextDocumentItem textDocumentItem, CamelNodeDetails camelNode) {
-		Range range = new CamelNodeDetailsUtils().computeRange(camelNode, textDocumentItem);
+		Range range = camelNodeDetailsUtils.computeRange(camelNode, textDocumentItem);
 		return new FoldingRange(range.getStart().getLine(), range.getEnd().getLine());
 	}
 
+	private List<FoldingRange> computeXmlFoldingRanges(Document xmlDocument) {
+		List<FoldingRange> foldingRanges = new ArrayList<>();
+		if (xmlDocument != null) {
+			collectXmlFoldingRanges(xmlDocument.getDocumentElement(), foldingRanges);
+		}
+		return foldingRanges;
+	}
+
+	private void collectXmlFoldingRanges(Element element, List<FoldingRange> foldingRanges) {
+		String tagName = element.getNodeName();
+		String localName = tagName.substring(tagName.indexOf(':') + 1);
+		String lineNumber = (String) element.getUserData(XmlLineNumberParser.LINE_NUMBER);
+		String lineNumberEnd = (String) element.getUserData(XmlLineNumberParser.LINE_NUMBER_END);
+		if (FOLDABLE_BLOCKS.contains(localName) && lineNumber != null && lineNumberEnd != null) {
+			// -1 is due to Camel XMLLineParser which is starting index at 1 although LSP is starting at 0
+			addFoldingRange(foldingRanges, Integer.parseInt(lineNumber) - 1, Integer.parseInt(lineNumberEnd) - 1);
+		}
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			if (children.item(i) instanceof Element) {
+				collectXmlFoldingRanges((Element) children.item(i), foldingRanges);
+			}
+		}
+	}
+
+	private void collectYamlFoldingRanges(Node node, List<FoldingRange> foldingRanges) {
+		if (node instanceof MappingNode) {
+			for (NodeTuple tuple : ((MappingNode) node).getValue()) {
+				Node key = tuple.getKeyNode();
+				Node value = tuple.getValueNode();
+				if (key instanceof ScalarNode && FOLDABLE_BLOCKS.contains(((ScalarNode) key).getValue())) {
+					addFoldingRange(foldingRanges, key.getStartMark().getLine(), getLastLine(value));
+				}
+				collectYamlFoldingRanges(value, foldingRanges);
+			}
+		} else if (node instanceof SequenceNode) {
+			for (Node item : ((SequenceNode) node).getValue()) {
+				collectYamlFoldingRanges(item, foldingRanges);
+			}
+		}
+	}
+
+	/**
+	 * The end mark of a block collection is the beginning of the next token, possibly after blank lines, so the last line is the one of the last scalar.
+	 */
+	private int getLastLine(Node node) {
+		if (node instanceof MappingNode && !((MappingNode) node).getValue().isEmpty()) {
+			List<NodeTuple> tuples = ((MappingNode) node).getValue();
+			return getLastLine(tuples.get(tuples.size() - 1).getValueNode());
+		} else if (node instanceof SequenceNode && !((SequenceNode) node).getValue().isEmpty()) {
+			List<Node> items = ((SequenceNode) node).getValue();
+			return getLastLine(items.get(items.size() - 1));
+		}
+		Mark endMark = node.getEndMark();
+		return endMark.getColumn() == 0 && endMark.getLine() > node.getStartMark().getLine() ? endMark.getLine() - 1 : endMark.getLine();
+	}
+
+	private void addFoldingRange(List<FoldingRange> foldingRanges, int startLine, int endLine) {
+		if (endLine > startLine) {
+			foldingRanges.add(new FoldingRange(startLine, endLine));
+		}
+	}
+
 }
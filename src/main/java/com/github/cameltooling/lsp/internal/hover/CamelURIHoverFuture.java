@@ -45,7 +45,7 @@ public class CamelURIHoverFuture implements Function<CamelCatalog, Hover> {
 		String componentJSonSchema = camelCatalog.componentJSonSchema(uriElement.getComponentName());
 		if (componentJSonSchema != null) {
 			Hover hover = new Hover();
-			ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
+			ComponentModel componentModel = ModelHelper.getComponentModel(camelCatalog, uriElement.getComponentName());
 			hover.setContents(Collections.singletonList((Either.forLeft(uriElement.getDescription(componentModel, kameletCatalogManager)))));
 			Position start = new Position(uriElement.getLine(), uriElement.getStartPositionInLine());
 			hover.setRange(new Range(start, new Position(uriElement.getLine(), uriElement.getEndPositionInLine())));
@@ -141,7 +141,7 @@ public class CamelComponentAndPathUriInstance extends CamelUriElementInstance {
 		if (specificElement != null && specificElement != component && specificElement != this) {
 			return specificElement.getCompletions(camelCatalog, positionInCamelUri, docItem, settingsManager, kameletsCatalogManager);
 		} else if(getStartPositionInUri() <= positionInCamelUri && positionInCamelUri <= getEndPositionInUri()) {
-			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(positionInCamelUri), docItem));
+			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(positionInCamelUri), docItem, settingsManager != null ? settingsManager.getUsageStatistics() : null));
 		} else {
 			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
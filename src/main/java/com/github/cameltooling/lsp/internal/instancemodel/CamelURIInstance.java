@@ -121,7 +121,7 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	@Override
 	public CompletableFuture<List<CompletionItem>> getCompletions(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem, SettingsManager settingsManager, KameletsCatalogManager kameletsCatalogManager) {
 		if(getStartPositionInUri() <= positionInCamelUri && positionInCamelUri <= getEndPositionInUri()) {
-			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(), docItem));
+			return camelCatalog.thenApply(new CamelComponentSchemesCompletionsFuture(this, getFilter(), docItem, settingsManager != null ? settingsManager.getUsageStatistics() : null));
 		} else {
 			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
@@ -140,7 +140,15 @@ public class CamelURIInstance extends CamelUriElementInstance {
 	}
 	
 	public boolean isProducer() {
-		return PRODUCER_TYPE_POSSIBLE_NAMES.contains(dslModelHelper.getTypeDeterminingProducerConsumer());
+		return isProducerType(dslModelHelper.getTypeDeterminingProducerConsumer());
+	}
+	
+	/**
+	 * @param type the XML element, Java method or YAML key declaring the endpoint
+	 * @return whether an endpoint declared with this type is a producer
+	 */
+	public static boolean isProducerType(String type) {
+		return PRODUCER_TYPE_POSSIBLE_NAMES.contains(type);
 	}
 	
 	/**
@@ -16,7 +16,6 @@
  */
 package com.github.cameltooling.lsp.internal.instancemodel;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +25,9 @@ import java.util.stream.Collectors;
 import org.eclipse.lsp4j.CompletionItem;
 
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
+import com.github.cameltooling.lsp.internal.completion.IncompleteCompletionItems;
 import com.github.cameltooling.lsp.internal.kubernetes.KnativeConfigManager;
+import com.github.cameltooling.lsp.internal.kubernetes.KnativeResourceCache;
 
 public class KnativeCompletionProvider {
 
@@ -39,37 +40,26 @@ public class KnativeCompletionProvider {
 				.filter(pathParam -> pathParam.getPathParamIndex() == 0).map(PathParamURIInstance::getValue)
 				.findFirst();
 		if (typeParam.isPresent()) {
-			var client = KnativeConfigManager.getInstance().getClient();
+			KnativeConfigManager knativeConfigManager = KnativeConfigManager.getInstance();
 			String type = typeParam.get();
 			if (TYPE_CHANNEL.equals(type)) {
-				List<CompletionItem> allChannels = new ArrayList<>();
-				allChannels.addAll(client.inMemoryChannels().list().getItems().stream().map(channel -> {
-					var completionItem = new CompletionItem(channel.getMetadata().getName());
-					CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-					return completionItem;
-				}).collect(Collectors.toList()));
-				allChannels.addAll(client.channels().list().getItems().stream().map(channel -> {
-					var completionItem = new CompletionItem(channel.getMetadata().getName());
-					CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-					return completionItem;
-				}).collect(Collectors.toList()));
-				return CompletableFuture.completedFuture(allChannels);
+				return knativeConfigManager.getChannelNames().thenApply(names -> toCompletionItems(names, pathParamURIInstance));
 			} else if (TYPE_ENDPOINT.equals(type)) {
-				return CompletableFuture.completedFuture(client.services().list().getItems().stream().map(service -> {
-					var completionItem = new CompletionItem(service.getMetadata().getName());
-					CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-					return completionItem;
-				}).collect(Collectors.toList()));
+				return knativeConfigManager.getServiceNames().thenApply(names -> toCompletionItems(names, pathParamURIInstance));
 			} else if (TYPE_EVENT.equals(type)) {
-				return CompletableFuture
-						.completedFuture(client.eventTypes().list().getItems().stream().map(eventType -> {
-							var completionItem = new CompletionItem(eventType.getMetadata().getName());
-							CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
-							return completionItem;
-						}).collect(Collectors.toList()));
+				return knativeConfigManager.getEventTypeNames().thenApply(names -> toCompletionItems(names, pathParamURIInstance));
 			}
 		}
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
+	private List<CompletionItem> toCompletionItems(List<String> names, PathParamURIInstance pathParamURIInstance) {
+		List<CompletionItem> completionItems = names.stream().map(name -> {
+			var completionItem = new CompletionItem(name);
+			CompletionResolverUtils.applyTextEditToCompletionItem(pathParamURIInstance, completionItem);
+			return completionItem;
+		}).collect(Collectors.toList());
+		return KnativeResourceCache.isLoading(names) ? new IncompleteCompletionItems(completionItems) : completionItems;
+	}
+
 }
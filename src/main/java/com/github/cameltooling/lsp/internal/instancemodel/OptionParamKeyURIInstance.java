@@ -63,7 +63,8 @@ public class OptionParamKeyURIInstance extends CamelUriElementInstance {
 					positionInCamelUri,
 					getAlreadyDefinedUriOptions(),
 					kameletsCatalogManager,
-					settingsManager.isMardownSupport()));
+					settingsManager.isMardownSupport(),
+					settingsManager.getUsageStatistics()));
 		} else {
 			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
@@ -28,11 +28,10 @@ import org.eclipse.lsp4j.TextDocumentItem;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletEntry;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletPropertyEntry;
 import com.github.cameltooling.lsp.internal.settings.SettingsManager;
 
-import org.apache.camel.v1.Kamelet;
-import org.apache.camel.v1.kameletspec.definition.Properties;
-
 /**
  * For a Camel URI "timer:timerName?delay=10s", it represents "delay=10s"
  *
@@ -94,7 +93,7 @@ public class OptionParamURIInstance extends CamelUriElementInstance {
 		if(model != null) {
 			return model.getDescription();
 		} else if (ComponentNameConstants.COMPONENT_NAME_KAMELET.equalsIgnoreCase(componentModel.getScheme())) {
-			Properties prop = getKameletPropertyByKeyName(kameletCatalogManager, keyName);
+			KameletPropertyEntry prop = getKameletPropertyByKeyName(kameletCatalogManager, keyName);
 			if (prop != null) {
 				return prop.getDescription();
 			}
@@ -112,16 +111,15 @@ public class OptionParamURIInstance extends CamelUriElementInstance {
 		return camelURIInstance;
 	}
 	
-	private Properties getKameletPropertyByKeyName(KameletsCatalogManager kameletCatalogManager, String keyName) {
+	private KameletPropertyEntry getKameletPropertyByKeyName(KameletsCatalogManager kameletCatalogManager, String keyName) {
 		Optional<String> kameletTemplateId = this.getCamelUriInstance().getComponentAndPathUriElementInstance().getPathParams()
 				.stream()
 				.filter(pathParam -> pathParam.getPathParamIndex() == 0)
 				.map(PathParamURIInstance::getValue).findAny();
 		if(kameletTemplateId.isPresent()) {
-			List<Kamelet> kamelets = kameletCatalogManager.getCatalog().getKameletsByName(kameletTemplateId.get());
-			if (!kamelets.isEmpty()) {
-				Kamelet kamelet = kamelets.get(0);
-				return kamelet.getSpec().getDefinition().getProperties().get(keyName);
+			KameletEntry kamelet = kameletCatalogManager.getIndex().getKamelet(kameletTemplateId.get());
+			if (kamelet != null) {
+				return kamelet.getProperty(keyName);
 			}
 		}
 		return null;
@@ -28,7 +28,6 @@ import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.apache.camel.tooling.model.ComponentModel.EndpointOptionModel;
-import org.apache.camel.v1.kameletspec.Definition;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.TextDocumentItem;
 import org.slf4j.Logger;
@@ -38,6 +37,7 @@ import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionMethodsModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ApiOptionModel;
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
 import com.github.cameltooling.lsp.internal.catalog.util.KameletsCatalogManager;
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletEntry;
 import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
 import com.github.cameltooling.lsp.internal.completion.CamelComponentSchemesCompletionsFuture;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
@@ -89,7 +89,7 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 
 	private CompletableFuture<List<CompletionItem>> getCompletionForApiMethodName(CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
 		return camelCatalog.thenApply(catalog -> {
-			ComponentModel model = ModelHelper.generateComponentModel(catalog.componentJSonSchema(getComponentName()), true);
+			ComponentModel model = ModelHelper.getComponentModel(catalog, getComponentName());
 			List<ApiOptionModel> apis = model.getApis();
 			if (apis != null && !apis.isEmpty()) {
 				Optional<ApiOptionModel> optionModel = apis.stream()
@@ -143,7 +143,7 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 	private CompletableFuture<List<CompletionItem>> getCompletionForApiName(
 			CompletableFuture<CamelCatalog> camelCatalog, int positionInCamelUri, TextDocumentItem docItem) {
 		return camelCatalog.thenApply(catalog -> {
-			ComponentModel model = ModelHelper.generateComponentModel(catalog.componentJSonSchema(getComponentName()), true);
+			ComponentModel model = ModelHelper.getComponentModel(catalog, getComponentName());
 			String start = value.substring(0, positionInCamelUri - getStartPositionInUri());
 			List<ApiOptionModel> apis = model.getApis();
 			if(apis !=null && !apis.isEmpty()) {
@@ -191,7 +191,7 @@ public class PathParamURIInstance extends CamelUriElementInstance {
 	@Override
 	public String getDescription(ComponentModel componentModel, KameletsCatalogManager kameletCatalogManager) {
 		if(pathParamIndex == 0 && ComponentNameConstants.COMPONENT_NAME_KAMELET.equals(getComponentName())) {
-			Definition kamelet = kameletCatalogManager.getCatalog().getKameletDefinition(getValue());
+			KameletEntry kamelet = kameletCatalogManager.getIndex().getKamelet(getValue());
 			if(kamelet != null) {
 				return kamelet.getDescription();
 			}
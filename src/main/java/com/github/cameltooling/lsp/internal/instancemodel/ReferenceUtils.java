@@ -27,7 +27,11 @@ public class ReferenceUtils {
 	}
 	
 	public static boolean isReferenceComponentKind(CamelUriElementInstance camelURIInstanceToSearchReference) {
-		return POSSIBLE_REFERENCES.contains(camelURIInstanceToSearchReference.getComponentName());
+		return isReferenceComponentKind(camelURIInstanceToSearchReference.getComponentName());
+	}
+	
+	public static boolean isReferenceComponentKind(String componentName) {
+		return POSSIBLE_REFERENCES.contains(componentName);
 	}
 	
 	/**
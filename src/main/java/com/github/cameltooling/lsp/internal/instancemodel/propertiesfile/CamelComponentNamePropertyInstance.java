@@ -74,7 +74,7 @@ public class CamelComponentNamePropertyInstance implements ILineRangeDefineable
 		return camelCatalog.thenApply(catalog -> {
 			String componentJSonSchema = catalog.componentJSonSchema(componentName);
 			if (componentJSonSchema != null) {
-				ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
+				ComponentModel componentModel = ModelHelper.getComponentModel(catalog, componentName);
 				if (componentModel != null) {
 					String description = componentModel.getDescription();
 					if (description != null) {
@@ -79,7 +79,7 @@ public class CamelComponentParameterPropertyInstance implements ILineRangeDefine
 		return camelCatalog.thenApply(catalog -> {
 			String componentJSonSchema = catalog.componentJSonSchema(camelComponentPropertykey.getComponentId());
 			if (componentJSonSchema != null) {
-				ComponentModel componentModel = ModelHelper.generateComponentModel(componentJSonSchema, true);
+				ComponentModel componentModel = ModelHelper.getComponentModel(catalog, camelComponentPropertykey.getComponentId());
 				if (componentModel != null) {
 					ComponentOptionModel componentOptionModel = findComponentOptionModel(componentModel);
 					if (componentOptionModel != null) {
@@ -16,7 +16,6 @@
  */
 package com.github.cameltooling.lsp.internal.instancemodel.propertiesfile;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,14 +23,12 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.catalog.DefaultCamelCatalog;
-import org.apache.camel.tooling.model.MainModel;
 import org.apache.camel.tooling.model.MainModel.MainOptionModel;
-import org.apache.camel.util.StringHelper;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Position;
 
+import com.github.cameltooling.lsp.internal.catalog.util.MainModelIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
@@ -81,16 +78,14 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 	public CompletableFuture<Hover> getHover(Position position, CompletableFuture<CamelCatalog> camelCatalog) {
 		if (isInGroupAttribute(position)) {
 			return camelCatalog.thenApply(catalog -> {
-				if (catalog instanceof DefaultCamelCatalog) {
-					MainModel mainModel = ((DefaultCamelCatalog) catalog).mainModel();
-					String fullName = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupConfiguration;
-					Optional<MainOptionModel> mainOptionModel = findFirstOption(mainModel, fullName);
-					if (!mainOptionModel.isPresent() && fullName.contains("-")) {
-						mainOptionModel = findFirstOption(mainModel,StringUtils.dashToCamelCase(fullName));
-					}
-					if (mainOptionModel.isPresent()) {
-						return createHover(mainOptionModel.get().getDescription());
-					}
+				MainModelIndex mainModelIndex = MainModelIndex.of(catalog);
+				String fullName = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupConfiguration;
+				Optional<MainOptionModel> mainOptionModel = mainModelIndex.findFirstOption(fullName);
+				if (!mainOptionModel.isPresent() && fullName.contains("-")) {
+					mainOptionModel = mainModelIndex.findFirstOption(StringUtils.dashToCamelCase(fullName));
+				}
+				if (mainOptionModel.isPresent()) {
+					return createHover(mainOptionModel.get().getDescription());
 				}
 				return null;
 			});
@@ -98,12 +93,6 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 		return CompletableFuture.completedFuture(null);
 	}
 
-	private Optional<MainOptionModel> findFirstOption(MainModel mainModel, String fullName) {
-		return mainModel.getOptions().stream()
-				.filter(option -> option.getName().startsWith(fullName))
-				.findFirst();
-	}
-
 	private boolean isInGroupAttribute(Position position) {
 		return getStartPositionInLine() + groupName.length() <= position.getCharacter();
 	}
@@ -111,28 +100,16 @@ public class CamelGroupPropertyKey implements ILineRangeDefineable {
 	public CompletableFuture<List<CompletionItem>> getCompletions(Position position, CompletableFuture<CamelCatalog> camelCatalog) {
 		if (isInGroupAttribute(position)) {
 			boolean shouldUseDashed = shouldUseDashedCase();
-			return camelCatalog.thenApply(catalog -> {
-				if (catalog instanceof DefaultCamelCatalog) {
-					List<CompletionItem> completions = new ArrayList<>();
-					completions.addAll(retrieveCamelMainCompletions(shouldUseDashed, catalog));
-					return completions;
-				} else {
-					return Collections.emptyList();
-				}
-			});
+			return camelCatalog.thenApply(catalog -> retrieveCamelMainCompletions(shouldUseDashed, catalog));
 		}
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
 	private List<CompletionItem> retrieveCamelMainCompletions(boolean shouldUseDashed, CamelCatalog catalog) {
-		MainModel mainModel = ((DefaultCamelCatalog) catalog).mainModel();
-		String groupPrefix = CamelPropertyKeyInstance.CAMEL_KEY_PREFIX + groupName + ".";
-		return mainModel.getOptions().stream().filter(option -> option.getName().startsWith(groupPrefix))
-				.map(option -> {
-					String realOptionName = option.getName().substring(groupPrefix.length());
-					if(shouldUseDashed) {
-						realOptionName = StringHelper.camelCaseToDash(realOptionName);
-					}
+		return MainModelIndex.of(catalog).getOptionsOfGroup(groupName).stream()
+				.map(groupOption -> {
+					MainOptionModel option = groupOption.getOption();
+					String realOptionName = groupOption.getRelativeName(shouldUseDashed);
 					CompletionItem completionItem = new CompletionItem(realOptionName);
 					completionItem.setDocumentation(option.getDescription());
 					CompletionResolverUtils.applyDeprecation(completionItem, option.isDeprecated());
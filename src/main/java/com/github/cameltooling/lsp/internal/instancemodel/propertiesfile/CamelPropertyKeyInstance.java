@@ -28,7 +28,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.camel.catalog.CamelCatalog;
-import org.apache.camel.tooling.model.MainModel;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
@@ -38,11 +37,11 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
+import com.github.cameltooling.lsp.internal.catalog.util.MainModelIndex;
 import com.github.cameltooling.lsp.internal.catalog.util.StringUtils;
-import com.github.cameltooling.lsp.internal.completion.FilterPredicateUtils;
+import com.github.cameltooling.lsp.internal.completion.CompletionMatcher;
 import com.github.cameltooling.lsp.internal.diagnostic.DiagnosticService;
 import com.github.cameltooling.lsp.internal.instancemodel.ILineRangeDefineable;
-import com.google.gson.Gson;
 
 /**
  * Represents one key in properties file.
@@ -107,11 +106,10 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 	protected CompletableFuture<List<CompletionItem>> getTopLevelCamelCompletion(CompletableFuture<CamelCatalog> camelCatalog, int indexOfSecondDot, int completionPositionRequest) {
 		String filterString = camelPropertyKey.substring(CAMEL_KEY_PREFIX.length(), completionPositionRequest - getStartPositionInLine());
 		return camelCatalog.thenApply(catalog -> {
-			MainModel mainModel = new Gson().fromJson(catalog.mainJsonSchema(), MainModel.class);
 			List<CompletionItem> allCompletionItems = new ArrayList<>();
-			allCompletionItems.addAll(createGroupCompletionFromMainModel(mainModel, indexOfSecondDot));
+			allCompletionItems.addAll(createGroupCompletionFromMainModel(MainModelIndex.of(catalog), indexOfSecondDot));
 			allCompletionItems.add(createCompletionItemForCamelComponent(indexOfSecondDot));
-			return allCompletionItems.stream().filter(FilterPredicateUtils.matchesCompletionFilter(filterString)).collect(Collectors.toList());
+			return allCompletionItems.stream().collect(CompletionMatcher.matching(filterString));
 		});
 	}
 
@@ -127,8 +125,8 @@ public class CamelPropertyKeyInstance implements ILineRangeDefineable {
 		return completionItem;
 	}
 
-	private List<CompletionItem> createGroupCompletionFromMainModel(MainModel mainModel, int indexOfSecondDot) {
-		return mainModel.getGroups().stream().map(group -> {
+	private List<CompletionItem> createGroupCompletionFromMainModel(MainModelIndex mainModelIndex, int indexOfSecondDot) {
+		return mainModelIndex.getGroups().stream().map(group -> {
 			String realGroupName = group.getName().replaceFirst(CAMEL_KEY_PREFIX, "");
 			CompletionItem completionItem = new CompletionItem(realGroupName);
 			completionItem.setDocumentation(group.getDescription());
@@ -16,14 +16,42 @@
  */
 package com.github.cameltooling.lsp.internal.kubernetes;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import io.fabric8.knative.client.DefaultKnativeClient;
 import io.fabric8.knative.client.KnativeClient;
+import io.fabric8.kubernetes.api.model.HasMetadata;
 
+/**
+ * Holds the Knative client and the cache of the Knative resources used by the completion.
+ */
 public class KnativeConfigManager {
 
+	public static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofSeconds(30);
+	static final Duration LATENCY_CAP = Duration.ofMillis(500);
+	static final Duration REACHABILITY_TIMEOUT = Duration.ofMillis(500);
+	static final String CHANNEL = "channel";
+	static final String SERVICE = "service";
+	static final String EVENT_TYPE = "eventtype";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(KnativeConfigManager.class);
 	private static final KnativeConfigManager instance = new KnativeConfigManager();
 	
 	private static KnativeClient client;
+	private static boolean clientBuiltLocally;
+	
+	private final KnativeResourceCache cache = new KnativeResourceCache(DEFAULT_CACHE_TIME_TO_LIVE, LATENCY_CAP, this::isClusterReachable);
 	
 	private KnativeConfigManager() {}
 	
@@ -31,15 +59,83 @@ public class KnativeConfigManager {
 		return instance;
 	}
 	
-	public void setClient(KnativeClient client) {
+	public synchronized void setClient(KnativeClient client) {
+		if (KnativeConfigManager.client != client) {
+			closeClientBuiltLocally();
+		}
 		KnativeConfigManager.client = client;
+		clientBuiltLocally = false;
+		cache.clear();
 	}
 	
-	public KnativeClient getClient() {
+	public synchronized KnativeClient getClient() {
 		if(client == null) {
 			client = new DefaultKnativeClient();
+			clientBuiltLocally = true;
 		}
 		return client;
 	}
 	
+	/**
+	 * Stops the loadings of the cache and closes the client if it was built by this manager.
+	 */
+	public synchronized void stop() {
+		cache.stop();
+		closeClientBuiltLocally();
+	}
+	
+	private void closeClientBuiltLocally() {
+		if (clientBuiltLocally) {
+			client.close();
+			client = null;
+			clientBuiltLocally = false;
+		}
+	}
+	
+	/**
+	 * Opens a connection to the API server with a short timeout, so that an unreachable cluster does not keep a loading thread
+	 * for the whole timeout of the client.
+	 */
+	private boolean isClusterReachable() {
+		URL masterUrl = getClient().getMasterUrl();
+		int port = masterUrl.getPort() != -1 ? masterUrl.getPort() : masterUrl.getDefaultPort();
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress(masterUrl.getHost(), port), (int) REACHABILITY_TIMEOUT.toMillis());
+			return true;
+		} catch (IOException e) {
+			LOGGER.debug("Cannot connect to {}", masterUrl, e);
+			return false;
+		}
+	}
+	
+	public void setCacheTimeToLive(Duration timeToLive) {
+		cache.setTimeToLive(timeToLive);
+	}
+	
+	/**
+	 * @return names of the in-memory channels followed by the names of the channels of the current namespace
+	 */
+	public CompletableFuture<List<String>> getChannelNames() {
+		KnativeClient knativeClient = getClient();
+		return cache.get(knativeClient.getNamespace(), CHANNEL, () -> {
+			List<String> names = new ArrayList<>(getNames(knativeClient.inMemoryChannels().list().getItems()));
+			names.addAll(getNames(knativeClient.channels().list().getItems()));
+			return names;
+		});
+	}
+	
+	public CompletableFuture<List<String>> getServiceNames() {
+		KnativeClient knativeClient = getClient();
+		return cache.get(knativeClient.getNamespace(), SERVICE, () -> getNames(knativeClient.services().list().getItems()));
+	}
+	
+	public CompletableFuture<List<String>> getEventTypeNames() {
+		KnativeClient knativeClient = getClient();
+		return cache.get(knativeClient.getNamespace(), EVENT_TYPE, () -> getNames(knativeClient.eventTypes().list().getItems()));
+	}
+	
+	private static List<String> getNames(List<? extends HasMetadata> resources) {
+		return resources.stream().map(resource -> resource.getMetadata().getName()).collect(Collectors.toList());
+	}
+	
 }
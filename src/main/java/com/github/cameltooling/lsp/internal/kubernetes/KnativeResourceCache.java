@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+
+/**
+ * Cache of the names of Knative resources, per namespace and per type of resource.
+ *
+ * Names are loaded in background. Once the time to live is elapsed, the stale names are still returned while a refresh is in progress.
+ * When nothing is cached yet, the caller waits at most the latency cap and receives an empty list if the cluster is slower than that;
+ * the loading continues and the names are available for the next completion. Such a list, returned before the names could be loaded
+ * once, is recognized by {@link #isLoading(List)}.
+ * Before each loading, the reachability of the cluster is checked. When the cluster is unreachable or a loading fails, the previous names
+ * are kept and no loading is started during a backoff delay, doubled on each consecutive failure, so that an unreachable cluster is not
+ * queried on each request.
+ * The loadings run on a bounded number of threads, which are released by {@link #stop()}.
+ */
+public class KnativeResourceCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(KnativeResourceCache.class);
+	static final int MAX_LOADING_THREADS = 2;
+	static final Duration INITIAL_BACKOFF = Duration.ofSeconds(5);
+	static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+	private static final List<String> NOT_LOADED = new LoadingNames();
+
+	private final Map<String, CachedNames> entries = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<List<String>>> loadings = new ConcurrentHashMap<>();
+	private final AtomicInteger generation = new AtomicInteger();
+	private final Duration latencyCap;
+	private final BooleanSupplier reachabilityCheck;
+	private volatile Duration timeToLive;
+	private ThreadPoolExecutor executor;
+	private int consecutiveFailures;
+	private long retryAfter = System.nanoTime();
+
+	public KnativeResourceCache(Duration timeToLive, Duration latencyCap) {
+		this(timeToLive, latencyCap, () -> true);
+	}
+
+	/**
+	 * @param timeToLive duration after which the cached names are refreshed
+	 * @param latencyCap maximum duration waited for the names when nothing is cached yet
+	 * @param reachabilityCheck tells whether the cluster can be reached, called in background before each loading
+	 */
+	public KnativeResourceCache(Duration timeToLive, Duration latencyCap, BooleanSupplier reachabilityCheck) {
+		this.timeToLive = timeToLive;
+		this.latencyCap = latencyCap;
+		this.reachabilityCheck = reachabilityCheck;
+	}
+
+	/**
+	 * @param namespace namespace in which the resources are listed
+	 * @param type type of the resources, for instance <code>channel</code>
+	 * @param loader lists the names of the resources from the cluster, called in background
+	 * @return the cached names, completed at the latest after the latency cap, or immediately while the cluster is considered unreachable;
+	 * a list for which {@link #isLoading(List)} is true when the names have not been loaded yet
+	 */
+	public CompletableFuture<List<String>> get(String namespace, String type, Supplier<List<String>> loader) {
+		String key = namespace + '/' + type;
+		CachedNames cachedNames = entries.get(key);
+		boolean backingOff = isBackingOff();
+		if (cachedNames != null) {
+			if ((cachedNames.isExpired(timeToLive) || isLoading(cachedNames.names)) && !backingOff) {
+				load(key, loader);
+			}
+			return CompletableFuture.completedFuture(cachedNames.names);
+		}
+		if (backingOff) {
+			return CompletableFuture.completedFuture(NOT_LOADED);
+		}
+		return load(key, loader).copy().completeOnTimeout(NOT_LOADED, latencyCap.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param names names returned by {@link #get(String, String, Supplier)}
+	 * @return whether the names have not been loaded yet, because the cluster is slow or unreachable, so that they are incomplete
+	 */
+	public static boolean isLoading(List<String> names) {
+		return names instanceof LoadingNames;
+	}
+
+	private CompletableFuture<List<String>> load(String key, Supplier<List<String>> loader) {
+		CompletableFuture<List<String>> loading = new CompletableFuture<>();
+		CompletableFuture<List<String>> existingLoading = loadings.putIfAbsent(key, loading);
+		if (existingLoading != null) {
+			return existingLoading;
+		}
+		int loadingGeneration = generation.get();
+		getExecutor().execute(() -> {
+			List<String> names = loadOrKeepPrevious(key, loader, loadingGeneration);
+			if (loadingGeneration == generation.get()) {
+				entries.put(key, new CachedNames(names));
+			}
+			loadings.remove(key, loading);
+			loading.complete(names);
+		});
+		return loading;
+	}
+
+	private List<String> loadOrKeepPrevious(String key, Supplier<List<String>> loader, int loadingGeneration) {
+		try {
+			if (!isBackingOff()) {
+				if (reachabilityCheck.getAsBoolean()) {
+					List<String> names = Collections.unmodifiableList(loader.get());
+					succeeded();
+					return names;
+				}
+				LOGGER.info("Knative cluster unreachable, {} not listed", key);
+				failed(loadingGeneration);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.warn("Cannot list Knative resources for {}", key, e);
+			failed(loadingGeneration);
+		}
+		CachedNames previous = entries.get(key);
+		return previous != null ? previous.names : NOT_LOADED;
+	}
+
+	private synchronized ThreadPoolExecutor getExecutor() {
+		if (executor == null) {
+			executor = new ThreadPoolExecutor(MAX_LOADING_THREADS, MAX_LOADING_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					new BackgroundThreadFactory("Knative resources loading"));
+			executor.allowCoreThreadTimeOut(true);
+		}
+		return executor;
+	}
+
+	synchronized boolean isBackingOff() {
+		return System.nanoTime() - retryAfter < 0;
+	}
+
+	private synchronized void succeeded() {
+		consecutiveFailures = 0;
+	}
+
+	private synchronized void failed(int loadingGeneration) {
+		if (loadingGeneration != generation.get()) {
+			return;
+		}
+		Duration backoff = INITIAL_BACKOFF.multipliedBy(1L << Math.min(consecutiveFailures, 16));
+		if (backoff.compareTo(MAX_BACKOFF) > 0) {
+			backoff = MAX_BACKOFF;
+		}
+		consecutiveFailures++;
+		retryAfter = System.nanoTime() + backoff.toNanos();
+	}
+
+	public void setTimeToLive(Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Forgets all cached names and the previous failures. Loadings in progress are not interrupted.
+	 */
+	public synchronized void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+		loadings.clear();
+		consecutiveFailures = 0;
+		retryAfter = System.nanoTime();
+	}
+
+	/**
+	 * Clears the cache and interrupts the loadings. The threads are created again by the next loading.
+	 */
+	public synchronized void stop() {
+		clear();
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Empty list of names, returned until the names are loaded.
+	 */
+	private static final class LoadingNames extends AbstractList<String> {
+
+		@Override
+		public String get(int index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+	}
+
+	private static class CachedNames {
+
+		private final List<String> names;
+		private final long loadedAt = System.nanoTime();
+
+		CachedNames(List<String> names) {
+			this.names = names;
+		}
+
+		boolean isExpired(Duration timeToLive) {
+			return System.nanoTime() - loadedAt >= timeToLive.toNanos();
+		}
+	}
+}
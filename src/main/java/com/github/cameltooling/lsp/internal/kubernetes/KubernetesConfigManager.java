@@ -16,15 +16,41 @@
  */
 package com.github.cameltooling.lsp.internal.kubernetes;
 
+import java.util.Collections;
+import java.util.List;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
-import io.fabric8.kubernetes.client.KubernetesClientException;
 
+/**
+ * Holds a long-lived Kubernetes client shared by the completions of the connected mode.
+ *
+ * Namespaces, secrets and configmaps are read from local caches fed by informers, so that completion does not issue requests to the cluster
+ * nor wait for it. Secrets and configmaps are watched in the namespace of the client only, where the placeholders are resolved, and only their metadata
+ * and the names of their data keys are kept, in a placeholder index, never the values.
+ */
 public class KubernetesConfigManager {
 
 	private static final KubernetesConfigManager instance = new KubernetesConfigManager();
 	
 	private static KubernetesClient client;
+	private static boolean clientBuiltLocally;
+	
+	private final KubernetesResourceCache<Namespace> namespaces = new KubernetesResourceCache<>("namespaces", KubernetesClient::namespaces, this::connectionFailed);
+	private final KubernetesPlaceholderIndex<Secret> secretPlaceholders = new KubernetesPlaceholderIndex<>("secret", Secret::getData,
+			metadata -> new SecretBuilder().withMetadata(metadata).build());
+	private final KubernetesPlaceholderIndex<ConfigMap> configMapPlaceholders = new KubernetesPlaceholderIndex<>("configmap", ConfigMap::getData,
+			metadata -> new ConfigMapBuilder().withMetadata(metadata).build());
+	private final KubernetesResourceCache<Secret> secrets = new KubernetesResourceCache<>("secrets", KubernetesClient::secrets, this::connectionFailed,
+			() -> cleared(secretPlaceholders));
+	private final KubernetesResourceCache<ConfigMap> configMaps = new KubernetesResourceCache<>("configmaps", KubernetesClient::configMaps, this::connectionFailed,
+			() -> cleared(configMapPlaceholders));
 	
 	private KubernetesConfigManager() {}
 	
@@ -32,22 +58,113 @@ public class KubernetesConfigManager {
 		return instance;
 	}
 	
-	public void setClient(KubernetesClient client) {
+	public synchronized void setClient(KubernetesClient client) {
+		resetCaches();
+		if (KubernetesConfigManager.client != client) {
+			closeClientBuiltLocally();
+		}
 		KubernetesConfigManager.client = client;
+		clientBuiltLocally = false;
 	}
 	
-	public KubernetesClient getClient() {
-		if(client == null ) {
+	/**
+	 * @return the shared client, which must not be closed by the caller
+	 */
+	public synchronized KubernetesClient getClient() {
+		if (client == null) {
 			client = new KubernetesClientBuilder().build();
-		} else {
-			try {
-				//Let's see if the connection is still valid
-				client.namespaces().list();
-			} catch (KubernetesClientException e) {
-				client = new KubernetesClientBuilder().build();
-			}
+			clientBuiltLocally = true;
 		}
 		return client;
 	}
 	
+	public List<Namespace> getNamespaces() {
+		return namespaces.list(getClient());
+	}
+	
+	/**
+	 * @return whether all the namespaces have been received from the cluster
+	 */
+	public boolean areNamespacesSynchronized() {
+		return namespaces.isSynchronized();
+	}
+	
+	/**
+	 * @param filter text typed after the <code>{{</code>
+	 * @param limit maximum number of placeholders returned
+	 * @return the secret placeholders of the namespace of the client, for instance <code>secret:mySecret/myKey</code>
+	 */
+	public List<String> getSecretPlaceholders(String filter, int limit) {
+		return findPlaceholders(secrets, secretPlaceholders, filter, limit);
+	}
+	
+	/**
+	 * @param filter text typed after the <code>{{</code>
+	 * @param limit maximum number of placeholders returned
+	 * @return the configmap placeholders of the namespace of the client, for instance <code>configmap:myMap/myKey</code>
+	 */
+	public List<String> getConfigMapPlaceholders(String filter, int limit) {
+		return findPlaceholders(configMaps, configMapPlaceholders, filter, limit);
+	}
+	
+	/**
+	 * @return whether all the secrets and configmaps have been received from the cluster
+	 */
+	public boolean arePlaceholdersSynchronized() {
+		return secrets.isSynchronized() && configMaps.isSynchronized();
+	}
+	
+	private <T extends HasMetadata> List<String> findPlaceholders(KubernetesResourceCache<T> cache, KubernetesPlaceholderIndex<T> index, String filter, int limit) {
+		if (limit <= 0) {
+			return Collections.emptyList();
+		}
+		KubernetesClient currentClient = getClient();
+		if (cache.start(currentClient).isEmpty()) {
+			return Collections.emptyList();
+		}
+		return index.find(currentClient.getNamespace(), filter, limit);
+	}
+	
+	private static <T extends HasMetadata> KubernetesPlaceholderIndex<T> cleared(KubernetesPlaceholderIndex<T> index) {
+		index.clear();
+		return index;
+	}
+	
+	/**
+	 * Stops the informers and closes the client if it was built by this manager.
+	 */
+	public synchronized void stop() {
+		resetCaches();
+		closeClientBuiltLocally();
+	}
+	
+	/**
+	 * A client built from the default configuration is rebuilt after a connection failure,
+	 * so that a configuration change, for instance a new login to the cluster, is taken into account.
+	 */
+	private synchronized void connectionFailed() {
+		if (clientBuiltLocally) {
+			namespaces.stop();
+			secrets.stop();
+			configMaps.stop();
+			closeClientBuiltLocally();
+		}
+	}
+	
+	private void closeClientBuiltLocally() {
+		if (clientBuiltLocally) {
+			client.close();
+			client = null;
+			clientBuiltLocally = false;
+		}
+	}
+	
+	private void resetCaches() {
+		namespaces.reset();
+		secrets.reset();
+		configMaps.reset();
+		secretPlaceholders.clear();
+		configMapPlaceholders.clear();
+	}
+	
 }
@@ -0,0 +1,184 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+/**
+ * Index of the <code>{{secret:name/key}}</code> or <code>{{configmap:name/key}}</code> placeholders provided by a kind of Kubernetes resources.
+ *
+ * It is used as the item store of the informer watching these resources, so only the metadata of each resource and the names of its data keys are kept, never the values.
+ * Resources are sorted by namespace and name: the placeholders of a namespace are found without going through the other namespaces,
+ * and they are filtered before any completion item is created.
+ *
+ * @param <T> type of the indexed resources
+ */
+public class KubernetesPlaceholderIndex<T extends HasMetadata> implements ItemStore<T> {
+
+	private final String kind;
+	private final Function<T, Map<String, String>> dataProvider;
+	private final Function<ObjectMeta, T> metadataOnlyFactory;
+	private final ConcurrentNavigableMap<String, IndexedResource<T>> resources = new ConcurrentSkipListMap<>();
+
+	/**
+	 * @param kind kind of placeholder, for instance <code>secret</code>
+	 * @param dataProvider provides the data of a resource, only the keys are indexed
+	 * @param metadataOnlyFactory creates a resource with only the provided metadata, kept for the informer
+	 */
+	public KubernetesPlaceholderIndex(String kind, Function<T, Map<String, String>> dataProvider, Function<ObjectMeta, T> metadataOnlyFactory) {
+		this.kind = kind;
+		this.dataProvider = dataProvider;
+		this.metadataOnlyFactory = metadataOnlyFactory;
+	}
+
+	/**
+	 * The placeholders are resolved in the namespace of the application, so only the ones of this namespace are returned.
+	 *
+	 * @param namespace namespace whose placeholders are returned, or null for all namespaces
+	 * @param filter text typed after the <code>{{</code>, matched as a case-insensitive subsequence of the placeholder
+	 * @param limit maximum number of placeholders returned
+	 * @return the matching placeholders without the curly braces and without duplicates, for instance <code>secret:mySecret/myKey</code>
+	 */
+	public List<String> find(String namespace, String filter, int limit) {
+		if (limit <= 0) {
+			return new ArrayList<>();
+		}
+		Collection<IndexedResource<T>> namespaceResources;
+		if (namespace == null) {
+			namespaceResources = resources.values();
+		} else {
+			namespaceResources = resources.subMap(namespace + '/', true, namespace + (char) ('/' + 1), false).values();
+		}
+		Set<String> placeholders = new LinkedHashSet<>();
+		collect(namespaceResources, filter, limit, placeholders);
+		return new ArrayList<>(placeholders);
+	}
+
+	private void collect(Collection<IndexedResource<T>> indexedResources, String filter, int limit, Set<String> placeholders) {
+		for (IndexedResource<T> indexedResource : indexedResources) {
+			for (String key : indexedResource.keys) {
+				if (placeholders.size() >= limit) {
+					return;
+				}
+				if (matches(filter, indexedResource.name, key)) {
+					placeholders.add(kind + ':' + indexedResource.name + '/' + key);
+				}
+			}
+		}
+	}
+
+	private boolean matches(String filter, String name, String key) {
+		int matched = matchSubsequence(filter, 0, kind);
+		matched = matchSubsequence(filter, matched, ":");
+		matched = matchSubsequence(filter, matched, name);
+		matched = matchSubsequence(filter, matched, "/");
+		return matchSubsequence(filter, matched, key) == filter.length();
+	}
+
+	/**
+	 * @return the number of characters of the filter matched once the text is consumed
+	 */
+	private static int matchSubsequence(String filter, int matched, String text) {
+		for (int i = 0; i < text.length() && matched < filter.length(); i++) {
+			if (Character.toLowerCase(text.charAt(i)) == Character.toLowerCase(filter.charAt(matched))) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	public void clear() {
+		resources.clear();
+	}
+
+	@Override
+	public String getKey(T resource) {
+		return Cache.metaNamespaceKeyFunc(resource);
+	}
+
+	@Override
+	public T put(String key, T resource) {
+		Map<String, String> data = dataProvider.apply(resource);
+		List<String> keys = data != null ? List.copyOf(data.keySet()) : Collections.emptyList();
+		ObjectMeta metadata = resource.getMetadata();
+		T metadataOnly = metadataOnlyFactory.apply(new ObjectMetaBuilder()
+				.withName(metadata.getName())
+				.withNamespace(metadata.getNamespace())
+				.withUid(metadata.getUid())
+				.withResourceVersion(metadata.getResourceVersion())
+				.build());
+		return unwrap(resources.put(key, new IndexedResource<>(metadataOnly, metadata.getName(), keys)));
+	}
+
+	@Override
+	public T remove(String key) {
+		return unwrap(resources.remove(key));
+	}
+
+	@Override
+	public Stream<String> keySet() {
+		return resources.keySet().stream();
+	}
+
+	@Override
+	public Stream<T> values() {
+		return resources.values().stream().map(indexedResource -> indexedResource.resource);
+	}
+
+	@Override
+	public int size() {
+		return resources.size();
+	}
+
+	@Override
+	public T get(String key) {
+		return unwrap(resources.get(key));
+	}
+
+	private T unwrap(IndexedResource<T> indexedResource) {
+		return indexedResource != null ? indexedResource.resource : null;
+	}
+
+	private static class IndexedResource<T> {
+
+		private final T resource;
+		private final String name;
+		private final List<String> keys;
+
+		IndexedResource(T resource, String name, List<String> keys) {
+			this.resource = resource;
+			this.name = name;
+			this.keys = keys;
+		}
+	}
+}
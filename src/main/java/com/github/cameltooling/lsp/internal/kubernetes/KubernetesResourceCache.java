@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Informable;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+
+/**
+ * Local cache of a kind of Kubernetes resources, kept up to date in background by an informer (an initial list followed by a watch).
+ *
+ * The informer is started on first use and synchronized in background: the callers never wait for the cluster, they read
+ * the resources already received, so the first completions may be incomplete until {@link #isSynchronized()}. When the informer cannot be synchronized
+ * or is no longer running, it is dropped and recreated on a later call, after a retry delay so that an unreachable cluster
+ * is not contacted on each request.
+ *
+ * @param <T> type of the cached resources
+ */
+public class KubernetesResourceCache<T extends HasMetadata> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesResourceCache.class);
+	static final long RETRY_DELAY_MILLIS = 30_000;
+	private static final Comparator<HasMetadata> BY_NAMESPACE_AND_NAME = Comparator
+			.comparing((HasMetadata resource) -> Objects.toString(resource.getMetadata().getNamespace(), ""))
+			.thenComparing(resource -> Objects.toString(resource.getMetadata().getName(), ""));
+
+	private final String resourceType;
+	private final Function<KubernetesClient, Informable<T>> informableProvider;
+	private final Runnable connectionFailureListener;
+	private final Supplier<? extends ItemStore<T>> itemStoreFactory;
+	private SharedIndexInformer<T> informer;
+	private CompletableFuture<Void> synchronization;
+	private long retryAfter;
+
+	/**
+	 * @param resourceType name of the resources, used for logging
+	 * @param informableProvider provides the operation to watch from a client, for instance <code>client -&gt; client.secrets().inAnyNamespace()</code>
+	 * @param connectionFailureListener notified when the informer cannot be started
+	 */
+	public KubernetesResourceCache(String resourceType, Function<KubernetesClient, Informable<T>> informableProvider, Runnable connectionFailureListener) {
+		this(resourceType, informableProvider, connectionFailureListener, null);
+	}
+
+	/**
+	 * @param itemStoreFactory provides the store of each new informer, to keep only a reduced state of the resources, or null to keep the full resources
+	 */
+	public KubernetesResourceCache(String resourceType, Function<KubernetesClient, Informable<T>> informableProvider, Runnable connectionFailureListener,
+			Supplier<? extends ItemStore<T>> itemStoreFactory) {
+		this.resourceType = resourceType;
+		this.informableProvider = informableProvider;
+		this.connectionFailureListener = connectionFailureListener;
+		this.itemStoreFactory = itemStoreFactory;
+	}
+
+	/**
+	 * @param client the client used to start the informer if it is not running yet
+	 * @return the resources cached so far sorted by namespace and name, or an empty list if the cluster cannot be reached
+	 */
+	public List<T> list(KubernetesClient client) {
+		Optional<SharedIndexInformer<T>> startedInformer = start(client);
+		if (startedInformer.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<T> resources = new ArrayList<>(startedInformer.get().getStore().list());
+		resources.sort(BY_NAMESPACE_AND_NAME);
+		return resources;
+	}
+
+	/**
+	 * Starts the informer if it is not running yet, without waiting for its initial synchronization.
+	 *
+	 * @param client the client used to start the informer if it is not running yet
+	 * @return the informer, whose store contains the resources received so far, or an empty optional if the cluster cannot be reached
+	 */
+	public synchronized Optional<SharedIndexInformer<T>> start(KubernetesClient client) {
+		if (informer != null && synchronization.isDone() && !informer.isRunning()) {
+			LOGGER.info("Informer for Kubernetes {} is no longer running, it will be restarted", resourceType);
+			stop();
+		}
+		if (informer == null) {
+			if (System.currentTimeMillis() < retryAfter) {
+				return Optional.empty();
+			}
+			SharedIndexInformer<T> startedInformer = informableProvider.apply(client).runnableInformer(0);
+			if (itemStoreFactory != null) {
+				startedInformer.itemStore(itemStoreFactory.get());
+			}
+			informer = startedInformer;
+			synchronization = startedInformer.start().toCompletableFuture();
+			synchronization.whenCompleteAsync((result, error) -> {
+				if (error != null) {
+					LOGGER.warn("Cannot watch Kubernetes {}", resourceType, error);
+					onFailure(startedInformer);
+				}
+			});
+		}
+		if (synchronization.isCompletedExceptionally()) {
+			return Optional.empty();
+		}
+		return Optional.of(informer);
+	}
+
+	private void onFailure(SharedIndexInformer<T> failedInformer) {
+		synchronized (this) {
+			if (informer != failedInformer) {
+				return;
+			}
+			stop();
+			retryAfter = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+		}
+		connectionFailureListener.run();
+	}
+
+	/**
+	 * Stops the informer and clears the cache. The next call to {@link #start(KubernetesClient)} starts a new informer.
+	 */
+	public synchronized void stop() {
+		if (informer != null) {
+			informer.stop();
+			informer = null;
+			synchronization = null;
+		}
+	}
+
+	/**
+	 * Forgets the previous failures so that the next call to {@link #start(KubernetesClient)} starts a new informer immediately.
+	 */
+	public synchronized void reset() {
+		stop();
+		retryAfter = 0;
+	}
+
+	/**
+	 * @return whether the informer has received the initial list of resources, so that the cache contains all of them
+	 */
+	public synchronized boolean isSynchronized() {
+		return informer != null && informer.hasSynced();
+	}
+
+	synchronized boolean isStarted() {
+		return informer != null;
+	}
+}
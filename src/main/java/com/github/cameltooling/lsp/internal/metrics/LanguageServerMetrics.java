@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.metrics.MetricsReport.CacheReport;
+import com.github.cameltooling.lsp.internal.metrics.MetricsReport.HistogramReport;
+import com.github.cameltooling.lsp.internal.metrics.MetricsReport.RequestReport;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Latency histograms of the requests and notifications handled by a Language Server instance, optionally broken down by phase, and counters of its caches.
+ *
+ * The latencies of the messages are recorded by the {@link MessageLatencyTracer} installed on the JSON-RPC connection.
+ * The phases are recorded by the features themselves, under the name of the LSP method.
+ */
+public class LanguageServerMetrics implements LanguageServerMetricsMXBean {
+
+	public static final String PHASE_PARSE = "parse";
+	public static final String PHASE_CATALOG = "catalog";
+	public static final String PHASE_ITEMS = "items";
+	public static final String PHASE_SERIALIZATION = "serialization";
+	public static final String JMX_SYSTEM_PROPERTY = "camel.lsp.metrics.jmx";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LanguageServerMetrics.class);
+
+	private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+	private final Map<String, CacheCounter> caches = new ConcurrentHashMap<>();
+	private final List<SessionRecorder> sessionRecorders = new CopyOnWriteArrayList<>();
+	private ObjectName objectName;
+
+	/**
+	 * @param method the LSP method, for instance <code>textDocument/completion</code>
+	 */
+	public void recordLatency(String method, long nanos) {
+		getMethodMetrics(method).latency.recordNanos(nanos);
+	}
+
+	/**
+	 * @param method the LSP method, for instance <code>textDocument/completion</code>
+	 * @param phase one of the <code>PHASE_*</code> constants
+	 */
+	public void recordPhase(String method, String phase, long nanos) {
+		getMethodMetrics(method).phases.computeIfAbsent(phase, key -> new LatencyHistogram()).recordNanos(nanos);
+	}
+
+	private MethodMetrics getMethodMetrics(String method) {
+		return methods.computeIfAbsent(method, key -> new MethodMetrics());
+	}
+
+	/**
+	 * @param name the name of the cache in the reports
+	 * @return the counter of the cache, created on first call
+	 */
+	public CacheCounter getCacheCounter(String name) {
+		return caches.computeIfAbsent(name, key -> new CacheCounter());
+	}
+
+	public MessageLatencyTracer createMessageTracer() {
+		return new MessageLatencyTracer(this);
+	}
+
+	/**
+	 * @return the wrapper of the messages of a new connection, recording their latency and, when the <code>camel.lsp.session.recording</code>
+	 * system property is set, the session. The recording wraps the latency tracer, so that it is not part of the recorded latencies.
+	 */
+	public Function<MessageConsumer, MessageConsumer> createMessageWrapper() {
+		MessageLatencyTracer tracer = createMessageTracer();
+		SessionRecorder recorder = SessionRecorder.createIfEnabled();
+		if (recorder == null) {
+			return tracer;
+		}
+		sessionRecorders.add(recorder);
+		return consumer -> {
+			boolean incoming = consumer instanceof RemoteEndpoint;
+			MessageConsumer tracedConsumer = tracer.wrap(consumer, incoming);
+			return incoming ? recorder.wrapIncoming(tracedConsumer) : tracedConsumer;
+		};
+	}
+
+	/**
+	 * Closes the files of the sessions recorded by the connections of this Language Server, when it stops.
+	 */
+	public void closeSessionRecorders() {
+		for (SessionRecorder recorder : sessionRecorders) {
+			sessionRecorders.remove(recorder);
+			recorder.close();
+		}
+	}
+
+	public MetricsReport getReport() {
+		MetricsReport report = new MetricsReport();
+		methods.forEach((method, methodMetrics) -> {
+			RequestReport requestReport = new RequestReport(new HistogramReport(methodMetrics.latency));
+			methodMetrics.phases.forEach((phase, histogram) -> requestReport.getPhases().put(phase, new HistogramReport(histogram)));
+			report.getRequests().put(method, requestReport);
+		});
+		caches.forEach((name, counter) -> report.getCaches().put(name, new CacheReport(counter)));
+		return report;
+	}
+
+	@Override
+	public String getReportAsJson() {
+		return new GsonBuilder().setPrettyPrinting().create().toJson(getReport());
+	}
+
+	@Override
+	public void reset() {
+		methods.clear();
+		caches.values().forEach(CacheCounter::reset);
+	}
+
+	/**
+	 * Registers the metrics in the platform MBean server if the <code>camel.lsp.metrics.jmx</code> system property is <code>true</code>.
+	 */
+	public synchronized void registerMBeanIfEnabled() {
+		if (objectName != null || !Boolean.getBoolean(JMX_SYSTEM_PROPERTY)) {
+			return;
+		}
+		try {
+			MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName("com.github.cameltooling.lsp:type=Metrics,instance=" + Integer.toHexString(System.identityHashCode(this)));
+			mBeanServer.registerMBean(this, name);
+			objectName = name;
+		} catch (JMException e) {
+			LOGGER.warn("Cannot register the Language Server metrics in JMX", e);
+		}
+	}
+
+	public synchronized void unregisterMBean() {
+		if (objectName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (JMException e) {
+			LOGGER.debug("Cannot unregister the Language Server metrics from JMX", e);
+		}
+		objectName = null;
+	}
+
+	private static class MethodMetrics {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final Map<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in microseconds, with log-linear buckets in the way of HdrHistogram:
+ * values under 64 microseconds have their own bucket, then each power of two is split in 32 buckets, so that the reported percentiles are within about 3% of the recorded values.
+ * The memory footprint is fixed, whatever the number of recorded values.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+	private static final int MAX_VALUE_BITS = 36;
+	static final long MAX_TRACKABLE_MICROS = (1L << MAX_VALUE_BITS) - 1;
+	private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (MAX_VALUE_BITS - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalMicros = new LongAdder();
+	private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+	public void recordNanos(long nanos) {
+		recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	public void recordMicros(long micros) {
+		long value = Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS);
+		counts.incrementAndGet(bucketIndex(value));
+		totalCount.increment();
+		totalMicros.add(value);
+		maxMicros.accumulate(value);
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + (int) ((value >> shift) - SUB_BUCKET_COUNT);
+	}
+
+	/**
+	 * @return the highest value recorded in the bucket
+	 */
+	static long highestValueOfBucket(int index) {
+		if (index < LINEAR_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+		long subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	public double getMeanMicros() {
+		long count = getCount();
+		return count == 0 ? 0 : (double) totalMicros.sum() / count;
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the value in microseconds under which the percentile of the recorded values are, 0 if nothing is recorded
+	 */
+	public long getPercentileMicros(double percentile) {
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long cumulatedCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulatedCount += counts.get(i);
+			if (cumulatedCount >= rank) {
+				return Math.min(highestValueOfBucket(i), getMaxMicros());
+			}
+		}
+		return getMaxMicros();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		totalCount.reset();
+		totalMicros.reset();
+		maxMicros.reset();
+	}
+}
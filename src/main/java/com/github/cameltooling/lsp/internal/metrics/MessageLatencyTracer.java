@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * Message wrapper of the JSON-RPC connection recording the latency of each request, from its reception to the end of the writing of its response,
+ * the time spent serializing and writing the response, and the time spent handling each notification.
+ *
+ * The launchers apply the wrapper to the incoming and outgoing message streams, the incoming one being the {@link RemoteEndpoint}.
+ */
+public class MessageLatencyTracer implements Function<MessageConsumer, MessageConsumer> {
+
+	private final LanguageServerMetrics metrics;
+	private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+	MessageLatencyTracer(LanguageServerMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public MessageConsumer apply(MessageConsumer consumer) {
+		return wrap(consumer, consumer instanceof RemoteEndpoint);
+	}
+
+	MessageConsumer wrap(MessageConsumer consumer, boolean incoming) {
+		if (incoming) {
+			return message -> consumeIncoming(consumer, message);
+		}
+		return message -> consumeOutgoing(consumer, message);
+	}
+
+	private void consumeIncoming(MessageConsumer consumer, Message message) {
+		long start = System.nanoTime();
+		if (message instanceof RequestMessage) {
+			RequestMessage request = (RequestMessage) message;
+			pendingRequests.put(request.getId(), new PendingRequest(request.getMethod(), start));
+			consumer.consume(message);
+		} else if (message instanceof NotificationMessage) {
+			consumer.consume(message);
+			metrics.recordLatency(((NotificationMessage) message).getMethod(), System.nanoTime() - start);
+		} else {
+			consumer.consume(message);
+		}
+	}
+
+	private void consumeOutgoing(MessageConsumer consumer, Message message) {
+		PendingRequest request = message instanceof ResponseMessage ? pendingRequests.remove(((ResponseMessage) message).getId()) : null;
+		if (request == null) {
+			consumer.consume(message);
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			consumer.consume(message);
+		} finally {
+			long end = System.nanoTime();
+			metrics.recordPhase(request.method, LanguageServerMetrics.PHASE_SERIALIZATION, end - start);
+			metrics.recordLatency(request.method, end - request.start);
+		}
+	}
+
+	int getPendingRequestCount() {
+		return pendingRequests.size();
+	}
+
+	private static class PendingRequest {
+		private final String method;
+		private final long start;
+
+		PendingRequest(String method, long start) {
+			this.method = method;
+			this.start = start;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Snapshot of the {@link LanguageServerMetrics}, sent as the result of the <code>camel/metrics</code> request. The durations are in milliseconds.
+ */
+public class MetricsReport {
+
+	private final Map<String, RequestReport> requests = new TreeMap<>();
+	private final Map<String, CacheReport> caches = new TreeMap<>();
+
+	public Map<String, RequestReport> getRequests() {
+		return requests;
+	}
+
+	public Map<String, CacheReport> getCaches() {
+		return caches;
+	}
+
+	public static class RequestReport {
+
+		private final HistogramReport latency;
+		private final Map<String, HistogramReport> phases = new TreeMap<>();
+
+		RequestReport(HistogramReport latency) {
+			this.latency = latency;
+		}
+
+		/**
+		 * @return the latency from the reception of the message to the end of the writing of the response, or to the end of the handling of a notification
+		 */
+		public HistogramReport getLatency() {
+			return latency;
+		}
+
+		public Map<String, HistogramReport> getPhases() {
+			return phases;
+		}
+	}
+
+	public static class CacheReport {
+
+		private final long hits;
+		private final long misses;
+		private final HistogramReport loadTime;
+
+		CacheReport(CacheCounter counter) {
+			this.hits = counter.getHits();
+			this.misses = counter.getMisses();
+			this.loadTime = new HistogramReport(counter.getLoadTime());
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+		public HistogramReport getLoadTime() {
+			return loadTime;
+		}
+	}
+
+	public static class HistogramReport {
+
+		private static final double MICROS_PER_MILLI = 1000d;
+
+		private final long count;
+		private final double mean;
+		private final double p50;
+		private final double p90;
+		private final double p99;
+		private final double max;
+
+		HistogramReport(LatencyHistogram histogram) {
+			this.count = histogram.getCount();
+			this.mean = histogram.getMeanMicros() / MICROS_PER_MILLI;
+			this.p50 = histogram.getPercentileMicros(50) / MICROS_PER_MILLI;
+			this.p90 = histogram.getPercentileMicros(90) / MICROS_PER_MILLI;
+			this.p99 = histogram.getPercentileMicros(99) / MICROS_PER_MILLI;
+			this.max = histogram.getMaxMicros() / MICROS_PER_MILLI;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		public double getP50() {
+			return p50;
+		}
+
+		public double getP90() {
+			return p90;
+		}
+
+		public double getP99() {
+			return p99;
+		}
+
+		public double getMax() {
+			return max;
+		}
+	}
+}
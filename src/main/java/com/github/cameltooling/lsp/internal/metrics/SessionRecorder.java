@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Records the requests and notifications received from the client in a JSON Lines file, so that the session can be replayed later.
+ *
+ * Each line is an object with the <code>time</code> of reception in milliseconds since the first message and the JSON-RPC <code>message</code>.
+ * The responses of the client to the requests of the server are not recorded, the replay answers them itself.
+ * The messages are serialized on reception but written to the file by a background thread, so that the recording does not delay the handling of the messages.
+ */
+public class SessionRecorder {
+
+	public static final String RECORDING_DIRECTORY_SYSTEM_PROPERTY = "camel.lsp.session.recording";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SessionRecorder.class);
+	private static final AtomicInteger SESSION_COUNTER = new AtomicInteger();
+	private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+	private final Path file;
+	private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Camel LSP session recording"));
+	private BufferedWriter writer;
+	private long start;
+	private boolean failed;
+
+	SessionRecorder(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * @return a recorder writing a new file in the directory provided by the <code>camel.lsp.session.recording</code> system property, null if it is not set
+	 */
+	static SessionRecorder createIfEnabled() {
+		String directory = System.getProperty(RECORDING_DIRECTORY_SYSTEM_PROPERTY);
+		if (directory == null || directory.isEmpty()) {
+			return null;
+		}
+		String fileName = "session-" + System.currentTimeMillis() + "-" + SESSION_COUNTER.incrementAndGet() + ".jsonl";
+		return new SessionRecorder(Paths.get(directory).resolve(fileName));
+	}
+
+	MessageConsumer wrapIncoming(MessageConsumer consumer) {
+		return message -> {
+			if (message instanceof RequestMessage || message instanceof NotificationMessage) {
+				record(message);
+			}
+			consumer.consume(message);
+		};
+	}
+
+	/**
+	 * Serializes the message in the calling thread, as its parameters may be modified once handled, and queues its writing.
+	 */
+	void record(Message message) {
+		long now = System.nanoTime();
+		String json = message.toString();
+		try {
+			writeExecutor.execute(() -> write(now, json));
+		} catch (RejectedExecutionException e) {
+			LOGGER.debug("The session recording is closed, {} is not recorded", json);
+		}
+	}
+
+	private void write(long time, String json) {
+		if (failed) {
+			return;
+		}
+		try {
+			if (writer == null) {
+				Files.createDirectories(file.getParent());
+				writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+				start = time;
+				LOGGER.info("Recording the session in {}", file);
+			}
+			JsonObject line = new JsonObject();
+			line.addProperty("time", TimeUnit.NANOSECONDS.toMillis(time - start));
+			line.add("message", JsonParser.parseString(json));
+			writer.write(line.toString());
+			writer.newLine();
+			writer.flush();
+		} catch (IOException e) {
+			failed = true;
+			LOGGER.warn("Cannot record the session in {}", file, e);
+		}
+	}
+
+	/**
+	 * Writes the messages already received and closes the file. The messages received afterwards are not recorded.
+	 */
+	public void close() {
+		try {
+			writeExecutor.execute(this::closeWriter);
+		} catch (RejectedExecutionException e) {
+			return;
+		}
+		writeExecutor.shutdown();
+		try {
+			if (!writeExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				LOGGER.warn("The session recording in {} is not complete", file);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void closeWriter() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			LOGGER.warn("Cannot close the session recording {}", file, e);
+		}
+	}
+
+	Path getFile() {
+		return file;
+	}
+}
@@ -100,7 +100,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 
 	private Function<? super CamelCatalog, ? extends List<CompletionItem>> retrieveCamelComponentCompletionItems(String filter) {
 		return catalog -> catalog.findComponentNames().stream()
-			.map(componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+			.map(componentName -> ModelHelper.getComponentModel(catalog, componentName))
 			.filter(componentModel -> componentModel.getArtifactId() != null)
 			.map(componentModel -> {
 				CompletionItem completionItem = new CompletionItem(componentModel.getArtifactId());
@@ -136,7 +136,7 @@ public class CamelKModelineDependencyOption implements ICamelKModelineOptionValu
 
 	private Optional<ComponentModel> findComponentModel(CamelCatalog catalog) {
 		return catalog.findComponentNames().stream().map(
-				componentName -> ModelHelper.generateComponentModel(catalog.componentJSonSchema(componentName), true))
+				componentName -> ModelHelper.getComponentModel(catalog, componentName))
 				.filter(componentModel -> value.equals(componentModel.getArtifactId())).findAny();
 	}
 
@@ -16,17 +16,14 @@
  */
 package com.github.cameltooling.lsp.internal.modelinemodel;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CompletionItem;
@@ -34,13 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.completion.CompletionResolverUtils;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceFileIndex;
 
 public abstract class CamelKModelineLocalResourceRelatedOption implements ICamelKModelineOptionValue {
 
-	private static final String IDE_CONFIG_FOLDER_THEIA = ".theia";
-	private static final String IDE_CONFIG_FOLDER_ECLIPSE_DESKTOP = ".settings";
-	private static final String IDE_CONFIG_FOLDER_VSCODE = ".vscode";
-
 	private static final Logger LOGGER = LoggerFactory.getLogger(CamelKModelineLocalResourceRelatedOption.class);
 	
 	private String value;
@@ -75,7 +69,11 @@ public abstract class CamelKModelineLocalResourceRelatedOption implements ICamel
 	}
 	
 	protected abstract String getPropertyName();
-	protected abstract Predicate<Path> getFilter();
+	
+	/**
+	 * @return the lower case extensions of the proposed files, without the dot, or an empty collection to propose all files
+	 */
+	protected abstract Collection<String> getFileExtensions();
 	
 	@Override
 	public CompletableFuture<List<CompletionItem>> getCompletions(int position, CompletableFuture<CamelCatalog> camelCatalog) {
@@ -87,34 +85,22 @@ public abstract class CamelKModelineLocalResourceRelatedOption implements ICamel
 					return CompletableFuture.completedFuture(retrieveCompletionItemsForPotentialFiles(documentUriPath, documentUriParentPath));
 				}
 			}
-		} catch (URISyntaxException | IllegalArgumentException | IOException exception) {
+		} catch (URISyntaxException | IllegalArgumentException exception) {
 			LOGGER.debug("Cannot provide completion for " + getPropertyName() + " parameter", exception);
 		}
 		return ICamelKModelineOptionValue.super.getCompletions(position, camelCatalog);
 	}
 	
-	private List<CompletionItem> retrieveCompletionItemsForPotentialFiles(Path documentUriPath, Path documentUriParentPath) throws IOException {
-		try (Stream<Path> pathStream = Files.walk(documentUriParentPath)){
-			return pathStream
-					.filter(Files::isRegularFile)
-					.filter(path -> !path.equals(documentUriPath))
-					.filter(this::isOutsideOfIDEConfigFolder)
-					.filter(getFilter())
-					.map(documentUriParentPath::relativize)
-					.map(Path::toString)
-					.map(CompletionItem::new)
-					.map(completionItem -> {
-						CompletionResolverUtils.applyTextEditToCompletionItem(this, completionItem);
-						return completionItem;
-					})
-					.collect(Collectors.toList());
-		}
-	}
-
-	private boolean isOutsideOfIDEConfigFolder(Path path) {
-		String absolutePath = path.toAbsolutePath().toString();
-		return !absolutePath.contains(IDE_CONFIG_FOLDER_VSCODE)
-				&& !absolutePath.contains(IDE_CONFIG_FOLDER_ECLIPSE_DESKTOP)
-				&& !absolutePath.contains(IDE_CONFIG_FOLDER_THEIA);
+	private List<CompletionItem> retrieveCompletionItemsForPotentialFiles(Path documentUriPath, Path documentUriParentPath) {
+		Path documentRelativePath = documentUriParentPath.relativize(documentUriPath);
+		return WorkspaceFileIndex.getInstance().getFiles(documentUriParentPath, getFileExtensions()).stream()
+				.filter(path -> !path.equals(documentRelativePath))
+				.map(Path::toString)
+				.map(CompletionItem::new)
+				.map(completionItem -> {
+					CompletionResolverUtils.applyTextEditToCompletionItem(this, completionItem);
+					return completionItem;
+				})
+				.collect(Collectors.toList());
 	}
 }
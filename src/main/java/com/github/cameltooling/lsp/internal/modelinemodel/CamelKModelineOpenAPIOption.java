@@ -16,8 +16,8 @@
  */
 package com.github.cameltooling.lsp.internal.modelinemodel;
 
-import java.nio.file.Path;
-import java.util.function.Predicate;
+import java.util.Collection;
+import java.util.List;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
 
@@ -33,12 +33,7 @@ public class CamelKModelineOpenAPIOption extends CamelKModelineLocalResourceRela
 	}
 
 	@Override
-	protected Predicate<Path> getFilter() {
-		return path ->  {
-			String filename = path.getFileName().toString();
-			return filename.endsWith(".json")
-					|| filename.endsWith(".yaml")
-					|| filename.endsWith(".yml");
-		};
+	protected Collection<String> getFileExtensions() {
+		return List.of("json", "yaml", "yml");
 	}
 }
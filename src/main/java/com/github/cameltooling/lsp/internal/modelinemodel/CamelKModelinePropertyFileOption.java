@@ -16,8 +16,8 @@
  */
 package com.github.cameltooling.lsp.internal.modelinemodel;
 
-import java.nio.file.Path;
-import java.util.function.Predicate;
+import java.util.Collection;
+import java.util.List;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
 
@@ -31,8 +31,9 @@ public class CamelKModelinePropertyFileOption extends CamelKModelineLocalResourc
 		super(value, startPosition, documentItemUri, line);
 	}
 	
-	protected Predicate<Path> getFilter() {
-		return path -> path.getFileName().toString().endsWith(".properties");
+	@Override
+	protected Collection<String> getFileExtensions() {
+		return List.of("properties");
 	}
 
 	@Override
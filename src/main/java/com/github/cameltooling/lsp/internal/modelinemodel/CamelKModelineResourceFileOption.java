@@ -16,8 +16,8 @@
  */
 package com.github.cameltooling.lsp.internal.modelinemodel;
 
-import java.nio.file.Path;
-import java.util.function.Predicate;
+import java.util.Collection;
+import java.util.Collections;
 
 import com.github.cameltooling.lsp.internal.completion.modeline.CamelKModelineOptionNames;
 
@@ -33,7 +33,7 @@ public class CamelKModelineResourceFileOption extends CamelKModelineLocalResourc
 	}
 
 	@Override
-	protected Predicate<Path> getFilter() {
-		return path -> true;
+	protected Collection<String> getFileExtensions() {
+		return Collections.emptyList();
 	}
 }
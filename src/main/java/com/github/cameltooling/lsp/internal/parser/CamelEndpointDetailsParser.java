@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.XmlRouteParser;
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retrieves the endpoints of XML and Java DSL files with the Camel route parsers.
+ */
+public class CamelEndpointDetailsParser {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CamelEndpointDetailsParser.class);
+
+	private CamelEndpointDetailsParser() {
+		// util class
+	}
+
+	/**
+	 * @param fileUri the URI of the file, used to determine the DSL
+	 * @param camelText the content of the file
+	 * @return the endpoints, empty if the DSL is not supported or the file cannot be parsed
+	 */
+	public static List<CamelEndpointDetails> retrieveEndpoints(String fileUri, String camelText) {
+		List<CamelEndpointDetails> endpoints = new ArrayList<>();
+		if (fileUri.endsWith(".xml")) {
+			try {
+				XmlRouteParser.parseXmlRouteEndpoints(new ByteArrayInputStream(camelText.getBytes(StandardCharsets.UTF_8)), "", "/"+fileUri, endpoints);
+			} catch (Exception e) {
+				LOGGER.warn("Error while trying to retrieve the endpoints of the document {}", fileUri, e);
+			}
+		} else if(fileUri.endsWith(".java")) {
+			try {
+				JavaType<?> parsedJavaFile = Roaster.parse(camelText);
+				if (parsedJavaFile instanceof JavaClassSource) {
+					JavaClassSource clazz = (JavaClassSource) parsedJavaFile;
+					RouteBuilderParser.parseRouteBuilderEndpoints(clazz, "", "/"+fileUri, endpoints);
+				}
+			} catch(Exception e) {
+				LOGGER.warn("Error while trying to retrieve the endpoints of the document {}", fileUri, e);
+			}
+		}
+		return endpoints;
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.camel.parser.RouteBuilderParser;
+import org.apache.camel.parser.helper.XmlLineNumberParser;
+import org.apache.camel.parser.model.CamelNodeDetails;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.jboss.forge.roaster.model.source.JavaClassSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.Node;
+
+import com.github.cameltooling.lsp.internal.metrics.CacheCounter;
+
+/**
+ * Parse trees of the opened documents, computed at most once per version of a document and shared by the features working on the same version.
+ *
+ * Features can also cache their own results computed from these parse trees with a {@link Key} of their own.
+ * The entries of a document are dropped as soon as its version or its text changes, and when it is closed.
+ */
+public class ParsedDocumentCache {
+
+	public static final Key<Document> XML_DOCUMENT = new Key<>("xmlDocument");
+	public static final Key<List<CamelNodeDetails>> JAVA_ROUTE_TREE = new Key<>("javaRouteTree");
+	public static final Key<List<Node>> YAML_NODES = new Key<>("yamlNodes");
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParsedDocumentCache.class);
+	private static final Object NO_VALUE = new Object();
+
+	private final Map<String, ParsedDocument> documents = new HashMap<>();
+	private final CacheCounter cacheCounter;
+
+	public ParsedDocumentCache() {
+		this(new CacheCounter());
+	}
+
+	public ParsedDocumentCache(CacheCounter cacheCounter) {
+		this.cacheCounter = cacheCounter;
+	}
+
+	/**
+	 * @return the XML document with the line numbers of the elements, or null if the text is not well-formed
+	 */
+	public Document getXmlDocument(TextDocumentItem textDocumentItem) {
+		return get(textDocumentItem, XML_DOCUMENT, ParsedDocumentCache::parseXml);
+	}
+
+	/**
+	 * @return the tree of the routes of the Java RouteBuilder, empty if the text is not a Java class
+	 */
+	public List<CamelNodeDetails> getJavaRouteTree(TextDocumentItem textDocumentItem) {
+		return get(textDocumentItem, JAVA_ROUTE_TREE, ParsedDocumentCache::parseJavaRouteTree);
+	}
+
+	/**
+	 * @return the root nodes of the YAML documents, with their positions, empty if the text is not valid YAML
+	 */
+	public List<Node> getYamlNodes(TextDocumentItem textDocumentItem) {
+		return get(textDocumentItem, YAML_NODES, ParsedDocumentCache::parseYaml);
+	}
+
+	/**
+	 * @param textDocumentItem an opened document
+	 * @param key the key of the value
+	 * @param computation the computation of the value, called without lock, at most once per version of the document unless concurrent requests race
+	 * @return the value computed for the current version of the document
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(TextDocumentItem textDocumentItem, Key<T> key, Function<TextDocumentItem, T> computation) {
+		ParsedDocument document;
+		synchronized (this) {
+			document = documents.get(textDocumentItem.getUri());
+			if (document == null || !document.isUpToDate(textDocumentItem)) {
+				document = new ParsedDocument(textDocumentItem);
+				documents.put(textDocumentItem.getUri(), document);
+			}
+			Object value = document.values.get(key);
+			if (value != null) {
+				cacheCounter.hit();
+				return value != NO_VALUE ? (T) value : null;
+			}
+		}
+		long start = System.nanoTime();
+		T value = computation.apply(textDocumentItem);
+		cacheCounter.miss(System.nanoTime() - start);
+		synchronized (this) {
+			document.values.put(key, value != null ? value : NO_VALUE);
+		}
+		return value;
+	}
+
+	/**
+	 * Forgets the parse trees of a document closed in the editor.
+	 */
+	public synchronized void invalidate(String documentUri) {
+		documents.remove(documentUri);
+	}
+
+	private static Document parseXml(TextDocumentItem textDocumentItem) {
+		try {
+			return XmlLineNumberParser.parseXml(new ByteArrayInputStream(textDocumentItem.getText().getBytes(StandardCharsets.UTF_8)));
+		} catch (Exception e) {
+			LOGGER.debug("Cannot parse XML document {}", textDocumentItem.getUri(), e);
+			return null;
+		}
+	}
+
+	private static List<CamelNodeDetails> parseJavaRouteTree(TextDocumentItem textDocumentItem) {
+		try {
+			JavaType<?> parsedJavaFile = Roaster.parse(textDocumentItem.getText());
+			if (parsedJavaFile instanceof JavaClassSource) {
+				String absolutePathOfCamelFile = new File(URI.create(textDocumentItem.getUri())).getAbsolutePath();
+				return RouteBuilderParser.parseRouteBuilderTree((JavaClassSource) parsedJavaFile, absolutePathOfCamelFile, true);
+			}
+		} catch (Exception e) {
+			LOGGER.warn("Cannot parse Java routes of {}", textDocumentItem.getUri(), e);
+		}
+		return Collections.emptyList();
+	}
+
+	private static List<Node> parseYaml(TextDocumentItem textDocumentItem) {
+		try {
+			List<Node> nodes = new ArrayList<>();
+			new Yaml(new SafeConstructor(new LoaderOptions())).composeAll(new StringReader(textDocumentItem.getText())).forEach(nodes::add);
+			return nodes;
+		} catch (Exception e) {
+			LOGGER.debug("Cannot parse YAML document {}", textDocumentItem.getUri(), e);
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Identifies a value cached for a document.
+	 */
+	public static final class Key<T> {
+
+		private final String name;
+
+		public Key(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	private static class ParsedDocument {
+
+		private final int version;
+		private final String text;
+		private final Map<Key<?>, Object> values = new HashMap<>();
+
+		ParsedDocument(TextDocumentItem textDocumentItem) {
+			this.version = textDocumentItem.getVersion();
+			this.text = textDocumentItem.getText();
+		}
+
+		/**
+		 * didChange sets a new text instance, an identity check is enough.
+		 */
+		boolean isUpToDate(TextDocumentItem textDocumentItem) {
+			return version == textDocumentItem.getVersion() && text == textDocumentItem.getText();
+		}
+	}
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 public class ParserFileHelperFactory {
 	
 	private static final String KUBERNETES_CRD_API_VERSION_CAMEL = "apiVersion: camel.apache.org/";
+	private static final String CAMEL_NAMESPACE_PREFIX = "http://camel.apache.org/schema/";
 	private static final String CAMELK_XML_FILENAME_SUFFIX = "camelk.xml";
 	private static final String CAMELK_YAML_FILENAME_SUFFIX = ".camelk.yaml";
 	private static final String PLAIN_CAMEL_YAML_FILENAME_SUFFIX = ".camel.yaml";
@@ -57,6 +58,14 @@ public class ParserFileHelperFactory {
 		}
 	}
 
+	/**
+	 * Textual heuristic, cheaper than {@link #isProbablyCamelFile(TextDocumentItem)} as the XML is not parsed.
+	 */
+	public boolean isPotentiallyCamelXMLDSL(TextDocumentItem textDocumentItem, String uri) {
+		return uri.endsWith(CAMELK_XML_FILENAME_SUFFIX)
+				|| uri.endsWith(".xml") && textDocumentItem.getText().contains(CAMEL_NAMESPACE_PREFIX);
+	}
+
 	public boolean isCamelYamlDSL(TextDocumentItem textDocumentItem, String uri) {
 		//improve this method to provide better heuristic to detect if it is a Camel file or not
 		return uri.endsWith(CAMELK_YAML_FILENAME_SUFFIX)
@@ -16,87 +16,50 @@
  */
 package com.github.cameltooling.lsp.internal.references;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
-import org.apache.camel.parser.helper.CamelXmlHelper;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.TextDocumentItem;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Node;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
-import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
 import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
-import com.github.cameltooling.lsp.internal.parser.ParserXMLFileHelper;
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
 
 public class ReferencesProcessor {
 	
-	private static final Logger LOGGER = LoggerFactory.getLogger(ReferencesProcessor.class);
-	private ParserXMLFileHelper parserXMLFileHelper = new ParserXMLFileHelper();
 	private TextDocumentItem textDocumentItem;
-	private CamelTextDocumentService textDocumentService;
+	private WorkspaceEndpointIndex endpointIndex;
 
 	public ReferencesProcessor(CamelTextDocumentService textDocumentService, TextDocumentItem textDocumentItem) {
-		this.textDocumentService = textDocumentService;
+		this.endpointIndex = textDocumentService.getEndpointIndex();
 		this.textDocumentItem = textDocumentItem;
 	}
 
 	@SuppressWarnings("squid:S1452")
 	public CompletableFuture<List<? extends Location>> getReferences(Position position) {
-		if (textDocumentItem.getUri().endsWith(".xml")) {
-			try {
-				String camelComponentUri = parserXMLFileHelper.getCamelComponentUri(textDocumentItem, position);
-				CamelURIInstance camelURIInstanceToSearchReference = parserXMLFileHelper.createCamelURIInstance(textDocumentItem, position, camelComponentUri);
-				if (ReferenceUtils.isReferenceComponentKind(camelURIInstanceToSearchReference)) {
-					Map<CamelURIInstance, Node> allCamelUriInstances = retrieveAllEndpoints();
-					return CompletableFuture.completedFuture(findReferences(camelURIInstanceToSearchReference, allCamelUriInstances));
-				}
-			} catch (Exception e) {
-				LOGGER.error("Cannot compute references", e);
+		if (textDocumentItem != null) {
+			Optional<EndpointOccurrence> endpointToSearchReference = endpointIndex.findOccurrence(textDocumentItem.getUri(), position);
+			if (endpointToSearchReference.isPresent() && ReferenceUtils.isReferenceComponentKind(endpointToSearchReference.get().getComponentName())) {
+				return CompletableFuture.completedFuture(findReferences(endpointToSearchReference.get()));
 			}
 		}
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
-	private List<Location> findReferences(CamelURIInstance camelURIInstanceToSearchReference, Map<CamelURIInstance, Node> allCamelUriInstance) {
-		List<Location> references = new ArrayList<>();
-		String directId = ReferenceUtils.getReferenceKey(camelURIInstanceToSearchReference);
-		if (directId != null && !directId.isEmpty()) {
-			for (Entry<CamelURIInstance, Node> entry : allCamelUriInstance.entrySet()) {
-				CamelURIInstance camelURIInstance = entry.getKey();
-				if (isReference(camelURIInstanceToSearchReference, directId, camelURIInstance)) {
-					references.add(parserXMLFileHelper.retrieveLocation(entry.getValue(), camelURIInstance.getDocument()));
-				}
-			}
-		}
-		return references;
-	}
-
-	private boolean isReference(CamelURIInstance camelURIInstanceToSearchReference, String directId, CamelURIInstance camelURIInstance) {
-		return ReferenceUtils.isReferenceComponentKind(camelURIInstance)
-				&& (camelURIInstanceToSearchReference.isProducer() && !camelURIInstance.isProducer()
-						|| !camelURIInstanceToSearchReference.isProducer() && camelURIInstance.isProducer())
-				&& directId.equals(ReferenceUtils.getReferenceKey(camelURIInstance));
-	}
-
-	private Map<CamelURIInstance, Node> retrieveAllEndpoints() throws Exception {
-		Map<CamelURIInstance, Node> allCamelUriInstance = new HashMap<>();
-		for (TextDocumentItem docItem : textDocumentService.getAllOpenedDocuments()) {
-			for (Node endpoint : parserXMLFileHelper.getAllEndpoints(docItem)) {
-				String uriToParse = CamelXmlHelper.getSafeAttribute(endpoint, "uri");
-				if (uriToParse != null) {
-					allCamelUriInstance.put(new CamelURIInstance(uriToParse, endpoint, docItem), endpoint);
-				}
-			}
+	private List<Location> findReferences(EndpointOccurrence endpointToSearchReference) {
+		String directId = endpointToSearchReference.getReferenceKey();
+		if (directId == null || directId.isEmpty()) {
+			return Collections.emptyList();
 		}
-		return allCamelUriInstance;
+		return endpointIndex.findByReference(endpointToSearchReference.getComponentName(), directId).stream()
+				.filter(endpoint -> endpoint.isProducer() != endpointToSearchReference.isProducer())
+				.map(EndpointOccurrence::toLocation)
+				.collect(Collectors.toList());
 	}
 }
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.semantictokens;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+
+import com.github.cameltooling.lsp.internal.instancemodel.CamelComponentAndPathUriInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.CamelUriElementInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.DSLModelHelper;
+import com.github.cameltooling.lsp.internal.instancemodel.OptionParamURIInstance;
+import com.github.cameltooling.lsp.internal.instancemodel.PathParamURIInstance;
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+
+/**
+ * Classifies the elements of the Camel URIs of a document and encodes them as semantic tokens, as specified by the Language Server Protocol:
+ * 5 integers per token, the line and the start character relative to the previous token, the length, the token type and the token modifiers.
+ *
+ * The elements are the ones of the {@link CamelURIInstance} model: scheme, path parameters, option keys and option values.
+ * The property placeholders <code>{{...}}</code> are classified separately wherever they are.
+ */
+class CamelURISemanticTokenizer {
+
+	static final List<String> TOKEN_TYPES = Arrays.asList(
+			SemanticTokenTypes.Namespace,
+			SemanticTokenTypes.Parameter,
+			SemanticTokenTypes.Property,
+			SemanticTokenTypes.String,
+			SemanticTokenTypes.Macro);
+	static final SemanticTokensLegend LEGEND = new SemanticTokensLegend(TOKEN_TYPES, new ArrayList<>());
+
+	static final int SCHEME = 0;
+	static final int PATH_PARAMETER = 1;
+	static final int OPTION_KEY = 2;
+	static final int OPTION_VALUE = 3;
+	static final int PROPERTY_PLACEHOLDER = 4;
+
+	private static final int UNCLASSIFIED = -1;
+	private static final Pattern PROPERTY_PLACEHOLDER_PATTERN = Pattern.compile("\\{\\{.*?\\}\\}");
+
+	private CamelURISemanticTokenizer() {
+		// Utility class
+	}
+
+	/**
+	 * @param occurrences the endpoints of a document, in document order
+	 * @return the encoded semantic tokens of the URIs, URIs spanning several lines excepted
+	 */
+	static List<Integer> tokenize(List<EndpointOccurrence> occurrences) {
+		List<Integer> data = new ArrayList<>();
+		int previousLine = 0;
+		int previousCharacter = 0;
+		int lineOfPreviousUri = -1;
+		int endOfPreviousUri = -1;
+		for (EndpointOccurrence occurrence : occurrences) {
+			Position start = occurrence.getRange().getStart();
+			if (start.getLine() != occurrence.getRange().getEnd().getLine()
+					|| start.getLine() == lineOfPreviousUri && start.getCharacter() < endOfPreviousUri) {
+				continue;
+			}
+			int[] types = classify(occurrence);
+			int tokenStart = 0;
+			while (tokenStart < types.length) {
+				int tokenEnd = tokenStart + 1;
+				while (tokenEnd < types.length && types[tokenEnd] == types[tokenStart]) {
+					tokenEnd++;
+				}
+				if (types[tokenStart] != UNCLASSIFIED) {
+					int line = start.getLine();
+					int character = start.getCharacter() + tokenStart;
+					data.add(line - previousLine);
+					data.add(line == previousLine ? character - previousCharacter : character);
+					data.add(tokenEnd - tokenStart);
+					data.add(types[tokenStart]);
+					data.add(0);
+					previousLine = line;
+					previousCharacter = character;
+				}
+				tokenStart = tokenEnd;
+			}
+			lineOfPreviousUri = start.getLine();
+			endOfPreviousUri = start.getCharacter() + types.length;
+		}
+		return data;
+	}
+
+	/**
+	 * @return the token type of each character of the URI
+	 */
+	private static int[] classify(EndpointOccurrence occurrence) {
+		String uri = occurrence.getUri();
+		int[] types = new int[uri.length()];
+		Arrays.fill(types, UNCLASSIFIED);
+		CamelURIInstance uriInstance = new CamelURIInstance(uri, new OccurrenceDSLModelHelper(occurrence), null);
+		CamelComponentAndPathUriInstance componentAndPath = uriInstance.getComponentAndPathUriElementInstance();
+		if (componentAndPath != null) {
+			fill(types, componentAndPath.getComponent(), SCHEME);
+			for (PathParamURIInstance pathParam : componentAndPath.getPathParams()) {
+				fill(types, pathParam, PATH_PARAMETER);
+			}
+		}
+		for (OptionParamURIInstance optionParam : uriInstance.getOptionParams()) {
+			fill(types, optionParam.getKey(), OPTION_KEY);
+			fill(types, optionParam.getValue(), OPTION_VALUE);
+		}
+		Matcher placeholder = PROPERTY_PLACEHOLDER_PATTERN.matcher(uri);
+		while (placeholder.find()) {
+			Arrays.fill(types, placeholder.start(), placeholder.end(), PROPERTY_PLACEHOLDER);
+		}
+		return types;
+	}
+
+	private static void fill(int[] types, CamelUriElementInstance element, int type) {
+		if (element != null) {
+			int start = Math.max(0, element.getStartPositionInUri());
+			int end = Math.min(types.length, element.getEndPositionInUri());
+			if (start < end) {
+				Arrays.fill(types, start, end, type);
+			}
+		}
+	}
+
+	/**
+	 * The URIs of the endpoint index are the raw text of the documents, so the options of the XML URIs are separated by <code>&amp;amp;</code>.
+	 */
+	private static class OccurrenceDSLModelHelper implements DSLModelHelper {
+
+		private final EndpointOccurrence occurrence;
+
+		OccurrenceDSLModelHelper(EndpointOccurrence occurrence) {
+			this.occurrence = occurrence;
+		}
+
+		@Override
+		public String getParametersSeparator() {
+			return occurrence.getDocumentUri().endsWith(".xml") ? "&amp;" : "&";
+		}
+
+		@Override
+		public String getTypeDeterminingProducerConsumer() {
+			return occurrence.getType();
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.semantictokens;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.lsp4j.TextDocumentItem;
+
+import com.github.cameltooling.lsp.internal.metrics.CacheCounter;
+
+/**
+ * Last semantic tokens sent for each opened document, so that a request on an unchanged document is answered without computation
+ * and the next delta request is computed against them.
+ */
+public class SemanticTokensCache {
+
+	private final Map<String, CachedSemanticTokens> tokensByDocument = new HashMap<>();
+	private final AtomicLong lastResultId = new AtomicLong();
+	private final CacheCounter cacheCounter;
+
+	public SemanticTokensCache() {
+		this(new CacheCounter());
+	}
+
+	public SemanticTokensCache(CacheCounter cacheCounter) {
+		this.cacheCounter = cacheCounter;
+	}
+
+	CacheCounter getCacheCounter() {
+		return cacheCounter;
+	}
+
+	synchronized CachedSemanticTokens get(String documentUri) {
+		return tokensByDocument.get(documentUri);
+	}
+
+	synchronized CachedSemanticTokens put(TextDocumentItem textDocumentItem, List<Integer> data) {
+		CachedSemanticTokens tokens = new CachedSemanticTokens(textDocumentItem, Long.toString(lastResultId.incrementAndGet()), data);
+		tokensByDocument.put(textDocumentItem.getUri(), tokens);
+		return tokens;
+	}
+
+	/**
+	 * Forgets the tokens of a document closed in the editor.
+	 */
+	public synchronized void invalidate(String documentUri) {
+		tokensByDocument.remove(documentUri);
+	}
+
+	static class CachedSemanticTokens {
+
+		private final int version;
+		private final String text;
+		private final String resultId;
+		private final List<Integer> data;
+
+		CachedSemanticTokens(TextDocumentItem textDocumentItem, String resultId, List<Integer> data) {
+			this.version = textDocumentItem.getVersion();
+			this.text = textDocumentItem.getText();
+			this.resultId = resultId;
+			this.data = data;
+		}
+
+		/**
+		 * The text is replaced on each change of the document, so comparing the instances is enough and does not cost a scan of the text.
+		 */
+		boolean isUpToDate(TextDocumentItem textDocumentItem) {
+			return version == textDocumentItem.getVersion() && text == textDocumentItem.getText();
+		}
+
+		String getResultId() {
+			return resultId;
+		}
+
+		List<Integer> getData() {
+			return data;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.semantictokens;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.semantictokens.SemanticTokensCache.CachedSemanticTokens;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceEndpointIndex;
+
+/**
+ * Semantic tokens of the Camel URIs of an opened document.
+ *
+ * The URIs are provided by the {@link WorkspaceEndpointIndex}, which scans the document only once per version.
+ * The tokens are cached per document version, and a delta request is answered with the single edit between the common prefix and suffix of the previous and new tokens.
+ */
+public class SemanticTokensProcessor {
+
+	private final CamelTextDocumentService textDocumentService;
+	private final SemanticTokensCache cache;
+
+	public SemanticTokensProcessor(CamelTextDocumentService textDocumentService) {
+		this.textDocumentService = textDocumentService;
+		this.cache = textDocumentService.getSemanticTokensCache();
+	}
+
+	public static SemanticTokensLegend getLegend() {
+		return CamelURISemanticTokenizer.LEGEND;
+	}
+
+	public CompletableFuture<SemanticTokens> getSemanticTokens(String documentUri) {
+		CachedSemanticTokens tokens = computeTokens(documentUri);
+		return CompletableFuture.completedFuture(toSemanticTokens(tokens));
+	}
+
+	/**
+	 * @param previousResultId the result id of the tokens known by the client
+	 * @return the edits to apply on the previous tokens, or all the tokens if the previous ones are not the last ones sent for this document
+	 */
+	public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> getSemanticTokensDelta(String documentUri, String previousResultId) {
+		CachedSemanticTokens previousTokens = cache.get(documentUri);
+		CachedSemanticTokens tokens = computeTokens(documentUri);
+		if (tokens == null || previousTokens == null || !previousTokens.getResultId().equals(previousResultId)) {
+			return CompletableFuture.completedFuture(Either.forLeft(toSemanticTokens(tokens)));
+		}
+		SemanticTokensDelta delta = new SemanticTokensDelta(computeEdits(previousTokens.getData(), tokens.getData()), tokens.getResultId());
+		return CompletableFuture.completedFuture(Either.forRight(delta));
+	}
+
+	private CachedSemanticTokens computeTokens(String documentUri) {
+		TextDocumentItem textDocumentItem = textDocumentService.getOpenedDocument(documentUri);
+		if (textDocumentItem == null) {
+			return null;
+		}
+		CachedSemanticTokens cachedTokens = cache.get(documentUri);
+		if (cachedTokens != null && cachedTokens.isUpToDate(textDocumentItem)) {
+			cache.getCacheCounter().hit();
+			return cachedTokens;
+		}
+		long start = System.nanoTime();
+		List<Integer> data = CamelURISemanticTokenizer.tokenize(textDocumentService.getEndpointIndex().findOccurrences(documentUri));
+		cache.getCacheCounter().miss(System.nanoTime() - start);
+		return cache.put(textDocumentItem, data);
+	}
+
+	private static SemanticTokens toSemanticTokens(CachedSemanticTokens tokens) {
+		if (tokens == null) {
+			return new SemanticTokens(Collections.emptyList());
+		}
+		return new SemanticTokens(tokens.getResultId(), tokens.getData());
+	}
+
+	static List<SemanticTokensEdit> computeEdits(List<Integer> previousData, List<Integer> data) {
+		int commonPrefix = 0;
+		int maxCommonLength = Math.min(previousData.size(), data.size());
+		while (commonPrefix < maxCommonLength && previousData.get(commonPrefix).equals(data.get(commonPrefix))) {
+			commonPrefix++;
+		}
+		if (commonPrefix == previousData.size() && commonPrefix == data.size()) {
+			return Collections.emptyList();
+		}
+		int commonSuffix = 0;
+		while (commonSuffix < maxCommonLength - commonPrefix
+				&& previousData.get(previousData.size() - 1 - commonSuffix).equals(data.get(data.size() - 1 - commonSuffix))) {
+			commonSuffix++;
+		}
+		List<Integer> insertedData = new ArrayList<>(data.subList(commonPrefix, data.size() - commonSuffix));
+		return Collections.singletonList(new SemanticTokensEdit(commonPrefix, previousData.size() - commonPrefix - commonSuffix, insertedData));
+	}
+}
@@ -16,53 +16,141 @@
  */
 package com.github.cameltooling.lsp.internal.settings;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.DidChangeConfigurationParams;
 import org.eclipse.lsp4j.InitializeParams;
+import org.eclipse.lsp4j.WorkspaceFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.catalog.util.CamelCatalogVersionResolver;
+import com.github.cameltooling.lsp.internal.completion.usage.UsageStatistics;
+import com.github.cameltooling.lsp.internal.kubernetes.KnativeConfigManager;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceFileIndex;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceIndexStore;
 import org.eclipse.lsp4j.MarkupKind;
 
 public class SettingsManager {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(SettingsManager.class);
+
 	public static final String CAMEL_CATALOG_VERSION = "Camel catalog version";
 	public static final String TOP_LEVEL_SETTINGS_ID = "camel";
 	public static final String EXTRA_COMPONENTS = "extra-components";
 	public static final String CATALOG_RUNTIME_PROVIDER = "Camel catalog runtime provider";
 	public static final String KAKFA_CONNECTION_URL = "Kafka Connection URL";
+	public static final String CATALOG_REPOSITORIES = "Camel catalog repositories";
+	public static final String CATALOG_OFFLINE = "Camel catalog offline";
+	public static final String CATALOG_LOCAL_REPOSITORY = "Camel catalog local repository";
+	public static final String CATALOG_CACHE_DIRECTORY = "Camel catalog cache directory";
+	public static final String KAMELETS_DIRECTORIES = "Kamelets directories";
+	public static final String RESOLVE_DOCUMENTATION = "documentation";
+	public static final String RESOLVE_DETAIL = "detail";
+	public static final String COMPLETION_USAGE_RANKING = "Completion usage ranking";
+	public static final String KNATIVE_CACHE_TIME_TO_LIVE = "Knative resources cache time to live";
+	public static final String ROUTE_GRAPH_DIAGNOSTICS = "Route graph diagnostics";
+	public static final String WORKSPACE_INDEX_PERSISTED = "Workspace index persisted";
+	public static final String WORKSPACE_INDEX_DIRECTORY = "Workspace index directory";
 	
 	private CamelTextDocumentService textDocumentService;
 	private String kafkaConnectionUrl;
 	private boolean mardownSupport;
+	private boolean routeGraphDiagnostics;
+	private CamelCatalogVersionResolver catalogVersionResolver;
+	private List<String> lazilyResolvedCompletionProperties = Collections.emptyList();
 
 	public SettingsManager(CamelTextDocumentService textDocumentService) {
 		this.textDocumentService = textDocumentService;
 	}
 
 	public void apply(InitializeParams params) {
+		WorkspaceFileIndex.getInstance().setWorkspaceRoots(getWorkspaceRoots(params));
 		applySettings(params.getInitializationOptions());
 		ClientCapabilities capabilities = params.getCapabilities();
 		if (capabilities != null && capabilities.getTextDocument().getCompletion().getCompletionItem().getDocumentationFormat().contains(MarkupKind.MARKDOWN)) {
 			this.mardownSupport = true;
 		}
+		if (capabilities != null && capabilities.getTextDocument().getCompletion().getCompletionItem().getResolveSupport() != null) {
+			List<String> resolvableProperties = capabilities.getTextDocument().getCompletion().getCompletionItem().getResolveSupport().getProperties();
+			this.lazilyResolvedCompletionProperties = resolvableProperties != null ? resolvableProperties : Collections.emptyList();
+		}
 	}
 	
 	public void apply(DidChangeConfigurationParams params) {
 		applySettings(params.getSettings());
 	}
 
+	private List<Path> getWorkspaceRoots(InitializeParams params) {
+		List<String> rootUris;
+		if (params.getWorkspaceFolders() != null && !params.getWorkspaceFolders().isEmpty()) {
+			rootUris = params.getWorkspaceFolders().stream().map(WorkspaceFolder::getUri).collect(Collectors.toList());
+		} else if (params.getRootUri() != null) {
+			rootUris = Collections.singletonList(params.getRootUri());
+		} else {
+			rootUris = Collections.emptyList();
+		}
+		List<Path> roots = new ArrayList<>();
+		for (String rootUri : rootUris) {
+			try {
+				roots.add(Paths.get(new URI(rootUri)));
+			} catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+				LOGGER.warn("Cannot use the workspace folder {}", rootUri, e);
+			}
+		}
+		return roots;
+	}
+
 	private void applySettings(Object settings) {
 		Map<?,?> mapSettings = getSettings(settings);
 		Map<?, ?> camelSetting = getSetting(mapSettings, TOP_LEVEL_SETTINGS_ID, Map.class);
 		String camelCatalogVersion = getSetting(camelSetting, CAMEL_CATALOG_VERSION, String.class);
 		List<?> extraComponents = getSetting(camelSetting, EXTRA_COMPONENTS, List.class);
 		String camelCatalogRuntimeProvider = getSetting(camelSetting, CATALOG_RUNTIME_PROVIDER, String.class);
-		textDocumentService.updateCatalog(camelCatalogVersion, camelCatalogRuntimeProvider, (List<Map<?, ?>>) extraComponents);
+		List<?> kameletsDirectories = getSetting(camelSetting, KAMELETS_DIRECTORIES, List.class);
+		textDocumentService.getKameletsCatalogManager().setUserKameletDirectories(
+				kameletsDirectories != null ? kameletsDirectories.stream().map(String::valueOf).map(Paths::get).collect(Collectors.toList()) : Collections.emptyList());
+		textDocumentService.updateCatalog(camelCatalogVersion, camelCatalogRuntimeProvider, (List<Map<?, ?>>) extraComponents, getCatalogVersionResolver(camelSetting));
 		kafkaConnectionUrl = getSetting(camelSetting, KAKFA_CONNECTION_URL, String.class);
+		textDocumentService.getUsageStatistics().setEnabled(Boolean.TRUE.equals(getSetting(camelSetting, COMPLETION_USAGE_RANKING, Boolean.class)));
+		Number knativeCacheTimeToLive = getSetting(camelSetting, KNATIVE_CACHE_TIME_TO_LIVE, Number.class);
+		KnativeConfigManager.getInstance().setCacheTimeToLive(knativeCacheTimeToLive != null ? Duration.ofSeconds(knativeCacheTimeToLive.longValue()) : KnativeConfigManager.DEFAULT_CACHE_TIME_TO_LIVE);
+		routeGraphDiagnostics = Boolean.TRUE.equals(getSetting(camelSetting, ROUTE_GRAPH_DIAGNOSTICS, Boolean.class));
+		boolean workspaceIndexPersisted = !Boolean.FALSE.equals(getSetting(camelSetting, WORKSPACE_INDEX_PERSISTED, Boolean.class));
+		textDocumentService.getDocumentIndex().setStoreDirectory(
+				workspaceIndexPersisted ? getPathSetting(camelSetting, WORKSPACE_INDEX_DIRECTORY, WorkspaceIndexStore.getDefaultStoreDirectory()) : null);
+	}
+
+	/**
+	 * The resolver is kept while its settings are unchanged, so that the versions already resolved and its HTTP client are reused.
+	 */
+	private synchronized CamelCatalogVersionResolver getCatalogVersionResolver(Map<?, ?> camelSetting) {
+		List<?> repositorySetting = getSetting(camelSetting, CATALOG_REPOSITORIES, List.class);
+		Path localRepository = getPathSetting(camelSetting, CATALOG_LOCAL_REPOSITORY, CamelCatalogVersionResolver.getDefaultLocalRepository());
+		Path cacheDirectory = getPathSetting(camelSetting, CATALOG_CACHE_DIRECTORY, CamelCatalogVersionResolver.getDefaultCacheDirectory());
+		List<String> repositories = repositorySetting != null ? repositorySetting.stream().map(String::valueOf).collect(Collectors.toList()) : Collections.emptyList();
+		boolean offline = Boolean.TRUE.equals(getSetting(camelSetting, CATALOG_OFFLINE, Boolean.class));
+		if (catalogVersionResolver == null || !catalogVersionResolver.hasConfiguration(localRepository, cacheDirectory, repositories, offline)) {
+			catalogVersionResolver = new CamelCatalogVersionResolver(localRepository, cacheDirectory, repositories, offline);
+		}
+		return catalogVersionResolver;
+	}
+
+	private Path getPathSetting(Map<?, ?> settings, String key, Path defaultValue) {
+		String path = getSetting(settings, key, String.class);
+		return path != null && !path.isEmpty() ? Paths.get(path) : defaultValue;
 	}
 
 	private Map<?, ?> getSettings(Object settings) {
@@ -84,7 +172,26 @@ public class SettingsManager {
 		return kafkaConnectionUrl;
 	}
 
+	public UsageStatistics getUsageStatistics() {
+		return textDocumentService.getUsageStatistics();
+	}
+
 	public boolean isMardownSupport() {
 		return mardownSupport;
 	}
+
+	/**
+	 * @return true if the producers calling no route and the routes calling each other in a loop are reported as diagnostics
+	 */
+	public boolean isRouteGraphDiagnostics() {
+		return routeGraphDiagnostics;
+	}
+
+	/**
+	 * @param completionItemProperty a property of the completion item, for instance {@link #RESOLVE_DOCUMENTATION}
+	 * @return true if the client is able to retrieve this property later with a <code>completionItem/resolve</code> request
+	 */
+	public boolean isLazyCompletionResolveSupported(String completionItemProperty) {
+		return lazilyResolvedCompletionProperties.contains(completionItemProperty);
+	}
 }
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads of the background tasks of the Language Server, such as the warm-up or the indexing of the workspace.
+ *
+ * They are daemon threads, so that they do not prevent the Language Server from exiting, and they have the minimum priority,
+ * so that they do not slow down the requests of the user.
+ */
+public class BackgroundThreadFactory implements ThreadFactory {
+
+	private final String name;
+
+	/**
+	 * @param name the name of the created threads
+	 */
+	public BackgroundThreadFactory(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		return thread;
+	}
+}
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.EndpointValidationResult;
+import org.apache.camel.parser.model.CamelEndpointDetails;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressCreateParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.CamelTextDocumentService;
+import com.github.cameltooling.lsp.internal.catalog.util.MainModelIndex;
+import com.github.cameltooling.lsp.internal.catalog.util.ModelHelper;
+import com.github.cameltooling.lsp.internal.completion.CamelEndpointCompletionProcessor;
+import com.github.cameltooling.lsp.internal.diagnostic.EndpointDiagnosticService;
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+
+/**
+ * Warms up the Camel catalog in background, with a low priority, once the Language Server is initialized and each time the catalog is replaced
+ * after a configuration change. A warm-up applies to the catalog used by the Language Server when it is created.
+ *
+ * It loads the component and model JSON schemas, builds the component models shared by the completion and validation paths
+ * (see {@link ModelHelper#getComponentModel(CamelCatalog, String)}) and exercises these paths on a synthetic route,
+ * so that the first interaction of the user does not pay for the lazy loading and the JIT compilation.
+ * When the client supports it, the progress is reported with Work Done Progress notifications.
+ */
+public class CatalogWarmUp {
+
+	public static final String PROGRESS_TOKEN = "camel-catalog-warmup";
+	static final String SYNTHETIC_URI = "camel-language-server-warmup.xml";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CatalogWarmUp.class);
+	private static final int PROGRESS_CREATION_TIMEOUT_SECONDS = 5;
+	private static final String SYNTHETIC_URI_LINE = "<from uri=\"timer:warmup?delay=1000&amp;unknownOption=true\"/>";
+	private static final String SYNTHETIC_ROUTE = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "<route>\n"
+			+ SYNTHETIC_URI_LINE + "\n"
+			+ "<to uri=\"log:warmup\"/>\n"
+			+ "</route>\n"
+			+ "</camelContext>\n";
+
+	private final CamelTextDocumentService textDocumentService;
+	private final CompletableFuture<CamelCatalog> camelCatalog;
+	private final LanguageClient client;
+	private final boolean progressSupported;
+	private final CompletableFuture<Void> readiness = new CompletableFuture<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Camel Catalog Warm-up"));
+	private volatile boolean cancelled;
+
+	public CatalogWarmUp(CamelLanguageServer camelLanguageServer, boolean progressSupported) {
+		this(camelLanguageServer.getTextDocumentService(), camelLanguageServer.getClient(), progressSupported);
+	}
+
+	CatalogWarmUp(CamelTextDocumentService textDocumentService, LanguageClient client, boolean progressSupported) {
+		this.textDocumentService = textDocumentService;
+		this.camelCatalog = textDocumentService.getCamelCatalog();
+		this.client = client;
+		this.progressSupported = progressSupported && client != null;
+	}
+
+	/**
+	 * @return a future completed when the warm-up is finished, whether it succeeded or not
+	 */
+	public CompletableFuture<Void> start() {
+		CompletableFuture<Void> progressCreated = progressSupported ? createProgress() : CompletableFuture.completedFuture(null);
+		progressCreated.thenRunAsync(this::warmUp, executor);
+		return readiness;
+	}
+
+	private CompletableFuture<Void> createProgress() {
+		try {
+			return client.createProgress(new WorkDoneProgressCreateParams(Either.forLeft(PROGRESS_TOKEN)))
+					.completeOnTimeout(null, PROGRESS_CREATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+					.exceptionally(e -> {
+						LOGGER.debug("Client refused the creation of the warm-up progress", e);
+						return null;
+					});
+		} catch (UnsupportedOperationException e) {
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+
+	private void warmUp() {
+		long start = System.currentTimeMillis();
+		List<WarmUpStep> steps = Arrays.asList(
+				new WarmUpStep("Loading component models", this::loadComponents),
+				new WarmUpStep("Loading EIP models", this::loadModels),
+				new WarmUpStep("Loading main configuration model", this::loadMainModel),
+				new WarmUpStep("Warming up completion", this::exerciseCompletion),
+				new WarmUpStep("Warming up validation", this::exerciseValidation));
+		notifyBegin();
+		try {
+			for (int i = 0; i < steps.size() && !cancelled; i++) {
+				WarmUpStep step = steps.get(i);
+				notifyReport(step.title, i * 100 / steps.size());
+				step.action.run(camelCatalog.get());
+			}
+			LOGGER.info("Camel catalog warm-up {} in {} ms", cancelled ? "cancelled" : "done", System.currentTimeMillis() - start);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			LOGGER.warn("Error while warming up the Camel catalog", e);
+		} finally {
+			notifyEnd();
+			readiness.complete(null);
+			executor.shutdown();
+		}
+	}
+
+	private void loadComponents(CamelCatalog catalog) {
+		for (String componentName : catalog.findComponentNames()) {
+			if (cancelled) {
+				return;
+			}
+			ModelHelper.getComponentModel(catalog, componentName);
+		}
+	}
+
+	private void loadModels(CamelCatalog catalog) {
+		for (String modelName : catalog.findModelNames()) {
+			if (cancelled) {
+				return;
+			}
+			catalog.modelJSonSchema(modelName);
+		}
+	}
+
+	private void loadMainModel(CamelCatalog catalog) {
+		MainModelIndex.of(catalog);
+	}
+
+	private void exerciseCompletion(CamelCatalog catalog) throws InterruptedException, ExecutionException {
+		TextDocumentItem syntheticDocument = new TextDocumentItem(SYNTHETIC_URI, CamelLanguageServer.LANGUAGE_ID, 0, SYNTHETIC_ROUTE);
+		Position positionAfterQuestionMark = new Position(2, SYNTHETIC_URI_LINE.indexOf('?') + 1);
+		new CamelEndpointCompletionProcessor(syntheticDocument, CompletableFuture.completedFuture(catalog), textDocumentService.getKameletsCatalogManager())
+			.getCompletions(positionAfterQuestionMark, textDocumentService.getSettingsManager())
+			.get();
+	}
+
+	private void exerciseValidation(CamelCatalog catalog) {
+		TextDocumentItem syntheticDocument = new TextDocumentItem(SYNTHETIC_URI, CamelLanguageServer.LANGUAGE_ID, 0, SYNTHETIC_ROUTE);
+		EndpointDiagnosticService endpointDiagnosticService = new EndpointDiagnosticService(CompletableFuture.completedFuture(catalog));
+		Map<CamelEndpointDetails, EndpointValidationResult> endpointErrors = endpointDiagnosticService.computeCamelEndpointErrors(SYNTHETIC_ROUTE, SYNTHETIC_URI);
+		endpointDiagnosticService.converToLSPDiagnostics(SYNTHETIC_ROUTE, endpointErrors, syntheticDocument);
+	}
+
+	private void notifyBegin() {
+		WorkDoneProgressBegin begin = new WorkDoneProgressBegin();
+		begin.setTitle("Camel catalog warm-up");
+		begin.setCancellable(false);
+		begin.setPercentage(0);
+		notifyProgress(begin);
+	}
+
+	private void notifyReport(String message, int percentage) {
+		WorkDoneProgressReport report = new WorkDoneProgressReport();
+		report.setMessage(message);
+		report.setPercentage(percentage);
+		notifyProgress(report);
+	}
+
+	private void notifyEnd() {
+		WorkDoneProgressEnd end = new WorkDoneProgressEnd();
+		end.setMessage("Camel catalog ready");
+		notifyProgress(end);
+	}
+
+	private void notifyProgress(WorkDoneProgressNotification notification) {
+		if (progressSupported) {
+			client.notifyProgress(new ProgressParams(Either.forLeft(PROGRESS_TOKEN), Either.forLeft(notification)));
+		}
+	}
+
+	/**
+	 * Stops the warm-up at the next checkpoint. The readiness future is completed anyway.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isReady() {
+		return readiness.isDone();
+	}
+
+	public CompletableFuture<Void> getReadiness() {
+		return readiness;
+	}
+
+	@FunctionalInterface
+	private interface WarmUpAction {
+		void run(CamelCatalog catalog) throws InterruptedException, ExecutionException;
+	}
+
+	private static class WarmUpStep {
+		private final String title;
+		private final WarmUpAction action;
+
+		WarmUpStep(String title, WarmUpAction action) {
+			this.title = title;
+			this.action = action;
+		}
+	}
+}
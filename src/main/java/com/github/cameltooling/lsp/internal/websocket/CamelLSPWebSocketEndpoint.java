@@ -29,8 +29,10 @@ public class CamelLSPWebSocketEndpoint extends WebSocketEndpoint<LanguageClient>
 
 	@Override
 	protected void configure(Builder<LanguageClient> builder) {
-		builder.setLocalService(new CamelLanguageServer());
+		CamelLanguageServer server = new CamelLanguageServer();
+		builder.setLocalService(server);
 		builder.setRemoteInterface(LanguageClient.class);
+		builder.wrapMessages(server.getTextDocumentService().getMetrics().createMessageWrapper());
 	}
 
 	@Override
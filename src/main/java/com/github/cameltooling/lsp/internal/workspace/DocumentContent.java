@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+
+/**
+ * The content indexed for one document of the workspace: its endpoints and its symbols, computed from the same read of the document.
+ */
+public class DocumentContent {
+
+	private final List<EndpointOccurrence> endpoints;
+	private final List<WorkspaceSymbol> symbols;
+
+	public DocumentContent(List<EndpointOccurrence> endpoints, List<WorkspaceSymbol> symbols) {
+		this.endpoints = endpoints;
+		this.symbols = symbols;
+	}
+
+	/**
+	 * @return the endpoints declared in the document, in document order
+	 */
+	public List<EndpointOccurrence> getEndpoints() {
+		return endpoints != null ? endpoints : Collections.emptyList();
+	}
+
+	/**
+	 * @return the route IDs, <code>from</code> endpoints, camelContext IDs and Kamelet binding names declared in the document
+	 */
+	public List<WorkspaceSymbol> getSymbols() {
+		return symbols != null ? symbols : Collections.emptyList();
+	}
+
+	/**
+	 * @return this content with the endpoint URIs, including the ones of the <code>from</code> symbols, without option values nor user info,
+	 * see {@link EndpointOccurrence#redacted()}
+	 */
+	public DocumentContent redacted() {
+		List<EndpointOccurrence> redactedEndpoints = getEndpoints().stream().map(EndpointOccurrence::redacted).collect(Collectors.toList());
+		List<WorkspaceSymbol> redactedSymbols = getSymbols().stream().map(DocumentContent::redact).collect(Collectors.toList());
+		return new DocumentContent(redactedEndpoints, redactedSymbols);
+	}
+
+	private static WorkspaceSymbol redact(WorkspaceSymbol symbol) {
+		if (symbol.getKind() != SymbolKind.Event) {
+			return symbol;
+		}
+		WorkspaceSymbol redactedSymbol = new WorkspaceSymbol(EndpointOccurrence.redact(symbol.getName()), symbol.getKind(), symbol.getLocation());
+		redactedSymbol.setContainerName(symbol.getContainerName());
+		return redactedSymbol;
+	}
+}
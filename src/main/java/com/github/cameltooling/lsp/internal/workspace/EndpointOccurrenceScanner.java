@@ -0,0 +1,296 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentItem;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.parser.CamelYamlDSLParser;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
+
+/**
+ * Finds the endpoint URIs declared in XML, Java and YAML DSL documents with a single pass over the text.
+ *
+ * Unlike the DOM and Roaster based parsers, it does not build a model of the document, so that a whole workspace can be scanned quickly.
+ * The producer or consumer kind of an endpoint is given by the XML element, the Java method or the YAML key declaring it, as for {@link com.github.cameltooling.lsp.internal.instancemodel.CamelURIInstance}.
+ * The commented out endpoints are ignored.
+ */
+public class EndpointOccurrenceScanner {
+
+	private static final Pattern XML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+	static final Pattern XML_ELEMENT = Pattern.compile("<([A-Za-z_][\\w.\\-]*(?::[A-Za-z_][\\w.\\-]*)?)(\\s[^<>]*?)?/?>");
+	static final Pattern XML_ATTRIBUTE = Pattern.compile("(?<![\\w:.\\-])(uri|id)\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)')");
+	private static final List<String> JAVA_ENDPOINT_METHODS = Arrays.asList("from", "fromF", "to", "toD", "toF", "enrich", "pollEnrich", "wireTap", "interceptSendToEndpoint");
+	private static final Pattern JAVA_ENDPOINT = Pattern.compile("\\b(" + String.join("|", JAVA_ENDPOINT_METHODS) + ")\\s*\\(\\s*\"((?:[^\"\\\\\\r\\n]|\\\\.)*)\"");
+	static final Pattern YAML_KEY_VALUE = Pattern.compile("^\\s*(?:-\\s+)?([\\w\\-]+)\\s*:(?:\\s+(.*))?$");
+	private static final String ID_KEY = "id";
+	private static final Pattern ENDPOINT_URI = Pattern.compile("[a-zA-Z][\\w+.\\-]*:.*", Pattern.DOTALL);
+
+	private EndpointOccurrenceScanner() {
+		// util class
+	}
+
+	/**
+	 * @param documentUri the URI of the document, used to determine the DSL
+	 * @param text the content of the document
+	 * @return the endpoints in document order, empty if the document is not a Camel one
+	 */
+	public static List<EndpointOccurrence> scan(String documentUri, String text) {
+		if (text == null) {
+			return Collections.emptyList();
+		}
+		TextDocumentItem document = new TextDocumentItem(documentUri, CamelLanguageServer.LANGUAGE_ID, 0, text);
+		ParserFileHelperFactory parserFileHelperFactory = new ParserFileHelperFactory();
+		if (parserFileHelperFactory.isPotentiallyCamelXMLDSL(document, documentUri)) {
+			return scanXml(documentUri, text);
+		} else if (parserFileHelperFactory.isPotentiallyCamelJavaDSL(document, documentUri)) {
+			return scanJava(documentUri, text);
+		} else if (parserFileHelperFactory.isCamelYamlDSL(document, documentUri)) {
+			return scanYaml(documentUri, text);
+		}
+		return Collections.emptyList();
+	}
+
+	private static List<EndpointOccurrence> scanXml(String documentUri, String text) {
+		String textWithoutComments = blankComments(text);
+		LineOffsets lineOffsets = new LineOffsets(text);
+		List<EndpointOccurrence> occurrences = new ArrayList<>();
+		Matcher element = XML_ELEMENT.matcher(textWithoutComments);
+		while (element.find()) {
+			String attributes = element.group(2);
+			if (attributes == null) {
+				continue;
+			}
+			String uri = null;
+			int uriStart = -1;
+			String id = null;
+			Matcher attribute = XML_ATTRIBUTE.matcher(attributes);
+			while (attribute.find()) {
+				int valueGroup = attribute.group(2) != null ? 2 : 3;
+				if ("uri".equals(attribute.group(1))) {
+					uri = attribute.group(valueGroup);
+					uriStart = element.start(2) + attribute.start(valueGroup);
+				} else {
+					id = attribute.group(valueGroup);
+				}
+			}
+			if (uri != null && ENDPOINT_URI.matcher(uri).matches()) {
+				String tagName = element.group(1);
+				String localName = tagName.substring(tagName.indexOf(':') + 1);
+				occurrences.add(new EndpointOccurrence(documentUri, lineOffsets.toRange(uriStart, uriStart + uri.length()), uri, localName, id));
+			}
+		}
+		return occurrences;
+	}
+
+	/**
+	 * Replaces the comments by spaces, keeping the line breaks so that the offsets are unchanged.
+	 */
+	static String blankComments(String text) {
+		Matcher comment = XML_COMMENT.matcher(text);
+		if (!comment.find()) {
+			return text;
+		}
+		char[] chars = text.toCharArray();
+		do {
+			for (int i = comment.start(); i < comment.end(); i++) {
+				if (chars[i] != '\n' && chars[i] != '\r') {
+					chars[i] = ' ';
+				}
+			}
+		} while (comment.find());
+		return new String(chars);
+	}
+
+	/**
+	 * Replaces the Java line and block comments by spaces, keeping the line breaks so that the offsets are unchanged.
+	 * The string, character and text block literals are skipped, so that a <code>//</code> inside an endpoint URI is kept.
+	 */
+	static String blankJavaComments(String text) {
+		char[] chars = text.toCharArray();
+		boolean modified = false;
+		int i = 0;
+		while (i < chars.length) {
+			char c = chars[i];
+			if (c == '"' && text.startsWith("\"\"\"", i)) {
+				int end = text.indexOf("\"\"\"", i + 3);
+				while (end != -1 && isEscaped(chars, end)) {
+					end = text.indexOf("\"\"\"", end + 1);
+				}
+				i = end != -1 ? end + 3 : chars.length;
+			} else if (c == '"' || c == '\'') {
+				i = skipLiteral(chars, i, c);
+			} else if (c == '/' && i + 1 < chars.length && (chars[i + 1] == '/' || chars[i + 1] == '*')) {
+				int end;
+				if (chars[i + 1] == '/') {
+					end = i + 2;
+					while (end < chars.length && chars[end] != '\n' && chars[end] != '\r') {
+						end++;
+					}
+				} else {
+					int endOfComment = text.indexOf("*/", i + 2);
+					end = endOfComment != -1 ? endOfComment + 2 : chars.length;
+				}
+				for (int j = i; j < end; j++) {
+					if (chars[j] != '\n' && chars[j] != '\r') {
+						chars[j] = ' ';
+					}
+				}
+				modified = true;
+				i = end;
+			} else {
+				i++;
+			}
+		}
+		return modified ? new String(chars) : text;
+	}
+
+	/**
+	 * @return the index after the closing quote of the literal, or after the end of its line when it is not closed
+	 */
+	private static int skipLiteral(char[] chars, int start, char quote) {
+		int i = start + 1;
+		while (i < chars.length && chars[i] != quote && chars[i] != '\n' && chars[i] != '\r') {
+			i += chars[i] == '\\' ? 2 : 1;
+		}
+		return Math.min(i + 1, chars.length);
+	}
+
+	private static boolean isEscaped(char[] chars, int index) {
+		int backslashes = 0;
+		while (index - backslashes - 1 >= 0 && chars[index - backslashes - 1] == '\\') {
+			backslashes++;
+		}
+		return backslashes % 2 == 1;
+	}
+
+	private static List<EndpointOccurrence> scanJava(String documentUri, String text) {
+		LineOffsets lineOffsets = new LineOffsets(text);
+		List<EndpointOccurrence> occurrences = new ArrayList<>();
+		Matcher endpoint = JAVA_ENDPOINT.matcher(blankJavaComments(text));
+		while (endpoint.find()) {
+			String uri = endpoint.group(2);
+			if (ENDPOINT_URI.matcher(uri).matches()) {
+				occurrences.add(new EndpointOccurrence(documentUri, lineOffsets.toRange(endpoint.start(2), endpoint.end(2)), uri, endpoint.group(1), null));
+			}
+		}
+		return occurrences;
+	}
+
+	/**
+	 * The type of an URI is the closest <code>from</code> or <code>to</code> key above it, as in {@link CamelYamlDSLParser#getCorrespondingType(TextDocumentItem, int)}.
+	 * The id of an endpoint is the <code>id</code> key of its <code>from</code> or <code>to</code> block, which can be before or after the <code>uri</code> key.
+	 */
+	private static List<EndpointOccurrence> scanYaml(String documentUri, String text) {
+		List<EndpointOccurrence> occurrences = new ArrayList<>();
+		String[] lines = text.split("\\r?\\n", -1);
+		Deque<EndpointBlock> blocks = new ArrayDeque<>();
+		String type = null;
+		for (int lineNumber = 0; lineNumber < lines.length; lineNumber++) {
+			Matcher keyValue = YAML_KEY_VALUE.matcher(lines[lineNumber]);
+			if (!keyValue.matches()) {
+				continue;
+			}
+			String key = keyValue.group(1);
+			int indentation = keyValue.start(1);
+			while (!blocks.isEmpty() && blocks.peek().indentation >= indentation) {
+				blocks.pop();
+			}
+			EndpointBlock block = blocks.peek();
+			if (block != null && block.childIndentation == -1) {
+				block.childIndentation = indentation;
+			}
+			boolean keyOfBlock = block != null && block.childIndentation == indentation;
+			if (CamelYamlDSLParser.TO_KEY.equals(key) || CamelYamlDSLParser.FROM_KEY.equals(key)) {
+				type = key;
+			} else if (CamelYamlDSLParser.REST_KEY.equals(key)) {
+				type = null;
+			}
+			String value = keyValue.group(2);
+			if (keyOfBlock && value != null && ID_KEY.equals(key)) {
+				block.id = toYamlScalar(value);
+				if (block.occurrence != -1) {
+					EndpointOccurrence occurrence = occurrences.get(block.occurrence);
+					occurrences.set(block.occurrence, new EndpointOccurrence(documentUri, occurrence.getRange(), occurrence.getUri(), occurrence.getType(), block.id));
+				}
+			}
+			if (type != null && value != null && (CamelYamlDSLParser.URI_KEY.equals(key) || CamelYamlDSLParser.TO_KEY.equals(key))) {
+				int valueStart = keyValue.start(2);
+				int valueEnd = findEndOfYamlScalar(value);
+				if (value.startsWith("\"") || value.startsWith("'")) {
+					valueStart++;
+				}
+				String uri = lines[lineNumber].substring(valueStart, keyValue.start(2) + valueEnd);
+				if (ENDPOINT_URI.matcher(uri).matches()) {
+					Range range = new Range(new Position(lineNumber, valueStart), new Position(lineNumber, valueStart + uri.length()));
+					String id = null;
+					if (keyOfBlock && CamelYamlDSLParser.URI_KEY.equals(key)) {
+						block.occurrence = occurrences.size();
+						id = block.id;
+					}
+					occurrences.add(new EndpointOccurrence(documentUri, range, uri, type, id));
+				}
+			}
+			if (CamelYamlDSLParser.TO_KEY.equals(key) || CamelYamlDSLParser.FROM_KEY.equals(key)) {
+				blocks.push(new EndpointBlock(indentation));
+			}
+		}
+		return occurrences;
+	}
+
+	private static String toYamlScalar(String value) {
+		int end = findEndOfYamlScalar(value);
+		return value.startsWith("\"") || value.startsWith("'") ? value.substring(1, end) : value.substring(0, end);
+	}
+
+	/**
+	 * A <code>from</code> or <code>to</code> key, with the indentation of its own keys once known.
+	 */
+	private static class EndpointBlock {
+		private final int indentation;
+		private int childIndentation = -1;
+		private String id;
+		private int occurrence = -1;
+
+		EndpointBlock(int indentation) {
+			this.indentation = indentation;
+		}
+	}
+
+	/**
+	 * @return the end of the scalar in the value, excluding the closing quote or the trailing comment
+	 */
+	static int findEndOfYamlScalar(String value) {
+		if (value.startsWith("\"") || value.startsWith("'")) {
+			int closingQuote = value.indexOf(value.charAt(0), 1);
+			return closingQuote != -1 ? closingQuote : value.length();
+		}
+		int comment = value.indexOf(" #");
+		return (comment != -1 ? value.substring(0, comment) : value).stripTrailing().length();
+	}
+}
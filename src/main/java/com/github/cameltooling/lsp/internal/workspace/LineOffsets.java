@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Converts the offsets in a text to LSP positions.
+ */
+class LineOffsets {
+
+	private final int[] lineStarts;
+
+	LineOffsets(String text) {
+		List<Integer> starts = new ArrayList<>();
+		starts.add(0);
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				starts.add(i + 1);
+			}
+		}
+		lineStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	Range toRange(int startOffset, int endOffset) {
+		return new Range(toPosition(startOffset), toPosition(endOffset));
+	}
+
+	private Position toPosition(int offset) {
+		int line = Arrays.binarySearch(lineStarts, offset);
+		if (line < 0) {
+			line = -line - 2;
+		}
+		return new Position(line, offset - lineStarts[line]);
+	}
+}
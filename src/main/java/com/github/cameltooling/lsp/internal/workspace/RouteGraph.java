@@ -0,0 +1,357 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import com.github.cameltooling.lsp.internal.instancemodel.ReferenceUtils;
+
+/**
+ * Directed graph of the routes of the workspace, linked by their <code>direct</code>, <code>direct-vm</code>, <code>seda</code> and <code>vm</code> endpoints:
+ * a route calls another one when it has a producer on the key consumed by the <code>from</code> of the other one.
+ *
+ * The graph is updated per document from the endpoints found by the {@link EndpointOccurrenceScanner}: a route starts at a <code>from</code> endpoint
+ * and contains the producers following it in the document, up to the next <code>from</code>.
+ * The routes and links of a document are replaced when it changes, without recomputing the ones of the other documents,
+ * which are only reported when they call a route whose link or callees changed.
+ */
+public class RouteGraph {
+
+	private final Map<String, List<Route>> routesByDocument = new HashMap<>();
+	private final Map<String, Set<Route>> consumersByLink = new HashMap<>();
+	private final Map<String, Set<Route>> producersByLink = new HashMap<>();
+
+	/**
+	 * Replaces the routes of a document.
+	 *
+	 * @param documentKey the key identifying the document
+	 * @param occurrences the endpoints of the document in document order, or null when the document is removed
+	 * @return the keys of the other documents whose routes call, directly or not, a route of this document whose link or callees changed,
+	 * so whose dangling producers and cycles may have changed
+	 */
+	synchronized Set<String> documentChanged(String documentKey, List<EndpointOccurrence> occurrences) {
+		List<Route> previousRoutes = routesByDocument.remove(documentKey);
+		Map<String, Set<String>> previousCallees = getCalleesByLink(previousRoutes);
+		if (previousRoutes != null) {
+			for (Route route : previousRoutes) {
+				removeFrom(consumersByLink, route.getLink(), route);
+				route.producers.keySet().forEach(link -> removeFrom(producersByLink, link, route));
+			}
+		}
+		if (occurrences == null) {
+			return findCallerDocuments(previousCallees.keySet(), documentKey);
+		}
+		List<Route> routes = new ArrayList<>();
+		Route currentRoute = null;
+		for (EndpointOccurrence occurrence : occurrences) {
+			if (occurrence.isRouteStart()) {
+				currentRoute = new Route(documentKey, occurrence);
+				routes.add(currentRoute);
+			} else if (currentRoute != null && occurrence.isProducer()) {
+				currentRoute.end = occurrence.getRange().getEnd();
+				String link = toLink(occurrence);
+				if (link != null) {
+					currentRoute.producers.computeIfAbsent(link, key -> new ArrayList<>()).add(occurrence);
+				}
+			}
+		}
+		for (Route route : routes) {
+			if (route.getLink() != null) {
+				consumersByLink.computeIfAbsent(route.getLink(), link -> new LinkedHashSet<>()).add(route);
+			}
+			route.producers.keySet().forEach(link -> producersByLink.computeIfAbsent(link, key -> new LinkedHashSet<>()).add(route));
+		}
+		if (!routes.isEmpty()) {
+			routesByDocument.put(documentKey, Collections.unmodifiableList(routes));
+		}
+		Map<String, Set<String>> callees = getCalleesByLink(routes);
+		Set<String> changedLinks = new HashSet<>(previousCallees.keySet());
+		changedLinks.addAll(callees.keySet());
+		changedLinks.removeIf(link -> Objects.equals(previousCallees.get(link), callees.get(link)));
+		return findCallerDocuments(changedLinks, documentKey);
+	}
+
+	/**
+	 * @return the links called by the routes which can be called, by link of these routes
+	 */
+	private static Map<String, Set<String>> getCalleesByLink(List<Route> routes) {
+		if (routes == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, Set<String>> calleesByLink = new HashMap<>();
+		for (Route route : routes) {
+			if (route.getLink() != null) {
+				calleesByLink.computeIfAbsent(route.getLink(), link -> new HashSet<>()).addAll(route.producers.keySet());
+			}
+		}
+		return calleesByLink;
+	}
+
+	private Set<String> findCallerDocuments(Set<String> links, String changedDocumentKey) {
+		Set<String> documentKeys = new HashSet<>();
+		Set<String> visitedLinks = new HashSet<>(links);
+		Deque<String> pendingLinks = new ArrayDeque<>(links);
+		while (!pendingLinks.isEmpty()) {
+			for (Route caller : producersByLink.getOrDefault(pendingLinks.pop(), Collections.emptySet())) {
+				documentKeys.add(caller.getDocumentKey());
+				if (caller.getLink() != null && visitedLinks.add(caller.getLink())) {
+					pendingLinks.push(caller.getLink());
+				}
+			}
+		}
+		documentKeys.remove(changedDocumentKey);
+		return documentKeys;
+	}
+
+	/**
+	 * @param documentKey the key identifying the document
+	 * @param position a position in this document
+	 * @return the route whose range contains the position, or null
+	 */
+	public synchronized Route findRoute(String documentKey, Position position) {
+		for (Route route : routesByDocument.getOrDefault(documentKey, Collections.emptyList())) {
+			if (!isBefore(position, route.getFrom().getRange().getStart()) && !isBefore(route.end, position)) {
+				return route;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the routes calling this route, with the producers of each caller linked to it
+	 */
+	public synchronized Map<Route, List<EndpointOccurrence>> getCallers(Route route) {
+		Map<Route, List<EndpointOccurrence>> callers = new LinkedHashMap<>();
+		if (route.getLink() != null) {
+			for (Route caller : producersByLink.getOrDefault(route.getLink(), Collections.emptySet())) {
+				callers.put(caller, caller.producers.get(route.getLink()));
+			}
+		}
+		return callers;
+	}
+
+	/**
+	 * @return the routes called by this route, with the producers of this route linked to each of them
+	 */
+	public synchronized Map<Route, List<EndpointOccurrence>> getCallees(Route route) {
+		Map<Route, List<EndpointOccurrence>> callees = new LinkedHashMap<>();
+		route.producers.forEach((link, producers) -> {
+			for (Route callee : consumersByLink.getOrDefault(link, Collections.emptySet())) {
+				callees.computeIfAbsent(callee, key -> new ArrayList<>()).addAll(producers);
+			}
+		});
+		return callees;
+	}
+
+	/**
+	 * @param documentKey the key identifying the document
+	 * @return the producers of the routes of this document whose key is consumed by no route of the workspace, in document order
+	 */
+	public synchronized List<EndpointOccurrence> findDanglingProducers(String documentKey) {
+		List<EndpointOccurrence> danglingProducers = new ArrayList<>();
+		for (Route route : routesByDocument.getOrDefault(documentKey, Collections.emptyList())) {
+			route.producers.forEach((link, producers) -> {
+				if (!consumersByLink.containsKey(link)) {
+					danglingProducers.addAll(producers);
+				}
+			});
+		}
+		danglingProducers.sort(Comparator.comparing((EndpointOccurrence occurrence) -> occurrence.getRange().getStart().getLine())
+				.thenComparing(occurrence -> occurrence.getRange().getStart().getCharacter()));
+		return danglingProducers;
+	}
+
+	/**
+	 * Finds the strongly connected components of the graph reachable from the routes of a document with the Tarjan algorithm,
+	 * in linear time of the reachable routes and links.
+	 *
+	 * @param documentKey the key identifying the document
+	 * @return the groups of routes calling each other with at least one route of this document, including the routes calling themselves
+	 */
+	public synchronized List<List<Route>> findCycles(String documentKey) {
+		List<Route> routes = routesByDocument.getOrDefault(documentKey, Collections.emptyList());
+		List<List<Route>> cycles = new CycleFinder().find(routes);
+		cycles.removeIf(cycle -> cycle.stream().noneMatch(route -> route.getDocumentKey().equals(documentKey)));
+		return cycles;
+	}
+
+	private static boolean isBefore(Position position, Position other) {
+		return position.getLine() < other.getLine() || position.getLine() == other.getLine() && position.getCharacter() < other.getCharacter();
+	}
+
+	private static String toLink(EndpointOccurrence occurrence) {
+		String referenceKey = occurrence.getReferenceKey();
+		if (referenceKey == null || referenceKey.isEmpty() || !ReferenceUtils.isReferenceComponentKind(occurrence.getComponentName())) {
+			return null;
+		}
+		return occurrence.getComponentName() + ':' + referenceKey;
+	}
+
+	private static void removeFrom(Map<String, Set<Route>> routesByLink, String link, Route route) {
+		if (link == null) {
+			return;
+		}
+		Set<Route> routes = routesByLink.get(link);
+		if (routes != null) {
+			routes.remove(route);
+			if (routes.isEmpty()) {
+				routesByLink.remove(link);
+			}
+		}
+	}
+
+	/**
+	 * A route, identified by its <code>from</code> endpoint.
+	 */
+	public static class Route {
+
+		private final String documentKey;
+		private final EndpointOccurrence from;
+		private final String link;
+		private final Map<String, List<EndpointOccurrence>> producers = new LinkedHashMap<>();
+		private Position end;
+
+		Route(String documentKey, EndpointOccurrence from) {
+			this.documentKey = documentKey;
+			this.from = from;
+			this.link = toLink(from);
+			this.end = from.getRange().getEnd();
+		}
+
+		public String getDocumentKey() {
+			return documentKey;
+		}
+
+		public EndpointOccurrence getFrom() {
+			return from;
+		}
+
+		/**
+		 * @return the range from the <code>from</code> endpoint to the last producer of the route
+		 */
+		public Range getRange() {
+			return new Range(from.getRange().getStart(), end);
+		}
+
+		/**
+		 * @return the key consumed by this route, for instance <code>direct:name</code>, or null if it cannot be called by another route
+		 */
+		public String getLink() {
+			return link;
+		}
+	}
+
+	private class CycleFinder {
+
+		private final Map<Route, Integer> indexes = new IdentityHashMap<>();
+		private final Map<Route, Integer> lowLinks = new IdentityHashMap<>();
+		private final Deque<Route> stack = new ArrayDeque<>();
+		private final Set<Route> onStack = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final List<List<Route>> cycles = new ArrayList<>();
+		private int nextIndex;
+
+		List<List<Route>> find(List<Route> roots) {
+			for (Route route : roots) {
+				if (!indexes.containsKey(route)) {
+					connect(route);
+				}
+			}
+			return cycles;
+		}
+
+		/**
+		 * Iterative depth-first search, so that long chains of routes do not overflow the stack.
+		 */
+		private void connect(Route root) {
+			Deque<Visit> visits = new ArrayDeque<>();
+			visits.push(open(root));
+			while (!visits.isEmpty()) {
+				Visit visit = visits.peek();
+				if (visit.callees.hasNext()) {
+					Route callee = visit.callees.next();
+					if (!indexes.containsKey(callee)) {
+						visits.push(open(callee));
+					} else if (onStack.contains(callee)) {
+						lowLinks.put(visit.route, Math.min(lowLinks.get(visit.route), indexes.get(callee)));
+					}
+				} else {
+					visits.pop();
+					if (!visits.isEmpty()) {
+						Route caller = visits.peek().route;
+						lowLinks.put(caller, Math.min(lowLinks.get(caller), lowLinks.get(visit.route)));
+					}
+					if (lowLinks.get(visit.route).equals(indexes.get(visit.route))) {
+						closeComponent(visit);
+					}
+				}
+			}
+		}
+
+		private Visit open(Route route) {
+			indexes.put(route, nextIndex);
+			lowLinks.put(route, nextIndex);
+			nextIndex++;
+			stack.push(route);
+			onStack.add(route);
+			return new Visit(route, new ArrayList<>(getCallees(route).keySet()));
+		}
+
+		private void closeComponent(Visit visit) {
+			List<Route> component = new ArrayList<>();
+			Route member;
+			do {
+				member = stack.pop();
+				onStack.remove(member);
+				component.add(member);
+			} while (member != visit.route);
+			if (component.size() > 1 || visit.selfCalling) {
+				Collections.reverse(component);
+				cycles.add(component);
+			}
+		}
+	}
+
+	private static class Visit {
+
+		private final Route route;
+		private final Iterator<Route> callees;
+		private final boolean selfCalling;
+
+		Visit(Route route, List<Route> callees) {
+			this.route = route;
+			this.callees = callees.iterator();
+			this.selfCalling = callees.contains(route);
+		}
+	}
+}
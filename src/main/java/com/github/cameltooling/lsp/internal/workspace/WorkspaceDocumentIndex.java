@@ -0,0 +1,511 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import org.eclipse.lsp4j.FileEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceIndexStore.StoredDocument;
+
+/**
+ * Index of the Camel documents of the workspace, from which the {@link WorkspaceEndpointIndex}, the {@link WorkspaceSymbolIndex} and the usage statistics
+ * of the completion are derived. Each document is read and scanned once for all of them, see {@link DocumentContent}.
+ *
+ * The documents opened in the editor are indexed from their text, the other XML, Java and YAML files of the workspace folders from the disk.
+ * The workspace folders are walked once, in background when the Language Server is initialized or when they change. The index is then maintained
+ * from the events: an opened document is scanned again on the first query following a change, and a file on disk reported by
+ * <code>workspace/didChangeWatchedFiles</code> only when its size or its modification time changed and its content hash is different.
+ * When a {@link WorkspaceIndexStore} is provided, the files indexed during the previous sessions are loaded from it,
+ * so that only the files modified in between are parsed again. The files on disk are indexed with their {@link DocumentContent#redacted() redacted}
+ * endpoints, so that the option values, which may be credentials, are not persisted.
+ *
+ * The files are read and scanned without the lock of the index, which is only held to publish their content to the listeners.
+ * The content of an opened document is read without any lock, so that the queries on the current document, such as the highlight,
+ * never wait for the indexing of the workspace.
+ */
+public class WorkspaceDocumentIndex {
+
+	static final String STORE_NAME = "documents";
+	static final int STORE_VERSION = 3;
+
+	static final List<String> INDEXED_EXTENSIONS = List.of("xml", "java", "yaml", "yml");
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceDocumentIndex.class);
+	private static final long MAX_FILE_SIZE = 1024L * 1024L;
+	private static final Executor BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Camel workspace indexing"));
+
+	private final WorkspaceFileIndex fileIndex;
+	private final Map<String, OpenedDocument> openedDocuments = new ConcurrentHashMap<>();
+	private final Set<String> changedDocuments = ConcurrentHashMap.newKeySet();
+	private final Set<Path> changedFiles = ConcurrentHashMap.newKeySet();
+	/** Content of the files on disk, read without lock, written with the lock of the index held. */
+	private final Map<String, DocumentContent> fileContents = new ConcurrentHashMap<>();
+	/** Content notified to the listeners, guarded by the lock of the index. */
+	private final Map<String, DocumentContent> publishedContents = new HashMap<>();
+	private final List<ContentListener> listeners = new ArrayList<>();
+	/** Serializes the indexing of the files on disk, guards the fields below. */
+	private final Object indexingLock = new Object();
+	private volatile WorkspaceIndexStore<DocumentContent> store;
+	private final Map<String, IndexedFile> files = new HashMap<>();
+	private final Set<Path> loadedRoots = new HashSet<>();
+	private final Set<Path> modifiedRoots = new HashSet<>();
+	private List<Path> indexedRoots;
+
+	public WorkspaceDocumentIndex() {
+		this(WorkspaceFileIndex.getInstance(), createStore(WorkspaceIndexStore.getDefaultStoreDirectory()));
+	}
+
+	public WorkspaceDocumentIndex(WorkspaceFileIndex fileIndex) {
+		this(fileIndex, null);
+	}
+
+	/**
+	 * @param fileIndex the index listing the files of the workspace folders
+	 * @param store the store in which the indexed files are persisted, or null to index the workspace from scratch on each session
+	 */
+	public WorkspaceDocumentIndex(WorkspaceFileIndex fileIndex, WorkspaceIndexStore<DocumentContent> store) {
+		this.fileIndex = fileIndex;
+		this.store = store;
+		if (store != null) {
+			store.deleteUnusedFiles();
+		}
+	}
+
+	private static WorkspaceIndexStore<DocumentContent> createStore(Path storeDirectory) {
+		return new WorkspaceIndexStore<>(storeDirectory, STORE_NAME, STORE_VERSION, DocumentContent.class);
+	}
+
+	/**
+	 * Moves the persisted index to another folder, the store files of the workspace folders in the previous one being deleted.
+	 *
+	 * @param storeDirectory the folder in which the indexed files are persisted, or null to persist nothing
+	 */
+	public void setStoreDirectory(Path storeDirectory) {
+		synchronized (indexingLock) {
+			if (Objects.equals(store != null ? store.getStoreDirectory() : null, storeDirectory)) {
+				return;
+			}
+			if (store != null) {
+				fileIndex.getWorkspaceRoots().forEach(store::delete);
+				store.shutdown();
+			}
+			store = storeDirectory != null ? createStore(storeDirectory) : null;
+			loadedRoots.clear();
+			if (store != null) {
+				store.deleteUnusedFiles();
+				if (indexedRoots != null) {
+					loadedRoots.addAll(indexedRoots);
+					modifiedRoots.addAll(indexedRoots);
+					saveModifiedRoots(indexedRoots);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param documentUri the URI of the document
+	 * @param text the text of the document
+	 * @return the content to index for this document
+	 */
+	protected DocumentContent scan(String documentUri, String text) {
+		return new DocumentContent(EndpointOccurrenceScanner.scan(documentUri, text), WorkspaceSymbolScanner.scan(documentUri, text));
+	}
+
+	/**
+	 * Registers a listener notified of the changes of the indexed content. It is first notified of the documents already indexed.
+	 */
+	public synchronized void addListener(ContentListener listener) {
+		listeners.add(listener);
+		publishedContents.forEach((key, content) -> listener.contentChanged(key, null, content));
+	}
+
+	/**
+	 * Indexes a document opened or modified in the editor in place of its content on disk. The text is scanned on the next query only.
+	 */
+	public void documentChanged(String documentUri, String text) {
+		String key = toKey(documentUri);
+		openedDocuments.computeIfAbsent(key, k -> new OpenedDocument(documentUri)).setText(text != null ? text : "");
+		changedDocuments.add(key);
+	}
+
+	/**
+	 * Forgets the text of a document closed in the editor. If it is a file of the workspace, its content on disk is indexed on the next query.
+	 */
+	public void documentClosed(String documentUri) {
+		String key = toKey(documentUri);
+		if (openedDocuments.remove(key) != null) {
+			changedDocuments.add(key);
+			if (documentUri.startsWith("file:")) {
+				changedFiles.add(Paths.get(key));
+			}
+		}
+	}
+
+	/**
+	 * Schedules the files created, modified or deleted on disk to be indexed again on the next query.
+	 *
+	 * @param fileEvents the events notified by the client, a directory event applying to all its files
+	 */
+	public void filesChanged(List<FileEvent> fileEvents) {
+		for (FileEvent fileEvent : fileEvents) {
+			if (fileEvent.getUri() != null && fileEvent.getUri().startsWith("file:")) {
+				changedFiles.add(Paths.get(toKey(fileEvent.getUri())));
+			}
+		}
+	}
+
+	/**
+	 * Does not take any lock: the text of an opened document is scanned on the calling thread, and the content is published to the listeners on the next refresh.
+	 *
+	 * @param documentUri the URI of a document opened in the editor
+	 * @return the up-to-date content of this document, or null if it is not indexed
+	 */
+	DocumentContent getContent(String documentUri) {
+		String key = toKey(documentUri);
+		OpenedDocument document = openedDocuments.get(key);
+		return document != null ? document.getContent() : fileContents.get(key);
+	}
+
+	/**
+	 * Indexes the workspace in background, typically when the Language Server is initialized, so that the first query does not wait for it.
+	 *
+	 * @return a future completed when the workspace is indexed
+	 */
+	public CompletableFuture<Void> indexInBackground() {
+		return CompletableFuture.runAsync(this::indexWorkspace, BACKGROUND_EXECUTOR);
+	}
+
+	/**
+	 * Brings the index up to date with the changes of the opened documents and the file events received since the previous query.
+	 * The workspace folders are walked only if they were not indexed yet, or if a directory was created.
+	 * It must be called without holding the lock of the index, which is taken only to publish the new contents.
+	 */
+	void refresh() {
+		synchronized (indexingLock) {
+			if (indexedRoots == null || !indexedRoots.equals(fileIndex.getWorkspaceRoots())) {
+				walkWorkspace();
+			} else if (!changedFiles.isEmpty()) {
+				refreshChangedFiles();
+			}
+		}
+		publishChangedDocuments();
+	}
+
+	private void refreshChangedFiles() {
+		List<Path> changes = new ArrayList<>(changedFiles);
+		changedFiles.removeAll(changes);
+		for (Path file : changes) {
+			if (Files.isDirectory(file)) {
+				walkWorkspace();
+				return;
+			}
+			refreshChangedFile(file);
+		}
+		saveModifiedRoots(indexedRoots);
+	}
+
+	private void refreshChangedFile(Path file) {
+		Path root = findRoot(file);
+		if (root == null) {
+			return;
+		}
+		String key = file.toString();
+		if (Files.isRegularFile(file)) {
+			if (INDEXED_EXTENSIONS.contains(WorkspaceFileIndex.getExtension(file.getFileName().toString()))) {
+				refreshFile(root, key, file, files.get(key));
+			}
+		} else {
+			String directoryPrefix = key + file.getFileSystem().getSeparator();
+			List<String> removedFiles = new ArrayList<>();
+			files.forEach((fileKey, indexedFile) -> {
+				if (fileKey.equals(key) || fileKey.startsWith(directoryPrefix)) {
+					removedFiles.add(fileKey);
+					modifiedRoots.add(indexedFile.root);
+				}
+			});
+			removedFiles.forEach(this::removeFile);
+		}
+	}
+
+	/**
+	 * @return the workspace folder containing the file, or null if it is outside of the workspace or in an ignored directory
+	 */
+	private Path findRoot(Path file) {
+		for (Path root : indexedRoots) {
+			if (file.startsWith(root) && !file.equals(root) && !WorkspaceFileIndex.isIgnored(root.relativize(file))) {
+				return root;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Walks the workspace folders to index the files created, modified or deleted since they were last indexed.
+	 */
+	void indexWorkspace() {
+		synchronized (indexingLock) {
+			walkWorkspace();
+		}
+		publishChangedDocuments();
+	}
+
+	private void walkWorkspace() {
+		List<Path> roots = fileIndex.getWorkspaceRoots();
+		indexedRoots = new ArrayList<>(roots);
+		changedFiles.clear();
+		Set<String> workspaceFiles = new HashSet<>();
+		for (Path root : roots) {
+			if (store != null && loadedRoots.add(root)) {
+				loadStoredFiles(root);
+			}
+			for (Path relativeFile : fileIndex.getFiles(root, INDEXED_EXTENSIONS)) {
+				Path file = root.resolve(relativeFile);
+				String key = file.toString();
+				if (workspaceFiles.add(key)) {
+					refreshFile(root, key, file, files.get(key));
+				}
+			}
+		}
+		List<String> removedFiles = new ArrayList<>();
+		for (Map.Entry<String, IndexedFile> entry : files.entrySet()) {
+			if (!workspaceFiles.contains(entry.getKey())) {
+				removedFiles.add(entry.getKey());
+				modifiedRoots.add(entry.getValue().root);
+			}
+		}
+		removedFiles.forEach(this::removeFile);
+		saveModifiedRoots(roots);
+	}
+
+	/**
+	 * Publishes the contents of the documents opened, modified or closed in the editor since the previous refresh.
+	 * The texts are scanned before taking the lock of the index.
+	 */
+	private void publishChangedDocuments() {
+		if (changedDocuments.isEmpty()) {
+			return;
+		}
+		List<String> keys = new ArrayList<>(changedDocuments);
+		changedDocuments.removeAll(keys);
+		for (String key : keys) {
+			OpenedDocument document = openedDocuments.get(key);
+			if (document != null) {
+				document.getContent();
+			}
+		}
+		synchronized (this) {
+			for (String key : keys) {
+				OpenedDocument document = openedDocuments.get(key);
+				publish(key, document != null ? document.getContent() : fileContents.get(key));
+			}
+		}
+	}
+
+	/**
+	 * Publishes the content of a file on disk, unless the document is opened in the editor.
+	 */
+	private synchronized void publishFile(String key, DocumentContent content) {
+		if (content != null) {
+			fileContents.put(key, content);
+		} else {
+			fileContents.remove(key);
+		}
+		if (!openedDocuments.containsKey(key)) {
+			publish(key, content);
+		}
+	}
+
+	private void publish(String key, DocumentContent content) {
+		DocumentContent previousContent = content != null ? publishedContents.put(key, content) : publishedContents.remove(key);
+		if (previousContent != content) {
+			for (ContentListener listener : listeners) {
+				listener.contentChanged(key, previousContent, content);
+			}
+		}
+	}
+
+	private void loadStoredFiles(Path root) {
+		for (Map.Entry<String, StoredDocument<DocumentContent>> entry : store.load(root).entrySet()) {
+			StoredDocument<DocumentContent> storedDocument = entry.getValue();
+			if (!files.containsKey(entry.getKey()) && storedDocument.getContent() != null) {
+				IndexedFile indexedFile = new IndexedFile(root, storedDocument.getLastModified(), storedDocument.getSize(), storedDocument.getHash(), storedDocument.getContent());
+				files.put(entry.getKey(), indexedFile);
+				publishFile(entry.getKey(), indexedFile.content);
+			}
+		}
+	}
+
+	private void saveModifiedRoots(List<Path> roots) {
+		if (store == null || modifiedRoots.isEmpty()) {
+			return;
+		}
+		for (Path root : roots) {
+			if (modifiedRoots.contains(root)) {
+				Map<String, StoredDocument<DocumentContent>> storedDocuments = new HashMap<>();
+				files.forEach((key, indexedFile) -> {
+					if (root.equals(indexedFile.root)) {
+						storedDocuments.put(key, new StoredDocument<>(indexedFile.lastModified, indexedFile.size, indexedFile.hash, indexedFile.content));
+					}
+				});
+				store.save(root, storedDocuments);
+			}
+		}
+		modifiedRoots.clear();
+	}
+
+	/**
+	 * A file whose modification time changed, for instance after a checkout, is not scanned again when its content is the same.
+	 */
+	private void refreshFile(Path root, String key, Path file, IndexedFile indexedFile) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			long lastModified = attributes.lastModifiedTime().toMillis();
+			if (indexedFile != null && lastModified == indexedFile.lastModified && attributes.size() == indexedFile.size) {
+				return;
+			}
+			byte[] bytes = attributes.size() <= MAX_FILE_SIZE ? Files.readAllBytes(file) : new byte[0];
+			long hash = hash(bytes);
+			modifiedRoots.add(root);
+			if (indexedFile != null && hash == indexedFile.hash && attributes.size() == indexedFile.size) {
+				indexedFile.lastModified = lastModified;
+				return;
+			}
+			DocumentContent content = scan(file.toUri().toString(), new String(bytes, StandardCharsets.UTF_8)).redacted();
+			files.put(key, new IndexedFile(root, lastModified, attributes.size(), hash, content));
+			publishFile(key, content);
+		} catch (IOException e) {
+			LOGGER.debug("Cannot index {}", file, e);
+			if (indexedFile != null) {
+				modifiedRoots.add(root);
+				removeFile(key);
+			}
+		}
+	}
+
+	/**
+	 * Stops the store, the files saved before are still written.
+	 */
+	public void shutdown() {
+		WorkspaceIndexStore<DocumentContent> currentStore = store;
+		if (currentStore != null) {
+			currentStore.shutdown();
+		}
+	}
+
+	private static long hash(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return crc.getValue();
+	}
+
+	private void removeFile(String key) {
+		if (files.remove(key) != null) {
+			publishFile(key, null);
+		}
+	}
+
+	/**
+	 * @return the normalized path of a file URI, so that an opened document replaces its file on disk, otherwise the URI itself
+	 */
+	public static String toKey(String documentUri) {
+		if (documentUri.startsWith("file:")) {
+			try {
+				return Paths.get(new URI(documentUri)).toAbsolutePath().normalize().toString();
+			} catch (Exception e) {
+				LOGGER.debug("Cannot convert {} to a path", documentUri, e);
+			}
+		}
+		return documentUri;
+	}
+
+	/**
+	 * A document opened in the editor, whose last text is scanned on first use.
+	 */
+	private class OpenedDocument {
+
+		private final String uri;
+		private String pendingText;
+		private DocumentContent content;
+
+		OpenedDocument(String uri) {
+			this.uri = uri;
+		}
+
+		synchronized void setText(String text) {
+			pendingText = text;
+		}
+
+		synchronized DocumentContent getContent() {
+			if (pendingText != null) {
+				content = scan(uri, pendingText);
+				pendingText = null;
+			}
+			return content;
+		}
+	}
+
+	private static class IndexedFile {
+
+		private final Path root;
+		private long lastModified;
+		private final long size;
+		private final long hash;
+		private final DocumentContent content;
+
+		IndexedFile(Path root, long lastModified, long size, long hash, DocumentContent content) {
+			this.root = root;
+			this.lastModified = lastModified;
+			this.size = size;
+			this.hash = hash;
+			this.content = content;
+		}
+	}
+
+	/**
+	 * Notified of the changes of the content of the documents, with the lock of the index held.
+	 */
+	public interface ContentListener {
+
+		/**
+		 * @param documentKey the key identifying the document in the index
+		 * @param previousContent the content previously indexed for the document, or null
+		 * @param content the new content of the document, or null when it is removed from the index
+		 */
+		void contentChanged(String documentKey, DocumentContent previousContent, DocumentContent content);
+	}
+}
@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Inverted index of the endpoints declared in the Camel documents of the workspace, used to answer the references and the definitions without parsing the documents again.
+ */
+public class WorkspaceEndpointIndex implements WorkspaceDocumentIndex.ContentListener {
+
+	private static final Comparator<EndpointOccurrence> DOCUMENT_ORDER = Comparator.comparing(EndpointOccurrence::getDocumentUri)
+			.thenComparing(occurrence -> occurrence.getRange().getStart().getLine())
+			.thenComparing(occurrence -> occurrence.getRange().getStart().getCharacter());
+
+	private final Map<String, Map<String, List<EndpointOccurrence>>> occurrencesByReference = new HashMap<>();
+	private final Map<String, Map<String, List<EndpointOccurrence>>> occurrencesById = new HashMap<>();
+	private final RouteGraph routeGraph = new RouteGraph();
+	private final List<RouteGraphListener> routeGraphListeners = new CopyOnWriteArrayList<>();
+	private final WorkspaceDocumentIndex documentIndex;
+
+	/**
+	 * @param documentIndex the index of the documents of the workspace, also used as lock of this index
+	 */
+	public WorkspaceEndpointIndex(WorkspaceDocumentIndex documentIndex) {
+		this.documentIndex = documentIndex;
+		documentIndex.addListener(this);
+	}
+
+	/**
+	 * Registers a listener notified when the routes called by the routes of other documents change.
+	 */
+	public void addRouteGraphListener(RouteGraphListener listener) {
+		routeGraphListeners.add(listener);
+	}
+
+	/**
+	 * @param documentUri the URI of a document opened in the editor
+	 * @param position a position in this document
+	 * @return the endpoint whose URI contains the position
+	 */
+	public Optional<EndpointOccurrence> findOccurrence(String documentUri, Position position) {
+		return findOccurrences(documentUri).stream().filter(occurrence -> occurrence.contains(position)).findFirst();
+	}
+
+	/**
+	 * @param documentUri the URI of a document opened in the editor
+	 * @return the endpoints declared in this document, up to date with its last version, in document order
+	 */
+	public List<EndpointOccurrence> findOccurrences(String documentUri) {
+		DocumentContent content = documentIndex.getContent(documentUri);
+		return content != null ? content.getEndpoints() : Collections.emptyList();
+	}
+
+	/**
+	 * @param componentName the scheme of the endpoints, for instance <code>direct</code>
+	 * @param referenceKey the first path parameter of the endpoints
+	 * @return the endpoints of the workspace with this scheme and first path parameter, sorted by document and position
+	 */
+	public List<EndpointOccurrence> findByReference(String componentName, String referenceKey) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return collect(occurrencesByReference.get(toReference(componentName, referenceKey)));
+		}
+	}
+
+	/**
+	 * @param id the id of the endpoints
+	 * @return the endpoints of the workspace declared with this id, sorted by document and position
+	 */
+	public List<EndpointOccurrence> findById(String id) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return collect(occurrencesById.get(id));
+		}
+	}
+
+	/**
+	 * @param documentUri the URI of a document
+	 * @param position a position in this document
+	 * @return the route containing the position, or null
+	 */
+	public RouteGraph.Route findRoute(String documentUri, Position position) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return routeGraph.findRoute(WorkspaceDocumentIndex.toKey(documentUri), position);
+		}
+	}
+
+	/**
+	 * @param documentUri the URI of a document
+	 * @return the producers of this document calling a <code>direct</code>, <code>direct-vm</code>, <code>seda</code> or <code>vm</code> key consumed by no route of the workspace
+	 */
+	public List<EndpointOccurrence> findDanglingProducers(String documentUri) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return routeGraph.findDanglingProducers(WorkspaceDocumentIndex.toKey(documentUri));
+		}
+	}
+
+	/**
+	 * @param documentUri the URI of a document
+	 * @return the groups of routes of the workspace calling each other with at least one route of this document
+	 */
+	public List<List<RouteGraph.Route>> findCycles(String documentUri) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return routeGraph.findCycles(WorkspaceDocumentIndex.toKey(documentUri));
+		}
+	}
+
+	/**
+	 * @return the graph of the routes of the workspace, up to date with the opened documents and the files of the workspace
+	 */
+	public RouteGraph getRouteGraph() {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return routeGraph;
+		}
+	}
+
+	private static List<EndpointOccurrence> collect(Map<String, List<EndpointOccurrence>> occurrencesByDocument) {
+		if (occurrencesByDocument == null) {
+			return Collections.emptyList();
+		}
+		List<EndpointOccurrence> occurrences = new ArrayList<>();
+		occurrencesByDocument.values().forEach(occurrences::addAll);
+		occurrences.sort(DOCUMENT_ORDER);
+		return occurrences;
+	}
+
+	@Override
+	public void contentChanged(String documentKey, DocumentContent previousContent, DocumentContent content) {
+		List<EndpointOccurrence> previousOccurrences = previousContent != null ? previousContent.getEndpoints() : null;
+		List<EndpointOccurrence> occurrences = content != null ? content.getEndpoints() : null;
+		Set<String> callerDocumentKeys = routeGraph.documentChanged(documentKey, occurrences);
+		if (!callerDocumentKeys.isEmpty()) {
+			routeGraphListeners.forEach(listener -> listener.callersChanged(callerDocumentKeys));
+		}
+		if (previousOccurrences != null) {
+			for (EndpointOccurrence occurrence : previousOccurrences) {
+				removeFrom(occurrencesByReference, toReference(occurrence.getComponentName(), occurrence.getReferenceKey()), documentKey);
+				removeFrom(occurrencesById, occurrence.getId(), documentKey);
+			}
+		}
+		if (occurrences != null) {
+			for (EndpointOccurrence occurrence : occurrences) {
+				if (occurrence.getReferenceKey() != null && !occurrence.getReferenceKey().isEmpty()) {
+					addTo(occurrencesByReference, toReference(occurrence.getComponentName(), occurrence.getReferenceKey()), documentKey, occurrence);
+				}
+				if (occurrence.getId() != null && !occurrence.getId().isEmpty()) {
+					addTo(occurrencesById, occurrence.getId(), documentKey, occurrence);
+				}
+			}
+		}
+	}
+
+	private static void addTo(Map<String, Map<String, List<EndpointOccurrence>>> index, String indexKey, String documentKey, EndpointOccurrence occurrence) {
+		index.computeIfAbsent(indexKey, k -> new HashMap<>()).computeIfAbsent(documentKey, k -> new ArrayList<>()).add(occurrence);
+	}
+
+	private static void removeFrom(Map<String, Map<String, List<EndpointOccurrence>>> index, String indexKey, String documentKey) {
+		if (indexKey == null) {
+			return;
+		}
+		Map<String, List<EndpointOccurrence>> occurrencesByDocument = index.get(indexKey);
+		if (occurrencesByDocument != null) {
+			occurrencesByDocument.remove(documentKey);
+			if (occurrencesByDocument.isEmpty()) {
+				index.remove(indexKey);
+			}
+		}
+	}
+
+	private static String toReference(String componentName, String referenceKey) {
+		return referenceKey != null ? componentName + ':' + referenceKey : null;
+	}
+
+	/**
+	 * Notified, with the lock of the document index held, of the documents whose routes call a route which changed in another document.
+	 */
+	public interface RouteGraphListener {
+
+		/**
+		 * @param documentKeys the keys of the documents whose dangling producers and cycles may have changed
+		 */
+		void callersChanged(Set<String> documentKeys);
+	}
+}
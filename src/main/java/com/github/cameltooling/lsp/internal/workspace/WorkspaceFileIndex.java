@@ -0,0 +1,302 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory index of the files of the workspace, used by the completion of the Camel K modeline options referencing local files.
+ *
+ * Each workspace folder is walked once, skipping the IDE configuration, the build output and the dependency folders, and its files are bucketed by extension.
+ * The index is then updated with the <code>workspace/didChangeWatchedFiles</code> notifications. As the clients send them only for the files they watch,
+ * the modification time of each indexed directory is also checked on query, and only the directories whose content changed are walked again.
+ * A document outside of the workspace folders is served by an index of its own directory.
+ */
+public class WorkspaceFileIndex {
+
+	static final Set<String> IGNORED_DIRECTORIES = Set.of(".git", ".idea", ".settings", ".theia", ".vscode", "node_modules", "target");
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceFileIndex.class);
+	private static final WorkspaceFileIndex INSTANCE = new WorkspaceFileIndex();
+
+	private final List<Path> workspaceRoots = new CopyOnWriteArrayList<>();
+	private final Map<Path, DirectoryIndex> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an index of its own workspace folders, the Language Server uses the shared {@link #getInstance() instance}.
+	 */
+	public WorkspaceFileIndex() {
+	}
+
+	public static WorkspaceFileIndex getInstance() {
+		return INSTANCE;
+	}
+
+	public void setWorkspaceRoots(List<Path> roots) {
+		workspaceRoots.clear();
+		roots.stream().map(root -> root.toAbsolutePath().normalize()).forEach(workspaceRoots::add);
+		indexes.clear();
+	}
+
+	public List<Path> getWorkspaceRoots() {
+		return Collections.unmodifiableList(workspaceRoots);
+	}
+
+	/**
+	 * @param directory the directory whose files are searched, recursively
+	 * @param extensions the lower case extensions of the searched files, without the dot, or an empty collection for all files
+	 * @return the paths of the files relative to the directory, sorted
+	 */
+	public List<Path> getFiles(Path directory, Collection<String> extensions) {
+		Path normalizedDirectory = directory.toAbsolutePath().normalize();
+		Path root = findIndexRoot(normalizedDirectory);
+		DirectoryIndex index = indexes.computeIfAbsent(root, DirectoryIndex::new);
+		return index.getFiles(toIndexKey(root.relativize(normalizedDirectory)), extensions);
+	}
+
+	private Path findIndexRoot(Path directory) {
+		for (Path root : workspaceRoots) {
+			if (directory.startsWith(root) && !isIgnored(root.relativize(directory))) {
+				return root;
+			}
+		}
+		return directory;
+	}
+
+	/**
+	 * Updates the indexes with the file events notified by the client.
+	 */
+	public void filesChanged(List<FileEvent> fileEvents) {
+		for (FileEvent fileEvent : fileEvents) {
+			Path file;
+			try {
+				file = Paths.get(new URI(fileEvent.getUri())).toAbsolutePath().normalize();
+			} catch (Exception e) {
+				LOGGER.debug("Cannot index the file {}", fileEvent.getUri(), e);
+				continue;
+			}
+			for (DirectoryIndex index : indexes.values()) {
+				if (file.startsWith(index.root) && !file.equals(index.root)) {
+					index.fileChanged(file, fileEvent.getType());
+				}
+			}
+		}
+	}
+
+	static boolean isIgnored(Path relativePath) {
+		for (Path element : relativePath) {
+			if (IGNORED_DIRECTORIES.contains(element.toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	static String toIndexKey(Path relativePath) {
+		return relativePath.toString().replace(File.separatorChar, '/');
+	}
+
+	static String getExtension(String fileName) {
+		int dot = fileName.lastIndexOf('.');
+		return dot != -1 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+	}
+
+	/**
+	 * Files of a directory tree, keyed by their path relative to the root with <code>/</code> separators.
+	 */
+	static class DirectoryIndex {
+
+		private final Path root;
+		private final Map<String, FileTime> directories = new HashMap<>();
+		private final Map<String, NavigableSet<String>> filesByExtension = new HashMap<>();
+		private boolean scanned;
+
+		DirectoryIndex(Path root) {
+			this.root = root;
+		}
+
+		synchronized List<Path> getFiles(String directoryKey, Collection<String> extensions) {
+			if (scanned) {
+				refresh(directoryKey);
+			} else {
+				scan("");
+				scanned = true;
+			}
+			String prefix = directoryKey.isEmpty() ? "" : directoryKey + '/';
+			Collection<NavigableSet<String>> buckets = new ArrayList<>();
+			if (extensions.isEmpty()) {
+				buckets.addAll(filesByExtension.values());
+			} else {
+				for (String extension : extensions) {
+					NavigableSet<String> bucket = filesByExtension.get(extension);
+					if (bucket != null) {
+						buckets.add(bucket);
+					}
+				}
+			}
+			NavigableSet<String> files = new TreeSet<>();
+			for (NavigableSet<String> bucket : buckets) {
+				files.addAll(prefix.isEmpty() ? bucket : bucket.subSet(prefix, true, prefix + Character.MAX_VALUE, false));
+			}
+			List<Path> relativeFiles = new ArrayList<>(files.size());
+			for (String file : files) {
+				relativeFiles.add(Paths.get(file.substring(prefix.length())));
+			}
+			return relativeFiles;
+		}
+
+		/**
+		 * Walks again the directories of the subtree whose modification time changed since they were indexed.
+		 */
+		private void refresh(String directoryKey) {
+			List<String> indexedDirectories = new ArrayList<>(directories.keySet());
+			Collections.sort(indexedDirectories);
+			for (String indexedDirectory : indexedDirectories) {
+				FileTime indexedTime = directories.get(indexedDirectory);
+				if (indexedTime != null && isInSubtree(indexedDirectory, directoryKey)) {
+					FileTime currentTime = getLastModifiedTime(root.resolve(indexedDirectory));
+					if (!indexedTime.equals(currentTime)) {
+						removeSubtree(indexedDirectory);
+						if (currentTime != null) {
+							scan(indexedDirectory);
+						}
+					}
+				}
+			}
+		}
+
+		synchronized void fileChanged(Path file, FileChangeType type) {
+			if (!scanned) {
+				return;
+			}
+			Path relativePath = root.relativize(file);
+			if (isIgnored(relativePath)) {
+				return;
+			}
+			String key = toIndexKey(relativePath);
+			if (type == FileChangeType.Created) {
+				if (Files.isDirectory(file)) {
+					scan(key);
+				} else if (Files.isRegularFile(file)) {
+					addFile(key);
+				}
+			} else if (type == FileChangeType.Deleted) {
+				removeFile(key);
+				removeSubtree(key);
+			}
+			String parentKey = relativePath.getParent() != null ? toIndexKey(relativePath.getParent()) : "";
+			directories.computeIfPresent(parentKey, (directory, time) -> {
+				FileTime currentTime = getLastModifiedTime(file.getParent());
+				return currentTime != null ? currentTime : time;
+			});
+		}
+
+		private void scan(String directoryKey) {
+			Path start = root.resolve(directoryKey);
+			try {
+				Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+					@Override
+					public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+						if (!dir.equals(start) && IGNORED_DIRECTORIES.contains(dir.getFileName().toString())) {
+							return FileVisitResult.SKIP_SUBTREE;
+						}
+						directories.put(toIndexKey(root.relativize(dir)), attrs.lastModifiedTime());
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+						if (attrs.isRegularFile()) {
+							addFile(toIndexKey(root.relativize(file)));
+						}
+						return FileVisitResult.CONTINUE;
+					}
+
+					@Override
+					public FileVisitResult visitFileFailed(Path file, IOException exc) {
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			} catch (IOException e) {
+				LOGGER.debug("Cannot index the directory {}", start, e);
+			}
+		}
+
+		private void addFile(String key) {
+			String fileName = key.substring(key.lastIndexOf('/') + 1);
+			filesByExtension.computeIfAbsent(getExtension(fileName), extension -> new TreeSet<>()).add(key);
+		}
+
+		private void removeFile(String key) {
+			String fileName = key.substring(key.lastIndexOf('/') + 1);
+			NavigableSet<String> bucket = filesByExtension.get(getExtension(fileName));
+			if (bucket != null) {
+				bucket.remove(key);
+			}
+		}
+
+		private void removeSubtree(String directoryKey) {
+			directories.keySet().removeIf(directory -> isInSubtree(directory, directoryKey));
+			String prefix = directoryKey.isEmpty() ? "" : directoryKey + '/';
+			for (NavigableSet<String> bucket : filesByExtension.values()) {
+				if (prefix.isEmpty()) {
+					bucket.clear();
+				} else {
+					bucket.subSet(prefix, true, prefix + Character.MAX_VALUE, false).clear();
+				}
+			}
+		}
+
+		private static boolean isInSubtree(String directory, String subtreeRoot) {
+			return subtreeRoot.isEmpty() || directory.equals(subtreeRoot) || directory.startsWith(subtreeRoot + '/');
+		}
+
+		private static FileTime getLastModifiedTime(Path directory) {
+			try {
+				return Files.getLastModifiedTime(directory, LinkOption.NOFOLLOW_LINKS);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+	}
+}
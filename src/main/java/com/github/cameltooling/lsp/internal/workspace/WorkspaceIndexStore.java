@@ -0,0 +1,281 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import com.github.cameltooling.lsp.internal.util.BackgroundThreadFactory;
+
+/**
+ * Stores the content of a {@link WorkspaceDocumentIndex} in a JSON file, one per workspace folder, so that only the files modified since the previous session
+ * are parsed again when the Language Server restarts.
+ *
+ * Each file is stored with its modification time, size and content hash. The content of the LSP4J types is serialized as on the wire.
+ * The store files of the workspace folders which no longer exist, or which were not loaded for {@link #UNUSED_STORE_RETENTION}, are deleted.
+ *
+ * @param <T> the content indexed for one document
+ */
+public class WorkspaceIndexStore<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceIndexStore.class);
+	static final String STORE_DIRECTORY_PROPERTY = "camel.lsp.index.directory";
+	static final Duration UNUSED_STORE_RETENTION = Duration.ofDays(30);
+	private static final Duration TEMPORARY_FILE_RETENTION = Duration.ofDays(1);
+	private static final String STORE_EXTENSION = ".json";
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+	private static final Gson GSON = new MessageJsonHandler(Collections.emptyMap()).getGson();
+
+	private final Path storeDirectory;
+	private final String name;
+	private final int version;
+	private final Type storeType;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(new BackgroundThreadFactory("Camel workspace index store"));
+
+	/**
+	 * @param storeDirectory the folder containing the store files
+	 * @param name the name of the index, part of the store file names
+	 * @param version the version of the indexed content, to increment when the scanner changes so that the stores of the previous versions are ignored
+	 * @param contentType the type of the content indexed for one document
+	 */
+	public WorkspaceIndexStore(Path storeDirectory, String name, int version, Type contentType) {
+		this.storeDirectory = storeDirectory;
+		this.name = name;
+		this.version = version;
+		this.storeType = TypeToken.getParameterized(Store.class, contentType).getType();
+	}
+
+	/**
+	 * @return the folder set by the <code>camel.lsp.index.directory</code> system property, <code>~/.camel-lsp/index</code> by default
+	 */
+	public static Path getDefaultStoreDirectory() {
+		String storeDirectory = System.getProperty(STORE_DIRECTORY_PROPERTY);
+		if (storeDirectory != null && !storeDirectory.isBlank()) {
+			return Paths.get(storeDirectory);
+		}
+		return Paths.get(System.getProperty("user.home"), ".camel-lsp", "index");
+	}
+
+	/**
+	 * @param root a workspace folder
+	 * @return the files of this folder stored during a previous session, by absolute path
+	 */
+	public Map<String, StoredDocument<T>> load(Path root) {
+		Path storeFile = getStoreFile(root);
+		if (Files.isRegularFile(storeFile)) {
+			try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+				Store<T> store = GSON.fromJson(reader, storeType);
+				Files.setLastModifiedTime(storeFile, FileTime.fromMillis(System.currentTimeMillis()));
+				if (store != null && store.version == version && store.documents != null) {
+					return store.documents;
+				}
+			} catch (IOException | JsonParseException e) {
+				LOGGER.warn("Cannot load the workspace index from {}", storeFile, e);
+			}
+		}
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * Writes the files of a workspace folder in background, replacing the previous store file once fully written.
+	 *
+	 * @param root a workspace folder
+	 * @param documents the files of this folder, by absolute path
+	 * @return a future completed when the store file is written
+	 */
+	public Future<?> save(Path root, Map<String, StoredDocument<T>> documents) {
+		return executor.submit(() -> write(root, documents));
+	}
+
+	/**
+	 * Deletes the store file of a workspace folder in background, for instance when the index is no longer persisted in this folder.
+	 *
+	 * @param root a workspace folder
+	 * @return a future completed when the store file is deleted
+	 */
+	public Future<?> delete(Path root) {
+		return executor.submit(() -> deleteFile(getStoreFile(root)));
+	}
+
+	/**
+	 * Deletes in background the store files of this index whose workspace folder no longer exists or which were not loaded for {@link #UNUSED_STORE_RETENTION},
+	 * and the temporary files left by an interrupted write.
+	 *
+	 * @return a future completed when the unused files are deleted
+	 */
+	public Future<?> deleteUnusedFiles() {
+		return executor.submit(this::deleteUnusedStoreFiles);
+	}
+
+	private void deleteUnusedStoreFiles() {
+		if (!Files.isDirectory(storeDirectory)) {
+			return;
+		}
+		String storeSuffix = "-" + name + STORE_EXTENSION;
+		try (Stream<Path> files = Files.list(storeDirectory)) {
+			files.forEach(file -> {
+				String fileName = file.getFileName().toString();
+				if (fileName.endsWith(storeSuffix) && (isOlderThan(file, UNUSED_STORE_RETENTION) || !isRootExisting(file))
+						|| fileName.contains(storeSuffix) && fileName.endsWith(TEMPORARY_EXTENSION) && isOlderThan(file, TEMPORARY_FILE_RETENTION)) {
+					deleteFile(file);
+				}
+			});
+		} catch (IOException e) {
+			LOGGER.debug("Cannot list the workspace index stores of {}", storeDirectory, e);
+		}
+	}
+
+	private static boolean isOlderThan(Path file, Duration retention) {
+		try {
+			return System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > retention.toMillis();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static boolean isRootExisting(Path storeFile) {
+		try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+			StoreHeader header = GSON.fromJson(reader, StoreHeader.class);
+			return header == null || header.root == null || Files.isDirectory(Paths.get(header.root));
+		} catch (IOException | JsonParseException | InvalidPathException e) {
+			return false;
+		}
+	}
+
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOGGER.debug("Cannot delete {}", file, e);
+		}
+	}
+
+	/**
+	 * @return a future completed when the stores scheduled before are written
+	 */
+	Future<?> flush() {
+		return executor.submit(() -> {});
+	}
+
+	private void write(Path root, Map<String, StoredDocument<T>> documents) {
+		Path storeFile = getStoreFile(root);
+		try {
+			Files.createDirectories(storeFile.getParent());
+			Path temporaryFile = Files.createTempFile(storeFile.getParent(), storeFile.getFileName().toString(), TEMPORARY_EXTENSION);
+			try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+				Store<T> store = new Store<>();
+				store.root = root.toAbsolutePath().toString();
+				store.version = version;
+				store.documents = documents;
+				GSON.toJson(store, storeType, writer);
+			}
+			Files.move(temporaryFile, storeFile, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			LOGGER.warn("Cannot save the workspace index to {}", storeFile, e);
+		}
+	}
+
+	Path getStoreFile(Path root) {
+		String rootHash;
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(root.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+			rootHash = String.format("%040x", new BigInteger(1, digest));
+		} catch (NoSuchAlgorithmException e) {
+			rootHash = Integer.toHexString(root.toAbsolutePath().toString().hashCode());
+		}
+		return storeDirectory.resolve(rootHash + "-" + name + STORE_EXTENSION);
+	}
+
+	public Path getStoreDirectory() {
+		return storeDirectory;
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * The content indexed for a file, with the attributes of the file when it was indexed.
+	 */
+	public static class StoredDocument<T> {
+
+		private final long lastModified;
+		private final long size;
+		private final long hash;
+		private final T content;
+
+		public StoredDocument(long lastModified, long size, long hash, T content) {
+			this.lastModified = lastModified;
+			this.size = size;
+			this.hash = hash;
+			this.content = content;
+		}
+
+		public long getLastModified() {
+			return lastModified;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public long getHash() {
+			return hash;
+		}
+
+		public T getContent() {
+			return content;
+		}
+	}
+
+	private static class StoreHeader {
+		private String root;
+	}
+
+	private static class Store<T> {
+		private String root;
+		private int version;
+		private Map<String, StoredDocument<T>> documents;
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.lsp4j.WorkspaceSymbol;
+
+/**
+ * Index of the route IDs, <code>from</code> endpoints, camelContext IDs and Kamelet binding names of the workspace, used to answer the workspace symbol requests.
+ */
+public class WorkspaceSymbolIndex implements WorkspaceDocumentIndex.ContentListener {
+
+	static final int NO_MATCH = -1;
+	private static final int EXACT_MATCH = 0;
+	private static final int PREFIX_MATCH = 1;
+	private static final int SUBSTRING_MATCH = 2;
+	private static final int SUBSEQUENCE_MATCH = 3;
+
+	private final Map<String, List<IndexedSymbol>> symbolsByDocument = new HashMap<>();
+	private final WorkspaceDocumentIndex documentIndex;
+
+	/**
+	 * @param documentIndex the index of the documents of the workspace, also used as lock of this index
+	 */
+	public WorkspaceSymbolIndex(WorkspaceDocumentIndex documentIndex) {
+		this.documentIndex = documentIndex;
+		documentIndex.addListener(this);
+	}
+
+	@Override
+	public void contentChanged(String documentKey, DocumentContent previousContent, DocumentContent content) {
+		List<WorkspaceSymbol> symbols = content != null ? content.getSymbols() : null;
+		if (symbols == null || symbols.isEmpty()) {
+			symbolsByDocument.remove(documentKey);
+		} else {
+			List<IndexedSymbol> indexedSymbols = new ArrayList<>(symbols.size());
+			symbols.forEach(symbol -> indexedSymbols.add(new IndexedSymbol(symbol)));
+			symbolsByDocument.put(documentKey, indexedSymbols);
+		}
+	}
+
+	/**
+	 * The symbols whose name starts with the query come first, then the ones containing it, then the ones containing its characters in order.
+	 * The comparison is case-insensitive and an empty query matches all symbols.
+	 *
+	 * @param query the query typed by the user
+	 * @param maxResults the maximum number of symbols returned
+	 * @return the best matching symbols of the workspace, sorted by relevance
+	 */
+	public List<WorkspaceSymbol> search(String query, int maxResults) {
+		documentIndex.refresh();
+		synchronized (documentIndex) {
+			return searchIndexedSymbols(query, maxResults);
+		}
+	}
+
+	private List<WorkspaceSymbol> searchIndexedSymbols(String query, int maxResults) {
+		String lowerCaseQuery = query != null ? query.toLowerCase(Locale.ROOT) : "";
+		List<ScoredSymbol> matches = new ArrayList<>();
+		for (List<IndexedSymbol> symbols : symbolsByDocument.values()) {
+			for (IndexedSymbol symbol : symbols) {
+				int score = score(symbol.lowerCaseName, lowerCaseQuery);
+				if (score != NO_MATCH) {
+					matches.add(new ScoredSymbol(symbol, score));
+				}
+			}
+		}
+		matches.sort(Comparator.<ScoredSymbol>comparingInt(match -> match.score)
+				.thenComparingInt(match -> match.symbol.lowerCaseName.length())
+				.thenComparing(match -> match.symbol.symbol.getName())
+				.thenComparing(match -> match.symbol.symbol.getLocation().getLeft().getUri()));
+		List<WorkspaceSymbol> result = new ArrayList<>(Math.min(matches.size(), maxResults));
+		for (int i = 0; i < matches.size() && i < maxResults; i++) {
+			result.add(matches.get(i).symbol.symbol);
+		}
+		return result;
+	}
+
+	/**
+	 * @param lowerCaseName the name of the symbol in lower case
+	 * @param lowerCaseQuery the query in lower case
+	 * @return the score of the match, the lower the better, or {@link #NO_MATCH}
+	 */
+	static int score(String lowerCaseName, String lowerCaseQuery) {
+		if (lowerCaseQuery.isEmpty() || lowerCaseName.startsWith(lowerCaseQuery)) {
+			return lowerCaseName.length() == lowerCaseQuery.length() ? EXACT_MATCH : PREFIX_MATCH;
+		}
+		if (lowerCaseName.contains(lowerCaseQuery)) {
+			return SUBSTRING_MATCH;
+		}
+		int nameIndex = 0;
+		for (int queryIndex = 0; queryIndex < lowerCaseQuery.length(); queryIndex++) {
+			nameIndex = lowerCaseName.indexOf(lowerCaseQuery.charAt(queryIndex), nameIndex) + 1;
+			if (nameIndex == 0) {
+				return NO_MATCH;
+			}
+		}
+		return SUBSEQUENCE_MATCH;
+	}
+
+	private static class IndexedSymbol {
+
+		private final WorkspaceSymbol symbol;
+		private final String lowerCaseName;
+
+		IndexedSymbol(WorkspaceSymbol symbol) {
+			this.symbol = symbol;
+			this.lowerCaseName = symbol.getName().toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private static class ScoredSymbol {
+
+		private final IndexedSymbol symbol;
+		private final int score;
+
+		ScoredSymbol(IndexedSymbol symbol, int score) {
+			this.symbol = symbol;
+			this.score = score;
+		}
+	}
+}
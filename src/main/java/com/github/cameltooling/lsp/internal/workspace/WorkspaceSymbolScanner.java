@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.parser.CamelYamlDSLParser;
+import com.github.cameltooling.lsp.internal.parser.ParserFileHelperFactory;
+
+/**
+ * Finds the symbols searchable in the whole workspace with a single pass over the text of XML, Java and YAML DSL documents:
+ * <ul>
+ * <li>the camelContext IDs, as {@link SymbolKind#Module}</li>
+ * <li>the route IDs, as {@link SymbolKind#Function}</li>
+ * <li>the <code>from</code> endpoints, as {@link SymbolKind#Event}, contained by their route</li>
+ * <li>the names of the Kamelet bindings and pipes, as {@link SymbolKind#Object}</li>
+ * </ul>
+ */
+public class WorkspaceSymbolScanner {
+
+	private static final String CAMEL_CONTEXT_KEY = "camelContext";
+	private static final String ROUTE_KEY = "route";
+	private static final Pattern JAVA_CLASS = Pattern.compile("\\bclass\\s+(\\w+)");
+	private static final Pattern JAVA_FROM_OR_ROUTE_ID = Pattern.compile("(?:\\b(from)|\\.(routeId))\\s*\\(\\s*\"((?:[^\"\\\\\\r\\n]|\\\\.)*)\"");
+	private static final String ID_KEY = "id";
+	private static final String YAML_KIND_KEY = "kind";
+	private static final String YAML_METADATA_KEY = "metadata";
+	private static final String YAML_NAME_KEY = "name";
+	private static final List<String> KAMELET_BINDING_KINDS = List.of("KameletBinding", "Pipe");
+
+	private WorkspaceSymbolScanner() {
+		// util class
+	}
+
+	/**
+	 * @param documentUri the URI of the document, used to determine the DSL
+	 * @param text the content of the document
+	 * @return the symbols in document order, empty if the document is not a Camel one
+	 */
+	public static List<WorkspaceSymbol> scan(String documentUri, String text) {
+		if (text == null) {
+			return Collections.emptyList();
+		}
+		TextDocumentItem document = new TextDocumentItem(documentUri, CamelLanguageServer.LANGUAGE_ID, 0, text);
+		ParserFileHelperFactory parserFileHelperFactory = new ParserFileHelperFactory();
+		if (parserFileHelperFactory.isPotentiallyCamelXMLDSL(document, documentUri)) {
+			return scanXml(documentUri, text);
+		} else if (parserFileHelperFactory.isPotentiallyCamelJavaDSL(document, documentUri)) {
+			return scanJava(documentUri, text);
+		} else if (parserFileHelperFactory.isCamelYamlDSL(document, documentUri)) {
+			return scanYaml(documentUri, text);
+		}
+		return Collections.emptyList();
+	}
+
+	private static List<WorkspaceSymbol> scanXml(String documentUri, String text) {
+		String textWithoutComments = EndpointOccurrenceScanner.blankComments(text);
+		LineOffsets lineOffsets = new LineOffsets(text);
+		List<WorkspaceSymbol> symbols = new ArrayList<>();
+		String camelContextId = null;
+		String routeId = null;
+		Matcher element = EndpointOccurrenceScanner.XML_ELEMENT.matcher(textWithoutComments);
+		while (element.find()) {
+			String tagName = element.group(1);
+			String localName = tagName.substring(tagName.indexOf(':') + 1);
+			boolean isCamelContext = CAMEL_CONTEXT_KEY.equals(localName);
+			boolean isRoute = ROUTE_KEY.equals(localName);
+			boolean isFrom = CamelYamlDSLParser.FROM_KEY.equals(localName);
+			if (isCamelContext) {
+				camelContextId = null;
+				routeId = null;
+			} else if (isRoute) {
+				routeId = null;
+			}
+			String attributes = element.group(2);
+			if (attributes == null || !(isCamelContext || isRoute || isFrom)) {
+				continue;
+			}
+			Matcher attribute = EndpointOccurrenceScanner.XML_ATTRIBUTE.matcher(attributes);
+			while (attribute.find()) {
+				int valueGroup = attribute.group(2) != null ? 2 : 3;
+				String value = attribute.group(valueGroup);
+				if (value.isEmpty()) {
+					continue;
+				}
+				int valueStart = element.start(2) + attribute.start(valueGroup);
+				Range range = lineOffsets.toRange(valueStart, valueStart + value.length());
+				boolean isId = ID_KEY.equals(attribute.group(1));
+				if (isCamelContext && isId) {
+					camelContextId = value;
+					symbols.add(createSymbol(value, SymbolKind.Module, documentUri, range, null));
+				} else if (isRoute && isId) {
+					routeId = value;
+					symbols.add(createSymbol(value, SymbolKind.Function, documentUri, range, camelContextId));
+				} else if (isFrom && !isId) {
+					symbols.add(createSymbol(value, SymbolKind.Event, documentUri, range, routeId != null ? routeId : camelContextId));
+				}
+			}
+		}
+		return symbols;
+	}
+
+	/**
+	 * In the Java DSL, the route ID is declared after the <code>from</code> endpoint, so a <code>from</code> is contained by the first <code>routeId</code> before the next <code>from</code>.
+	 */
+	private static List<WorkspaceSymbol> scanJava(String documentUri, String text) {
+		LineOffsets lineOffsets = new LineOffsets(text);
+		String textWithoutComments = EndpointOccurrenceScanner.blankJavaComments(text);
+		Matcher javaClass = JAVA_CLASS.matcher(textWithoutComments);
+		String className = javaClass.find() ? javaClass.group(1) : null;
+		List<WorkspaceSymbol> symbols = new ArrayList<>();
+		List<WorkspaceSymbol> fromsWithoutRouteId = new ArrayList<>();
+		Matcher matcher = JAVA_FROM_OR_ROUTE_ID.matcher(textWithoutComments);
+		while (matcher.find()) {
+			String value = matcher.group(3);
+			if (value.isEmpty()) {
+				continue;
+			}
+			Range range = lineOffsets.toRange(matcher.start(3), matcher.end(3));
+			if (matcher.group(1) != null) {
+				fromsWithoutRouteId.clear();
+				WorkspaceSymbol from = createSymbol(value, SymbolKind.Event, documentUri, range, className);
+				fromsWithoutRouteId.add(from);
+				symbols.add(from);
+			} else {
+				fromsWithoutRouteId.forEach(from -> from.setContainerName(value));
+				fromsWithoutRouteId.clear();
+				symbols.add(createSymbol(value, SymbolKind.Function, documentUri, range, className));
+			}
+		}
+		return symbols;
+	}
+
+	/**
+	 * The YAML keys are matched line per line, their parent being determined by the indentation.
+	 */
+	private static List<WorkspaceSymbol> scanYaml(String documentUri, String text) {
+		List<WorkspaceSymbol> symbols = new ArrayList<>();
+		String[] lines = text.split("\\r?\\n", -1);
+		Deque<YamlKey> parents = new ArrayDeque<>();
+		String routeId = null;
+		String kind = null;
+		WorkspaceSymbol bindingName = null;
+		for (int lineNumber = 0; lineNumber < lines.length; lineNumber++) {
+			Matcher keyValue = EndpointOccurrenceScanner.YAML_KEY_VALUE.matcher(lines[lineNumber]);
+			if (!keyValue.matches()) {
+				continue;
+			}
+			String key = keyValue.group(1);
+			int indentation = keyValue.start(1);
+			while (!parents.isEmpty() && parents.peek().indentation >= indentation) {
+				parents.pop();
+			}
+			String parentKey = parents.isEmpty() ? null : parents.peek().key;
+			boolean isTopLevel = parents.isEmpty() && indentation == 0;
+			parents.push(new YamlKey(key, indentation));
+			if (ROUTE_KEY.equals(key) || CamelYamlDSLParser.FROM_KEY.equals(key) && !ROUTE_KEY.equals(parentKey)) {
+				routeId = null;
+			}
+			String value = keyValue.group(2);
+			if (value == null) {
+				continue;
+			}
+			int valueStart = keyValue.start(2);
+			int valueEnd = valueStart + EndpointOccurrenceScanner.findEndOfYamlScalar(value);
+			if (value.startsWith("\"") || value.startsWith("'")) {
+				valueStart++;
+			}
+			if (valueStart >= valueEnd) {
+				continue;
+			}
+			String scalar = lines[lineNumber].substring(valueStart, valueEnd);
+			Range range = new Range(new Position(lineNumber, valueStart), new Position(lineNumber, valueEnd));
+			if (ID_KEY.equals(key) && ROUTE_KEY.equals(parentKey)) {
+				routeId = scalar;
+				symbols.add(createSymbol(scalar, SymbolKind.Function, documentUri, range, null));
+			} else if (CamelYamlDSLParser.URI_KEY.equals(key) && CamelYamlDSLParser.FROM_KEY.equals(parentKey)) {
+				symbols.add(createSymbol(scalar, SymbolKind.Event, documentUri, range, routeId));
+			} else if (isTopLevel && YAML_KIND_KEY.equals(key)) {
+				kind = scalar;
+			} else if (YAML_NAME_KEY.equals(key) && YAML_METADATA_KEY.equals(parentKey) && parents.size() == 2 && bindingName == null) {
+				bindingName = createSymbol(scalar, SymbolKind.Object, documentUri, range, null);
+			}
+		}
+		if (bindingName != null && KAMELET_BINDING_KINDS.contains(kind)) {
+			bindingName.setContainerName(kind);
+			symbols.add(0, bindingName);
+		}
+		return symbols;
+	}
+
+	private static WorkspaceSymbol createSymbol(String name, SymbolKind kind, String documentUri, Range range, String containerName) {
+		WorkspaceSymbol symbol = new WorkspaceSymbol(name, kind, Either.forLeft(new Location(documentUri, range)));
+		symbol.setContainerName(containerName);
+		return symbol;
+	}
+
+	private static class YamlKey {
+
+		private final String key;
+		private final int indentation;
+
+		YamlKey(String key, int indentation) {
+			this.key = key;
+			this.indentation = indentation;
+		}
+	}
+}
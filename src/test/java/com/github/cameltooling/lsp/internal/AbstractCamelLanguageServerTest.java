@@ -33,9 +33,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
@@ -79,6 +81,7 @@ public abstract class AbstractCamelLanguageServerTest {
 	protected static final String DUMMY_URI = "dummyUri";
 	private String extensionUsed;
 	protected PublishDiagnosticsParams lastPublishedDiagnostics;
+	protected Map<String, PublishDiagnosticsParams> publishedDiagnostics = new ConcurrentHashMap<>();
 	protected List<TelemetryEvent> telemetryEvents = new ArrayList<>();
 	protected CamelLanguageServer camelLanguageServer;
 
@@ -137,6 +140,7 @@ public abstract class AbstractCamelLanguageServerTest {
 		@Override
 		public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
 			AbstractCamelLanguageServerTest.this.lastPublishedDiagnostics = diagnostics;
+			AbstractCamelLanguageServerTest.this.publishedDiagnostics.put(diagnostics.getUri(), diagnostics);
 		}
 
 		@Override
@@ -183,6 +187,7 @@ public abstract class AbstractCamelLanguageServerTest {
 		params.setProcessId(new Random().nextInt());
 		params.setRootUri(getTestResource("/workspace/").toURI().toString());
 		params.setInitializationOptions(getInitializationOptions());
+		params.setCapabilities(getClientCapabilities());
 		return params;
 	}
 	
@@ -190,6 +195,10 @@ public abstract class AbstractCamelLanguageServerTest {
 		return Collections.emptyMap();
 	}
 	
+	protected ClientCapabilities getClientCapabilities() {
+		return null;
+	}
+	
 	protected CamelLanguageServer initializeLanguageServer(InputStream stream, String suffixFileName) {
 		try (BufferedReader buffer = new BufferedReader(new InputStreamReader(stream))) {
             return initializeLanguageServer(buffer.lines().collect(Collectors.joining("\n")), suffixFileName);
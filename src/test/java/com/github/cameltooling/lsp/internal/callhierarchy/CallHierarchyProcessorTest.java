@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.callhierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.CallHierarchyIncomingCall;
+import org.eclipse.lsp4j.CallHierarchyIncomingCallsParams;
+import org.eclipse.lsp4j.CallHierarchyItem;
+import org.eclipse.lsp4j.CallHierarchyOutgoingCall;
+import org.eclipse.lsp4j.CallHierarchyOutgoingCallsParams;
+import org.eclipse.lsp4j.CallHierarchyPrepareParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class CallHierarchyProcessorTest extends AbstractCamelLanguageServerTest {
+
+	private static final String XML_ROUTES = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "  <route>\n"
+			+ "    <from uri=\"timer:callHierarchy\"/>\n"
+			+ "    <to uri=\"direct:callHierarchyProcess\"/>\n"
+			+ "    <to uri=\"seda:callHierarchyAudit\"/>\n"
+			+ "  </route>\n"
+			+ "  <route>\n"
+			+ "    <from uri=\"direct:callHierarchyProcess\"/>\n"
+			+ "    <to uri=\"log:process\"/>\n"
+			+ "  </route>\n"
+			+ "</camelContext>";
+	private static final String JAVA_ROUTES = "import org.apache.camel.builder.RouteBuilder;\n"
+			+ "public class AuditRoutes extends RouteBuilder {\n"
+			+ "  public void configure() {\n"
+			+ "    from(\"seda:callHierarchyAudit?concurrentConsumers=2\").to(\"direct:callHierarchyProcess\");\n"
+			+ "  }\n"
+			+ "}";
+
+	@Test
+	void testIncomingAndOutgoingCallsAcrossDocuments() throws Exception {
+		TextDocumentItem xml = new TextDocumentItem("callHierarchy.xml", CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTES);
+		TextDocumentItem java = new TextDocumentItem("AuditRoutes.java", CamelLanguageServer.LANGUAGE_ID, 0, JAVA_ROUTES);
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", xml, java);
+
+		List<CallHierarchyItem> timerRoute = languageServer.getTextDocumentService()
+				.prepareCallHierarchy(new CallHierarchyPrepareParams(new TextDocumentIdentifier("callHierarchy.xml"), new Position(3, 10))).get();
+		assertThat(timerRoute).singleElement().satisfies(item -> {
+			assertThat(item.getName()).isEqualTo("timer:callHierarchy");
+			assertThat(item.getSelectionRange()).isEqualTo(new Range(new Position(2, 15), new Position(2, 34)));
+			assertThat(item.getRange()).isEqualTo(new Range(new Position(2, 15), new Position(4, 36)));
+		});
+
+		List<CallHierarchyOutgoingCall> outgoingCalls = languageServer.getTextDocumentService()
+				.callHierarchyOutgoingCalls(new CallHierarchyOutgoingCallsParams(timerRoute.get(0))).get();
+		assertThat(outgoingCalls).extracting(call -> call.getTo().getName()).containsExactly("direct:callHierarchyProcess", "seda:callHierarchyAudit?concurrentConsumers=2");
+		assertThat(outgoingCalls.get(0).getFromRanges()).containsExactly(new Range(new Position(3, 13), new Position(3, 40)));
+		assertThat(outgoingCalls.get(1).getTo().getUri()).isEqualTo("AuditRoutes.java");
+
+		List<CallHierarchyIncomingCall> incomingCalls = languageServer.getTextDocumentService()
+				.callHierarchyIncomingCalls(new CallHierarchyIncomingCallsParams(outgoingCalls.get(0).getTo())).get();
+		assertThat(incomingCalls).extracting(call -> call.getFrom().getName()).containsExactlyInAnyOrder("timer:callHierarchy", "seda:callHierarchyAudit?concurrentConsumers=2");
+	}
+
+	@Test
+	void testNoRouteAtPosition() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem("callHierarchy.xml", CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTES));
+
+		assertThat(languageServer.getTextDocumentService()
+				.prepareCallHierarchy(new CallHierarchyPrepareParams(new TextDocumentIdentifier("callHierarchy.xml"), new Position(0, 3))).get()).isEmpty();
+	}
+}
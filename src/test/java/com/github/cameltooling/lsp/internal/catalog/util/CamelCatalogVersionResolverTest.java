@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CamelCatalogVersionResolverTest {
+
+	private static final String VERSION = "3.99.0";
+	private static final String RESOURCE_NAME = "org/apache/camel/catalog/dummy.txt";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testResolveFromLocalRepository() throws Exception {
+		Path localRepository = tempDir.resolve("m2");
+		Path jar = createCatalogJar(localRepository);
+
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(localRepository, tempDir.resolve("cache"), Collections.emptyList(), true);
+
+		assertThat(resolver.resolve(VERSION)).contains(jar);
+		assertThat(tempDir.resolve("cache")).doesNotExist();
+	}
+
+	@Test
+	void testResolveFromFileMirrorIsCached() throws Exception {
+		Path mirror = tempDir.resolve("mirror");
+		createCatalogJar(mirror);
+		Path cache = tempDir.resolve("cache");
+
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir.resolve("m2"), cache, Arrays.asList(tempDir.resolve("unknownMirror").toString(), mirror.toString()), false);
+		Optional<Path> resolved = resolver.resolve(VERSION);
+
+		Path expectedCachedJar = cache.resolve(CamelCatalogVersionResolver.getArtifactPath(VERSION));
+		assertThat(resolved).contains(expectedCachedJar);
+		assertThat(expectedCachedJar).exists();
+
+		CamelCatalogVersionResolver offlineResolverWithoutMirror = new CamelCatalogVersionResolver(tempDir.resolve("m2"), cache, Collections.emptyList(), true);
+		assertThat(offlineResolverWithoutMirror.resolve(VERSION)).contains(expectedCachedJar);
+	}
+
+	@Test
+	void testDownloadVerifiedWithChecksum() throws Exception {
+		Path mirror = tempDir.resolve("mirror");
+		Path jar = createCatalogJar(mirror);
+		Files.writeString(jar.resolveSibling(jar.getFileName() + ".sha1"), CamelCatalogVersionResolver.computeSha1(jar) + "  " + jar.getFileName());
+		Path cache = tempDir.resolve("cache");
+
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir.resolve("m2"), cache, Arrays.asList(mirror.toString()), true);
+
+		Path expectedCachedJar = cache.resolve(CamelCatalogVersionResolver.getArtifactPath(VERSION));
+		assertThat(resolver.resolve(VERSION)).contains(expectedCachedJar);
+		try (Stream<Path> cachedFiles = Files.list(expectedCachedJar.getParent())) {
+			assertThat(cachedFiles).containsExactly(expectedCachedJar);
+		}
+	}
+
+	@Test
+	void testDownloadWithWrongChecksumNotCached() throws Exception {
+		Path mirror = tempDir.resolve("mirror");
+		Path jar = createCatalogJar(mirror);
+		Files.writeString(jar.resolveSibling(jar.getFileName() + ".sha1"), "0123456789abcdef0123456789abcdef01234567");
+		Path cache = tempDir.resolve("cache");
+
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir.resolve("m2"), cache, Arrays.asList(mirror.toString()), true);
+
+		assertThat(resolver.resolve(VERSION)).isEmpty();
+		try (Stream<Path> cachedFiles = Files.list(cache.resolve(CamelCatalogVersionResolver.getArtifactPath(VERSION)).getParent())) {
+			assertThat(cachedFiles).isEmpty();
+		}
+	}
+
+	@Test
+	void testOfflineModeUsesOnlyFileRepositories() {
+		Path mirror = tempDir.resolve("mirror");
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir.resolve("m2"), tempDir.resolve("cache"), Arrays.asList("https://repo.example.com/maven2", mirror.toUri().toString()), true);
+
+		assertThat(resolver.getRepositories(VERSION)).containsExactly(mirror.toUri().toString());
+		assertThat(resolver.resolve(VERSION)).isEmpty();
+	}
+
+	@Test
+	void testDefaultRepositoriesForProductizedVersion() {
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir, tempDir, null, false);
+
+		assertThat(resolver.getRepositories("3.11.5.fuse-800012-redhat-00004")).containsExactly(CamelCatalogVersionResolver.CENTRAL_REPOSITORY, CamelCatalogVersionResolver.REDHAT_GA_REPOSITORY);
+		assertThat(resolver.getRepositories(VERSION)).containsExactly(CamelCatalogVersionResolver.CENTRAL_REPOSITORY);
+	}
+
+	@Test
+	void testUnexpectedFailureDoesNotWaitForDownloadTimeout() {
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir.resolve("m2"), tempDir.resolve("cache"), Arrays.asList("file://remotehost/repository"), true);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThat(resolver.resolve(VERSION)).isEmpty());
+	}
+
+	@Test
+	void testDefaultRepositoriesMergedWithConfiguredOnes() {
+		Path mirror = tempDir.resolve("mirror");
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir, tempDir, Arrays.asList(mirror.toString(), "https://repo1.maven.org/maven2"), false);
+
+		assertThat(resolver.getRepositories("3.11.5.fuse-800012-redhat-00004")).containsExactly(mirror.toString(), "https://repo1.maven.org/maven2", CamelCatalogVersionResolver.REDHAT_GA_REPOSITORY);
+		assertThat(resolver.getRepositories(VERSION)).containsExactly(mirror.toString(), "https://repo1.maven.org/maven2");
+	}
+
+	@Test
+	void testResolverReusedWithSameConfiguration() {
+		CamelCatalogVersionResolver resolver = new CamelCatalogVersionResolver(tempDir, tempDir.resolve("cache"), Arrays.asList("https://repo.example.com/maven2"), false);
+
+		assertThat(resolver.hasConfiguration(tempDir, tempDir.resolve("cache"), Arrays.asList("https://repo.example.com/maven2"), false)).isTrue();
+		assertThat(resolver.hasConfiguration(tempDir, tempDir.resolve("cache"), Arrays.asList("https://repo.example.com/maven2"), true)).isFalse();
+		assertThat(resolver.hasConfiguration(tempDir, tempDir.resolve("cache"), Collections.emptyList(), false)).isFalse();
+	}
+
+	@Test
+	void testVersionManagerLoadsResourcesFromResolvedJar() throws Exception {
+		Path localRepository = tempDir.resolve("m2");
+		createCatalogJar(localRepository);
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog();
+		ResolvedCatalogVersionManager versionManager = new ResolvedCatalogVersionManager(catalog, new CamelCatalogVersionResolver(localRepository, tempDir.resolve("cache"), Collections.emptyList(), true));
+
+		assertThat(versionManager.loadVersion("0.0.1")).isFalse();
+		assertThat(versionManager.loadVersion(VERSION)).isTrue();
+		assertThat(versionManager.getLoadedVersion()).isEqualTo(VERSION);
+		try (InputStream resource = versionManager.getResourceAsStream(RESOURCE_NAME)) {
+			assertThat(resource).hasContent(VERSION);
+		}
+	}
+
+	@Test
+	void testVersionManagerReleasesJarWhenClosed() throws Exception {
+		Path localRepository = tempDir.resolve("m2");
+		createCatalogJar(localRepository);
+		ResolvedCatalogVersionManager versionManager = new ResolvedCatalogVersionManager(new DefaultCamelCatalog(), new CamelCatalogVersionResolver(localRepository, tempDir.resolve("cache"), Collections.emptyList(), true));
+		assertThat(versionManager.loadVersion(VERSION)).isTrue();
+
+		versionManager.close();
+
+		assertThat(versionManager.getResourceAsStream(RESOURCE_NAME)).isNull();
+	}
+
+	private Path createCatalogJar(Path repository) throws IOException {
+		Path jar = repository.resolve(CamelCatalogVersionResolver.getArtifactPath(VERSION));
+		Files.createDirectories(jar.getParent());
+		try (OutputStream output = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(output)) {
+			zip.putNextEntry(new ZipEntry(RESOURCE_NAME));
+			zip.write(VERSION.getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return jar;
+	}
+}
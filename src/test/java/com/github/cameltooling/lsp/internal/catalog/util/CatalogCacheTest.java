@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.catalog.CamelCatalog;
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+class CatalogCacheTest {
+
+	@Test
+	void testValueComputedOncePerCatalog() {
+		AtomicInteger computations = new AtomicInteger();
+		CatalogCache<String> cache = new CatalogCache<>(catalog -> "value" + computations.incrementAndGet());
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		assertThat(cache.get(catalog)).isEqualTo("value1").isSameAs(cache.get(catalog));
+		assertThat(cache.get(new DefaultCamelCatalog(true))).isEqualTo("value2");
+		assertThat(computations).hasValue(2);
+	}
+
+	@Test
+	void testMapPerCatalog() {
+		CatalogCache<Map<String, String>> cache = CatalogCache.ofMaps();
+		CamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		cache.get(catalog).put("key", "value");
+
+		assertThat(cache.get(catalog)).containsEntry("key", "value");
+		assertThat(cache.get(new DefaultCamelCatalog(true))).isEmpty();
+	}
+}
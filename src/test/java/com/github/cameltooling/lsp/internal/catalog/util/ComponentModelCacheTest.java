@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+
+class ComponentModelCacheTest {
+
+	@Test
+	void testModelGeneratedOncePerCatalog() {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		ComponentModel model = ModelHelper.getComponentModel(catalog, "timer");
+
+		assertThat(model.getScheme()).isEqualTo("timer");
+		assertThat(model.getEndpointOptions()).isNotEmpty();
+		assertThat(ModelHelper.getComponentModel(catalog, "timer")).isSameAs(model);
+		assertThat(ModelHelper.getComponentModel(new DefaultCamelCatalog(true), "timer")).isNotSameAs(model);
+	}
+
+	@Test
+	void testUnknownComponent() {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		assertThat(ModelHelper.getComponentModel(catalog, "unknown").getScheme()).isNull();
+		assertThat(ModelHelper.getComponentModel(catalog, null).getScheme()).isNull();
+	}
+
+	@Test
+	void testModelGeneratedAgainWhenSchemaChanges() {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog();
+		String timerSchema = catalog.componentJSonSchema("timer");
+		catalog.addComponent("custom", "org.acme.CustomComponent", timerSchema);
+		ComponentModel model = ModelHelper.getComponentModel(catalog, "custom");
+
+		catalog.addComponent("custom", "org.acme.CustomComponent", catalog.componentJSonSchema("file"));
+
+		assertThat(ModelHelper.getComponentModel(catalog, "custom")).isNotSameAs(model);
+		assertThat(ModelHelper.getComponentModel(catalog, "custom").getScheme()).isEqualTo("file");
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.camel.kamelets.catalog.model.KameletTypeEnum;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cameltooling.lsp.internal.catalog.util.KameletsIndex.KameletEntry;
+
+class KameletsIndexTest {
+
+	private static final String USER_KAMELET = """
+			apiVersion: camel.apache.org/v1
+			kind: Kamelet
+			metadata:
+			  name: my-custom-source
+			  labels:
+			    camel.apache.org/kamelet.type: "source"
+			spec:
+			  definition:
+			    title: "My custom source"
+			    description: "A source defined in the workspace"
+			    properties:
+			      period:
+			        title: Period
+			        description: The time interval between two events
+			        type: integer
+			        default: 1000
+			""";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testIndexSharedBetweenManagers() {
+		assertThat(new KameletsCatalogManager().getIndex()).isSameAs(new KameletsCatalogManager().getIndex());
+	}
+
+	@Test
+	void testKameletsByTypeAreSorted() {
+		List<String> sourceNames = new KameletsCatalogManager().getIndex().getKameletsByType(KameletTypeEnum.SOURCE.type()).stream()
+				.map(KameletEntry::getName)
+				.collect(Collectors.toList());
+
+		assertThat(sourceNames).contains("aws-ddb-streams-source").doesNotContain("aws-kinesis-sink").isSorted();
+	}
+
+	@Test
+	void testUserKameletDirectory() throws Exception {
+		Files.writeString(tempDir.resolve("my-custom-source.kamelet.yaml"), USER_KAMELET);
+		Files.writeString(tempDir.resolve("invalid.kamelet.yaml"), "[not a kamelet");
+		KameletsCatalogManager kameletsCatalogManager = new KameletsCatalogManager();
+		kameletsCatalogManager.setUserKameletDirectories(Collections.singletonList(tempDir));
+
+		KameletsIndex index = kameletsCatalogManager.getIndex();
+		KameletEntry kamelet = index.getKamelet("my-custom-source");
+
+		assertThat(kamelet.getDescription()).isEqualTo("A source defined in the workspace");
+		assertThat(kamelet.getProperty("period").getInsertText()).isEqualTo("period=1000");
+		assertThat(index.getKameletsByType(KameletTypeEnum.SOURCE.type())).contains(kamelet);
+		assertThat(index.getKamelet("aws-ddb-streams-source")).isNotNull();
+		assertThat(kameletsCatalogManager.getIndex()).isSameAs(index);
+
+		kameletsCatalogManager.setUserKameletDirectories(Collections.emptyList());
+		assertThat(kameletsCatalogManager.getIndex().getKamelet("my-custom-source")).isNull();
+	}
+}
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.catalog.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.catalog.util.MainModelIndex.GroupOption;
+
+class MainModelIndexTest {
+
+	@Test
+	void testIndexComputedOncePerCatalog() {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		assertThat(MainModelIndex.of(catalog)).isSameAs(MainModelIndex.of(catalog));
+		assertThat(MainModelIndex.of(new DefaultCamelCatalog(true))).isNotSameAs(MainModelIndex.of(catalog));
+	}
+
+	@Test
+	void testGroupsAndOptions() {
+		MainModelIndex index = MainModelIndex.of(new DefaultCamelCatalog(true));
+
+		assertThat(index.getGroups()).anyMatch(group -> "camel.main".equals(group.getName()));
+		assertThat(index.getOptionsOfGroup("main"))
+			.anyMatch(option -> "autoStartup".equals(option.getRelativeName(false)) && "auto-startup".equals(option.getRelativeName(true)));
+		assertThat(index.getOptionsOfGroup("unknownGroup")).isEmpty();
+	}
+
+	@Test
+	void testFindFirstOption() {
+		MainModelIndex index = MainModelIndex.of(new DefaultCamelCatalog(true));
+
+		assertThat(index.findFirstOption("camel.main.autoStartup")).hasValueSatisfying(option -> assertThat(option.getName()).isEqualTo("camel.main.autoStartup"));
+		assertThat(index.findFirstOption("camel.main.autoSta")).hasValueSatisfying(option -> assertThat(option.getName()).startsWith("camel.main.autoSta"));
+		assertThat(index.findFirstOption("camel.main.doesNotExist")).isEmpty();
+	}
+
+	@Test
+	void testGroupOptionsBelongToTheGroup() {
+		MainModelIndex index = MainModelIndex.of(new DefaultCamelCatalog(true));
+
+		assertThat(index.getOptionsOfGroup("main")).extracting(GroupOption::getOption).allMatch(option -> option.getName().startsWith("camel.main."));
+	}
+}
@@ -24,6 +24,7 @@ import org.apache.camel.catalog.DefaultCamelCatalog;
 import org.junit.jupiter.api.Test;
 
 import com.github.cameltooling.lsp.internal.catalog.model.ComponentModel;
+import com.github.cameltooling.lsp.internal.catalog.model.EndpointOptionModel;
 
 class ModelHelperTest {
 
@@ -53,4 +54,33 @@ class ModelHelperTest {
 		}
 	}
 
+	@Test
+	void testOptionValuesAreSharedBetweenModels() throws Exception {
+		String timerSchema = new DefaultCamelCatalog().componentJSonSchema("timer");
+		EndpointOptionModel delay = ModelHelper.generateComponentModel(timerSchema, true).getEndpointOption("delay");
+		EndpointOptionModel otherDelay = ModelHelper.generateComponentModel(new String(timerSchema), true).getEndpointOption("delay");
+
+		assertThat(otherDelay.getKind()).isSameAs(delay.getKind()).isEqualTo("parameter");
+		assertThat(otherDelay.getGroup()).isSameAs(delay.getGroup());
+		assertThat(otherDelay.getJavaType()).isSameAs(delay.getJavaType());
+		assertThat(otherDelay.getDescription()).isSameAs(delay.getDescription());
+	}
+
+	@Test
+	void testPackedFlags() throws Exception {
+		EndpointOptionModel option = new EndpointOptionModel();
+		option.setRequired(true);
+		option.setMultiValue(true);
+		assertThat(option.isRequired()).isTrue();
+		assertThat(option.getMultiValue()).isTrue();
+		assertThat(option.isDeprecated()).isFalse();
+		assertThat(option.isSecret()).isFalse();
+
+		option.setRequired(false);
+		option.setSecret(true);
+		assertThat(option.isRequired()).isFalse();
+		assertThat(option.isSecret()).isTrue();
+		assertThat(option.getMultiValue()).isTrue();
+	}
+
 }
@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.codeactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class ApproximateMatchIndexTest {
+
+	private final ApproximateMatchIndex index = ApproximateMatchIndex.of(Arrays.asList("delay", "daemon", "period", "repeatCount", "time", "timer", "pattern", "delay", null));
+
+	@Test
+	void testDuplicatesAndNullValuesIgnored() {
+		assertThat(index.size()).isEqualTo(7);
+	}
+
+	@Test
+	void testSearchWithinDistance() {
+		assertThat(index.search("decy", 2)).containsExactly("delay");
+		assertThat(index.search("perod", 1)).containsExactly("period");
+		assertThat(index.search("unknown", 2)).isEmpty();
+	}
+
+	@Test
+	void testSearchRankedByDistanceThenName() {
+		assertThat(index.search("timr", 2)).containsExactly("time", "timer");
+		assertThat(index.search("timer", 1)).containsExactly("timer", "time");
+	}
+
+	@Test
+	void testExactMatchOnly() {
+		assertThat(index.search("daemon", 0)).containsExactly("daemon");
+	}
+
+	@Test
+	void testEmptyIndex() {
+		assertThat(ApproximateMatchIndex.of(Collections.emptyList()).search("delay", 3)).isEmpty();
+	}
+}
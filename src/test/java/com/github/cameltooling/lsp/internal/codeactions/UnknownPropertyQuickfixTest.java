@@ -18,14 +18,19 @@ package com.github.cameltooling.lsp.internal.codeactions;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.camel.catalog.CamelCatalog;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionContext;
 import org.eclipse.lsp4j.CodeActionKind;
@@ -111,6 +116,54 @@ class UnknownPropertyQuickfixTest extends AbstractQuickFixTest {
 		checkRetrievedCodeAction(textDocumentIdentifier, diagnostic, codeActions);
 	}
 	
+	@Test
+	void testAlreadyDefinedOptionNotProposed() throws InterruptedException, ExecutionException {
+		TextDocumentIdentifier textDocumentIdentifier = initAndLaunchDiagnostic("camel-with-defined-option.xml", routes(
+				"<from uri=\"timer:timerName?delay=1000&amp;delai=5\"/>",
+				"<to uri=\"direct:drink\"/>"));
+
+		Diagnostic diagnostic = lastPublishedDiagnostics.getDiagnostics().get(0);
+		CompletableFuture<List<Either<Command,CodeAction>>> codeActions = retrieveCodeActions(textDocumentIdentifier, diagnostic);
+
+		assertThat(codeActions.get()).isEmpty();
+	}
+
+	@Test
+	void testProducerOptionProposedFromOptionNamesIndex() throws InterruptedException, ExecutionException {
+		TextDocumentIdentifier textDocumentIdentifier = initAndLaunchDiagnostic("camel-with-unknown-producer-option.xml", routes(
+				"<from uri=\"timer:timerName\"/>",
+				"<to uri=\"file:out?fileExis=Override\"/>"));
+
+		Diagnostic diagnostic = lastPublishedDiagnostics.getDiagnostics().get(0);
+		CompletableFuture<List<Either<Command,CodeAction>>> codeActions = retrieveCodeActions(textDocumentIdentifier, diagnostic);
+
+		TextEdit textEdit = retrieveTextEdit(textDocumentIdentifier, diagnostic, codeActions);
+		new RangeChecker().check(textEdit.getRange(), 2, 18, 2, 26);
+		assertThat(textEdit.getNewText()).isEqualTo("fileExist");
+	}
+
+	@Test
+	void testOptionNamesIndexSharedForCatalog() throws Exception {
+		TextDocumentIdentifier textDocumentIdentifier = initAnLaunchDiagnostic("camel-with-unknownParameter.xml");
+		Diagnostic diagnostic = lastPublishedDiagnostics.getDiagnostics().get(0);
+		retrieveCodeActions(textDocumentIdentifier, diagnostic).get();
+		CamelCatalog catalog = camelLanguageServer.getTextDocumentService().getCamelCatalog().get();
+
+		Optional<ApproximateMatchIndex> index = EndpointOptionNamesIndex.get(catalog, "timer", false);
+
+		assertThat(index).containsSame(EndpointOptionNamesIndex.get(catalog, "timer", false).get());
+		assertThat(index.get().search("decy", 2)).containsExactly("delay");
+	}
+
+	private InputStream routes(String... endpoints) {
+		StringBuilder routes = new StringBuilder("<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n<route>\n");
+		for (String endpoint : endpoints) {
+			routes.append(endpoint).append('\n');
+		}
+		routes.append("</route>\n</camelContext>\n");
+		return new ByteArrayInputStream(routes.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
 	private void checkRetrievedCodeAction(TextDocumentIdentifier textDocumentIdentifier, Diagnostic diagnostic, CompletableFuture<List<Either<Command, CodeAction>>> codeActions)
 			throws InterruptedException, ExecutionException {
 		TextEdit textEdit = retrieveTextEdit(textDocumentIdentifier, diagnostic, codeActions);
@@ -17,19 +17,25 @@
 package com.github.cameltooling.lsp.internal.completion;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import jakarta.inject.Inject;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,7 +70,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 	@Test
 	void testCompletionForNamespace() throws Exception {
 		createNamespace("first_namespace");
-		List<CompletionItem> completions = getCompletionForNamespace();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForNamespace);
 		assertThat(completions).hasSize(1);
 		CompletionItem completion = completions.get(0);
 		assertThat(completion.getLabel()).isEqualTo("first_namespace");
@@ -73,7 +79,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 
 	@Test
 	void testCompletionWithNoNamespace() throws Exception {
-		List<CompletionItem> completions = getCompletionForNamespace();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForNamespace);
 		assertThat(completions).isEmpty();
 	}
 
@@ -82,7 +88,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		createNamespace("first_namespace");
 		createNamespace("second_namespace");
 
-		List<CompletionItem> completions = getCompletionForNamespace();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForNamespace);
 		assertThat(completions).hasSize(2);
 	}
 
@@ -90,7 +96,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 	void testCompletionForSecret() throws Exception {
 		createNamespace("my-secrets-namespace");
 		createSecret("mySecrets", List.of("password"));
-		List<CompletionItem> completions = getCompletionForSecrets();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForSecrets);
 		assertThat(completions).hasSize(1);
 		CompletionItem completion = completions.get(0);
 		assertThat(completion.getLabel()).isEqualTo("{{secret:mySecrets/password}}");
@@ -99,7 +105,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 	@Test
 	void testSecretCompletionWithNoSecrets() throws Exception {
 		createNamespace("my-secrets-namespace");
-		List<CompletionItem> completions = getCompletionForSecrets();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForSecrets);
 		assertThat(completions).isEmpty();
 	}
 
@@ -109,7 +115,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		createSecret("mySecrets", List.of("key", "second"));
 		createSecret("myRealSecrets", List.of("another"));
 
-		List<CompletionItem> completions = getCompletionForSecrets();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForSecrets);
 		assertThat(completions).hasSize(3);
 	}
 
@@ -118,7 +124,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		createNamespace("my-secrets-namespace");
 		createConfigMap("myMap", List.of("myKey1", "myKey2"));
 
-		List<CompletionItem> completions = getCompletionForConfigMaps();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForConfigMaps);
 		assertThat(completions).hasSize(2);
 		assertThat(completions.get(0).getLabel()).isEqualTo("{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(1).getLabel()).isEqualTo("{{configmap:myMap/myKey2}}");
@@ -130,7 +136,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		createSecret("mySecrets", List.of("key", "second"));
 		createConfigMap("myMap", List.of("myKey1", "myKey2"));
 
-		List<CompletionItem> completions = getCompletionForPlaceholders();
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForPlaceholders);
 		assertThat(completions).hasSize(4);
 		assertThat(completions.get(0).getLabel()).isEqualTo("{{secret:mySecrets/key}}");
 		assertThat(completions.get(1).getLabel()).isEqualTo("{{secret:mySecrets/second}}");
@@ -138,6 +144,37 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		assertThat(completions.get(3).getLabel()).isEqualTo("{{configmap:myMap/myKey2}}");
 	}
 
+	@Test
+	void testConfigMapsKeptWithManySecrets() throws Exception {
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < CamelOptionValuesCompletionsFuture.MAX_KUBERNETES_PLACEHOLDERS; i++) {
+			keys.add("key" + i);
+		}
+		createSecret("mySecrets", keys);
+		createConfigMap("myMap", List.of("myKey1", "myKey2"));
+
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForPlaceholders);
+		assertThat(completions).hasSize(CamelOptionValuesCompletionsFuture.MAX_KUBERNETES_PLACEHOLDERS);
+		assertThat(completions).extracting(CompletionItem::getLabel).contains("{{configmap:myMap/myKey1}}", "{{configmap:myMap/myKey2}}");
+	}
+
+	@Test
+	void testSecretOfOtherNamespaceNotProposed() throws Exception {
+		client.secrets().inNamespace("other-namespace").resource(
+				new SecretBuilder()
+						.withNewMetadata()
+						.withName("otherSecrets")
+						.withNamespace("other-namespace")
+						.endMetadata()
+						.withData(Map.of("password", "encrypted"))
+						.build())
+				.create();
+		createSecret("mySecrets", List.of("password"));
+
+		List<CompletionItem> completions = awaitCompletions(this::getCompletionForSecrets);
+		assertThat(completions).extracting(CompletionItem::getLabel).containsExactly("{{secret:mySecrets/password}}");
+	}
+
 	@Test
 	void testKubernetesAutoCompletionMidValue() throws Exception {
 		createNamespace("my-secrets-namespace");
@@ -147,9 +184,9 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length() - 12);
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-
+		List<CompletionItem> completions = awaitCompletions(() -> getCompletionFor(languageServer, position).get());
 		assertThat(completions).hasSize(2);
+
 		assertThat(completions.get(0).getLabel()).isEqualTo("{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(0).getFilterText()).isEqualTo("something{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(1).getLabel()).isEqualTo("{{configmap:myMap/myKey2}}");
@@ -166,9 +203,9 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length() - 30);
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-
+		List<CompletionItem> completions = awaitCompletions(() -> getCompletionFor(languageServer, position).get());
 		assertThat(completions).hasSize(2);
+
 		assertThat(completions.get(0).getLabel()).isEqualTo("{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(0).getFilterText()).isEqualTo("{{secret:mySec/none}}something{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(1).getLabel()).isEqualTo("{{configmap:myMap/myKey2}}");
@@ -184,27 +221,35 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length());
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-
+		List<CompletionItem> completions = awaitCompletions(() -> getCompletionFor(languageServer, position).get());
 		assertThat(completions).hasSize(2);
+
 		assertThat(completions.get(0).getLabel()).isEqualTo("{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(0).getFilterText()).isEqualTo("}}something{{configmap:myMap/myKey1}}");
 		assertThat(completions.get(1).getLabel()).isEqualTo("{{configmap:myMap/myKey2}}");
 		assertThat(completions.get(1).getInsertText()).isEqualTo("}}something{{configmap:myMap/myKey2}}");
 	}
 
+	/**
+	 * The Kubernetes resources are cached in background, the completions are incomplete until all of them are received,
+	 * so the completion is requested again, as a client does.
+	 */
+	private List<CompletionItem> awaitCompletions(Callable<Either<List<CompletionItem>, CompletionList>> completion) {
+		Either<List<CompletionItem>, CompletionList> completions = await().atMost(Duration.ofSeconds(10)).until(completion, Either::isLeft);
+		return completions.getLeft();
+	}
+
 	private void createNamespace(String name) {
 		client.namespaces().resource(new NamespaceBuilder().withNewMetadata().withName(name).endMetadata().build()).create();
 	}
 
-	private List<CompletionItem> getCompletionForNamespace()
+	private Either<List<CompletionItem>, CompletionList> getCompletionForNamespace()
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		String camelUri = "kubernetes-services:masterUrl?namespace=";
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length());
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-		return completions;
+		return getCompletionFor(languageServer, position).get();
 	}
 
 	private void createSecret(String secretName, List<String> keys) {
@@ -214,7 +259,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 				new SecretBuilder()
 						.withNewMetadata()
 						.withName(secretName)
-						.withNamespace("my-secrets-namespace")
+						.withNamespace(client.getNamespace())
 						.withLabels(Map.of())
 						.endMetadata()
 						.withData(data)
@@ -222,14 +267,13 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 				.create();
 	}
 
-	private List<CompletionItem> getCompletionForSecrets()
+	private Either<List<CompletionItem>, CompletionList> getCompletionForSecrets()
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		String camelUri = "pgevent:host:999/database/channel?user={{secret:";
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length());
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-		return completions;
+		return getCompletionFor(languageServer, position).get();
 	}
 
 	private void createConfigMap(String configMapName, List<String> keys) {
@@ -239,7 +283,7 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 						new ConfigMapBuilder()
 								.withNewMetadata()
 								.withName(configMapName)
-								.withNamespace("my-secrets-namespace")
+								.withNamespace(client.getNamespace())
 								.withLabels(Map.of())
 								.endMetadata()
 								.withData(data)
@@ -248,24 +292,22 @@ class CamelKubernetesServicesCompletionTest extends AbstractCamelLanguageServerT
 	}
 
 
-	private List<CompletionItem> getCompletionForConfigMaps()
+	private Either<List<CompletionItem>, CompletionList> getCompletionForConfigMaps()
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		String camelUri = "pgevent:host:999/database/channel?user={{configmap:";
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length());
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-		return completions;
+		return getCompletionFor(languageServer, position).get();
 	}
 
 
-	private List<CompletionItem> getCompletionForPlaceholders()
+	private Either<List<CompletionItem>, CompletionList> getCompletionForPlaceholders()
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		String camelUri = "pgevent:host:999/database/channel?user={{";
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
 		CamelLanguageServer languageServer = initializeLanguageServer(text, ".xml");
 		Position position = new Position(0, RouteTextBuilder.XML_PREFIX_FROM.length() + camelUri.length());
-		List<CompletionItem> completions = getCompletionFor(languageServer, position).get().getLeft();
-		return completions;
+		return getCompletionFor(languageServer, position).get();
 	}
 }
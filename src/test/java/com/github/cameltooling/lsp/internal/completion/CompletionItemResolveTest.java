@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import static com.github.cameltooling.lsp.internal.util.RouteTextBuilder.createXMLBlueprintRoute;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.ClientCapabilities;
+import org.eclipse.lsp4j.CompletionCapabilities;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionItemCapabilities;
+import org.eclipse.lsp4j.CompletionItemResolveSupportCapabilities;
+import org.eclipse.lsp4j.MarkupKind;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentClientCapabilities;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.google.gson.Gson;
+
+class CompletionItemResolveTest extends AbstractCamelLanguageServerTest {
+
+	@Override
+	protected ClientCapabilities getClientCapabilities() {
+		CompletionItemCapabilities completionItemCapabilities = new CompletionItemCapabilities();
+		completionItemCapabilities.setDocumentationFormat(Collections.singletonList(MarkupKind.PLAINTEXT));
+		completionItemCapabilities.setResolveSupport(new CompletionItemResolveSupportCapabilities(Arrays.asList("documentation", "detail")));
+		TextDocumentClientCapabilities textDocumentCapabilities = new TextDocumentClientCapabilities();
+		textDocumentCapabilities.setCompletion(new CompletionCapabilities(completionItemCapabilities));
+		return new ClientCapabilities(null, textDocumentCapabilities, null);
+	}
+
+	@Test
+	void testComponentDocumentationIsResolvedLazily() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute(""));
+
+		List<CompletionItem> completions = getCompletionFor(languageServer, new Position(0, 11)).get().getLeft();
+		CompletionItem timer = completions.stream().filter(item -> "timer:timerName".equals(item.getLabel())).findAny().get();
+
+		assertThat(completions).allMatch(item -> item.getDocumentation() == null);
+		assertThat(timer.getData()).isNotNull();
+		assertThat(timer.getTextEdit()).isNotNull();
+
+		CompletionItem resolved = languageServer.getTextDocumentService().resolveCompletionItem(sentOverTheWire(timer)).get();
+		assertThat(resolved.getDocumentation().getLeft()).isEqualTo(TIMER_DOCUMENTATION);
+	}
+
+	@Test
+	void testOptionDocumentationAndDetailAreResolvedLazily() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute("timer:foo?"));
+
+		List<CompletionItem> completions = getCompletionFor(languageServer, new Position(0, 21)).get().getLeft();
+		CompletionItem delay = completions.stream().filter(item -> "delay".equals(item.getLabel())).findAny().get();
+
+		assertThat(delay.getDocumentation()).isNull();
+		assertThat(delay.getDetail()).isNull();
+
+		CompletionItem resolved = languageServer.getTextDocumentService().resolveCompletionItem(sentOverTheWire(delay)).get();
+		assertThat(resolved.getDocumentation().getLeft()).contains("Group: consumer");
+		assertThat(resolved.getDetail()).isEqualTo("long");
+	}
+
+	@Test
+	void testUnknownItemIsReturnedAsIs() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute(""));
+		CompletionItem item = new CompletionItem("unknown");
+
+		assertThat(languageServer.getTextDocumentService().resolveCompletionItem(item).get()).isSameAs(item);
+	}
+
+	private CompletionItem sentOverTheWire(CompletionItem completionItem) {
+		completionItem.setData(new Gson().toJsonTree(completionItem.getData()));
+		return completionItem;
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.camel.catalog.DefaultCamelCatalog;
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.completion.CompletionMatcher.MatchKey;
+
+class CompletionMatcherTest extends AbstractCamelLanguageServerTest {
+
+	@Test
+	void testWordsMatchInCamelCaseAndDashedNames() {
+		assertThat(CompletionMatcher.score("beh", "bridgeErrorHandler")).isGreaterThan(CompletionMatcher.NO_MATCH);
+		assertThat(CompletionMatcher.score("beh", "bridge-error-handler")).isGreaterThan(CompletionMatcher.NO_MATCH);
+		assertThat(CompletionMatcher.score("bridge-e", "bridgeErrorHandler")).isGreaterThan(CompletionMatcher.NO_MATCH);
+		assertThat(CompletionMatcher.score("BEH", "bridgeErrorHandler")).isGreaterThan(CompletionMatcher.NO_MATCH);
+	}
+
+	@Test
+	void testWordsMatchIsBetterThanSubsequence() {
+		assertThat(CompletionMatcher.score("eh", "exceptionHandler"))
+			.isGreaterThan(CompletionMatcher.score("eh", "cacheHeaders"));
+		assertThat(CompletionMatcher.score("xz", "sendEmptyMessageWhenIdle")).isEqualTo(CompletionMatcher.NO_MATCH);
+	}
+
+	@Test
+	void testComponentSyntaxMatchedOnScheme() {
+		assertThat(CompletionMatcher.score("ws3", "aws2-s3:bucketNameOrArn")).isGreaterThan(CompletionMatcher.NO_MATCH);
+		assertThat(CompletionMatcher.score("fdn", "file:directoryName")).isEqualTo(CompletionMatcher.NO_MATCH);
+	}
+
+	@Test
+	void testPrefixMatchesAreRanked() {
+		CompletionItem apiOption = new CompletionItem("delayer");
+		apiOption.setSortText("1-delayer");
+		List<CompletionItem> items = Stream.of(new CompletionItem("deliveryDelay"), apiOption, new CompletionItem("delay"), new CompletionItem("exceptionHandler"))
+			.collect(CompletionMatcher.matching("del"));
+
+		assertThat(items).extracting(CompletionItem::getLabel).containsExactly("deliveryDelay", "delayer", "delay");
+		assertThat(items).allMatch(item -> item.getSortText() != null);
+		assertThat(items.get(1).getSortText()).endsWith("-1-delayer");
+		assertThat(items.get(2).getSortText()).endsWith("-delay");
+	}
+
+	@Test
+	void testExactMatchFirst() {
+		List<CompletionItem> items = Stream.of(new CompletionItem("delayer"), new CompletionItem("delay"), new CompletionItem("bridgeErrorHandler"))
+			.collect(CompletionMatcher.matching("delay"));
+
+		assertThat(items).extracting(CompletionItem::getLabel).containsExactly("delay", "delayer");
+		assertThat(items.get(0).getSortText()).isLessThan(items.get(1).getSortText());
+	}
+
+	@Test
+	void testMatchKeysComputedOncePerCatalog() {
+		DefaultCamelCatalog catalog = new DefaultCamelCatalog(true);
+
+		Map<String, MatchKey> timerKeys = CompletionMatchKeys.ofOptions(catalog, "timer");
+
+		assertThat(timerKeys).containsKeys("fixedRate", "fixed-rate");
+		assertThat(CompletionMatchKeys.ofOptions(catalog, "timer")).isSameAs(timerKeys);
+		assertThat(CompletionMatchKeys.ofOptions(catalog, "unknown")).isEmpty();
+		assertThat(CompletionMatchKeys.ofComponentSyntaxes(catalog)).containsKey("timer:timerName");
+	}
+
+	@Test
+	void testPrecomputedMatchKeysAreUsed() {
+		Map<String, MatchKey> matchKeys = Collections.singletonMap("timer:timerName", new MatchKey("bridgeErrorHandler"));
+		List<CompletionItem> items = Stream.of(new CompletionItem("timer:timerName"))
+			.collect(CompletionMatcher.matching("beh", matchKeys));
+
+		assertThat(items).extracting(CompletionItem::getLabel).containsExactly("timer:timerName");
+	}
+
+	@Test
+	void testFuzzyMatchesAreRanked() {
+		CompletionItem apiOption = new CompletionItem("exchangeHeaders");
+		apiOption.setSortText("1-exchangeHeaders");
+		List<CompletionItem> items = Stream.of(new CompletionItem("cacheHeaders"), new CompletionItem("delay"), apiOption, new CompletionItem("exceptionHandler"))
+			.collect(CompletionMatcher.matching("eh"));
+
+		assertThat(items).extracting(CompletionItem::getLabel).containsExactly("exchangeHeaders", "exceptionHandler", "cacheHeaders");
+		List<String> sortTexts = items.stream().map(CompletionItem::getSortText).collect(Collectors.toList());
+		assertThat(sortTexts).isSorted();
+		assertThat(sortTexts.get(0)).endsWith("-1-exchangeHeaders");
+	}
+
+	@Test
+	void testNoFilter() {
+		List<CompletionItem> items = Arrays.asList(new CompletionItem("delay"), new CompletionItem("period"));
+
+		assertThat(CompletionMatcher.filter(items, null)).isSameAs(items);
+		assertThat(CompletionMatcher.filter(items, "")).isSameAs(items);
+		assertThat(CompletionMatcher.filter(items, "-")).isEmpty();
+	}
+
+	@Test
+	void testFuzzyEndpointOptionCompletion() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"timer:foo?beh\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completions = getCompletionFor(camelLanguageServer, new Position(0, 24));
+
+		List<CompletionItem> items = completions.get().getLeft();
+		assertThat(items).isNotEmpty();
+		assertThat(items.get(0).getLabel()).isEqualTo("bridgeErrorHandler");
+	}
+
+	@Test
+	void testFuzzyComponentSchemeCompletion() throws Exception {
+		CamelLanguageServer camelLanguageServer = initializeLanguageServer("<from uri=\"aws2s3\" xmlns=\"http://camel.apache.org/schema/blueprint\"></from>\n");
+
+		CompletableFuture<Either<List<CompletionItem>, CompletionList>> completions = getCompletionFor(camelLanguageServer, new Position(0, 17));
+
+		assertThat(completions.get().getLeft()).extracting(CompletionItem::getLabel).contains("aws2-s3:bucketNameOrArn");
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion;
+
+import static com.github.cameltooling.lsp.internal.util.RouteTextBuilder.createXMLBlueprintRoute;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class CompletionSessionsTest extends AbstractCamelLanguageServerTest {
+
+	private static final String URI = DUMMY_URI + ".xml";
+
+	@Test
+	void testOptionsRefinedWhenTypingMoreCharacters() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute("timer:foo?"));
+		CompletionSessions completionSessions = languageServer.getTextDocumentService().getCompletionSessions();
+
+		List<CompletionItem> allOptions = getCompletionFor(languageServer, new Position(0, 21)).get().getLeft();
+		assertThat(completionSessions.getSessionKey(URI)).endsWith("OptionParamKeyURIInstance");
+
+		changeText(languageServer, createXMLBlueprintRoute("timer:foo?de"));
+		List<CompletionItem> refinedOptions = getCompletionFor(languageServer, new Position(0, 23)).get().getLeft();
+
+		assertThat(refinedOptions)
+			.hasSizeLessThan(allOptions.size())
+			.allMatch(item -> item.getLabel().startsWith("de"));
+		CompletionItem delay = refinedOptions.stream().filter(item -> "delay".equals(item.getLabel())).findAny().get();
+		assertThat(delay.getTextEdit().getLeft().getRange()).isEqualTo(new Range(new Position(0, 21), new Position(0, 23)));
+
+		completionSessions.invalidate(URI);
+		List<CompletionItem> recomputedOptions = getCompletionFor(languageServer, new Position(0, 23)).get().getLeft();
+		assertThat(labels(refinedOptions)).isEqualTo(labels(recomputedOptions));
+		assertThat(delay).isEqualTo(recomputedOptions.stream().filter(item -> "delay".equals(item.getLabel())).findAny().get());
+	}
+
+	@Test
+	void testSessionNotReusedAfterSeparator() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute("timer:foo?delay"));
+		getCompletionFor(languageServer, new Position(0, 26)).get();
+
+		changeText(languageServer, createXMLBlueprintRoute("timer:foo?delay="));
+		List<CompletionItem> completions = getCompletionFor(languageServer, new Position(0, 27)).get().getLeft();
+
+		assertThat(completions).noneMatch(item -> "delay".equals(item.getLabel()));
+	}
+
+	@Test
+	void testRefinedOptionsScoredAsNewRequest() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute("timer:foo?de"));
+		CompletionSessions completionSessions = languageServer.getTextDocumentService().getCompletionSessions();
+		getCompletionFor(languageServer, new Position(0, 23)).get();
+
+		changeText(languageServer, createXMLBlueprintRoute("timer:foo?delay"));
+		List<CompletionItem> refinedOptions = getCompletionFor(languageServer, new Position(0, 26)).get().getLeft();
+		completionSessions.invalidate(URI);
+		List<CompletionItem> recomputedOptions = getCompletionFor(languageServer, new Position(0, 26)).get().getLeft();
+
+		assertThat(refinedOptions.get(0).getLabel()).isEqualTo("delay");
+		assertThat(sortTexts(refinedOptions)).isEqualTo(sortTexts(recomputedOptions));
+	}
+
+	@Test
+	void testFuzzyMatchesRefined() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(createXMLBlueprintRoute("timer:foo?r"));
+		CompletionSessions completionSessions = languageServer.getTextDocumentService().getCompletionSessions();
+		getCompletionFor(languageServer, new Position(0, 22)).get();
+
+		changeText(languageServer, createXMLBlueprintRoute("timer:foo?rc"));
+		List<CompletionItem> refinedOptions = getCompletionFor(languageServer, new Position(0, 23)).get().getLeft();
+		assertThat(completionSessions.getSessionKey(URI)).isNotNull();
+		completionSessions.invalidate(URI);
+		List<CompletionItem> recomputedOptions = getCompletionFor(languageServer, new Position(0, 23)).get().getLeft();
+
+		assertThat(labels(refinedOptions)).contains("repeatCount").isEqualTo(labels(recomputedOptions));
+		assertThat(sortTexts(refinedOptions)).isEqualTo(sortTexts(recomputedOptions));
+	}
+
+	@Test
+	void testIsWordPart() {
+		assertThat(CompletionSessions.isWordPart("aws2-s3_x", 0, 9)).isTrue();
+		assertThat(CompletionSessions.isWordPart("timer:", 0, 6)).isFalse();
+		assertThat(CompletionSessions.isWordPart("a&amp;b", 1, 2)).isFalse();
+	}
+
+	private List<String> labels(List<CompletionItem> completionItems) {
+		return completionItems.stream().map(CompletionItem::getLabel).collect(Collectors.toList());
+	}
+
+	private List<String> sortTexts(List<CompletionItem> completionItems) {
+		return completionItems.stream().map(CompletionItem::getSortText).collect(Collectors.toList());
+	}
+
+	private void changeText(CamelLanguageServer languageServer, String text) {
+		DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+		params.setTextDocument(new VersionedTextDocumentIdentifier(URI, 2));
+		params.setContentChanges(Collections.singletonList(new TextDocumentContentChangeEvent(text)));
+		languageServer.getTextDocumentService().didChange(params);
+	}
+}
@@ -17,8 +17,10 @@
 package com.github.cameltooling.lsp.internal.completion;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 
@@ -53,6 +55,7 @@ class KNativeConnectedCompletionTest extends AbstractCamelLanguageServerTest {
 	@AfterEach
 	void teardown() {
 		KnativeConfigManager.getInstance().setClient(null);
+		KnativeConfigManager.getInstance().setCacheTimeToLive(KnativeConfigManager.DEFAULT_CACHE_TIME_TO_LIVE);
 	}
 
 	@Test
@@ -95,6 +98,18 @@ class KNativeConnectedCompletionTest extends AbstractCamelLanguageServerTest {
 		assertThat(completions.get(0).getLabel()).isEqualTo(serviceName);
 	}
 	
+	@Test
+	void testCompletionRefreshedInBackground() throws Exception {
+		KnativeConfigManager.getInstance().setCacheTimeToLive(Duration.ZERO);
+		client.channels().resource(new ChannelBuilder().withNewMetadata().withName("firstChannel").endMetadata().build()).create();
+		assertThat(retrieveCompletions("knative:channel/")).hasSize(1);
+
+		client.channels().resource(new ChannelBuilder().withNewMetadata().withName("secondChannel").endMetadata().build()).create();
+
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KnativeConfigManager.getInstance().getChannelNames().get()).containsExactlyInAnyOrder("firstChannel", "secondChannel"));
+	}
+	
 	private List<CompletionItem> retrieveCompletions(String camelUri)
 			throws URISyntaxException, InterruptedException, ExecutionException {
 		String text = RouteTextBuilder.createXMLSpringRoute(camelUri);
@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.traits;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class CamelKTraitIndexTest {
+
+	@Test
+	void testIndexSharedBetweenConcurrentCalls() {
+		List<CompletableFuture<CamelKTraitIndex>> futures = IntStream.range(0, 8)
+				.mapToObj(i -> CompletableFuture.supplyAsync(CamelKTraitIndex::getDefault))
+				.collect(Collectors.toList());
+
+		CamelKTraitIndex index = CamelKTraitIndex.forVersion(CamelKTraitIndex.DEFAULT_CRD_VERSION);
+		for (CompletableFuture<CamelKTraitIndex> future : futures) {
+			assertThat(future.join()).isSameAs(index);
+		}
+	}
+
+	@Test
+	void testTraitAndPropertyDescriptions() {
+		CamelKTraitIndex index = CamelKTraitIndex.getDefault();
+
+		assertThat(index.getTrait("platform").getDescription()).isEqualTo("The configuration of Platform trait");
+		TraitDefinition quarkus = index.getTrait("quarkus");
+		assertThat(quarkus.getProperty("enabled").getDescription()).isEqualTo("Can be used to enable or disable a trait. All traits share this common property.");
+		assertThat(quarkus.getProperty("unknown")).isNull();
+		assertThat(quarkus.getTasksSnippet()).startsWith("\"quarkus.${1|").endsWith("|}=\"");
+	}
+
+	@Test
+	void testUnknownTrait() {
+		assertThat(CamelKTraitIndex.getDefault().getTrait("unknown")).isNull();
+		assertThat(CamelKTraitIndex.getDefault().getTrait(null)).isNull();
+	}
+
+	@Test
+	void testUnknownVersionIsEmpty() {
+		assertThat(CamelKTraitIndex.forVersion("0.0.1").getTraits()).isEmpty();
+	}
+}
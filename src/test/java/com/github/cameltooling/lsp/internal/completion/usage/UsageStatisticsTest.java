@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.completion.usage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cameltooling.lsp.internal.workspace.EndpointOccurrence;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceDocumentIndex;
+import com.github.cameltooling.lsp.internal.workspace.WorkspaceFileIndex;
+
+class UsageStatisticsTest {
+
+	@TempDir
+	Path workspace;
+
+	private WorkspaceDocumentIndex documentIndex;
+	private UsageStatistics usageStatistics;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		createRoute(workspace.resolve("first.xml"), "timer:first?delay=1000", "log:first");
+		createRoute(workspace.resolve("src/main/resources/second.xml"), "timer:second?delay=2000");
+		WorkspaceFileIndex fileIndex = new WorkspaceFileIndex();
+		fileIndex.setWorkspaceRoots(Collections.singletonList(workspace));
+		documentIndex = new WorkspaceDocumentIndex(fileIndex);
+		usageStatistics = new UsageStatistics(documentIndex);
+		usageStatistics.setEnabled(true);
+	}
+
+	@Test
+	void testCountSchemesAndOptions() {
+		EndpointUsage usage = EndpointUsage.of(Arrays.asList(
+				occurrence("timer:foo?delay=1000&amp;period=10"),
+				occurrence("timer:bar?delay=5").redacted(),
+				occurrence("invalid")));
+
+		assertThat(usage.getSchemes()).containsOnly(Map.entry("timer", 2));
+		assertThat(usage.getOptions()).containsOnly(Map.entry("timer?delay", 2), Map.entry("timer?period", 1));
+	}
+
+	@Test
+	void testWorkspaceIsCounted() throws Exception {
+		createRoute(workspace.resolve("node_modules/ignored.xml"), "timer:ignored?delay=1");
+
+		indexWorkspace();
+
+		assertThat(usageStatistics.getSchemeCount("timer", null)).isEqualTo(2);
+		assertThat(usageStatistics.getSchemeCount("log", null)).isEqualTo(1);
+		assertThat(usageStatistics.getOptionCount("timer", "delay", null)).isEqualTo(2);
+		assertThat(usageStatistics.getOptionCount("timer", "period", null)).isZero();
+	}
+
+	@Test
+	void testDocumentOfCompletionIsNotCounted() throws Exception {
+		indexWorkspace();
+
+		String firstRouteUri = workspace.resolve("first.xml").toUri().toString();
+		assertThat(usageStatistics.getSchemeCount("timer", firstRouteUri)).isEqualTo(1);
+		assertThat(usageStatistics.getSchemeCount("log", firstRouteUri)).isZero();
+	}
+
+	@Test
+	void testOpenedDocumentReplacesItsPreviousCounts() throws Exception {
+		indexWorkspace();
+
+		documentIndex.documentChanged(workspace.resolve("first.xml").toUri().toString(), routeText("timer:first?period=10"));
+		indexWorkspace();
+
+		assertThat(usageStatistics.getSchemeCount("timer", null)).isEqualTo(2);
+		assertThat(usageStatistics.getSchemeCount("log", null)).isZero();
+		assertThat(usageStatistics.getOptionCount("timer", "delay", null)).isEqualTo(1);
+		assertThat(usageStatistics.getOptionCount("timer", "period", null)).isEqualTo(1);
+	}
+
+	@Test
+	void testDocumentUriWithAnotherEncodingIsCountedOnce() throws Exception {
+		indexWorkspace();
+		String otherEncodingUri = workspace.resolve("first.xml").toUri().toString().replace("file:///", "file:/");
+
+		documentIndex.documentChanged(otherEncodingUri, routeText("timer:first?delay=1000", "log:first"));
+		indexWorkspace();
+
+		assertThat(usageStatistics.getSchemeCount("timer", null)).isEqualTo(2);
+		assertThat(usageStatistics.getSchemeCount("timer", workspace.resolve("first.xml").toUri().toString())).isEqualTo(1);
+	}
+
+	@Test
+	void testDeletedFileIsNotCountedAnymore() throws Exception {
+		indexWorkspace();
+
+		Files.delete(workspace.resolve("first.xml"));
+		indexWorkspace();
+
+		assertThat(usageStatistics.getSchemeCount("timer", null)).isEqualTo(1);
+		assertThat(usageStatistics.getSchemeCount("log", null)).isZero();
+	}
+
+	@Test
+	void testDisabledStatisticsDoNotRank() throws Exception {
+		indexWorkspace();
+		usageStatistics.setEnabled(false);
+
+		CompletionItem timer = new CompletionItem("timer:timerName");
+		usageStatistics.rankScheme(timer, "timer", null);
+
+		assertThat(timer.getSortText()).isNull();
+	}
+
+	@Test
+	void testMostUsedFirst() throws Exception {
+		indexWorkspace();
+
+		CompletionItem timer = new CompletionItem("timer:timerName");
+		CompletionItem log = new CompletionItem("log:loggerName");
+		CompletionItem file = new CompletionItem("file:directoryName");
+		CompletionItem apiOption = new CompletionItem("delay");
+		apiOption.setSortText("1-delay");
+		usageStatistics.rankScheme(timer, "timer", null);
+		usageStatistics.rankScheme(log, "log", null);
+		usageStatistics.rankScheme(file, "file", null);
+		usageStatistics.rankOption(apiOption, "timer", "delay", null);
+
+		assertThat(Arrays.asList(timer.getSortText(), log.getSortText(), file.getLabel())).isSorted();
+		assertThat(file.getSortText()).isNull();
+		assertThat(apiOption.getSortText()).endsWith("-1-delay");
+	}
+
+	private static EndpointOccurrence occurrence(String uri) {
+		return new EndpointOccurrence("routes.xml", new Range(new Position(0, 0), new Position(0, uri.length())), uri, "to", null);
+	}
+
+	private void indexWorkspace() throws Exception {
+		documentIndex.indexInBackground().get(1, TimeUnit.MINUTES);
+	}
+
+	private void createRoute(Path file, String... endpointUris) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, routeText(endpointUris).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String routeText(String... endpointUris) {
+		StringBuilder route = new StringBuilder("<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n<route>\n");
+		route.append("<from uri=\"").append(endpointUris[0]).append("\"/>\n");
+		for (int i = 1; i < endpointUris.length; i++) {
+			route.append("<to uri=\"").append(endpointUris[i]).append("\"/>\n");
+		}
+		return route.append("</route>\n</camelContext>\n").toString();
+	}
+}
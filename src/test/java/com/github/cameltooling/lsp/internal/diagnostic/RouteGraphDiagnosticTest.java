@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.diagnostic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.settings.SettingsManager;
+
+class RouteGraphDiagnosticTest extends AbstractDiagnosticTest {
+
+	private static final String ROUTES = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "  <route>\n"
+			+ "    <from uri=\"direct:routeGraphLoop\"/>\n"
+			+ "    <to uri=\"direct:routeGraphLoop\"/>\n"
+			+ "    <to uri=\"direct:routeGraphMissing\"/>\n"
+			+ "  </route>\n"
+			+ "</camelContext>\n";
+
+	private boolean routeGraphDiagnostics = true;
+
+	@Test
+	void testDanglingProducerAndRouteCycle() throws Exception {
+		validate(ROUTES, 2);
+
+		assertThat(lastPublishedDiagnostics.getDiagnostics()).filteredOn(diagnostic -> RouteGraphDiagnosticService.ERROR_CODE_DANGLING_PRODUCER.equals(diagnostic.getCode().getLeft()))
+			.singleElement().satisfies(diagnostic -> {
+				checkRange(diagnostic.getRange(), 4, 13, 4, 37);
+				assertThat(getDiagnosticMessage(diagnostic)).contains("direct:routeGraphMissing");
+			});
+		assertThat(lastPublishedDiagnostics.getDiagnostics()).filteredOn(diagnostic -> RouteGraphDiagnosticService.ERROR_CODE_ROUTE_CYCLE.equals(diagnostic.getCode().getLeft()))
+			.singleElement().satisfies(diagnostic -> {
+				checkRange(diagnostic.getRange(), 2, 15, 2, 36);
+				assertThat(getDiagnosticMessage(diagnostic)).contains("direct:routeGraphLoop");
+			});
+	}
+
+	@Test
+	void testNoDiagnosticWhenRoutesLinked() throws Exception {
+		String linkedRoutes = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+				+ "  <route>\n"
+				+ "    <from uri=\"direct:routeGraphFirst\"/>\n"
+				+ "    <to uri=\"seda:routeGraphSecond\"/>\n"
+				+ "  </route>\n"
+				+ "  <route>\n"
+				+ "    <from uri=\"seda:routeGraphSecond\"/>\n"
+				+ "    <to uri=\"log:routeGraph\"/>\n"
+				+ "  </route>\n"
+				+ "</camelContext>\n";
+
+		validate(linkedRoutes, 0);
+	}
+
+	@Test
+	void testCallerDiagnosticsUpdatedWhenCalledRouteChanges() throws Exception {
+		String callerRoute = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+				+ "  <route>\n"
+				+ "    <from uri=\"direct:routeGraphCaller\"/>\n"
+				+ "    <to uri=\"direct:routeGraphCallee\"/>\n"
+				+ "  </route>\n"
+				+ "</camelContext>\n";
+		String calleeRoute = callerRoute.replace("direct:routeGraphCaller", "direct:routeGraphCallee").replace("<to uri=\"direct:routeGraphCallee\"", "<to uri=\"log:routeGraph\"");
+		String callerUri = DUMMY_URI + ".xml";
+		String calleeUri = "routeGraphCallee.xml";
+		camelLanguageServer = initializeLanguageServer(callerRoute, ".xml");
+		awaitDiagnostics(callerUri, 1);
+
+		camelLanguageServer.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(new TextDocumentItem(calleeUri, CamelLanguageServer.LANGUAGE_ID, 1, calleeRoute)));
+		awaitDiagnostics(callerUri, 0);
+
+		VersionedTextDocumentIdentifier calleeIdentifier = new VersionedTextDocumentIdentifier(calleeUri, 2);
+		camelLanguageServer.getTextDocumentService().didChange(new DidChangeTextDocumentParams(calleeIdentifier,
+				List.of(new TextDocumentContentChangeEvent(calleeRoute.replace("direct:routeGraphCallee", "direct:routeGraphRenamed")))));
+		awaitDiagnostics(callerUri, 1);
+	}
+
+	@Test
+	void testDisabledByDefault() throws Exception {
+		routeGraphDiagnostics = false;
+
+		validate(ROUTES, 0);
+	}
+
+	private void validate(String text, int expectedNumberOfDiagnostics) throws Exception {
+		camelLanguageServer = initializeLanguageServer(text, ".xml");
+
+		camelLanguageServer.getTextDocumentService().didSave(new DidSaveTextDocumentParams(new TextDocumentIdentifier(DUMMY_URI + ".xml")));
+
+		await().timeout(AWAIT_TIMEOUT).pollInterval(Duration.ofMillis(5)).untilAsserted(() -> {
+			assertThat(lastPublishedDiagnostics).isNotNull();
+			assertThat(lastPublishedDiagnostics.getDiagnostics()).hasSize(expectedNumberOfDiagnostics);
+		});
+	}
+
+	private void awaitDiagnostics(String uri, int expectedNumberOfDiagnostics) {
+		await().timeout(AWAIT_TIMEOUT).pollInterval(Duration.ofMillis(5)).untilAsserted(() -> {
+			assertThat(publishedDiagnostics).containsKey(uri);
+			assertThat(publishedDiagnostics.get(uri).getDiagnostics()).hasSize(expectedNumberOfDiagnostics);
+		});
+	}
+
+	@Override
+	protected Map<Object, Object> getInitializationOptions() {
+		if (!routeGraphDiagnostics) {
+			return super.getInitializationOptions();
+		}
+		Map<Object, Object> camelInitializationOptions = new HashMap<>();
+		camelInitializationOptions.put(SettingsManager.ROUTE_GRAPH_DIAGNOSTICS, routeGraphDiagnostics);
+		Map<Object, Object> initializationOptions = new HashMap<>();
+		initializationOptions.put(SettingsManager.TOP_LEVEL_SETTINGS_ID, camelInitializationOptions);
+		return initializationOptions;
+	}
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.documenthighlight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.DocumentHighlight;
+import org.eclipse.lsp4j.DocumentHighlightKind;
+import org.eclipse.lsp4j.DocumentHighlightParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class DocumentHighlightProcessorTest extends AbstractCamelLanguageServerTest {
+
+	private static final String URI = "documentHighlight.xml";
+	private static final String XML_ROUTES = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "  <route>\n"
+			+ "    <from uri=\"timer:highlight\"/>\n"
+			+ "    <to uri=\"direct:process\"/>\n"
+			+ "    <to uri=\"direct:audit\"/>\n"
+			+ "  </route>\n"
+			+ "  <route>\n"
+			+ "    <from uri=\"direct:process?timeout=10\"/>\n"
+			+ "    <to uri=\"log:process\"/>\n"
+			+ "  </route>\n"
+			+ "</camelContext>";
+
+	@Test
+	void testHighlightSameEndpointKey() throws Exception {
+		List<? extends DocumentHighlight> highlights = getHighlights(new Position(3, 20));
+
+		assertThat(highlights).containsExactly(
+				new DocumentHighlight(new Range(new Position(3, 13), new Position(3, 27)), DocumentHighlightKind.Write),
+				new DocumentHighlight(new Range(new Position(7, 15), new Position(7, 40)), DocumentHighlightKind.Read));
+	}
+
+	@Test
+	void testHighlightOnlyEndpointWithoutOtherOccurrence() throws Exception {
+		assertThat(getHighlights(new Position(4, 20))).containsExactly(
+				new DocumentHighlight(new Range(new Position(4, 13), new Position(4, 25)), DocumentHighlightKind.Write));
+	}
+
+	@Test
+	void testNoHighlightOutsideOfEndpoint() throws Exception {
+		assertThat(getHighlights(new Position(1, 4))).isEmpty();
+	}
+
+	private List<? extends DocumentHighlight> getHighlights(Position position) throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTES));
+		return languageServer.getTextDocumentService().documentHighlight(new DocumentHighlightParams(new TextDocumentIdentifier(URI), position)).get();
+	}
+}
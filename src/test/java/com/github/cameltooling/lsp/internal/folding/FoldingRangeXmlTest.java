@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.folding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class FoldingRangeXmlTest extends AbstractCamelLanguageServerTest {
+
+	private static final String URI = "folding.xml";
+	private static final String XML_ROUTE = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "  <route id=\"a\">\n"
+			+ "    <from uri=\"timer:folding\"/>\n"
+			+ "    <choice>\n"
+			+ "      <when>\n"
+			+ "        <simple>${body}</simple>\n"
+			+ "        <to uri=\"log:a\"/>\n"
+			+ "      </when>\n"
+			+ "      <otherwise>\n"
+			+ "        <to uri=\"log:b\"/>\n"
+			+ "      </otherwise>\n"
+			+ "    </choice>\n"
+			+ "    <doTry>\n"
+			+ "      <to uri=\"log:c\"/>\n"
+			+ "      <doCatch>\n"
+			+ "        <exception>java.lang.Exception</exception>\n"
+			+ "      </doCatch>\n"
+			+ "    </doTry>\n"
+			+ "  </route>\n"
+			+ "</camelContext>\n";
+
+	@Test
+	void testFoldingRangesOfRouteAndBlocks() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+
+		List<FoldingRange> foldingRanges = getFoldingRanges(languageServer);
+
+		assertThat(foldingRanges).containsExactly(
+				new FoldingRange(1, 18),
+				new FoldingRange(3, 11),
+				new FoldingRange(4, 7),
+				new FoldingRange(8, 10),
+				new FoldingRange(12, 17),
+				new FoldingRange(14, 16));
+	}
+
+	@Test
+	void testFoldingRangesCachedForUnchangedDocument() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+
+		assertThat(getFoldingRanges(languageServer)).isSameAs(getFoldingRanges(languageServer));
+	}
+
+	@Test
+	void testNoFoldingRangeForNonCamelXml() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, "<project>\n  <route>\n  </route>\n</project>"));
+
+		assertThat(getFoldingRanges(languageServer)).isEmpty();
+	}
+
+	private List<FoldingRange> getFoldingRanges(CamelLanguageServer languageServer) throws Exception {
+		return languageServer.getTextDocumentService().foldingRange(new FoldingRangeRequestParams(new TextDocumentIdentifier(URI))).get();
+	}
+}
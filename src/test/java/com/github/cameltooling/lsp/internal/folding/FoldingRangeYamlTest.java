@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.folding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.FoldingRange;
+import org.eclipse.lsp4j.FoldingRangeRequestParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class FoldingRangeYamlTest extends AbstractCamelLanguageServerTest {
+
+	private static final String URI = "folding.camel.yaml";
+	private static final String YAML_ROUTES = "- route:\n"
+			+ "    id: r\n"
+			+ "    from:\n"
+			+ "      uri: timer:folding\n"
+			+ "      steps:\n"
+			+ "        - choice:\n"
+			+ "            when:\n"
+			+ "              - simple: ${body}\n"
+			+ "                steps:\n"
+			+ "                  - to: log:a\n"
+			+ "            otherwise:\n"
+			+ "              steps:\n"
+			+ "                - to: log:b\n"
+			+ "\n"
+			+ "- from:\n"
+			+ "    uri: direct:folding\n"
+			+ "    steps:\n"
+			+ "      - to: log:c\n";
+
+	@Test
+	void testFoldingRangesOfRoutesAndChoice() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".camel.yaml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, YAML_ROUTES));
+
+		List<FoldingRange> foldingRanges = languageServer.getTextDocumentService().foldingRange(new FoldingRangeRequestParams(new TextDocumentIdentifier(URI))).get();
+
+		assertThat(foldingRanges).containsExactly(
+				new FoldingRange(0, 12),
+				new FoldingRange(2, 12),
+				new FoldingRange(5, 12),
+				new FoldingRange(6, 9),
+				new FoldingRange(10, 12),
+				new FoldingRange(14, 17));
+	}
+}
@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class KnativeResourceCacheTest {
+
+	private static final Duration LATENCY_CAP = Duration.ofMillis(200);
+
+	@Test
+	void testSlowClusterDoesNotBlockCompletion() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+		CountDownLatch slowCluster = new CountDownLatch(1);
+
+		CompletableFuture<List<String>> names = cache.get("ns", "channel", () -> {
+			waitFor(slowCluster);
+			return List.of("myChannel");
+		});
+
+		assertThat(names).succeedsWithin(Duration.ofSeconds(2)).isEqualTo(List.of());
+		assertThat(KnativeResourceCache.isLoading(names.get())).isTrue();
+		slowCluster.countDown();
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(cache.get("ns", "channel", List::of).getNow(null)).containsExactly("myChannel"));
+		assertThat(KnativeResourceCache.isLoading(cache.get("ns", "channel", List::of).get())).isFalse();
+	}
+
+	@Test
+	void testStaleNamesReturnedWhileRefreshing() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ZERO, LATENCY_CAP);
+		assertThat(cache.get("ns", "service", () -> List.of("first")).get()).containsExactly("first");
+		CountDownLatch slowCluster = new CountDownLatch(1);
+
+		CompletableFuture<List<String>> staleNames = cache.get("ns", "service", () -> {
+			waitFor(slowCluster);
+			return List.of("first", "second");
+		});
+
+		assertThat(staleNames).isCompletedWithValue(List.of("first"));
+		slowCluster.countDown();
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(cache.get("ns", "service", List::of).getNow(null)).containsExactly("first", "second"));
+	}
+
+	@Test
+	void testFreshNamesNotReloaded() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+		AtomicInteger loadings = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(cache.get("ns", "eventtype", () -> {
+				loadings.incrementAndGet();
+				return List.of("myEvent");
+			}).get()).containsExactly("myEvent");
+		}
+
+		assertThat(loadings).hasValue(1);
+	}
+
+	@Test
+	void testNamesCachedPerNamespace() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+
+		assertThat(cache.get("first", "channel", () -> List.of("a")).get()).containsExactly("a");
+		assertThat(cache.get("second", "channel", () -> List.of("b")).get()).containsExactly("b");
+		assertThat(cache.get("first", "channel", () -> List.of("c")).get()).containsExactly("a");
+	}
+
+	@Test
+	void testFailureKeepsPreviousNames() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ZERO, LATENCY_CAP);
+		cache.get("ns", "channel", () -> List.of("myChannel")).get();
+
+		cache.get("ns", "channel", () -> {
+			throw new IllegalStateException("Cluster unreachable");
+		});
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(cache.get("ns", "channel", () -> {
+				throw new IllegalStateException("Cluster unreachable");
+			}).getNow(null)).containsExactly("myChannel"));
+	}
+
+	@Test
+	void testClearForgetsNames() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+		cache.get("ns", "channel", () -> List.of("a")).get();
+
+		cache.clear();
+
+		assertThat(cache.get("ns", "channel", () -> List.of("b")).get()).containsExactly("b");
+	}
+
+	@Test
+	void testUnreachableClusterNotQueriedDuringBackoff() throws Exception {
+		AtomicInteger reachabilityChecks = new AtomicInteger();
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP, () -> {
+			reachabilityChecks.incrementAndGet();
+			return false;
+		});
+		AtomicInteger loadings = new AtomicInteger();
+
+		assertThat(cache.get("ns", "channel", () -> {
+			loadings.incrementAndGet();
+			return List.of("myChannel");
+		}).get()).isEmpty();
+
+		assertThat(cache.get("ns", "service", List::of)).isCompletedWithValueMatching(KnativeResourceCache::isLoading);
+		assertThat(loadings).hasValue(0);
+		assertThat(reachabilityChecks).hasValue(1);
+	}
+
+	@Test
+	void testEmptyNamesLoaded() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+
+		List<String> names = cache.get("ns", "channel", List::of).get();
+
+		assertThat(names).isEmpty();
+		assertThat(KnativeResourceCache.isLoading(names)).isFalse();
+	}
+
+	@Test
+	void testFailureBacksOff() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ZERO, LATENCY_CAP);
+		cache.get("ns", "channel", () -> List.of("myChannel")).get();
+		AtomicInteger loadings = new AtomicInteger();
+
+		cache.get("ns", "channel", () -> {
+			loadings.incrementAndGet();
+			throw new IllegalStateException("Cluster unreachable");
+		});
+		await().atMost(Duration.ofSeconds(5)).until(cache::isBackingOff);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(cache.get("ns", "channel", () -> {
+				loadings.incrementAndGet();
+				return List.of("otherChannel");
+			})).isCompletedWithValue(List.of("myChannel"));
+		}
+		assertThat(loadings).hasValue(1);
+	}
+
+	@Test
+	void testStopReleasesThreads() throws Exception {
+		KnativeResourceCache cache = new KnativeResourceCache(Duration.ofMinutes(1), LATENCY_CAP);
+		CountDownLatch slowCluster = new CountDownLatch(1);
+		cache.get("ns", "channel", () -> {
+			waitFor(slowCluster);
+			return List.of("a");
+		});
+
+		cache.stop();
+
+		assertThat(cache.get("ns", "channel", () -> List.of("b")).get()).containsExactly("b");
+	}
+
+	private static void waitFor(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
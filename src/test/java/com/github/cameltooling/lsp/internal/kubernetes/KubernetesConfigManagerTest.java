@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import jakarta.inject.Inject;
+
+@EnableKubernetesMockClient(crud = true)
+class KubernetesConfigManagerTest {
+
+	@Inject
+	private KubernetesClient client;
+
+	@BeforeEach
+	void setupCluster() {
+		KubernetesConfigManager.getInstance().setClient(client);
+	}
+
+	@AfterEach
+	void cleanupCluster() {
+		KubernetesConfigManager.getInstance().setClient(null);
+	}
+
+	@Test
+	void testNamespaceCreatedAfterFirstAccessIsCached() {
+		createNamespace("first-namespace");
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KubernetesConfigManager.getInstance().getNamespaces()).extracting(this::getName).containsExactly("first-namespace"));
+
+		createNamespace("second-namespace");
+
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KubernetesConfigManager.getInstance().getNamespaces()).extracting(this::getName).containsExactly("first-namespace", "second-namespace"));
+	}
+
+	@Test
+	void testSecretPlaceholdersOfClientNamespaceOnly() {
+		createSecret("b-namespace", "a-secret");
+		createSecret(client.getNamespace(), "z-secret");
+		createSecret("a-namespace", "b-secret");
+
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KubernetesConfigManager.getInstance().getSecretPlaceholders("", 10)).containsExactly("secret:z-secret/key"));
+	}
+
+	@Test
+	void testSecretPlaceholderCreatedAfterFirstAccessIsIndexed() {
+		createSecret(client.getNamespace(), "first-secret");
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KubernetesConfigManager.getInstance().getSecretPlaceholders("secret:", 10)).containsExactly("secret:first-secret/key"));
+
+		createSecret(client.getNamespace(), "second-secret");
+		client.secrets().withName("first-secret").delete();
+
+		await().atMost(Duration.ofSeconds(10))
+			.untilAsserted(() -> assertThat(KubernetesConfigManager.getInstance().getSecretPlaceholders("secret:", 10)).containsExactly("secret:second-secret/key"));
+	}
+
+	@Test
+	void testClientIsNotClosedAfterCompletion() {
+		KubernetesConfigManager.getInstance().getConfigMapPlaceholders("", 10);
+
+		assertThat(KubernetesConfigManager.getInstance().getClient()).isSameAs(client);
+		assertThat(client.namespaces().list().getItems()).isEmpty();
+	}
+
+	@Test
+	void testResetStopsInformer() {
+		KubernetesResourceCache<Namespace> cache = new KubernetesResourceCache<>("namespaces", KubernetesClient::namespaces, () -> {});
+		cache.list(client);
+		assertThat(cache.isStarted()).isTrue();
+
+		cache.reset();
+
+		assertThat(cache.isStarted()).isFalse();
+	}
+
+	@Test
+	void testCacheSynchronizedOnceResourcesReceived() {
+		createNamespace("first-namespace");
+		KubernetesResourceCache<Namespace> cache = new KubernetesResourceCache<>("namespaces", KubernetesClient::namespaces, () -> {});
+		assertThat(cache.isSynchronized()).isFalse();
+
+		cache.list(client);
+
+		await().atMost(Duration.ofSeconds(10)).until(cache::isSynchronized);
+		assertThat(cache.list(client)).extracting(this::getName).containsExactly("first-namespace");
+		cache.reset();
+		assertThat(cache.isSynchronized()).isFalse();
+	}
+
+	@Test
+	void testUnreachableClusterDoesNotBlock() {
+		AtomicBoolean connectionFailed = new AtomicBoolean();
+		KubernetesResourceCache<Namespace> cache = new KubernetesResourceCache<>("namespaces", KubernetesClient::namespaces, () -> connectionFailed.set(true));
+		try (KubernetesClient unreachableClient = new KubernetesClientBuilder().withConfig(new ConfigBuilder().withMasterUrl("https://localhost:1").build()).build()) {
+			long start = System.nanoTime();
+
+			assertThat(cache.list(unreachableClient)).isEmpty();
+			assertThat(cache.isSynchronized()).isFalse();
+
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+			await().atMost(Duration.ofSeconds(10)).untilTrue(connectionFailed);
+			assertThat(cache.isStarted()).isFalse();
+			assertThat(cache.start(unreachableClient)).isEmpty();
+			assertThat(cache.isStarted()).isFalse();
+		}
+	}
+
+	private void createNamespace(String name) {
+		client.namespaces().resource(new NamespaceBuilder().withNewMetadata().withName(name).endMetadata().build()).create();
+	}
+
+	private void createSecret(String namespace, String name) {
+		client.secrets().inNamespace(namespace).resource(new SecretBuilder()
+				.withNewMetadata().withName(name).withNamespace(namespace).endMetadata()
+				.withData(Map.of("key", "value"))
+				.build())
+			.create();
+	}
+
+	private String getName(HasMetadata resource) {
+		return resource.getMetadata().getName();
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.kubernetes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+
+class KubernetesPlaceholderIndexTest {
+
+	private final KubernetesPlaceholderIndex<Secret> index = new KubernetesPlaceholderIndex<>("secret", Secret::getData,
+			metadata -> new SecretBuilder().withMetadata(metadata).build());
+
+	@Test
+	void testValuesAreNotKept() {
+		Secret secret = createSecret("ns", "mySecret", "password");
+
+		index.put(index.getKey(secret), secret);
+
+		Secret storedSecret = index.get("ns/mySecret");
+		assertThat(storedSecret.getMetadata().getName()).isEqualTo("mySecret");
+		assertThat(storedSecret.getMetadata().getResourceVersion()).isEqualTo("1");
+		assertThat(storedSecret.getData()).isNullOrEmpty();
+		assertThat(index.find(null, "", 10)).containsExactly("secret:mySecret/password");
+	}
+
+	@Test
+	void testFilterBeforeCreatingPlaceholders() {
+		addSecret("ns", "database", "user", "password");
+		addSecret("ns", "broker", "url");
+
+		assertThat(index.find("ns", "secret:db", 10)).containsExactly("secret:database/user", "secret:database/password");
+		assertThat(index.find("ns", "BROKER", 10)).containsExactly("secret:broker/url");
+		assertThat(index.find("ns", "configmap:", 10)).isEmpty();
+	}
+
+	@Test
+	void testOnlyPlaceholdersOfNamespace() {
+		addSecret("b", "second", "key");
+		addSecret("current", "mine", "key");
+		addSecret("a", "first", "key");
+		addSecret("currentNot", "other", "key");
+
+		assertThat(index.find("current", "", 10)).containsExactly("secret:mine/key");
+	}
+
+	@Test
+	void testNoDuplicatesAcrossNamespaces() {
+		addSecret("a", "mySecret", "key");
+		addSecret("b", "mySecret", "key", "other");
+
+		assertThat(index.find(null, "", 10)).containsExactly("secret:mySecret/key", "secret:mySecret/other");
+	}
+
+	@Test
+	void testLimit() {
+		addSecret("ns", "mySecret", "a", "b", "c");
+		addSecret("other", "otherSecret", "d");
+
+		assertThat(index.find("ns", "", 2)).containsExactly("secret:mySecret/a", "secret:mySecret/b");
+		assertThat(index.find("ns", "", 4)).containsExactly("secret:mySecret/a", "secret:mySecret/b", "secret:mySecret/c");
+		assertThat(index.find("ns", "", 0)).isEmpty();
+	}
+
+	@Test
+	void testRemove() {
+		addSecret("ns", "mySecret", "key");
+
+		assertThat(index.remove("ns/mySecret")).isNotNull();
+
+		assertThat(index.find("ns", "", 10)).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	private void addSecret(String namespace, String name, String... keys) {
+		Secret secret = createSecret(namespace, name, keys);
+		index.put(index.getKey(secret), secret);
+	}
+
+	private Secret createSecret(String namespace, String name, String... keys) {
+		Map<String, String> data = new LinkedHashMap<>();
+		for (String key : keys) {
+			data.put(key, "value");
+		}
+		return new SecretBuilder()
+				.withNewMetadata().withNamespace(namespace).withName(name).withResourceVersion("1").endMetadata()
+				.withData(data)
+				.build();
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+	@Test
+	void testPercentilesWithinBucketPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.recordMicros(i);
+		}
+
+		assertThat(histogram.getCount()).isEqualTo(1000);
+		assertThat(histogram.getMaxMicros()).isEqualTo(1000);
+		assertThat(histogram.getMeanMicros()).isEqualTo(500.5);
+		assertThat(histogram.getPercentileMicros(50)).isCloseTo(500, within(500 / 32L));
+		assertThat(histogram.getPercentileMicros(99)).isCloseTo(990, within(990 / 32L));
+		assertThat(histogram.getPercentileMicros(100)).isEqualTo(1000);
+	}
+
+	@Test
+	void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordMicros(3);
+		histogram.recordMicros(7);
+
+		assertThat(histogram.getPercentileMicros(50)).isEqualTo(3);
+		assertThat(histogram.getPercentileMicros(90)).isEqualTo(7);
+	}
+
+	@Test
+	void testBucketOfHighestValueIsTheSameBucket() {
+		for (long value = 0; value < LatencyHistogram.MAX_TRACKABLE_MICROS; value = value * 3 / 2 + 1) {
+			int index = LatencyHistogram.bucketIndex(value);
+			long highestValue = LatencyHistogram.highestValueOfBucket(index);
+
+			assertThat(highestValue).isGreaterThanOrEqualTo(value);
+			assertThat(LatencyHistogram.bucketIndex(highestValue)).isEqualTo(index);
+			assertThat(LatencyHistogram.bucketIndex(highestValue + 1)).isEqualTo(index + 1);
+		}
+	}
+
+	@Test
+	void testOutOfRangeValuesAreClamped() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordMicros(-5);
+		histogram.recordNanos(Long.MAX_VALUE);
+
+		assertThat(histogram.getPercentileMicros(1)).isZero();
+		assertThat(histogram.getMaxMicros()).isEqualTo(LatencyHistogram.MAX_TRACKABLE_MICROS);
+	}
+
+	@Test
+	void testReset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordMicros(42);
+		histogram.reset();
+
+		assertThat(histogram.getCount()).isZero();
+		assertThat(histogram.getPercentileMicros(50)).isZero();
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.lsp4j.jsonrpc.Endpoint;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.metrics.MetricsReport.RequestReport;
+
+class MessageLatencyTracerTest {
+
+	private final LanguageServerMetrics metrics = new LanguageServerMetrics();
+	private final MessageLatencyTracer tracer = metrics.createMessageTracer();
+	private final List<Message> sentMessages = new CopyOnWriteArrayList<>();
+
+	@Test
+	void testRequestLatencyRecordedWhenResponseIsWritten() {
+		MessageConsumer incoming = createConnection(CompletableFuture.completedFuture("result"));
+
+		incoming.consume(createRequest("1", "camel/test"));
+
+		assertThat(sentMessages).singleElement().isInstanceOf(ResponseMessage.class);
+		RequestReport report = metrics.getReport().getRequests().get("camel/test");
+		assertThat(report.getLatency().getCount()).isEqualTo(1);
+		assertThat(report.getPhases().get(LanguageServerMetrics.PHASE_SERIALIZATION).getCount()).isEqualTo(1);
+		assertThat(tracer.getPendingRequestCount()).isZero();
+	}
+
+	@Test
+	void testRequestLatencyNotRecordedBeforeResponse() {
+		CompletableFuture<Object> result = new CompletableFuture<>();
+		MessageConsumer incoming = createConnection(result);
+
+		incoming.consume(createRequest("1", "camel/test"));
+
+		assertThat(metrics.getReport().getRequests()).doesNotContainKey("camel/test");
+		assertThat(tracer.getPendingRequestCount()).isEqualTo(1);
+
+		result.complete("result");
+
+		assertThat(metrics.getReport().getRequests().get("camel/test").getLatency().getCount()).isEqualTo(1);
+		assertThat(tracer.getPendingRequestCount()).isZero();
+	}
+
+	@Test
+	void testNotificationHandlingRecorded() {
+		MessageConsumer incoming = createConnection(CompletableFuture.completedFuture(null));
+		NotificationMessage notification = new NotificationMessage();
+		notification.setMethod("textDocument/didChange");
+
+		incoming.consume(notification);
+
+		RequestReport report = metrics.getReport().getRequests().get("textDocument/didChange");
+		assertThat(report.getLatency().getCount()).isEqualTo(1);
+		assertThat(report.getPhases()).isEmpty();
+	}
+
+	private MessageConsumer createConnection(CompletableFuture<Object> result) {
+		MessageConsumer outgoing = tracer.apply(sentMessages::add);
+		RemoteEndpoint remoteEndpoint = new RemoteEndpoint(outgoing, new Endpoint() {
+
+			@Override
+			public CompletableFuture<?> request(String method, Object parameter) {
+				return result;
+			}
+
+			@Override
+			public void notify(String method, Object parameter) {
+			}
+		});
+		return tracer.apply(remoteEndpoint);
+	}
+
+	private RequestMessage createRequest(String id, String method) {
+		RequestMessage request = new RequestMessage();
+		request.setId(id);
+		request.setMethod(method);
+		return request;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import org.eclipse.lsp4j.InitializedParams;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.eclipse.lsp4j.jsonrpc.services.GenericEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+class SessionRecorderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testIncomingRequestsAndNotificationsRecorded() throws Exception {
+		Path sessionFile = tempDir.resolve("recording").resolve("session.jsonl");
+		List<Message> consumedMessages = new CopyOnWriteArrayList<>();
+		SessionRecorder recorder = new SessionRecorder(sessionFile);
+		MessageConsumer incoming = recorder.wrapIncoming(consumedMessages::add);
+		RequestMessage request = new RequestMessage();
+		request.setId(1);
+		request.setMethod("shutdown");
+		NotificationMessage notification = new NotificationMessage();
+		notification.setMethod("initialized");
+		notification.setParams(new InitializedParams());
+		ResponseMessage response = new ResponseMessage();
+		response.setId("serverRequest");
+
+		incoming.consume(request);
+		incoming.consume(response);
+		incoming.consume(notification);
+		recorder.close();
+		incoming.consume(notification);
+
+		assertThat(consumedMessages).containsExactly(request, response, notification, notification);
+		List<String> lines = Files.readAllLines(sessionFile, StandardCharsets.UTF_8);
+		assertThat(lines).hasSize(2);
+		JsonObject firstLine = JsonParser.parseString(lines.get(0)).getAsJsonObject();
+		assertThat(firstLine.get("time").getAsLong()).isZero();
+		assertThat(firstLine.getAsJsonObject("message").get("method").getAsString()).isEqualTo("shutdown");
+		assertThat(firstLine.getAsJsonObject("message").get("id").getAsInt()).isEqualTo(1);
+		JsonObject secondLine = JsonParser.parseString(lines.get(1)).getAsJsonObject();
+		assertThat(secondLine.getAsJsonObject("message").get("method").getAsString()).isEqualTo("initialized");
+	}
+
+	@Test
+	void testNoRecordingWithoutSystemProperty() {
+		System.clearProperty(SessionRecorder.RECORDING_DIRECTORY_SYSTEM_PROPERTY);
+
+		assertThat(SessionRecorder.createIfEnabled()).isNull();
+		assertThat(new LanguageServerMetrics().createMessageWrapper()).isInstanceOf(MessageLatencyTracer.class);
+	}
+
+	@Test
+	void testRecordingOutsideOfLatencyTracingClosedWithMetrics() throws Exception {
+		System.setProperty(SessionRecorder.RECORDING_DIRECTORY_SYSTEM_PROPERTY, tempDir.toString());
+		try {
+			LanguageServerMetrics metrics = new LanguageServerMetrics();
+			MessageConsumer incoming = metrics.createMessageWrapper().apply(new RemoteEndpoint(message -> {}, new GenericEndpoint(new Object())));
+			NotificationMessage notification = new NotificationMessage();
+			notification.setMethod("initialized");
+			notification.setParams(new InitializedParams());
+
+			incoming.consume(notification);
+			metrics.closeSessionRecorders();
+
+			assertThat(metrics.getReport().getRequests()).containsOnlyKeys("initialized");
+			try (Stream<Path> sessionFiles = Files.list(tempDir)) {
+				assertThat(sessionFiles).singleElement().satisfies(sessionFile ->
+					assertThat(Files.readAllLines(sessionFile, StandardCharsets.UTF_8)).hasSize(1));
+			}
+		} finally {
+			System.clearProperty(SessionRecorder.RECORDING_DIRECTORY_SYSTEM_PROPERTY);
+		}
+	}
+
+	@Test
+	void testRecordingDirectoryFromSystemProperty() {
+		System.setProperty(SessionRecorder.RECORDING_DIRECTORY_SYSTEM_PROPERTY, tempDir.toString());
+		try {
+			SessionRecorder first = SessionRecorder.createIfEnabled();
+			SessionRecorder second = SessionRecorder.createIfEnabled();
+
+			assertThat(first.getFile().getParent()).isEqualTo(tempDir);
+			assertThat(first.getFile()).isNotEqualTo(second.getFile());
+		} finally {
+			System.clearProperty(SessionRecorder.RECORDING_DIRECTORY_SYSTEM_PROPERTY);
+		}
+	}
+}
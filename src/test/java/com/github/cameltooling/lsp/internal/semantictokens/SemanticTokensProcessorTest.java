@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.semantictokens;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.lsp4j.TextDocumentItem;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+
+class SemanticTokensProcessorTest extends AbstractCamelLanguageServerTest {
+
+	private static final String URI = "semanticTokens.xml";
+	private static final String XML_ROUTE = "<camelContext xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "<route>\n"
+			+ "<from uri=\"timer:tick?period={{p}}&amp;delay=10\"/>\n"
+			+ "<to uri=\"log:a/b\"/>\n"
+			+ "</route>\n"
+			+ "</camelContext>";
+
+	@Test
+	void testTokensOfXmlUris() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+
+		SemanticTokens tokens = languageServer.getTextDocumentService().semanticTokensFull(new SemanticTokensParams(new TextDocumentIdentifier(URI))).get();
+
+		assertThat(tokens.getData()).containsExactly(
+				2, 11, 5, CamelURISemanticTokenizer.SCHEME, 0,
+				0, 6, 4, CamelURISemanticTokenizer.PATH_PARAMETER, 0,
+				0, 5, 6, CamelURISemanticTokenizer.OPTION_KEY, 0,
+				0, 7, 5, CamelURISemanticTokenizer.PROPERTY_PLACEHOLDER, 0,
+				0, 10, 5, CamelURISemanticTokenizer.OPTION_KEY, 0,
+				0, 6, 2, CamelURISemanticTokenizer.OPTION_VALUE, 0,
+				1, 9, 3, CamelURISemanticTokenizer.SCHEME, 0,
+				0, 4, 1, CamelURISemanticTokenizer.PATH_PARAMETER, 0,
+				0, 2, 1, CamelURISemanticTokenizer.PATH_PARAMETER, 0);
+	}
+
+	@Test
+	void testTokensCachedForUnchangedDocument() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+		SemanticTokensParams params = new SemanticTokensParams(new TextDocumentIdentifier(URI));
+
+		SemanticTokens tokens = languageServer.getTextDocumentService().semanticTokensFull(params).get();
+		SemanticTokens sameTokens = languageServer.getTextDocumentService().semanticTokensFull(params).get();
+
+		assertThat(sameTokens.getResultId()).isEqualTo(tokens.getResultId());
+		assertThat(sameTokens.getData()).isSameAs(tokens.getData());
+	}
+
+	@Test
+	void testDeltaAgainstPreviousResult() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+		SemanticTokens tokens = languageServer.getTextDocumentService().semanticTokensFull(new SemanticTokensParams(new TextDocumentIdentifier(URI))).get();
+
+		DidChangeTextDocumentParams changeParams = new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(URI, 1),
+				Collections.singletonList(new TextDocumentContentChangeEvent(XML_ROUTE.replace("log:a/b", "log:a/b?level=INFO"))));
+		languageServer.getTextDocumentService().didChange(changeParams);
+		Either<SemanticTokens, SemanticTokensDelta> delta = languageServer.getTextDocumentService()
+				.semanticTokensFullDelta(new SemanticTokensDeltaParams(new TextDocumentIdentifier(URI), tokens.getResultId())).get();
+
+		assertThat(delta.isRight()).isTrue();
+		assertThat(delta.getRight().getResultId()).isNotEqualTo(tokens.getResultId());
+		assertThat(delta.getRight().getEdits()).singleElement().satisfies(edit -> {
+			assertThat(edit.getStart()).isEqualTo(tokens.getData().size());
+			assertThat(edit.getDeleteCount()).isZero();
+			assertThat(edit.getData()).containsExactly(
+					0, 2, 5, CamelURISemanticTokenizer.OPTION_KEY, 0,
+					0, 6, 4, CamelURISemanticTokenizer.OPTION_VALUE, 0);
+		});
+	}
+
+	@Test
+	void testFullTokensForUnknownPreviousResult() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(".xml", new TextDocumentItem(URI, CamelLanguageServer.LANGUAGE_ID, 0, XML_ROUTE));
+
+		Either<SemanticTokens, SemanticTokensDelta> delta = languageServer.getTextDocumentService()
+				.semanticTokensFullDelta(new SemanticTokensDeltaParams(new TextDocumentIdentifier(URI), "unknown")).get();
+
+		assertThat(delta.isLeft()).isTrue();
+		assertThat(delta.getLeft().getData()).hasSize(45);
+	}
+
+	@Test
+	void testEditBetweenCommonPrefixAndSuffix() {
+		assertThat(SemanticTokensProcessor.computeEdits(Arrays.asList(1, 2, 3, 4), Arrays.asList(1, 5, 6, 4))).singleElement().satisfies(edit -> {
+			assertThat(edit.getStart()).isEqualTo(1);
+			assertThat(edit.getDeleteCount()).isEqualTo(2);
+			assertThat(edit.getData()).containsExactly(5, 6);
+		});
+		assertThat(SemanticTokensProcessor.computeEdits(Arrays.asList(1, 2), Arrays.asList(1, 2))).isEmpty();
+	}
+}
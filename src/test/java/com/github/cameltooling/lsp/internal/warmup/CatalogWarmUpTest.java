@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4j.DidChangeConfigurationParams;
+import org.eclipse.lsp4j.MessageActionItem;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.ShowMessageRequestParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressCreateParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.services.LanguageClient;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.AbstractCamelLanguageServerTest;
+import com.github.cameltooling.lsp.internal.CamelLanguageServer;
+import com.github.cameltooling.lsp.internal.util.RouteTextBuilder;
+
+class CatalogWarmUpTest extends AbstractCamelLanguageServerTest {
+
+	@Test
+	void testWarmUpStartedOnInitialized() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(RouteTextBuilder.createXMLSpringRoute(""));
+
+		CatalogWarmUp catalogWarmUp = languageServer.getCatalogWarmUp();
+		assertThat(catalogWarmUp).isNotNull();
+		assertThat(catalogWarmUp.getReadiness()).succeedsWithin(Duration.ofMinutes(1));
+		assertThat(catalogWarmUp.isReady()).isTrue();
+	}
+
+	@Test
+	void testWarmUpRestartedWhenCatalogUpdated() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(RouteTextBuilder.createXMLSpringRoute(""));
+		CatalogWarmUp initialWarmUp = languageServer.getCatalogWarmUp();
+
+		languageServer.getWorkspaceService().didChangeConfiguration(new DidChangeConfigurationParams(Map.of("camel", Map.of())));
+
+		CatalogWarmUp catalogWarmUp = languageServer.getCatalogWarmUp();
+		assertThat(catalogWarmUp).isNotSameAs(initialWarmUp);
+		assertThat(catalogWarmUp.getReadiness()).succeedsWithin(Duration.ofMinutes(1));
+		assertThat(initialWarmUp.isReady()).isTrue();
+	}
+
+	@Test
+	void testProgressReportedToClient() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(RouteTextBuilder.createXMLSpringRoute(""));
+		ProgressRecordingClient client = new ProgressRecordingClient();
+
+		new CatalogWarmUp(languageServer.getTextDocumentService(), client, true).start().get(1, TimeUnit.MINUTES);
+
+		assertThat(client.createdProgress).hasSize(1);
+		assertThat(client.createdProgress.get(0).getToken().getLeft()).isEqualTo(CatalogWarmUp.PROGRESS_TOKEN);
+		List<WorkDoneProgressNotification> notifications = client.notifications;
+		assertThat(notifications.get(0)).isInstanceOf(WorkDoneProgressBegin.class);
+		assertThat(notifications.subList(1, notifications.size() - 1)).allMatch(WorkDoneProgressReport.class::isInstance).hasSize(5);
+		assertThat(notifications.get(notifications.size() - 1)).isInstanceOf(WorkDoneProgressEnd.class);
+	}
+
+	@Test
+	void testCancelledWarmUpIsReady() throws Exception {
+		CamelLanguageServer languageServer = initializeLanguageServer(RouteTextBuilder.createXMLSpringRoute(""));
+		CatalogWarmUp catalogWarmUp = new CatalogWarmUp(languageServer.getTextDocumentService(), null, true);
+		catalogWarmUp.cancel();
+
+		assertThat(catalogWarmUp.start()).succeedsWithin(Duration.ofSeconds(10));
+	}
+
+	private static class ProgressRecordingClient implements LanguageClient {
+
+		private final List<WorkDoneProgressCreateParams> createdProgress = new CopyOnWriteArrayList<>();
+		private final List<WorkDoneProgressNotification> notifications = new CopyOnWriteArrayList<>();
+
+		@Override
+		public CompletableFuture<Void> createProgress(WorkDoneProgressCreateParams params) {
+			createdProgress.add(params);
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public void notifyProgress(ProgressParams params) {
+			notifications.add(params.getValue().getLeft());
+		}
+
+		@Override
+		public void telemetryEvent(Object object) {
+		}
+
+		@Override
+		public void publishDiagnostics(PublishDiagnosticsParams diagnostics) {
+		}
+
+		@Override
+		public void showMessage(MessageParams messageParams) {
+		}
+
+		@Override
+		public CompletableFuture<MessageActionItem> showMessageRequest(ShowMessageRequestParams requestParams) {
+			return null;
+		}
+
+		@Override
+		public void logMessage(MessageParams message) {
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.lsp4j.Position;
+import org.junit.jupiter.api.Test;
+
+import com.github.cameltooling.lsp.internal.workspace.RouteGraph.Route;
+
+class RouteGraphTest {
+
+	private static final String ORDERS = "- from:\n"
+			+ "    uri: direct:orders\n"
+			+ "    steps:\n"
+			+ "      - to: seda:validate\n"
+			+ "      - to: direct:unknown\n";
+	private static final String VALIDATION = "- from:\n"
+			+ "    uri: seda:validate\n"
+			+ "    steps:\n"
+			+ "      - to: direct:orders\n"
+			+ "- from:\n"
+			+ "    uri: direct:audit\n"
+			+ "    steps:\n"
+			+ "      - to: direct:audit\n";
+
+	private final RouteGraph graph = new RouteGraph();
+
+	@Test
+	void testCallersAndCallees() {
+		update("orders.camel.yaml", ORDERS);
+		update("validation.camel.yaml", VALIDATION);
+
+		Route orders = graph.findRoute("orders.camel.yaml", new Position(3, 0));
+		assertThat(orders.getLink()).isEqualTo("direct:orders");
+		assertThat(graph.getCallees(orders).keySet()).extracting(Route::getLink).containsExactly("seda:validate");
+		assertThat(graph.getCallers(orders).keySet()).extracting(Route::getLink).containsExactly("seda:validate");
+		assertThat(graph.getCallers(orders).values()).singleElement().satisfies(producers ->
+			assertThat(producers).extracting(EndpointOccurrence::getUri).containsExactly("direct:orders"));
+		assertThat(graph.findRoute("orders.camel.yaml", new Position(0, 0))).isNull();
+		assertThat(graph.findRoute("orders.camel.yaml", new Position(5, 0))).isNull();
+		assertThat(graph.findRoute("validation.camel.yaml", new Position(3, 8)).getLink()).isEqualTo("seda:validate");
+		assertThat(graph.findRoute("validation.camel.yaml", new Position(4, 0))).isNull();
+		assertThat(graph.findRoute("validation.camel.yaml", new Position(7, 8)).getLink()).isEqualTo("direct:audit");
+	}
+
+	@Test
+	void testCyclesAndDanglingProducers() {
+		update("orders.camel.yaml", ORDERS);
+		update("validation.camel.yaml", VALIDATION);
+
+		assertThat(graph.findCycles("validation.camel.yaml")).extracting(cycle -> cycle.stream().map(Route::getLink).sorted().toList())
+			.containsExactlyInAnyOrder(List.of("direct:orders", "seda:validate"), List.of("direct:audit"));
+		assertThat(graph.findCycles("orders.camel.yaml")).extracting(cycle -> cycle.stream().map(Route::getLink).sorted().toList())
+			.containsExactly(List.of("direct:orders", "seda:validate"));
+		assertThat(graph.findDanglingProducers("orders.camel.yaml")).extracting(EndpointOccurrence::getUri).containsExactly("direct:unknown");
+		assertThat(graph.findDanglingProducers("validation.camel.yaml")).isEmpty();
+	}
+
+	@Test
+	void testOnlyChangedDocumentRecomputed() {
+		update("orders.camel.yaml", ORDERS);
+		update("validation.camel.yaml", VALIDATION);
+
+		update("validation.camel.yaml", VALIDATION.replace("seda:validate", "seda:check"));
+
+		Route orders = graph.findRoute("orders.camel.yaml", new Position(3, 0));
+		assertThat(graph.getCallees(orders)).isEmpty();
+		assertThat(graph.findDanglingProducers("orders.camel.yaml")).extracting(EndpointOccurrence::getUri).containsExactly("seda:validate", "direct:unknown");
+		assertThat(graph.findCycles("orders.camel.yaml")).isEmpty();
+		assertThat(graph.findCycles("validation.camel.yaml")).extracting(cycle -> cycle.get(0).getLink()).containsExactly("direct:audit");
+
+		graph.documentChanged("validation.camel.yaml", null);
+
+		assertThat(graph.getCallers(orders)).isEmpty();
+		assertThat(graph.findCycles("validation.camel.yaml")).isEmpty();
+	}
+
+	@Test
+	void testCallerDocumentsReportedWhenCalledRoutesChange() {
+		assertThat(update("orders.camel.yaml", ORDERS)).isEmpty();
+		assertThat(update("validation.camel.yaml", VALIDATION)).containsExactly("orders.camel.yaml");
+
+		assertThat(update("validation.camel.yaml", VALIDATION)).isEmpty();
+		assertThat(update("orders.camel.yaml", ORDERS + "      - to: log:orders\n")).isEmpty();
+		assertThat(update("orders.camel.yaml", ORDERS.replace("seda:validate", "seda:check"))).containsExactly("validation.camel.yaml");
+
+		assertThat(graph.documentChanged("validation.camel.yaml", null)).isEmpty();
+		update("validation.camel.yaml", VALIDATION);
+		assertThat(graph.documentChanged("orders.camel.yaml", null)).containsExactly("validation.camel.yaml");
+	}
+
+	private Set<String> update(String documentUri, String text) {
+		return graph.documentChanged(documentUri, EndpointOccurrenceScanner.scan(documentUri, text));
+	}
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkspaceFileIndexTest {
+
+	@TempDir
+	Path workspace;
+
+	private final WorkspaceFileIndex index = new WorkspaceFileIndex();
+
+	@Test
+	void testIgnoredDirectoriesAreNotIndexed() throws IOException {
+		createFile("a.properties");
+		createFile("src/b.properties");
+		createFile("node_modules/dependency/c.properties");
+		createFile("target/classes/d.properties");
+		createFile(".vscode/e.properties");
+
+		assertThat(index.getFiles(workspace, Collections.emptyList()))
+			.containsExactly(Paths.get("a.properties"), Paths.get("src", "b.properties"));
+	}
+
+	@Test
+	void testFilesFilteredByExtension() throws IOException {
+		createFile("api.json");
+		createFile("api.YAML");
+		createFile("route.java");
+		createFile("noExtension");
+
+		assertThat(index.getFiles(workspace, List.of("json", "yaml", "yml")))
+			.containsExactly(Paths.get("api.YAML"), Paths.get("api.json"));
+		assertThat(index.getFiles(workspace, List.of("properties"))).isEmpty();
+	}
+
+	@Test
+	void testSubdirectoryServedByWorkspaceRootIndex() throws IOException {
+		createFile("a.properties");
+		createFile("module/b.properties");
+		createFile("module/config/c.properties");
+		index.setWorkspaceRoots(List.of(workspace));
+
+		assertThat(index.getFiles(workspace.resolve("module"), Collections.emptyList()))
+			.containsExactly(Paths.get("b.properties"), Paths.get("config", "c.properties"));
+	}
+
+	@Test
+	void testFileCreatedAfterIndexingIsFound() throws IOException {
+		createFile("a.properties");
+		assertThat(index.getFiles(workspace, Collections.emptyList())).containsExactly(Paths.get("a.properties"));
+
+		createFile("sub/b.properties");
+
+		assertThat(index.getFiles(workspace, Collections.emptyList())).containsExactly(Paths.get("a.properties"), Paths.get("sub", "b.properties"));
+	}
+
+	@Test
+	void testDeletedFileNotified() throws IOException {
+		Path file = createFile("sub/a.properties");
+		createFile("sub/b.properties");
+		assertThat(index.getFiles(workspace, Collections.emptyList())).hasSize(2);
+
+		Files.delete(file);
+		index.filesChanged(List.of(new FileEvent(file.toUri().toString(), FileChangeType.Deleted)));
+
+		assertThat(index.getFiles(workspace, Collections.emptyList())).containsExactly(Paths.get("sub", "b.properties"));
+	}
+
+	private Path createFile(String relativePath) throws IOException {
+		Path file = workspace.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		return Files.createFile(file);
+	}
+}
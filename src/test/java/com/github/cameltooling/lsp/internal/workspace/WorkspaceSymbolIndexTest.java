@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cameltooling.lsp.internal.workspace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WorkspaceSymbolIndexTest {
+
+	private static final String XML_ROUTES = "<camelContext id=\"orderContext\" xmlns=\"http://camel.apache.org/schema/spring\">\n"
+			+ "  <route id=\"orderRoute\">\n"
+			+ "    <from uri=\"direct:order\"/>\n"
+			+ "    <to uri=\"log:order\"/>\n"
+			+ "  </route>\n"
+			+ "  <!-- <route id=\"commentedRoute\"/> -->\n"
+			+ "</camelContext>";
+	private static final String JAVA_ROUTES = "import org.apache.camel.builder.RouteBuilder;\n"
+			+ "public class InvoiceRoutes extends RouteBuilder {\n"
+			+ "  public void configure() {\n"
+			+ "    from(\"timer:invoice\").routeId(\"invoiceRoute\").to(\"direct:order\");\n"
+			+ "  }\n"
+			+ "}";
+	private static final String YAML_ROUTES = "- route:\n"
+			+ "    id: \"shippingRoute\"\n"
+			+ "    from:\n"
+			+ "      uri: seda:shipping # comment\n";
+	private static final String KAMELET_BINDING = "apiVersion: camel.apache.org/v1alpha1\n"
+			+ "kind: KameletBinding\n"
+			+ "metadata:\n"
+			+ "  name: order-binding\n"
+			+ "spec:\n"
+			+ "  source:\n"
+			+ "    ref:\n"
+			+ "      name: timer-source\n";
+
+	@TempDir
+	Path workspace;
+
+	private WorkspaceDocumentIndex documentIndex;
+	private WorkspaceSymbolIndex index;
+
+	@BeforeEach
+	void setUp() {
+		WorkspaceFileIndex fileIndex = new WorkspaceFileIndex();
+		fileIndex.setWorkspaceRoots(List.of(workspace));
+		documentIndex = new WorkspaceDocumentIndex(fileIndex);
+		index = new WorkspaceSymbolIndex(documentIndex);
+	}
+
+	@Test
+	void testSymbolsOfAllDslsIndexedFromDisk() throws IOException {
+		Path xml = createFile("routes.xml", XML_ROUTES);
+		createFile("src/InvoiceRoutes.java", JAVA_ROUTES);
+		createFile("routes.camel.yaml", YAML_ROUTES);
+		createFile("binding.yaml", KAMELET_BINDING);
+
+		List<WorkspaceSymbol> symbols = index.search("", 100);
+
+		assertThat(symbols).extracting(WorkspaceSymbol::getName).containsExactlyInAnyOrder(
+				"orderContext", "orderRoute", "direct:order",
+				"invoiceRoute", "timer:invoice",
+				"shippingRoute", "seda:shipping",
+				"order-binding");
+		assertThat(symbols).filteredOn(symbol -> symbol.getName().equals("direct:order")).singleElement().satisfies(symbol -> {
+			assertThat(symbol.getKind()).isEqualTo(SymbolKind.Event);
+			assertThat(symbol.getContainerName()).isEqualTo("orderRoute");
+			assertThat(symbol.getLocation().getLeft().getUri()).isEqualTo(xml.toUri().toString());
+			assertThat(symbol.getLocation().getLeft().getRange().getStart()).isEqualTo(new Position(2, 15));
+		});
+		assertThat(symbols).filteredOn(symbol -> symbol.getName().equals("orderRoute")).singleElement()
+			.extracting(WorkspaceSymbol::getKind, WorkspaceSymbol::getContainerName).containsExactly(SymbolKind.Function, "orderContext");
+		assertThat(symbols).filteredOn(symbol -> symbol.getName().equals("timer:invoice")).singleElement()
+			.extracting(WorkspaceSymbol::getContainerName).isEqualTo("invoiceRoute");
+		assertThat(symbols).filteredOn(symbol -> symbol.getName().equals("seda:shipping")).singleElement()
+			.extracting(WorkspaceSymbol::getContainerName).isEqualTo("shippingRoute");
+		assertThat(symbols).filteredOn(symbol -> symbol.getName().equals("order-binding")).singleElement()
+			.extracting(WorkspaceSymbol::getKind, WorkspaceSymbol::getContainerName).containsExactly(SymbolKind.Object, "KameletBinding");
+	}
+
+	@Test
+	void testPrefixMatchesBeforeFuzzyMatches() throws IOException {
+		createFile("routes.xml", XML_ROUTES);
+		createFile("InvoiceRoutes.java", JAVA_ROUTES);
+
+		assertThat(index.search("ORDER", 100)).extracting(WorkspaceSymbol::getName).containsExactly("orderRoute", "orderContext", "direct:order");
+		assertThat(index.search("ivr", 100)).extracting(WorkspaceSymbol::getName).containsExactly("invoiceRoute");
+		assertThat(index.search("order", 1)).extracting(WorkspaceSymbol::getName).containsExactly("orderRoute");
+		assertThat(index.search("unknown", 100)).isEmpty();
+	}
+
+	@Test
+	void testOpenedDocumentReplacesFileOnDisk() throws IOException {
+		Path xml = createFile("routes.xml", XML_ROUTES);
+		String uri = xml.toUri().toString();
+		assertThat(index.search("orderRoute", 100)).hasSize(1);
+
+		documentIndex.documentChanged(uri, XML_ROUTES.replace("orderRoute", "editedRoute"));
+
+		assertThat(index.search("orderRoute", 100)).isEmpty();
+		assertThat(index.search("editedRoute", 100)).hasSize(1);
+
+		documentIndex.documentClosed(uri);
+
+		assertThat(index.search("orderRoute", 100)).hasSize(1);
+		assertThat(index.search("editedRoute", 100)).isEmpty();
+	}
+
+	@Test
+	void testScore() {
+		assertThat(WorkspaceSymbolIndex.score("route", "route")).isLessThan(WorkspaceSymbolIndex.score("routes", "route"));
+		assertThat(WorkspaceSymbolIndex.score("routes", "route")).isLessThan(WorkspaceSymbolIndex.score("myroute", "route"));
+		assertThat(WorkspaceSymbolIndex.score("myroute", "route")).isLessThan(WorkspaceSymbolIndex.score("rxoxuxtxe", "route"));
+		assertThat(WorkspaceSymbolIndex.score("etuor", "route")).isEqualTo(WorkspaceSymbolIndex.NO_MATCH);
+	}
+
+	private Path createFile(String relativePath, String content) throws IOException {
+		Path file = workspace.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		return Files.writeString(file, content);
+	}
+}